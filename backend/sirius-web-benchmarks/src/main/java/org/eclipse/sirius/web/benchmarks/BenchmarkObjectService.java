@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.sirius.components.core.api.IEditingContext;
+import org.eclipse.sirius.components.core.api.IObjectService;
+import org.eclipse.sirius.components.emf.services.EditingContext;
+
+/**
+ * Minimal implementation of the object service relying only on EMF reflection, used to measure the rendering of the
+ * explorer independently of the item providers of the metamodels.
+ *
+ * @author sbegaudeau
+ */
+public class BenchmarkObjectService extends IObjectService.NoOp {
+
+    private static final String NAME = "name"; //$NON-NLS-1$
+
+    @Override
+    public String getId(Object object) {
+        String id = null;
+        if (object instanceof EObject && ((EObject) object).eResource() != null) {
+            EObject eObject = (EObject) object;
+            id = eObject.eResource().getURIFragment(eObject);
+        }
+        return id;
+    }
+
+    @Override
+    public String getLabel(Object object) {
+        String label = ""; //$NON-NLS-1$
+        if (object instanceof EObject) {
+            EObject eObject = (EObject) object;
+            EStructuralFeature nameFeature = eObject.eClass().getEStructuralFeature(NAME);
+            if (nameFeature != null) {
+                label = Objects.toString(eObject.eGet(nameFeature), ""); //$NON-NLS-1$
+            }
+            if (label.isBlank()) {
+                label = eObject.eClass().getName();
+            }
+        }
+        return label;
+    }
+
+    @Override
+    public String getKind(Object object) {
+        String kind = ""; //$NON-NLS-1$
+        if (object instanceof EObject) {
+            EObject eObject = (EObject) object;
+            kind = "siriusComponents://semantic?domain=" + eObject.eClass().getEPackage().getName() + "&entity=" + eObject.eClass().getName(); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        return kind;
+    }
+
+    @Override
+    public boolean isLabelEditable(Object object) {
+        return object instanceof EObject && ((EObject) object).eClass().getEStructuralFeature(NAME) != null;
+    }
+
+    @Override
+    public Optional<Object> getObject(IEditingContext editingContext, String objectId) {
+        Optional<Object> result = Optional.empty();
+        if (editingContext instanceof EditingContext) {
+            for (Resource resource : ((EditingContext) editingContext).getDomain().getResourceSet().getResources()) {
+                EObject eObject = resource.getEObject(objectId);
+                if (eObject != null) {
+                    result = Optional.of(eObject);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Object> getContents(IEditingContext editingContext, String objectId) {
+        // @formatter:off
+        return this.getObject(editingContext, objectId)
+                .filter(EObject.class::isInstance)
+                .map(EObject.class::cast)
+                .<List<Object>>map(eObject -> new ArrayList<>(eObject.eContents()))
+                .orElseGet(List::of);
+        // @formatter:on
+    }
+}
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.edit.domain.AdapterFactoryEditingDomain;
+import org.eclipse.sirius.components.collaborative.api.ChangeDescription;
+import org.eclipse.sirius.components.collaborative.dto.CreateDocumentInput;
+import org.eclipse.sirius.components.core.api.IPayload;
+import org.eclipse.sirius.components.core.configuration.StereotypeDescription;
+import org.eclipse.sirius.components.emf.services.EditingContext;
+import org.eclipse.sirius.emfjson.resource.JsonResource;
+import org.eclipse.sirius.web.services.api.accounts.Profile;
+import org.eclipse.sirius.web.services.api.document.Document;
+import org.eclipse.sirius.web.services.api.document.IDocumentService;
+import org.eclipse.sirius.web.services.api.projects.Project;
+import org.eclipse.sirius.web.services.api.projects.Visibility;
+import org.eclipse.sirius.web.services.api.stereotypes.IStereotypeDescriptionService;
+import org.eclipse.sirius.web.services.documents.CreateDocumentEventHandler;
+import org.eclipse.sirius.web.services.documents.EditingDomainFactory;
+import org.eclipse.sirius.web.services.projects.NoOpServicesMessageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Sinks;
+import reactor.core.publisher.Sinks.Many;
+import reactor.core.publisher.Sinks.One;
+
+/**
+ * Benchmarks of the creation of a document from a stereotype.
+ *
+ * <p>
+ * The baseline converts the XMI content of the stereotype and parses the resulting JSON content for each new document,
+ * as it was done before the content of the stereotypes was memoized and copied from a parsed template.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DocumentCreationBenchmarks {
+
+    private static final UUID STEREOTYPE_ID = UUID.nameUUIDFromBytes("benchmark".getBytes()); //$NON-NLS-1$
+
+    @Param({ FlowModels.ROBOT, FlowModels.BIG_GUY })
+    public String model;
+
+    private final FlowModels flowModels = new FlowModels();
+
+    private String projectId;
+
+    private CreateDocumentEventHandler createDocumentEventHandler;
+
+    private EditingContext editingContext;
+
+    @Setup
+    public void setup() {
+        this.projectId = UUID.randomUUID().toString();
+        String content = this.flowModels.getJSONContent(this.model, 1);
+
+        IDocumentService documentService = new IDocumentService.NoOp() {
+            @Override
+            public Optional<Document> createDocument(String editingContextId, String name, String documentContent) {
+                Project project = new Project(UUID.fromString(editingContextId), "Benchmark", new Profile(UUID.randomUUID(), "benchmark"), Visibility.PUBLIC); //$NON-NLS-1$ //$NON-NLS-2$
+                return Optional.of(new Document(UUID.randomUUID(), project, name, documentContent));
+            }
+        };
+        IStereotypeDescriptionService stereotypeDescriptionService = new IStereotypeDescriptionService.NoOp() {
+            @Override
+            public Optional<StereotypeDescription> getStereotypeDescriptionById(String editingContextId, UUID stereotypeId) {
+                return Optional.of(new StereotypeDescription(stereotypeId, DocumentCreationBenchmarks.this.model, () -> content));
+            }
+        };
+        this.createDocumentEventHandler = new CreateDocumentEventHandler(documentService, stereotypeDescriptionService, new NoOpServicesMessageService(), new SimpleMeterRegistry());
+
+        AdapterFactoryEditingDomain editingDomain = new EditingDomainFactory().create();
+        this.editingContext = new EditingContext(this.projectId, editingDomain);
+    }
+
+    @Benchmark
+    public JsonResource baseline() {
+        String content = this.flowModels.getJSONContent(this.model, 1);
+
+        ResourceSet resourceSet = this.editingContext.getDomain().getResourceSet();
+        JsonResource resource = this.flowModels.load(URI.createURI(UUID.randomUUID().toString()), content, resourceSet);
+        resourceSet.getResources().clear();
+        return resource;
+    }
+
+    @Benchmark
+    public IPayload createDocument() {
+        var input = new CreateDocumentInput(UUID.randomUUID(), this.projectId, this.model, STEREOTYPE_ID);
+        Many<ChangeDescription> changeDescriptionSink = Sinks.many().unicast().onBackpressureBuffer();
+        One<IPayload> payloadSink = Sinks.one();
+        this.createDocumentEventHandler.handle(payloadSink, changeDescriptionSink, this.editingContext, input);
+
+        this.editingContext.getDomain().getResourceSet().getResources().clear();
+        return payloadSink.asMono().block();
+    }
+}
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.emf.edit.domain.AdapterFactoryEditingDomain;
+import org.eclipse.sirius.components.collaborative.api.ChangeDescription;
+import org.eclipse.sirius.components.core.api.IPayload;
+import org.eclipse.sirius.components.emf.services.EObjectIDManager;
+import org.eclipse.sirius.components.emf.services.EditingContext;
+import org.eclipse.sirius.components.emf.services.SiriusWebJSONResourceFactoryImpl;
+import org.eclipse.sirius.components.emf.utils.EMFResourceUtils;
+import org.eclipse.sirius.components.graphql.api.UploadFile;
+import org.eclipse.sirius.emfjson.resource.JsonResource;
+import org.eclipse.sirius.web.services.api.accounts.Profile;
+import org.eclipse.sirius.web.services.api.document.Document;
+import org.eclipse.sirius.web.services.api.document.IDocumentService;
+import org.eclipse.sirius.web.services.api.document.UploadDocumentInput;
+import org.eclipse.sirius.web.services.api.projects.Project;
+import org.eclipse.sirius.web.services.api.projects.Visibility;
+import org.eclipse.sirius.web.services.documents.EditingDomainFactory;
+import org.eclipse.sirius.web.services.documents.UploadDocumentEventHandler;
+import org.eclipse.sirius.web.services.projects.NoOpServicesMessageService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Sinks;
+import reactor.core.publisher.Sinks.Many;
+import reactor.core.publisher.Sinks.One;
+
+/**
+ * Benchmarks of the upload of a large XMI document.
+ *
+ * <p>
+ * The baseline converts the uploaded file into JSON and parses this JSON content again to get the resource to attach
+ * to the editing context, as it was done before the uploaded files were parsed only once. Besides the time of each
+ * upload, the peak usage of the heap during the iteration is reported in megabytes. It is computed as the sum of the
+ * peak usages of the heap memory pools and should be read with <code>-gc true</code> to start each iteration with a
+ * clean heap.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DocumentUploadBenchmarks {
+
+    private static final int MEGABYTE = 1024 * 1024;
+
+    @Param({ "1", "100" })
+    public int megabytes;
+
+    private final FlowModels flowModels = new FlowModels();
+
+    private byte[] content;
+
+    private UploadDocumentEventHandler uploadDocumentEventHandler;
+
+    private EditingContext editingContext;
+
+    /**
+     * The peak usage of the heap during an iteration.
+     *
+     * @author sbegaudeau
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapUsage {
+
+        public long peakHeapMegabytes;
+
+        private final List<MemoryPoolMXBean> memoryPools = ManagementFactory.getMemoryPoolMXBeans().stream().filter(pool -> pool.getType() == MemoryType.HEAP).collect(Collectors.toList());
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.memoryPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+            this.peakHeapMegabytes = 0;
+        }
+
+        public void record() {
+            long peakUsage = this.memoryPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            this.peakHeapMegabytes = Math.max(this.peakHeapMegabytes, peakUsage / MEGABYTE);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        byte[] bigGuyContent = this.flowModels.getXMIContent(FlowModels.BIG_GUY, 1);
+        int scale = Math.max(1, (int) ((long) this.megabytes * MEGABYTE / bigGuyContent.length));
+        this.content = this.flowModels.getXMIContent(FlowModels.BIG_GUY, scale);
+
+        IDocumentService documentService = new IDocumentService.NoOp() {
+            @Override
+            public Optional<Document> createDocument(String editingContextId, String name, String documentContent) {
+                Project project = new Project(UUID.fromString(editingContextId), "Benchmark", new Profile(UUID.randomUUID(), "benchmark"), Visibility.PUBLIC); //$NON-NLS-1$ //$NON-NLS-2$
+                return Optional.of(new Document(UUID.randomUUID(), project, name, documentContent));
+            }
+        };
+        this.uploadDocumentEventHandler = new UploadDocumentEventHandler(documentService, new NoOpServicesMessageService(), new SimpleMeterRegistry(), Long.MAX_VALUE);
+
+        AdapterFactoryEditingDomain editingDomain = new EditingDomainFactory().create();
+        editingDomain.getResourceSet().setPackageRegistry(this.flowModels.getEPackageRegistry());
+        this.editingContext = new EditingContext(UUID.randomUUID().toString(), editingDomain);
+    }
+
+    @Benchmark
+    public JsonResource baseline(HeapUsage heapUsage) {
+        ResourceSet resourceSet = new ResourceSetImpl();
+        resourceSet.setPackageRegistry(this.flowModels.getEPackageRegistry());
+
+        Resource inputResource = new XMIResourceImpl(URI.createURI(FlowModels.BIG_GUY));
+        resourceSet.getResources().add(inputResource);
+        JsonResource outputResource = new SiriusWebJSONResourceFactoryImpl().createResource(URI.createURI(FlowModels.BIG_GUY));
+        resourceSet.getResources().add(outputResource);
+
+        String documentContent;
+        try (var inputStream = new ByteArrayInputStream(this.content); var outputStream = new ByteArrayOutputStream()) {
+            inputResource.load(inputStream, new EMFResourceUtils().getXMILoadOptions());
+            outputResource.getContents().addAll(inputResource.getContents());
+
+            Map<String, Object> saveOptions = new HashMap<>();
+            saveOptions.put(JsonResource.OPTION_ENCODING, JsonResource.ENCODING_UTF_8);
+            saveOptions.put(JsonResource.OPTION_SCHEMA_LOCATION, Boolean.TRUE);
+            saveOptions.put(JsonResource.OPTION_ID_MANAGER, new EObjectIDManager());
+            outputResource.save(outputStream, saveOptions);
+            documentContent = outputStream.toString();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        ResourceSet editingContextResourceSet = this.editingContext.getDomain().getResourceSet();
+        JsonResource resource = this.flowModels.load(URI.createURI(UUID.randomUUID().toString()), documentContent, editingContextResourceSet);
+        heapUsage.record();
+        editingContextResourceSet.getResources().clear();
+        return resource;
+    }
+
+    @Benchmark
+    public IPayload upload(HeapUsage heapUsage) {
+        UploadFile file = new UploadFile(FlowModels.BIG_GUY, new ByteArrayInputStream(this.content));
+        var input = new UploadDocumentInput(UUID.randomUUID(), this.editingContext.getId(), file);
+        Many<ChangeDescription> changeDescriptionSink = Sinks.many().unicast().onBackpressureBuffer();
+        One<IPayload> payloadSink = Sinks.one();
+        this.uploadDocumentEventHandler.handle(payloadSink, changeDescriptionSink, this.editingContext, input);
+        heapUsage.record();
+
+        this.editingContext.getDomain().getResourceSet().getResources().clear();
+        return payloadSink.asMono().block();
+    }
+}
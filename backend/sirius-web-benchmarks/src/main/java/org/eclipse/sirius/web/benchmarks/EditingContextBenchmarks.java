@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.edit.provider.ComposedAdapterFactory;
+import org.eclipse.sirius.components.core.api.IEditingContext;
+import org.eclipse.sirius.components.core.api.IEditingContextPersistenceService;
+import org.eclipse.sirius.components.core.api.IEditingContextSearchService;
+import org.eclipse.sirius.web.persistence.entities.DocumentEntity;
+import org.eclipse.sirius.web.persistence.entities.ProjectEntity;
+import org.eclipse.sirius.web.services.api.projects.IProjectOwnershipService;
+import org.eclipse.sirius.web.services.editingcontext.EditingContextPersistenceService;
+import org.eclipse.sirius.web.services.editingcontext.EditingContextSearchService;
+import org.eclipse.sirius.web.services.editingcontext.NoOpApplicationEventPublisher;
+import org.eclipse.sirius.web.services.editingcontext.NoOpProjectRepository;
+import org.eclipse.sirius.web.services.editingcontext.api.IPrewarmedEditingContextProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Benchmarks of the loading and the persistence of the editing context of a project.
+ *
+ * @author sbegaudeau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EditingContextBenchmarks {
+
+    @Param({ FlowModels.ROBOT, FlowModels.BIG_GUY })
+    public String model;
+
+    @Param({ "1", "10", "50" })
+    public int documents;
+
+    private final FlowModels flowModels = new FlowModels();
+
+    private String projectId;
+
+    private IEditingContextSearchService editingContextSearchService;
+
+    private IEditingContextPersistenceService editingContextPersistenceService;
+
+    private IEditingContext editingContext;
+
+    @Setup
+    public void setup() {
+        ProjectEntity projectEntity = new ProjectEntity();
+        projectEntity.setId(UUID.randomUUID());
+        projectEntity.setName("Benchmark"); //$NON-NLS-1$
+        this.projectId = projectEntity.getId().toString();
+
+        InMemoryDocumentRepository documentRepository = new InMemoryDocumentRepository();
+        String content = this.flowModels.getJSONContent(this.model, 1);
+        for (int i = 0; i < this.documents; i++) {
+            DocumentEntity documentEntity = new DocumentEntity();
+            documentEntity.setId(UUID.randomUUID());
+            documentEntity.setName(this.model + i);
+            documentEntity.setProject(projectEntity);
+            documentEntity.setContent(content);
+            documentRepository.save(documentEntity);
+        }
+
+        this.editingContextSearchService = new EditingContextSearchService(new NoOpProjectRepository(), documentRepository, editingContextId -> this.flowModels.getEPackages(),
+                new ComposedAdapterFactory(), this.flowModels.getEPackageRegistry(), new IPrewarmedEditingContextProvider.NoOp(), new IProjectOwnershipService.NoOp(), new SimpleMeterRegistry());
+        this.editingContextPersistenceService = new EditingContextPersistenceService(documentRepository, new NoOpApplicationEventPublisher(), new IProjectOwnershipService.NoOp(), new SimpleMeterRegistry());
+        this.editingContext = this.editingContextSearchService.findById(this.projectId).orElseThrow(IllegalStateException::new);
+    }
+
+    @Benchmark
+    public Optional<IEditingContext> findById() {
+        return this.editingContextSearchService.findById(this.projectId);
+    }
+
+    @Benchmark
+    public IEditingContext persist() {
+        this.editingContextPersistenceService.persist(this.editingContext);
+        return this.editingContext;
+    }
+}
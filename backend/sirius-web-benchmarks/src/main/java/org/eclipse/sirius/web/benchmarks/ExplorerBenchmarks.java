@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.edit.provider.ComposedAdapterFactory;
+import org.eclipse.sirius.components.core.api.IEditingContext;
+import org.eclipse.sirius.components.emf.services.EditingContext;
+import org.eclipse.sirius.components.representations.VariableManager;
+import org.eclipse.sirius.components.trees.Tree;
+import org.eclipse.sirius.components.trees.description.TreeDescription;
+import org.eclipse.sirius.components.trees.renderer.TreeRenderer;
+import org.eclipse.sirius.web.persistence.entities.DocumentEntity;
+import org.eclipse.sirius.web.persistence.entities.ProjectEntity;
+import org.eclipse.sirius.web.services.api.projects.IProjectOwnershipService;
+import org.eclipse.sirius.web.services.editingcontext.EditingContextSearchService;
+import org.eclipse.sirius.web.services.editingcontext.NoOpProjectRepository;
+import org.eclipse.sirius.web.services.editingcontext.api.IPrewarmedEditingContextProvider;
+import org.eclipse.sirius.web.services.explorer.ExplorerDescriptionProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Benchmarks of the rendering of the explorer, either collapsed or with every tree item expanded.
+ *
+ * @author sbegaudeau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExplorerBenchmarks {
+
+    @Param({ FlowModels.ROBOT, FlowModels.BIG_GUY })
+    public String model;
+
+    @Param({ "1", "10", "50" })
+    public int documents;
+
+    private final FlowModels flowModels = new FlowModels();
+
+    private TreeDescription treeDescription;
+
+    private IEditingContext editingContext;
+
+    private List<String> expanded;
+
+    @Setup
+    public void setup() {
+        ProjectEntity projectEntity = new ProjectEntity();
+        projectEntity.setId(UUID.randomUUID());
+        projectEntity.setName("Benchmark"); //$NON-NLS-1$
+
+        InMemoryDocumentRepository documentRepository = new InMemoryDocumentRepository();
+        String content = this.flowModels.getJSONContent(this.model, 1);
+        for (int i = 0; i < this.documents; i++) {
+            DocumentEntity documentEntity = new DocumentEntity();
+            documentEntity.setId(UUID.randomUUID());
+            documentEntity.setName(this.model + i);
+            documentEntity.setProject(projectEntity);
+            documentEntity.setContent(content);
+            documentRepository.save(documentEntity);
+        }
+
+        var editingContextSearchService = new EditingContextSearchService(new NoOpProjectRepository(), documentRepository, editingContextId -> this.flowModels.getEPackages(),
+                new ComposedAdapterFactory(), this.flowModels.getEPackageRegistry(), new IPrewarmedEditingContextProvider.NoOp(), new IProjectOwnershipService.NoOp(), new SimpleMeterRegistry());
+        this.editingContext = editingContextSearchService.findById(projectEntity.getId().toString()).orElseThrow(IllegalStateException::new);
+
+        BenchmarkObjectService objectService = new BenchmarkObjectService();
+        this.treeDescription = new ExplorerDescriptionProvider(objectService, kind -> Map.of(), new NoOpRepresentationService(), List.of(), List.of(), List.of()).getDescription();
+
+        this.expanded = new ArrayList<>();
+        for (Resource resource : ((EditingContext) this.editingContext).getDomain().getResourceSet().getResources()) {
+            this.expanded.add(resource.getURI().toString());
+            TreeIterator<EObject> iterator = resource.getAllContents();
+            while (iterator.hasNext()) {
+                this.expanded.add(objectService.getId(iterator.next()));
+            }
+        }
+    }
+
+    @Benchmark
+    public Tree renderCollapsedExplorer() {
+        return this.render(List.of());
+    }
+
+    @Benchmark
+    public Tree renderExpandedExplorer() {
+        return this.render(this.expanded);
+    }
+
+    private Tree render(List<String> expandedIds) {
+        VariableManager variableManager = new VariableManager();
+        variableManager.put(IEditingContext.EDITING_CONTEXT, this.editingContext);
+        variableManager.put(TreeRenderer.EXPANDED, expandedIds);
+        return new TreeRenderer(variableManager, this.treeDescription).render();
+    }
+}
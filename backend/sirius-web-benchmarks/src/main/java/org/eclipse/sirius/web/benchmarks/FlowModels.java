@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
+import org.eclipse.sirius.components.emf.services.EObjectIDManager;
+import org.eclipse.sirius.components.emf.services.SiriusWebJSONResourceFactoryImpl;
+import org.eclipse.sirius.components.emf.utils.EMFResourceUtils;
+import org.eclipse.sirius.emfjson.resource.JsonResource;
+
+import fr.obeo.dsl.designer.sample.flow.FlowPackage;
+
+/**
+ * Creates synthetic flow models by duplicating the sample models of the sample application.
+ *
+ * @author sbegaudeau
+ */
+public class FlowModels {
+
+    public static final String ROBOT = "robot.flow"; //$NON-NLS-1$
+
+    public static final String BIG_GUY = "Big_Guy.flow"; //$NON-NLS-1$
+
+    public EPackage.Registry getEPackageRegistry() {
+        EPackage.Registry ePackageRegistry = new EPackageRegistryImpl();
+        ePackageRegistry.put(FlowPackage.eNS_URI, FlowPackage.eINSTANCE);
+        return ePackageRegistry;
+    }
+
+    public List<EPackage> getEPackages() {
+        return List.of(FlowPackage.eINSTANCE);
+    }
+
+    /**
+     * Returns the JSON content of a document containing the given number of copies of the given sample model.
+     */
+    public String getJSONContent(String model, int scale) {
+        ResourceSet resourceSet = new ResourceSetImpl();
+        resourceSet.setPackageRegistry(this.getEPackageRegistry());
+        Resource xmiResource = this.loadXMI(model, resourceSet);
+
+        JsonResource jsonResource = new SiriusWebJSONResourceFactoryImpl().createResource(URI.createURI(model));
+        resourceSet.getResources().add(jsonResource);
+        for (int i = 0; i < scale; i++) {
+            for (EObject eObject : xmiResource.getContents()) {
+                jsonResource.getContents().add(EcoreUtil.copy(eObject));
+            }
+        }
+        return this.save(jsonResource);
+    }
+
+    /**
+     * Returns the XMI content of a document containing the given number of copies of the given sample model.
+     */
+    public byte[] getXMIContent(String model, int scale) {
+        ResourceSet resourceSet = new ResourceSetImpl();
+        resourceSet.setPackageRegistry(this.getEPackageRegistry());
+        Resource xmiResource = this.loadXMI(model, resourceSet);
+
+        Resource scaledResource = new XMIResourceImpl(URI.createURI(model));
+        resourceSet.getResources().add(scaledResource);
+        for (int i = 0; i < scale; i++) {
+            for (EObject eObject : xmiResource.getContents()) {
+                scaledResource.getContents().add(EcoreUtil.copy(eObject));
+            }
+        }
+        try (var outputStream = new ByteArrayOutputStream()) {
+            scaledResource.save(outputStream, new HashMap<>());
+            return outputStream.toByteArray();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private Resource loadXMI(String model, ResourceSet resourceSet) {
+        Resource xmiResource = new XMIResourceImpl(URI.createURI(model));
+        resourceSet.getResources().add(xmiResource);
+        try (InputStream inputStream = this.getClass().getClassLoader().getResourceAsStream(model)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException(model);
+            }
+            xmiResource.load(inputStream, new EMFResourceUtils().getXMILoadOptions(new XMLParserPoolImpl()));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return xmiResource;
+    }
+
+    public JsonResource load(URI uri, String content, ResourceSet resourceSet) {
+        JsonResource resource = new SiriusWebJSONResourceFactoryImpl().createResource(uri);
+        resourceSet.getResources().add(resource);
+        try (var inputStream = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))) {
+            resource.load(inputStream, null);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return resource;
+    }
+
+    public String save(Resource resource) {
+        Map<String, Object> options = new HashMap<>();
+        options.put(JsonResource.OPTION_ID_MANAGER, new EObjectIDManager());
+        try (var outputStream = new ByteArrayOutputStream()) {
+            resource.save(outputStream, options);
+            return outputStream.toString(StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
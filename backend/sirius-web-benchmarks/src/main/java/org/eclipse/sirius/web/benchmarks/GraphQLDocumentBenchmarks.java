@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.sirius.web.graphql.execution.CachingPreparsedDocumentProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import graphql.ExecutionInput;
+import graphql.ParseAndValidate;
+import graphql.ParseAndValidateResult;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Benchmarks of the parsing and the validation of the GraphQL queries performed for each request.
+ *
+ * <p>
+ * The query used is the one performed by the frontend when a project is opened. It used to be parsed and validated
+ * against the schema of Sirius Web for each request, the baseline reproduces this previous behavior while the documents
+ * are now kept in a cache.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class GraphQLDocumentBenchmarks {
+
+    // @formatter:off
+    private static final String QUERY = "query getRepresentation($projectId: ID!, $representationId: ID!, $includeRepresentation: Boolean!) {\n" //$NON-NLS-1$
+            + "  viewer {\n" //$NON-NLS-1$
+            + "    project(projectId: $projectId) {\n" //$NON-NLS-1$
+            + "      id\n" //$NON-NLS-1$
+            + "      name\n" //$NON-NLS-1$
+            + "      currentEditingContext {\n" //$NON-NLS-1$
+            + "        id\n" //$NON-NLS-1$
+            + "        representation(representationId: $representationId) @include(if: $includeRepresentation) {\n" //$NON-NLS-1$
+            + "          id\n" //$NON-NLS-1$
+            + "          label\n" //$NON-NLS-1$
+            + "          kind\n" //$NON-NLS-1$
+            + "        }\n" //$NON-NLS-1$
+            + "      }\n" //$NON-NLS-1$
+            + "    }\n" //$NON-NLS-1$
+            + "  }\n" //$NON-NLS-1$
+            + "}\n"; //$NON-NLS-1$
+    // @formatter:on
+
+    private GraphQLSchema graphQLSchema;
+
+    private CachingPreparsedDocumentProvider documentProvider;
+
+    private ExecutionInput executionInput;
+
+    @Setup
+    public void setup() throws IOException {
+        TypeDefinitionRegistry typeRegistry = new TypeDefinitionRegistry();
+        SchemaParser schemaParser = new SchemaParser();
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources("classpath*:/schema/**/*.graphqls"); //$NON-NLS-1$
+        for (Resource resource : resources) {
+            try (InputStream inputStream = resource.getInputStream()) {
+                typeRegistry.merge(schemaParser.parse(inputStream));
+            }
+        }
+        this.graphQLSchema = UnExecutableSchemaGenerator.makeUnExecutableSchema(typeRegistry);
+
+        this.documentProvider = new CachingPreparsedDocumentProvider(new SimpleMeterRegistry(), 1000, document -> {
+            // The names of the operations are not used
+        });
+
+        Map<String, Object> variables = Map.of("projectId", "7ba7bda7-13b9-422a-838b-e45a3597e952", "representationId", "", "includeRepresentation", false); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+        this.executionInput = ExecutionInput.newExecutionInput().query(QUERY).variables(variables).build();
+        this.documentProvider.getDocument(this.executionInput, this::parseAndValidate);
+    }
+
+    private PreparsedDocumentEntry parseAndValidate(ExecutionInput input) {
+        ParseAndValidateResult result = ParseAndValidate.parseAndValidate(this.graphQLSchema, input);
+        return new PreparsedDocumentEntry(result.getDocument(), result.getErrors());
+    }
+
+    @Benchmark
+    public PreparsedDocumentEntry baselineParseAndValidate() {
+        return this.parseAndValidate(this.executionInput);
+    }
+
+    @Benchmark
+    public PreparsedDocumentEntry cachedDocument() {
+        return this.documentProvider.getDocument(this.executionInput, this::parseAndValidate);
+    }
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.sirius.components.core.api.IImagePathService;
+import org.eclipse.sirius.web.services.api.images.ICustomImageContentService;
+import org.eclipse.sirius.web.spring.controllers.ImagesController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Benchmarks of the requests of the icons of the classpath, as performed by the explorer and the diagrams.
+ *
+ * <p>
+ * The accessible prefixes used to be flattened and scanned linearly on each request, followed by a lookup of the
+ * resource in the class loader. The baseline reproduces this previous behavior while the images controller now relies
+ * on a trie of prefixes compiled once and on images kept in memory with their entity tags.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class ImagesBenchmarks {
+
+    private static final String[] ICONS = { "/icons/benchmarks/Node.svg", "/icons/benchmarks/Edge.svg", "/icons/benchmarks/Container.svg" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+    private static final MediaType IMAGE_SVG = MediaType.valueOf("image/svg+xml"); //$NON-NLS-1$
+
+    @Param({ "20" })
+    public int imagePathServices;
+
+    private List<IImagePathService> pathResourcesServices;
+
+    private ImagesController imagesController;
+
+    private int index;
+
+    @Setup
+    public void setup() {
+        this.pathResourcesServices = new ArrayList<>();
+        for (int i = 0; i < this.imagePathServices; i++) {
+            List<String> paths = List.of("/domain" + i + "/icons", "/domain" + i + "/images"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+            this.pathResourcesServices.add(() -> paths);
+        }
+        this.pathResourcesServices.add(() -> List.of("/icons")); //$NON-NLS-1$
+
+        this.imagesController = new ImagesController(this.pathResourcesServices, new ICustomImageContentService.NoOp(), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public ResponseEntity<Resource> baselineClassPathLookup() {
+        String imagePath = this.nextIcon();
+
+        // @formatter:off
+        List<String> accessibleImagePaths = this.pathResourcesServices.stream()
+                .map(IImagePathService::getPaths)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toList());
+        // @formatter:on
+
+        if (accessibleImagePaths.stream().anyMatch(imagePath::startsWith)) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(IMAGE_SVG);
+            Resource resource = new ClassPathResource(imagePath);
+            if (resource.exists()) {
+                return new ResponseEntity<>(resource, headers, HttpStatus.OK);
+            }
+        }
+        return new ResponseEntity<>(null, new HttpHeaders(), HttpStatus.NOT_FOUND);
+    }
+
+    @Benchmark
+    public ResponseEntity<Resource> getImage() {
+        MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(), "/api/images" + this.nextIcon()); //$NON-NLS-1$
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"); //$NON-NLS-1$
+        return this.imagesController.getImage(request);
+    }
+
+    private String nextIcon() {
+        int current = this.index;
+        this.index = (current + 1) % ICONS.length;
+        return ICONS[current];
+    }
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.eclipse.sirius.web.persistence.entities.DocumentEntity;
+import org.eclipse.sirius.web.services.editingcontext.NoOpDocumentRepository;
+
+/**
+ * Implementation of the document repository keeping the documents in memory in order to measure the services without
+ * the database.
+ *
+ * @author sbegaudeau
+ */
+public class InMemoryDocumentRepository extends NoOpDocumentRepository {
+
+    private final Map<UUID, DocumentEntity> documentEntities = new ConcurrentHashMap<>();
+
+    @Override
+    public <S extends DocumentEntity> S save(S entity) {
+        if (entity.getId() == null) {
+            entity.setId(UUID.randomUUID());
+        }
+        this.documentEntities.put(entity.getId(), entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends DocumentEntity> Iterable<S> saveAll(Iterable<S> entities) {
+        entities.forEach(this::save);
+        return entities;
+    }
+
+    @Override
+    public Optional<DocumentEntity> findById(UUID id) {
+        return Optional.ofNullable(this.documentEntities.get(id));
+    }
+
+    @Override
+    public List<DocumentEntity> findAllByProjectId(UUID projectId) {
+        // @formatter:off
+        return this.documentEntities.values().stream()
+                .filter(documentEntity -> documentEntity.getProject().getId().equals(projectId))
+                .collect(Collectors.toList());
+        // @formatter:on
+    }
+
+    @Override
+    public int updateContent(UUID id, String content, int expectedVersion) {
+        DocumentEntity documentEntity = this.documentEntities.get(id);
+        if (documentEntity != null && documentEntity.getVersion() == expectedVersion) {
+            documentEntity.setContent(content);
+            documentEntity.setVersion(documentEntity.getVersion() + 1);
+            return 1;
+        }
+        return 0;
+    }
+}
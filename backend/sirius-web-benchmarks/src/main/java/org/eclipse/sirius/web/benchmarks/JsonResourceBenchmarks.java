@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.sirius.emfjson.resource.JsonResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the loading and saving of the JSON documents.
+ *
+ * @author sbegaudeau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JsonResourceBenchmarks {
+
+    @Param({ FlowModels.ROBOT, FlowModels.BIG_GUY })
+    public String model;
+
+    @Param({ "1", "10", "100" })
+    public int scale;
+
+    private final FlowModels flowModels = new FlowModels();
+
+    private String content;
+
+    private JsonResource loadedResource;
+
+    @Setup
+    public void setup() {
+        this.content = this.flowModels.getJSONContent(this.model, this.scale);
+        this.loadedResource = this.load();
+    }
+
+    @Benchmark
+    public JsonResource load() {
+        ResourceSet resourceSet = new ResourceSetImpl();
+        resourceSet.setPackageRegistry(this.flowModels.getEPackageRegistry());
+        return this.flowModels.load(URI.createURI(this.model), this.content, resourceSet);
+    }
+
+    @Benchmark
+    public String save() {
+        return this.flowModels.save(this.loadedResource);
+    }
+}
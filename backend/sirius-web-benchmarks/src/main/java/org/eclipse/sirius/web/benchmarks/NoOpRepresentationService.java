@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.eclipse.sirius.components.core.RepresentationMetadata;
+import org.eclipse.sirius.components.core.api.IEditingContext;
+import org.eclipse.sirius.components.representations.IRepresentation;
+import org.eclipse.sirius.web.services.api.representations.IRepresentationService;
+import org.eclipse.sirius.web.services.api.representations.RepresentationDescriptor;
+
+/**
+ * Implementation of the representation service which does nothing, used to measure the services working on the
+ * semantic data only.
+ *
+ * @author sbegaudeau
+ */
+public class NoOpRepresentationService implements IRepresentationService {
+
+    @Override
+    public Optional<RepresentationMetadata> findByRepresentation(IRepresentation representation) {
+        return Optional.empty();
+    }
+
+    @Override
+    public List<RepresentationMetadata> findAllByTargetObjectId(IEditingContext editingContext, String targetObjectId) {
+        return List.of();
+    }
+
+    @Override
+    public boolean hasRepresentations(String objectId) {
+        return false;
+    }
+
+    @Override
+    public Optional<RepresentationDescriptor> getRepresentationDescriptorForProjectId(String projectId, String representationId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public List<RepresentationDescriptor> getRepresentationDescriptorsForProjectId(String projectId) {
+        return List.of();
+    }
+
+    @Override
+    public Optional<RepresentationDescriptor> getRepresentation(UUID representationId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean existsById(UUID representationId) {
+        return false;
+    }
+
+    @Override
+    public void delete(UUID representationId) {
+    }
+
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.sirius.components.interpreter.AQLInterpreter;
+import org.eclipse.sirius.components.interpreter.Result;
+import org.eclipse.sirius.components.representations.VariableManager;
+import org.eclipse.sirius.web.graphql.datafetchers.object.ObjectExpressionBasedBooleanDataFetcher;
+import org.eclipse.sirius.web.graphql.datafetchers.object.ObjectExpressionBasedIntDataFetcher;
+import org.eclipse.sirius.web.graphql.datafetchers.object.ObjectExpressionBasedStringDataFetcher;
+import org.eclipse.sirius.web.graphql.datafetchers.object.ObjectExpressionEvaluator;
+import org.eclipse.sirius.web.graphql.instrumentation.DataLoaderRegistryInstrumentation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+
+/**
+ * Benchmarks of a GraphQL query evaluating three expressions on each of the objects of a list.
+ *
+ * <p>
+ * The fields of the type Object used to create a new interpreter and to parse their expression for each object. The
+ * baseline reproduces this previous behavior while the expressions are now evaluated by an interpreter shared by the
+ * whole execution and batched across the objects with a data loader per expression.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ObjectExpressionBenchmarks {
+
+    // @formatter:off
+    private static final String SCHEMA = "type Query {\n" //$NON-NLS-1$
+            + "  objects: [Object!]!\n" //$NON-NLS-1$
+            + "}\n" //$NON-NLS-1$
+            + "type Object {\n" //$NON-NLS-1$
+            + "  expressionBasedString(expression: String!): String\n" //$NON-NLS-1$
+            + "  expressionBasedBoolean(expression: String!): Boolean\n" //$NON-NLS-1$
+            + "  expressionBasedInt(expression: String!): Int\n" //$NON-NLS-1$
+            + "}\n"; //$NON-NLS-1$
+
+    private static final String QUERY = "query getObjects {\n" //$NON-NLS-1$
+            + "  objects {\n" //$NON-NLS-1$
+            + "    expressionBasedString(expression: \"aql:self.name\")\n" //$NON-NLS-1$
+            + "    expressionBasedBoolean(expression: \"aql:self.abstract\")\n" //$NON-NLS-1$
+            + "    expressionBasedInt(expression: \"aql:self.eStructuralFeatures->size()\")\n" //$NON-NLS-1$
+            + "  }\n" //$NON-NLS-1$
+            + "}\n"; //$NON-NLS-1$
+    // @formatter:on
+
+    private static final String OBJECT = "Object"; //$NON-NLS-1$
+
+    private static final String EXPRESSION = "expression"; //$NON-NLS-1$
+
+    @Param({ "1000" })
+    public int objects;
+
+    private GraphQL baselineGraphQL;
+
+    private GraphQL graphQL;
+
+    @Setup
+    public void setup() {
+        List<EClass> eClasses = new ArrayList<>();
+        for (int i = 0; i < this.objects; i++) {
+            EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+            eClass.setName("Concept" + i); //$NON-NLS-1$
+            eClass.setAbstract(i % 2 == 0);
+            eClasses.add(eClass);
+        }
+
+        // @formatter:off
+        RuntimeWiring baselineRuntimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", builder -> builder.dataFetcher("objects", environment -> eClasses)) //$NON-NLS-1$ //$NON-NLS-2$
+                .type(OBJECT, builder -> builder
+                        .dataFetcher("expressionBasedString", this.baselineDataFetcher(result -> result.asString().orElse(null))) //$NON-NLS-1$
+                        .dataFetcher("expressionBasedBoolean", this.baselineDataFetcher(result -> result.asBoolean().orElse(null))) //$NON-NLS-1$
+                        .dataFetcher("expressionBasedInt", this.baselineDataFetcher(result -> result.asInt().orElse(0)))) //$NON-NLS-1$
+                .build();
+
+        ObjectExpressionEvaluator objectExpressionEvaluator = new ObjectExpressionEvaluator();
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", builder -> builder.dataFetcher("objects", environment -> eClasses)) //$NON-NLS-1$ //$NON-NLS-2$
+                .type(OBJECT, builder -> builder
+                        .dataFetcher("expressionBasedString", new ObjectExpressionBasedStringDataFetcher(objectExpressionEvaluator)) //$NON-NLS-1$
+                        .dataFetcher("expressionBasedBoolean", new ObjectExpressionBasedBooleanDataFetcher(objectExpressionEvaluator)) //$NON-NLS-1$
+                        .dataFetcher("expressionBasedInt", new ObjectExpressionBasedIntDataFetcher(objectExpressionEvaluator))) //$NON-NLS-1$
+                .build();
+        // @formatter:on
+
+        this.baselineGraphQL = GraphQL.newGraphQL(this.newSchema(baselineRuntimeWiring)).build();
+        this.graphQL = GraphQL.newGraphQL(this.newSchema(runtimeWiring)).instrumentation(new DataLoaderRegistryInstrumentation()).build();
+    }
+
+    private GraphQLSchema newSchema(RuntimeWiring runtimeWiring) {
+        return new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA), runtimeWiring);
+    }
+
+    private DataFetcher<Object> baselineDataFetcher(Function<Result, Object> converter) {
+        return environment -> {
+            Object object = environment.getSource();
+            String expression = environment.getArgument(EXPRESSION);
+
+            AQLInterpreter interpreter = new AQLInterpreter(new ArrayList<>(), new ArrayList<>());
+            Result result = interpreter.evaluateExpression(Map.of(VariableManager.SELF, object), expression);
+            return converter.apply(result);
+        };
+    }
+
+    @Benchmark
+    public ExecutionResult baselineInterpreterPerObject() {
+        return this.baselineGraphQL.execute(QUERY);
+    }
+
+    @Benchmark
+    public ExecutionResult batchedExpressions() {
+        return this.graphQL.execute(QUERY);
+    }
+}
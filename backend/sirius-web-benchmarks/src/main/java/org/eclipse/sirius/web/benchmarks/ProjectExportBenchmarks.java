@@ -0,0 +1,301 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+
+import org.eclipse.sirius.web.persistence.projections.DocumentMetadataProjection;
+import org.eclipse.sirius.web.persistence.projections.RepresentationMetadataProjection;
+import org.eclipse.sirius.web.persistence.repositories.IDocumentRepository;
+import org.eclipse.sirius.web.persistence.repositories.IRepresentationRepository;
+import org.eclipse.sirius.web.services.api.accounts.Profile;
+import org.eclipse.sirius.web.services.api.projects.IProjectService;
+import org.eclipse.sirius.web.services.api.projects.Project;
+import org.eclipse.sirius.web.services.api.projects.UnzippedProject;
+import org.eclipse.sirius.web.services.api.projects.Visibility;
+import org.eclipse.sirius.web.services.editingcontext.NoOpDocumentRepository;
+import org.eclipse.sirius.web.services.projects.NoOpIdMappingRepository;
+import org.eclipse.sirius.web.services.projects.ProjectExportService;
+import org.eclipse.sirius.web.services.projects.ProjectUnzipper;
+import org.eclipse.sirius.web.services.representations.NoOpRepresentationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.info.BuildProperties;
+
+/**
+ * Benchmarks of the export of a project as a zip and of the unzipping of such an archive during the import.
+ *
+ * <p>
+ * Each document has its own identifiers and the representations target objects spread over all the documents. The
+ * allocations of the export can be measured with the GC profiler of JMH, for example with
+ * <code>ProjectExportBenchmarks.exportProject -p documents=200 -p representations=2000 -prof gc</code>.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProjectExportBenchmarks {
+
+    private static final Pattern ID_PATTERN = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}"); //$NON-NLS-1$
+
+    private static final int NODES_PER_REPRESENTATION = 50;
+
+    @Param({ FlowModels.ROBOT, FlowModels.BIG_GUY })
+    public String model;
+
+    @Param({ "1", "10", "200" })
+    public int documents;
+
+    @Param({ "0", "2000" })
+    public int representations;
+
+    @Param({ "1", "4" })
+    public int threads;
+
+    private final FlowModels flowModels = new FlowModels();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<UUID, String> documentContents = new HashMap<>();
+
+    private final Map<UUID, String> representationContents = new HashMap<>();
+
+    private UUID projectId;
+
+    private ProjectExportService projectExportService;
+
+    private byte[] zip;
+
+    @Setup
+    public void setup() {
+        Project project = new Project(UUID.randomUUID(), "Benchmark", new Profile(UUID.randomUUID(), "benchmark"), Visibility.PUBLIC); //$NON-NLS-1$ //$NON-NLS-2$
+        this.projectId = project.getId();
+        Random random = new Random(0);
+
+        String content = this.flowModels.getJSONContent(this.model, 1);
+        List<DocumentMetadataProjection> documentsMetadata = new ArrayList<>();
+        List<List<String>> documentObjectIds = new ArrayList<>();
+        for (int i = 0; i < this.documents; i++) {
+            UUID documentId = UUID.randomUUID();
+            List<String> objectIds = new ArrayList<>();
+            this.documentContents.put(documentId, this.withNewIds(content, objectIds));
+            documentObjectIds.add(objectIds);
+            documentsMetadata.add(new DocumentMetadata(documentId, this.model + i));
+        }
+
+        List<RepresentationMetadataProjection> representationsMetadata = new ArrayList<>();
+        for (int i = 0; i < this.representations; i++) {
+            UUID representationId = UUID.randomUUID();
+            List<String> objectIds = documentObjectIds.get(random.nextInt(documentObjectIds.size()));
+            String targetObjectId = objectIds.get(random.nextInt(objectIds.size()));
+            this.representationContents.put(representationId, this.getRepresentationContent(representationId, targetObjectId));
+            representationsMetadata.add(new RepresentationMetadata(representationId, targetObjectId, "Diagram" + i)); //$NON-NLS-1$
+        }
+
+        IProjectService projectService = new IProjectService.NoOp() {
+            @Override
+            public Optional<Project> getProject(UUID projectId) {
+                return Optional.of(project).filter(candidate -> candidate.getId().equals(projectId));
+            }
+        };
+        IDocumentRepository documentRepository = new NoOpDocumentRepository() {
+            @Override
+            public List<DocumentMetadataProjection> findAllMetadataByProjectId(UUID projectId) {
+                return documentsMetadata;
+            }
+
+            @Override
+            public Optional<String> findContentById(UUID id) {
+                return Optional.ofNullable(ProjectExportBenchmarks.this.documentContents.get(id));
+            }
+        };
+        IRepresentationRepository representationRepository = new NoOpRepresentationRepository() {
+            @Override
+            public List<RepresentationMetadataProjection> findAllMetadataByProjectId(UUID projectId) {
+                return representationsMetadata;
+            }
+
+            @Override
+            public Optional<String> findContentById(UUID id) {
+                return Optional.ofNullable(ProjectExportBenchmarks.this.representationContents.get(id));
+            }
+        };
+
+        Properties buildProperties = new Properties();
+        buildProperties.put("version", "benchmark"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        this.projectExportService = new ProjectExportService(projectService, documentRepository, representationRepository, editingContextId -> this.flowModels.getEPackages(),
+                new NoOpIdMappingRepository(), this.objectMapper, new BuildProperties(buildProperties), this.threads, Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_COMPRESSION);
+        this.zip = this.projectExportService.exportProjectAsZip(this.projectId);
+    }
+
+    /**
+     * Replaces consistently all the identifiers of the given content by new ones, which are also collected in the given
+     * list.
+     */
+    private String withNewIds(String content, List<String> objectIds) {
+        Map<String, String> newIds = new HashMap<>();
+        Matcher matcher = ID_PATTERN.matcher(content);
+        StringBuilder builder = new StringBuilder(content.length());
+        while (matcher.find()) {
+            String newId = newIds.computeIfAbsent(matcher.group(), id -> {
+                String generatedId = UUID.randomUUID().toString();
+                objectIds.add(generatedId);
+                return generatedId;
+            });
+            matcher.appendReplacement(builder, newId);
+        }
+        matcher.appendTail(builder);
+        return builder.toString();
+    }
+
+    private String getRepresentationContent(UUID representationId, String targetObjectId) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"id\":\"").append(representationId).append("\",\"kind\":\"siriusComponents://representation?type=Diagram\",\"targetObjectId\":\"").append(targetObjectId); //$NON-NLS-1$ //$NON-NLS-2$
+        builder.append("\",\"nodes\":["); //$NON-NLS-1$
+        for (int i = 0; i < NODES_PER_REPRESENTATION; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"id\":\"").append(UUID.randomUUID()).append("\",\"targetObjectId\":\"").append(targetObjectId); //$NON-NLS-1$ //$NON-NLS-2$
+            builder.append("\",\"position\":{\"x\":").append(i * 10).append(",\"y\":").append(i * 20).append("},\"size\":{\"width\":150,\"height\":70}}"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+        builder.append("],\"edges\":[]}"); //$NON-NLS-1$
+        return builder.toString();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.projectExportService.destroy();
+    }
+
+    @Benchmark
+    public byte[] exportProjectAsZip() {
+        return this.projectExportService.exportProjectAsZip(this.projectId);
+    }
+
+    @Benchmark
+    public void exportProject() throws IOException {
+        this.projectExportService.exportProject(this.projectId, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public Optional<UnzippedProject> unzipProject() {
+        try (ProjectUnzipper projectUnzipper = new ProjectUnzipper(new ByteArrayInputStream(this.zip), this.objectMapper)) {
+            return projectUnzipper.unzipProject();
+        }
+    }
+
+    /**
+     * Metadata of a document.
+     *
+     * @author sbegaudeau
+     */
+    private static final class DocumentMetadata implements DocumentMetadataProjection {
+
+        private final UUID id;
+
+        private final String name;
+
+        DocumentMetadata(UUID id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        @Override
+        public UUID getId() {
+            return this.id;
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+    }
+
+    /**
+     * Metadata of a representation.
+     *
+     * @author sbegaudeau
+     */
+    private static final class RepresentationMetadata implements RepresentationMetadataProjection {
+
+        private final UUID id;
+
+        private final String targetObjectId;
+
+        private final String label;
+
+        RepresentationMetadata(UUID id, String targetObjectId, String label) {
+            this.id = id;
+            this.targetObjectId = targetObjectId;
+            this.label = label;
+        }
+
+        @Override
+        public UUID getId() {
+            return this.id;
+        }
+
+        @Override
+        public String getDescriptionId() {
+            return "description"; //$NON-NLS-1$
+        }
+
+        @Override
+        public String getTargetObjectId() {
+            return this.targetObjectId;
+        }
+
+        @Override
+        public String getLabel() {
+            return this.label;
+        }
+
+        @Override
+        public String getKind() {
+            return "siriusComponents://representation?type=Diagram"; //$NON-NLS-1$
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.edit.domain.AdapterFactoryEditingDomain;
+import org.eclipse.sirius.components.core.api.IEditingContext;
+import org.eclipse.sirius.components.core.api.IEditingContextPersistenceService;
+import org.eclipse.sirius.components.emf.services.EditingContext;
+import org.eclipse.sirius.components.graphql.api.UploadFile;
+import org.eclipse.sirius.web.persistence.entities.ProjectEntity;
+import org.eclipse.sirius.web.services.api.document.BulkUploadDocumentsInput;
+import org.eclipse.sirius.web.services.api.document.IDocumentService;
+import org.eclipse.sirius.web.services.api.document.UploadDocumentInput;
+import org.eclipse.sirius.web.services.api.projects.IProjectOwnershipService;
+import org.eclipse.sirius.web.services.documents.BulkUploadDocumentsEventHandler;
+import org.eclipse.sirius.web.services.documents.DocumentService;
+import org.eclipse.sirius.web.services.documents.EditingDomainFactory;
+import org.eclipse.sirius.web.services.documents.UploadDocumentEventHandler;
+import org.eclipse.sirius.web.services.documents.UploadedDocumentLoader;
+import org.eclipse.sirius.web.services.editingcontext.EditingContextPersistenceService;
+import org.eclipse.sirius.web.services.editingcontext.NoOpApplicationEventPublisher;
+import org.eclipse.sirius.web.services.editingcontext.NoOpProjectRepository;
+import org.eclipse.sirius.web.services.projects.NoOpServicesMessageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Benchmarks of the creation of the documents of an imported project.
+ *
+ * <p>
+ * Each uploaded document is followed by a persistence of the editing context, as done by the editing context event
+ * processor after each semantic change. Creating the documents one at a time thus persists the editing context once
+ * per document while the bulk upload persists it only once. The refresh of the representations opened, which also
+ * happens after each semantic change, is not measured here.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProjectImportBenchmarks {
+
+    @Param({ "10", "100", "300" })
+    public int documents;
+
+    private final FlowModels flowModels = new FlowModels();
+
+    private byte[] content;
+
+    private ProjectEntity projectEntity;
+
+    private UploadDocumentEventHandler uploadDocumentEventHandler;
+
+    private BulkUploadDocumentsEventHandler bulkUploadDocumentsEventHandler;
+
+    private IEditingContextPersistenceService editingContextPersistenceService;
+
+    private IEditingContext editingContext;
+
+    @Setup
+    public void setup() {
+        this.content = this.flowModels.getJSONContent(FlowModels.ROBOT, 1).getBytes(StandardCharsets.UTF_8);
+
+        this.projectEntity = new ProjectEntity();
+        this.projectEntity.setId(UUID.randomUUID());
+        this.projectEntity.setName("Benchmark"); //$NON-NLS-1$
+    }
+
+    @Setup(Level.Invocation)
+    public void setupEditingContext() {
+        InMemoryDocumentRepository documentRepository = new InMemoryDocumentRepository();
+        NoOpProjectRepository projectRepository = new NoOpProjectRepository() {
+            @Override
+            public Optional<ProjectEntity> findById(UUID id) {
+                return Optional.of(ProjectImportBenchmarks.this.projectEntity);
+            }
+        };
+        IDocumentService documentService = new DocumentService(projectRepository, documentRepository, editingContextId -> this.flowModels.getEPackages());
+
+        this.uploadDocumentEventHandler = new UploadDocumentEventHandler(documentService, new NoOpServicesMessageService(), new SimpleMeterRegistry(), UploadedDocumentLoader.DEFAULT_MAX_SIZE);
+        this.bulkUploadDocumentsEventHandler = new BulkUploadDocumentsEventHandler(documentService, new NoOpServicesMessageService(), new SimpleMeterRegistry(), UploadedDocumentLoader.DEFAULT_MAX_SIZE);
+        this.editingContextPersistenceService = new EditingContextPersistenceService(documentRepository, new NoOpApplicationEventPublisher(), new IProjectOwnershipService.NoOp(), new SimpleMeterRegistry());
+
+        AdapterFactoryEditingDomain editingDomain = new EditingDomainFactory().create();
+        editingDomain.getResourceSet().setPackageRegistry(this.flowModels.getEPackageRegistry());
+        this.editingContext = new EditingContext(this.projectEntity.getId().toString(), editingDomain);
+    }
+
+    @Benchmark
+    public IEditingContext uploadDocuments() {
+        for (UploadFile uploadFile : this.getUploadFiles()) {
+            var input = new UploadDocumentInput(UUID.randomUUID(), this.editingContext.getId(), uploadFile);
+            this.uploadDocumentEventHandler.handle(Sinks.one(), Sinks.many().unicast().onBackpressureBuffer(), this.editingContext, input);
+            this.editingContextPersistenceService.persist(this.editingContext);
+        }
+        return this.editingContext;
+    }
+
+    @Benchmark
+    public IEditingContext bulkUploadDocuments() {
+        var input = new BulkUploadDocumentsInput(UUID.randomUUID(), this.editingContext.getId(), this.getUploadFiles());
+        this.bulkUploadDocumentsEventHandler.handle(Sinks.one(), Sinks.many().unicast().onBackpressureBuffer(), this.editingContext, input);
+        this.editingContextPersistenceService.persist(this.editingContext);
+        return this.editingContext;
+    }
+
+    private List<UploadFile> getUploadFiles() {
+        List<UploadFile> uploadFiles = new ArrayList<>(this.documents);
+        for (int i = 0; i < this.documents; i++) {
+            uploadFiles.add(new UploadFile(FlowModels.ROBOT + i, new ByteArrayInputStream(this.content)));
+        }
+        return uploadFiles;
+    }
+}
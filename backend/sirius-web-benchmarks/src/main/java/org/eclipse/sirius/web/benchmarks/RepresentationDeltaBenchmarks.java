@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.sirius.web.graphql.datafetchers.subscriptions.RepresentationDeltaEncoder;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the serialization of the refresh of a representation sent to a subscriber.
+ *
+ * <p>
+ * Each refresh renames a single object of the representation, as a typical edit would do. The baseline serializes the
+ * whole representation for each refresh, as it was done before, while the subscribers which have requested deltas now
+ * receive a JSON Patch computed against the last version they have received. Besides the time of each refresh, the
+ * average number of characters sent on the wire for each refresh is reported.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RepresentationDeltaBenchmarks {
+
+    private static final int VERSIONS = 16;
+
+    private static final String NAME = "name"; //$NON-NLS-1$
+
+    private static final String REPRESENTATION_ID = UUID.randomUUID().toString();
+
+    @Param({ FlowModels.ROBOT, FlowModels.BIG_GUY })
+    private String model;
+
+    @Param({ "1", "10" })
+    private int scale;
+
+    private final FlowModels flowModels = new FlowModels();
+
+    private final List<JsonNode> versions = new ArrayList<>();
+
+    private RepresentationDeltaEncoder encoder;
+
+    private int index;
+
+    /**
+     * The size of the payloads sent on the wire.
+     *
+     * @author sbegaudeau
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long charactersPerRefresh;
+
+        private long characters;
+
+        private long refreshes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.charactersPerRefresh = 0;
+            this.characters = 0;
+            this.refreshes = 0;
+        }
+
+        public void record(String payload) {
+            this.characters = this.characters + payload.length();
+            this.refreshes++;
+            this.charactersPerRefresh = this.characters / this.refreshes;
+        }
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode content = objectMapper.readTree(this.flowModels.getJSONContent(this.model, this.scale));
+
+        List<ObjectNode> namedNodes = new ArrayList<>();
+        this.collectNamedNodes(content, namedNodes);
+
+        for (int i = 0; i < VERSIONS; i++) {
+            JsonNode version = content.deepCopy();
+            List<ObjectNode> versionNamedNodes = new ArrayList<>();
+            this.collectNamedNodes(version, versionNamedNodes);
+            if (!versionNamedNodes.isEmpty()) {
+                ObjectNode renamedNode = versionNamedNodes.get(i * versionNamedNodes.size() / VERSIONS);
+                renamedNode.put(NAME, renamedNode.get(NAME).asText() + i);
+            }
+            this.versions.add(version);
+        }
+
+        this.encoder = new RepresentationDeltaEncoder();
+        this.encoder.encode(UUID.randomUUID(), REPRESENTATION_ID, content);
+    }
+
+    private void collectNamedNodes(JsonNode node, List<ObjectNode> namedNodes) {
+        if (node instanceof ObjectNode && node.path(NAME).isTextual()) {
+            namedNodes.add((ObjectNode) node);
+        }
+        node.elements().forEachRemaining(child -> this.collectNamedNodes(child, namedNodes));
+    }
+
+    private JsonNode nextVersion() {
+        JsonNode version = this.versions.get(this.index);
+        this.index = (this.index + 1) % VERSIONS;
+        return version;
+    }
+
+    @Benchmark
+    public String baselineFullPayload(PayloadSize payloadSize) {
+        String payload = this.nextVersion().toString();
+        payloadSize.record(payload);
+        return payload;
+    }
+
+    @Benchmark
+    public String deltaPayload(PayloadSize payloadSize) {
+        String payload = this.encoder.encode(UUID.randomUUID(), REPRESENTATION_ID, this.nextVersion()).getContent();
+        payloadSize.record(payload);
+        return payload;
+    }
+}
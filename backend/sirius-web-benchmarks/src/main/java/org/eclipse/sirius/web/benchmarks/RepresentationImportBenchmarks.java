@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.sirius.components.graphql.api.UploadFile;
+import org.eclipse.sirius.web.persistence.entities.ProjectEntity;
+import org.eclipse.sirius.web.persistence.entities.RepresentationEntity;
+import org.eclipse.sirius.web.services.api.projects.ProjectManifest;
+import org.eclipse.sirius.web.services.api.projects.RepresentationManifest;
+import org.eclipse.sirius.web.services.projects.IProjectImportMonitor;
+import org.eclipse.sirius.web.services.projects.NoOpIdMappingRepository;
+import org.eclipse.sirius.web.services.projects.NoOpProjectRepository;
+import org.eclipse.sirius.web.services.projects.RepresentationImporter;
+import org.eclipse.sirius.web.services.representations.NoOpRepresentationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the import of the representations of a project.
+ *
+ * <p>
+ * The representations were previously imported by creating and rendering each of them in the editing context of the
+ * imported project, with a persistence of the representation and of the editing context after each one. They are now
+ * copied directly in the database after having rewritten their identifiers. The database is not involved here, the
+ * representations saved are only counted.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RepresentationImportBenchmarks {
+
+    private static final int NODES_PER_REPRESENTATION = 50;
+
+    private static final String DESCRIPTION_URI = "siriusComponents://description?id=Topography"; //$NON-NLS-1$
+
+    @Param({ "1000" })
+    public int representations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<String, byte[]> representationDescriptors = new LinkedHashMap<>();
+
+    private final Map<String, String> objectIdMapping = new HashMap<>();
+
+    private ProjectManifest projectManifest;
+
+    private RepresentationImporter representationImporter;
+
+    private int savedRepresentations;
+
+    @Setup
+    public void setup() {
+        UUID projectId = UUID.randomUUID();
+        String descriptionId = UUID.randomUUID().toString();
+
+        List<String> previousObjectIds = new ArrayList<>();
+        for (int i = 0; i < NODES_PER_REPRESENTATION; i++) {
+            String previousObjectId = UUID.randomUUID().toString();
+            previousObjectIds.add(previousObjectId);
+            this.objectIdMapping.put(previousObjectId, UUID.randomUUID().toString());
+        }
+
+        Map<String, RepresentationManifest> representationManifests = new HashMap<>();
+        for (int i = 0; i < this.representations; i++) {
+            String representationId = UUID.randomUUID().toString();
+            String targetObjectId = previousObjectIds.get(i % NODES_PER_REPRESENTATION);
+            String content = this.getRepresentationDescriptor(projectId, representationId, descriptionId, targetObjectId, previousObjectIds, "Diagram" + i); //$NON-NLS-1$
+            this.representationDescriptors.put(representationId, content.getBytes(StandardCharsets.UTF_8));
+
+            // @formatter:off
+            representationManifests.put(representationId, RepresentationManifest.newRepresentationManifest()
+                    .type("siriusComponents://representation?type=Diagram") //$NON-NLS-1$
+                    .descriptionURI(DESCRIPTION_URI)
+                    .targetObjectURI("document#" + targetObjectId) //$NON-NLS-1$
+                    .build());
+            // @formatter:on
+        }
+
+        // @formatter:off
+        this.projectManifest = ProjectManifest.newProjectManifest("1.0", "benchmark") //$NON-NLS-1$ //$NON-NLS-2$
+                .metamodels(List.of())
+                .documentIdsToName(Map.of())
+                .representations(representationManifests)
+                .build();
+        // @formatter:on
+
+        ProjectEntity projectEntity = new ProjectEntity();
+        projectEntity.setId(projectId);
+        projectEntity.setName("Benchmark"); //$NON-NLS-1$
+        NoOpProjectRepository projectRepository = new NoOpProjectRepository() {
+            @Override
+            public Optional<ProjectEntity> findById(UUID id) {
+                return Optional.of(projectEntity);
+            }
+        };
+        NoOpRepresentationRepository representationRepository = new NoOpRepresentationRepository() {
+            @Override
+            public <S extends RepresentationEntity> Iterable<S> saveAll(Iterable<S> entities) {
+                entities.forEach(entity -> RepresentationImportBenchmarks.this.savedRepresentations++);
+                return entities;
+            }
+        };
+        this.representationImporter = new RepresentationImporter(representationRepository, projectRepository, new NoOpIdMappingRepository(), this.objectMapper);
+    }
+
+    @Benchmark
+    public int importRepresentations() {
+        this.savedRepresentations = 0;
+
+        List<UploadFile> representationDescriptorFiles = new ArrayList<>(this.representations);
+        this.representationDescriptors.forEach((name, content) -> representationDescriptorFiles.add(new UploadFile(name, new ByteArrayInputStream(content))));
+        this.representationImporter.importRepresentations(UUID.randomUUID(), representationDescriptorFiles, this.projectManifest, this.objectIdMapping, new IProjectImportMonitor.NoOp());
+        return this.savedRepresentations;
+    }
+
+    private String getRepresentationDescriptor(UUID projectId, String representationId, String descriptionId, String targetObjectId, List<String> nodeTargetObjectIds, String label) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"id\":\"").append(representationId).append("\",\"projectId\":\"").append(projectId); //$NON-NLS-1$ //$NON-NLS-2$
+        builder.append("\",\"descriptionId\":\"").append(descriptionId).append("\",\"targetObjectId\":\"").append(targetObjectId); //$NON-NLS-1$ //$NON-NLS-2$
+        builder.append("\",\"label\":\"").append(label).append("\",\"kind\":\"siriusComponents://representation?type=Diagram\",\"representation\":"); //$NON-NLS-1$ //$NON-NLS-2$
+        builder.append("{\"id\":\"").append(representationId).append("\",\"kind\":\"siriusComponents://representation?type=Diagram\",\"targetObjectId\":\"").append(targetObjectId); //$NON-NLS-1$ //$NON-NLS-2$
+        builder.append("\",\"descriptionId\":\"").append(descriptionId).append("\",\"label\":\"").append(label); //$NON-NLS-1$ //$NON-NLS-2$
+        builder.append("\",\"nodes\":["); //$NON-NLS-1$
+        for (int i = 0; i < nodeTargetObjectIds.size(); i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"id\":\"").append(UUID.randomUUID()).append("\",\"targetObjectId\":\"").append(nodeTargetObjectIds.get(i)); //$NON-NLS-1$ //$NON-NLS-2$
+            builder.append("\",\"position\":{\"x\":").append(i * 10).append(",\"y\":").append(i * 20).append("},\"size\":{\"width\":150,\"height\":70}}"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+        builder.append("],\"edges\":[]}}"); //$NON-NLS-1$
+        return builder.toString();
+    }
+}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks of the backend.
+ *
+ * <p>
+ * All the regular JMH command line options are supported, for example
+ * <code>java -jar target/benchmarks.jar JsonResourceBenchmarks -p scale=10</code>. Unless specified otherwise with
+ * <code>-rf</code> and <code>-rff</code>, the results are written in <code>jmh-result.json</code> in order to be
+ * compared between versions.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public final class SiriusWebBenchmarks {
+
+    private static final String RESULT_FILE = "jmh-result.json"; //$NON-NLS-1$
+
+    private SiriusWebBenchmarks() {
+        // Prevent instantiation
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+        // @formatter:off
+        Options options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .resultFormat(commandLineOptions.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(commandLineOptions.getResult().orElse(RESULT_FILE))
+                .build();
+        // @formatter:on
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.sirius.components.domain.Attribute;
+import org.eclipse.sirius.components.domain.DataType;
+import org.eclipse.sirius.components.domain.Domain;
+import org.eclipse.sirius.components.domain.DomainFactory;
+import org.eclipse.sirius.components.domain.Entity;
+import org.eclipse.sirius.components.domain.Relation;
+
+/**
+ * Generates domain models made of entities with attributes. The cross references are the relations between the
+ * entities.
+ *
+ * @author sbegaudeau
+ */
+public class DomainModelGenerator implements IModelGenerator {
+
+    private static final int ATTRIBUTES_PER_ENTITY = 4;
+
+    @Override
+    public EObject generate(String name, int objects, double crossReferenceDensity, Random random) {
+        Domain domain = DomainFactory.eINSTANCE.createDomain();
+        domain.setName(name);
+
+        List<Entity> entities = new ArrayList<>();
+        Entity entity = null;
+        for (int i = 0; i < objects; i++) {
+            if (i % (ATTRIBUTES_PER_ENTITY + 1) == 0) {
+                entity = DomainFactory.eINSTANCE.createEntity();
+                entity.setName("Entity" + i); //$NON-NLS-1$
+                domain.getTypes().add(entity);
+                entities.add(entity);
+            } else {
+                Attribute attribute = DomainFactory.eINSTANCE.createAttribute();
+                attribute.setName("attribute" + i); //$NON-NLS-1$
+                attribute.setType(DataType.STRING);
+                entity.getAttributes().add(attribute);
+            }
+        }
+
+        for (Entity source : entities) {
+            if (random.nextDouble() < crossReferenceDensity) {
+                Relation relation = DomainFactory.eINSTANCE.createRelation();
+                relation.setName("relation" + source.getRelations().size()); //$NON-NLS-1$
+                relation.setTargetType(entities.get(random.nextInt(entities.size())));
+                source.getRelations().add(relation);
+            }
+        }
+
+        return domain;
+    }
+
+}
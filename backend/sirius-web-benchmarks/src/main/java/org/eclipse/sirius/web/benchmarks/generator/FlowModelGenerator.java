@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.emf.ecore.EObject;
+
+import fr.obeo.dsl.designer.sample.flow.CompositeProcessor;
+import fr.obeo.dsl.designer.sample.flow.DataFlow;
+import fr.obeo.dsl.designer.sample.flow.DataSource;
+import fr.obeo.dsl.designer.sample.flow.FlowFactory;
+import fr.obeo.dsl.designer.sample.flow.Processor;
+
+/**
+ * Generates flow models made of composite processors containing processors and data sources. The cross references are
+ * the data flows between those elements.
+ *
+ * @author sbegaudeau
+ */
+public class FlowModelGenerator implements IModelGenerator {
+
+    private static final int ELEMENTS_PER_COMPOSITE_PROCESSOR = 20;
+
+    @Override
+    public EObject generate(String name, int objects, double crossReferenceDensity, Random random) {
+        fr.obeo.dsl.designer.sample.flow.System system = FlowFactory.eINSTANCE.createSystem();
+        system.setName(name);
+
+        List<Processor> processors = new ArrayList<>();
+        List<DataSource> dataSources = new ArrayList<>();
+
+        CompositeProcessor compositeProcessor = null;
+        for (int i = 0; i < objects; i++) {
+            if (i % ELEMENTS_PER_COMPOSITE_PROCESSOR == 0) {
+                compositeProcessor = FlowFactory.eINSTANCE.createCompositeProcessor();
+                compositeProcessor.setName("CompositeProcessor" + i); //$NON-NLS-1$
+                system.getElements().add(compositeProcessor);
+            } else if (i % 3 == 0) {
+                DataSource dataSource = FlowFactory.eINSTANCE.createDataSource();
+                dataSource.setName("DataSource" + i); //$NON-NLS-1$
+                compositeProcessor.getElements().add(dataSource);
+                dataSources.add(dataSource);
+            } else {
+                Processor processor = FlowFactory.eINSTANCE.createProcessor();
+                processor.setName("Processor" + i); //$NON-NLS-1$
+                compositeProcessor.getElements().add(processor);
+                processors.add(processor);
+            }
+        }
+
+        if (!processors.isEmpty()) {
+            for (DataSource dataSource : dataSources) {
+                if (random.nextDouble() < crossReferenceDensity) {
+                    DataFlow dataFlow = FlowFactory.eINSTANCE.createDataFlow();
+                    dataFlow.setTarget(processors.get(random.nextInt(processors.size())));
+                    dataSource.getOutgoingFlows().add(dataFlow);
+                }
+            }
+            for (Processor processor : processors) {
+                if (random.nextDouble() < crossReferenceDensity) {
+                    DataFlow dataFlow = FlowFactory.eINSTANCE.createDataFlow();
+                    dataFlow.setTarget(processors.get(random.nextInt(processors.size())));
+                    processor.getOutgoingFlows().add(dataFlow);
+                }
+            }
+        }
+
+        return system;
+    }
+
+}
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks.generator;
+
+import java.util.Random;
+
+import org.eclipse.emf.ecore.EObject;
+
+/**
+ * Generates the root object of a synthetic model.
+ *
+ * @author sbegaudeau
+ */
+public interface IModelGenerator {
+
+    /**
+     * Creates a model.
+     *
+     * @param name
+     *            The name of the root object
+     * @param objects
+     *            The number of objects to create
+     * @param crossReferenceDensity
+     *            The probability, between 0 and 1, for an object to reference another object of the model
+     * @param random
+     *            The random generator to use in order to create reproducible models
+     * @return The root object of the model
+     */
+    EObject generate(String name, int objects, double crossReferenceDensity, Random random);
+
+}
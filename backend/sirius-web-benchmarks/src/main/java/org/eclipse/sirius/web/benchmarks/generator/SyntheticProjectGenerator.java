@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks.generator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.sirius.components.emf.services.EObjectIDManager;
+import org.eclipse.sirius.components.emf.services.SiriusWebJSONResourceFactoryImpl;
+import org.eclipse.sirius.emfjson.resource.JsonResource;
+import org.eclipse.sirius.web.persistence.entities.AccountEntity;
+import org.eclipse.sirius.web.persistence.entities.DocumentEntity;
+import org.eclipse.sirius.web.persistence.entities.ProjectEntity;
+import org.eclipse.sirius.web.persistence.entities.RepresentationEntity;
+import org.eclipse.sirius.web.persistence.entities.VisibilityEntity;
+import org.eclipse.sirius.web.persistence.repositories.IAccountRepository;
+import org.eclipse.sirius.web.persistence.repositories.IDocumentRepository;
+import org.eclipse.sirius.web.persistence.repositories.IProjectRepository;
+import org.eclipse.sirius.web.persistence.repositories.IRepresentationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Inserts synthetic projects of a configurable size directly in the database through the persistence repositories.
+ *
+ * <p>
+ * Representations can only be created by duplicating an existing representation, given by its id, since their content
+ * depends on the descriptions available in the server. A manifest listing the identifiers and kinds of the objects
+ * created is written next to the generated projects in order to be used by the load driver.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@Service
+public class SyntheticProjectGenerator {
+
+    private static final String NAME = "name"; //$NON-NLS-1$
+
+    private static final String KIND_PREFIX = "siriusComponents://semantic?domain="; //$NON-NLS-1$
+
+    private final Logger logger = LoggerFactory.getLogger(SyntheticProjectGenerator.class);
+
+    private final IAccountRepository accountRepository;
+
+    private final IProjectRepository projectRepository;
+
+    private final IDocumentRepository documentRepository;
+
+    private final IRepresentationRepository representationRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, IModelGenerator> modelGenerators;
+
+    private final String metamodel;
+
+    private final String owner;
+
+    private final int projects;
+
+    private final int documents;
+
+    private final int objectsPerDocument;
+
+    private final double crossReferenceDensity;
+
+    private final double representationsPerObject;
+
+    private final String representationTemplate;
+
+    private final long seed;
+
+    private final String output;
+
+    public SyntheticProjectGenerator(IAccountRepository accountRepository, IProjectRepository projectRepository, IDocumentRepository documentRepository,
+            IRepresentationRepository representationRepository, ObjectMapper objectMapper,
+            @Value("${sirius.web.generator.metamodel:flow}") String metamodel,
+            @Value("${sirius.web.generator.owner:admin}") String owner,
+            @Value("${sirius.web.generator.projects:1}") int projects,
+            @Value("${sirius.web.generator.documents:10}") int documents,
+            @Value("${sirius.web.generator.objectsPerDocument:1000}") int objectsPerDocument,
+            @Value("${sirius.web.generator.crossReferenceDensity:0.2}") double crossReferenceDensity,
+            @Value("${sirius.web.generator.representationsPerObject:0}") double representationsPerObject,
+            @Value("${sirius.web.generator.representationTemplate:}") String representationTemplate,
+            @Value("${sirius.web.generator.seed:0}") long seed,
+            @Value("${sirius.web.generator.output:generated}") String output) {
+        this.accountRepository = Objects.requireNonNull(accountRepository);
+        this.projectRepository = Objects.requireNonNull(projectRepository);
+        this.documentRepository = Objects.requireNonNull(documentRepository);
+        this.representationRepository = Objects.requireNonNull(representationRepository);
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+        this.modelGenerators = Map.of("flow", new FlowModelGenerator(), "domain", new DomainModelGenerator()); //$NON-NLS-1$ //$NON-NLS-2$
+        this.metamodel = Objects.requireNonNull(metamodel);
+        this.owner = Objects.requireNonNull(owner);
+        this.projects = projects;
+        this.documents = documents;
+        this.objectsPerDocument = objectsPerDocument;
+        this.crossReferenceDensity = crossReferenceDensity;
+        this.representationsPerObject = representationsPerObject;
+        this.representationTemplate = Objects.requireNonNull(representationTemplate);
+        this.seed = seed;
+        this.output = Objects.requireNonNull(output);
+    }
+
+    public void generate() {
+        IModelGenerator modelGenerator = this.modelGenerators.get(this.metamodel);
+        if (modelGenerator == null) {
+            throw new IllegalArgumentException("Unknown metamodel " + this.metamodel); //$NON-NLS-1$
+        }
+        AccountEntity owner = this.accountRepository.findByUsername(this.owner).orElseThrow(() -> new IllegalArgumentException("Unknown user " + this.owner)); //$NON-NLS-1$
+
+        // @formatter:off
+        Optional<RepresentationEntity> optionalTemplate = Optional.of(this.representationTemplate)
+                .filter(template -> !template.isBlank())
+                .map(UUID::fromString)
+                .flatMap(this.representationRepository::findById);
+        // @formatter:on
+        if (this.representationsPerObject > 0 && optionalTemplate.isEmpty()) {
+            this.logger.warn("No representation template available, no representation will be created"); //$NON-NLS-1$
+        }
+
+        Random random = new Random(this.seed);
+        for (int i = 0; i < this.projects; i++) {
+            long start = System.currentTimeMillis();
+
+            ProjectEntity projectEntity = new ProjectEntity();
+            projectEntity.setName("Synthetic " + this.metamodel + " " + i); //$NON-NLS-1$ //$NON-NLS-2$
+            projectEntity.setOwner(owner);
+            projectEntity.setVisibility(VisibilityEntity.PUBLIC);
+            projectEntity = this.projectRepository.save(projectEntity);
+
+            ObjectNode manifest = this.objectMapper.createObjectNode();
+            manifest.put("projectId", projectEntity.getId().toString()); //$NON-NLS-1$
+            ArrayNode objects = manifest.putArray("objects"); //$NON-NLS-1$
+
+            for (int j = 0; j < this.documents; j++) {
+                String name = this.metamodel + j;
+                EObject root = modelGenerator.generate(name, this.objectsPerDocument, this.crossReferenceDensity, random);
+                Map<EObject, String> ids = new LinkedHashMap<>();
+
+                DocumentEntity documentEntity = new DocumentEntity();
+                documentEntity.setProject(projectEntity);
+                documentEntity.setName(name);
+                documentEntity.setContent(this.toJSON(root, ids));
+                this.documentRepository.save(documentEntity);
+
+                for (var entry : ids.entrySet()) {
+                    EObject eObject = entry.getKey();
+                    ObjectNode object = objects.addObject();
+                    object.put("id", entry.getValue()); //$NON-NLS-1$
+                    object.put("kind", KIND_PREFIX + eObject.eClass().getEPackage().getName() + "&entity=" + eObject.eClass().getName()); //$NON-NLS-1$ //$NON-NLS-2$
+                    object.put("named", eObject.eClass().getEStructuralFeature(NAME) != null); //$NON-NLS-1$
+
+                    if (optionalTemplate.isPresent() && random.nextDouble() < this.representationsPerObject) {
+                        this.createRepresentation(projectEntity, optionalTemplate.get(), entry.getValue());
+                    }
+                }
+            }
+
+            this.writeManifest(projectEntity.getId(), manifest);
+
+            long end = System.currentTimeMillis();
+            this.logger.info("Project {} generated in {}ms", projectEntity.getId(), end - start); //$NON-NLS-1$
+        }
+    }
+
+    private String toJSON(EObject root, Map<EObject, String> ids) {
+        JsonResource resource = new SiriusWebJSONResourceFactoryImpl().createResource(URI.createURI(UUID.randomUUID().toString()));
+        resource.getContents().add(root);
+
+        EObjectIDManager idManager = new EObjectIDManager() {
+            @Override
+            public String getOrCreateId(EObject eObject) {
+                String id = super.getOrCreateId(eObject);
+                ids.put(eObject, id);
+                return id;
+            }
+        };
+
+        try (var outputStream = new ByteArrayOutputStream()) {
+            resource.save(outputStream, Map.of(JsonResource.OPTION_ID_MANAGER, idManager));
+            return outputStream.toString(StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private void createRepresentation(ProjectEntity projectEntity, RepresentationEntity template, String targetObjectId) {
+        try {
+            UUID representationId = UUID.randomUUID();
+            ObjectNode content = (ObjectNode) this.objectMapper.readTree(template.getContent());
+            content.put("id", representationId.toString()); //$NON-NLS-1$
+            content.put("targetObjectId", targetObjectId); //$NON-NLS-1$
+
+            RepresentationEntity representationEntity = new RepresentationEntity();
+            representationEntity.setId(representationId);
+            representationEntity.setProject(projectEntity);
+            representationEntity.setLabel(template.getLabel());
+            representationEntity.setKind(template.getKind());
+            representationEntity.setDescriptionId(template.getDescriptionId());
+            representationEntity.setTargetObjectId(targetObjectId);
+            representationEntity.setContent(this.objectMapper.writeValueAsString(content));
+            this.representationRepository.save(representationEntity);
+        } catch (IOException exception) {
+            this.logger.warn(exception.getMessage(), exception);
+        }
+    }
+
+    private void writeManifest(UUID projectId, ObjectNode manifest) {
+        try {
+            Path directory = Files.createDirectories(Path.of(this.output));
+            this.objectMapper.writeValue(directory.resolve(projectId + ".json").toFile(), manifest); //$NON-NLS-1$
+        } catch (IOException exception) {
+            this.logger.warn(exception.getMessage(), exception);
+        }
+    }
+}
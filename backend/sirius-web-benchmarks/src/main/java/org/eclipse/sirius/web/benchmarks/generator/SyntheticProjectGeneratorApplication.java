@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks.generator;
+
+import java.util.Map;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Entry point of the generator of synthetic projects.
+ *
+ * <p>
+ * The generator connects to an existing Sirius Web database, for example with
+ * <code>--spring.datasource.url=jdbc:postgresql://localhost:5433/sirius-web-db --spring.datasource.username=dbuser
+ * --spring.datasource.password=dbpwd --sirius.web.generator.documents=20 --sirius.web.generator.objectsPerDocument=5000</code>.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ComponentScan(basePackages = { "org.eclipse.sirius.web.persistence", "org.eclipse.sirius.web.benchmarks.generator" })
+@EntityScan(basePackages = { "org.eclipse.sirius.web.persistence.entities" })
+@EnableJpaRepositories(basePackages = { "org.eclipse.sirius.web.persistence.repositories" }, namedQueriesLocation = "classpath:db/sirius-web-named-queries.properties")
+public class SyntheticProjectGeneratorApplication {
+
+    public static void main(String[] args) {
+        // @formatter:off
+        ConfigurableApplicationContext applicationContext = new SpringApplicationBuilder(SyntheticProjectGeneratorApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(Map.of("spring.liquibase.enabled", "false")) //$NON-NLS-1$ //$NON-NLS-2$
+                .run(args);
+        // @formatter:on
+
+        try (applicationContext) {
+            applicationContext.getBean(SyntheticProjectGenerator.class).generate();
+        }
+    }
+
+}
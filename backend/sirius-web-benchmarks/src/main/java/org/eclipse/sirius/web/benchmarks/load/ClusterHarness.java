@@ -0,0 +1,274 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures how the throughput of the mutations scales with the number of nodes of a cluster.
+ *
+ * <p>
+ * For each number of nodes, the harness starts the given number of instances of the application with the cluster and
+ * the project affinity enabled, all of them sharing the same database, and runs one load driver per generated project,
+ * the projects being spread across the nodes. The throughput of each number of nodes is compared with the throughput
+ * of the first one and the harness fails if the efficiency of the largest cluster, its speedup divided by its number of
+ * nodes relatively to the first one, is below the expected minimum.
+ * </p>
+ *
+ * <p>
+ * Usage: <code>java -cp benchmarks.jar org.eclipse.sirius.web.benchmarks.load.ClusterHarness --jar=sirius-web-sample-application.jar --manifests=generated --nodes=1,2,4 --users=20 --duration=120</code>
+ * </p>
+ *
+ * <ul>
+ * <li>jar: The executable jar of the application</li>
+ * <li>manifests: The folder containing the manifests of the projects created by the generator</li>
+ * <li>nodes: The numbers of nodes measured, <code>1,2,4</code> by default</li>
+ * <li>basePort: The port of the first node, <code>8080</code> by default</li>
+ * <li>datasourceURL, datasourceUsername and datasourcePassword: The database shared by the nodes</li>
+ * <li>minEfficiency: The minimum efficiency of the largest cluster, <code>0.8</code> by default</li>
+ * <li>clusterOutput: The file in which the results are written, <code>cluster-result.json</code> by default</li>
+ * </ul>
+ *
+ * <p>
+ * The other arguments, such as the number of users per project or the duration, are given to each load driver.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class ClusterHarness {
+
+    private static final long STARTUP_TIMEOUT = 180;
+
+    private final Logger logger = LoggerFactory.getLogger(ClusterHarness.class);
+
+    private final String[] args;
+
+    private final Map<String, String> values;
+
+    private final ObjectMapper objectMapper;
+
+    public ClusterHarness(String[] args, ObjectMapper objectMapper) {
+        this.args = Arrays.copyOf(args, args.length);
+        this.objectMapper = objectMapper;
+        this.values = new HashMap<>();
+        for (String arg : args) {
+            int index = arg.indexOf('=');
+            if (arg.startsWith("--") && index > 0) { //$NON-NLS-1$
+                this.values.put(arg.substring(2, index), arg.substring(index + 1));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean isEfficient = new ClusterHarness(args, new ObjectMapper()).run();
+        if (!isEfficient) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Measures the throughput of each number of nodes.
+     *
+     * @return <code>true</code> if the efficiency of the largest cluster is above the expected minimum
+     */
+    public boolean run() throws IOException, InterruptedException, ExecutionException {
+        String jar = this.values.get("jar"); //$NON-NLS-1$
+        String manifests = this.values.get("manifests"); //$NON-NLS-1$
+        if (jar == null || manifests == null) {
+            throw new IllegalArgumentException("The jar of the application and the folder of the manifests are required"); //$NON-NLS-1$
+        }
+
+        List<Path> manifestPaths;
+        try (Stream<Path> paths = Files.list(Path.of(manifests))) {
+            manifestPaths = paths.filter(path -> path.toString().endsWith(".json")).sorted().collect(Collectors.toList()); //$NON-NLS-1$
+        }
+        if (manifestPaths.isEmpty()) {
+            throw new IllegalArgumentException("At least one generated project is required"); //$NON-NLS-1$
+        }
+
+        int basePort = Integer.parseInt(this.values.getOrDefault("basePort", "8080")); //$NON-NLS-1$ //$NON-NLS-2$
+        double minEfficiency = Double.parseDouble(this.values.getOrDefault("minEfficiency", "0.8")); //$NON-NLS-1$ //$NON-NLS-2$
+        List<Integer> nodeCounts = Arrays.stream(this.values.getOrDefault("nodes", "1,2,4").split(",")).map(String::trim).map(Integer::parseInt).collect(Collectors.toList()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+        ObjectNode result = this.objectMapper.createObjectNode();
+        result.put("projects", manifestPaths.size()); //$NON-NLS-1$
+        ArrayNode runs = result.putArray("runs"); //$NON-NLS-1$
+
+        double baselineThroughput = 0;
+        int baselineNodeCount = 0;
+        double efficiency = 1;
+        for (int nodeCount : nodeCounts) {
+            List<Process> nodes = new ArrayList<>();
+            try {
+                List<String> urls = new ArrayList<>();
+                for (int i = 0; i < nodeCount; i++) {
+                    int port = basePort + i;
+                    String url = "http://localhost:" + port; //$NON-NLS-1$
+                    nodes.add(this.startNode(jar, "node-" + i, port, url)); //$NON-NLS-1$
+                    urls.add(url);
+                }
+                for (String url : urls) {
+                    this.awaitStartup(url);
+                }
+
+                double throughput = this.runLoadDrivers(manifestPaths, urls, nodeCount);
+                if (baselineNodeCount == 0) {
+                    baselineThroughput = throughput;
+                    baselineNodeCount = nodeCount;
+                }
+
+                double speedup = 0;
+                if (baselineThroughput > 0) {
+                    speedup = throughput / baselineThroughput;
+                }
+                efficiency = speedup * baselineNodeCount / nodeCount;
+
+                ObjectNode run = runs.addObject();
+                run.put("nodes", nodeCount); //$NON-NLS-1$
+                run.put("throughput", throughput); //$NON-NLS-1$
+                run.put("speedup", speedup); //$NON-NLS-1$
+                run.put("efficiency", efficiency); //$NON-NLS-1$
+                this.logger.info("{} nodes: {} mutations/s, speedup {}, efficiency {}", nodeCount, throughput, speedup, efficiency); //$NON-NLS-1$
+            } finally {
+                this.stopNodes(nodes);
+            }
+        }
+
+        boolean isEfficient = efficiency >= minEfficiency;
+        result.put("minEfficiency", minEfficiency); //$NON-NLS-1$
+        result.put("efficient", isEfficient); //$NON-NLS-1$
+
+        this.logger.info(this.objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(result));
+        this.objectMapper.writerWithDefaultPrettyPrinter().writeValue(Path.of(this.values.getOrDefault("clusterOutput", "cluster-result.json")).toFile(), result); //$NON-NLS-1$ //$NON-NLS-2$
+        return isEfficient;
+    }
+
+    private Process startNode(String jar, String nodeId, int port, String url) throws IOException {
+        Path javaPath = Path.of(System.getProperty("java.home"), "bin", "java"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+        List<String> command = new ArrayList<>();
+        command.add(javaPath.toString());
+        command.add("-jar"); //$NON-NLS-1$
+        command.add(jar);
+        command.add("--server.port=" + port); //$NON-NLS-1$
+        command.add("--sirius.web.cluster.enabled=true"); //$NON-NLS-1$
+        command.add("--sirius.web.cluster.affinity.enabled=true"); //$NON-NLS-1$
+        command.add("--sirius.web.cluster.nodeId=" + nodeId); //$NON-NLS-1$
+        command.add("--sirius.web.cluster.nodeURL=" + url); //$NON-NLS-1$
+        this.addDatasourceArgument(command, "datasourceURL", "spring.datasource.url"); //$NON-NLS-1$ //$NON-NLS-2$
+        this.addDatasourceArgument(command, "datasourceUsername", "spring.datasource.username"); //$NON-NLS-1$ //$NON-NLS-2$
+        this.addDatasourceArgument(command, "datasourcePassword", "spring.datasource.password"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        Path log = Path.of(nodeId + ".log"); //$NON-NLS-1$
+        this.logger.info("Starting the node {} on {}, its logs are written in {}", nodeId, url, log.toAbsolutePath()); //$NON-NLS-1$
+        return new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+    }
+
+    private void addDatasourceArgument(List<String> command, String key, String property) {
+        String value = this.values.get(key);
+        if (value != null) {
+            command.add("--" + property + "=" + value); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    private void awaitStartup(String url) throws InterruptedException, IOException {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).GET().build();
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(STARTUP_TIMEOUT);
+        boolean isStarted = false;
+        while (!isStarted && System.currentTimeMillis() < deadline) {
+            try {
+                httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                isStarted = true;
+            } catch (ConnectException exception) {
+                TimeUnit.SECONDS.sleep(1);
+            }
+        }
+        if (!isStarted) {
+            throw new IllegalStateException("The node " + url + " has not started"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    /**
+     * Runs one load driver per project, each project being loaded by a single node.
+     *
+     * @return The total throughput of the mutations, in mutations per second
+     */
+    private double runLoadDrivers(List<Path> manifestPaths, List<String> urls, int nodeCount) throws InterruptedException, ExecutionException, IOException {
+        ExecutorService executorService = Executors.newFixedThreadPool(manifestPaths.size());
+        try {
+            List<Future<ObjectNode>> results = new ArrayList<>();
+            for (int i = 0; i < manifestPaths.size(); i++) {
+                // The last occurrence of an argument wins
+                List<String> loadDriverArgs = new ArrayList<>(Arrays.asList(this.args));
+                loadDriverArgs.add("--manifest=" + manifestPaths.get(i)); //$NON-NLS-1$
+                loadDriverArgs.add("--url=" + urls.get(i % urls.size())); //$NON-NLS-1$
+                loadDriverArgs.add("--output=load-result-" + nodeCount + "-nodes-" + i + ".json"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+                var configuration = new LoadDriverConfiguration(loadDriverArgs.toArray(String[]::new), this.objectMapper);
+                LoadDriver loadDriver = new LoadDriver(configuration, this.objectMapper);
+                results.add(executorService.submit(loadDriver::run));
+            }
+
+            double throughput = 0;
+            for (Future<ObjectNode> result : results) {
+                for (JsonNode mutation : result.get().path("mutations")) { //$NON-NLS-1$
+                    throughput = throughput + mutation.path("throughput").asDouble(); //$NON-NLS-1$
+                }
+            }
+            return throughput;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void stopNodes(List<Process> nodes) throws InterruptedException {
+        for (Process node : nodes) {
+            node.destroy();
+        }
+        for (Process node : nodes) {
+            if (!node.waitFor(30, TimeUnit.SECONDS)) {
+                node.destroyForcibly();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Sends queries and mutations to the GraphQL HTTP endpoint.
+ *
+ * @author sbegaudeau
+ */
+public class GraphQLHttpClient {
+
+    private static final String GRAPHQL_PATH = "/api/graphql"; //$NON-NLS-1$
+
+    private final HttpClient httpClient;
+
+    private final ObjectMapper objectMapper;
+
+    private final URI uri;
+
+    private final String authorization;
+
+    public GraphQLHttpClient(HttpClient httpClient, ObjectMapper objectMapper, String baseURL, String authorization) {
+        this.httpClient = Objects.requireNonNull(httpClient);
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+        this.uri = URI.create(baseURL + GRAPHQL_PATH);
+        this.authorization = Objects.requireNonNull(authorization);
+    }
+
+    /**
+     * Executes the given GraphQL document and returns the <code>data</code> of the response.
+     */
+    public JsonNode execute(String document, Map<String, Object> variables) {
+        ObjectNode body = this.objectMapper.createObjectNode();
+        body.put("query", document); //$NON-NLS-1$
+        body.set("variables", this.objectMapper.valueToTree(variables)); //$NON-NLS-1$
+
+        try {
+            // @formatter:off
+            HttpRequest request = HttpRequest.newBuilder(this.uri)
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json") //$NON-NLS-1$ //$NON-NLS-2$
+                    .header("Authorization", this.authorization) //$NON-NLS-1$
+                    .POST(HttpRequest.BodyPublishers.ofString(this.objectMapper.writeValueAsString(body)))
+                    .build();
+            // @formatter:on
+
+            HttpResponse<String> response = this.httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Unexpected status " + response.statusCode()); //$NON-NLS-1$
+            }
+            return this.objectMapper.readTree(response.body()).path("data"); //$NON-NLS-1$
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+}
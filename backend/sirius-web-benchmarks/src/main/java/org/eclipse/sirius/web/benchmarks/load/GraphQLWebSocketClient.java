@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Opens GraphQL subscriptions over a WebSocket using the protocol of the subscriptions-transport-ws library, which is
+ * the one used by the frontend.
+ *
+ * @author sbegaudeau
+ */
+public class GraphQLWebSocketClient implements WebSocket.Listener, AutoCloseable {
+
+    private static final String SUBSCRIPTIONS_PATH = "/subscriptions"; //$NON-NLS-1$
+
+    private static final String SUBPROTOCOL = "graphql-ws"; //$NON-NLS-1$
+
+    private static final String TYPE = "type"; //$NON-NLS-1$
+
+    private static final String ID = "id"; //$NON-NLS-1$
+
+    private static final String PAYLOAD = "payload"; //$NON-NLS-1$
+
+    private final Logger logger = LoggerFactory.getLogger(GraphQLWebSocketClient.class);
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Consumer<JsonNode>> subscriptions = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    private final CompletableFuture<Void> acknowledged = new CompletableFuture<>();
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    private final WebSocket webSocket;
+
+    public GraphQLWebSocketClient(HttpClient httpClient, ObjectMapper objectMapper, String baseURL, String authorization) {
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+
+        String wsURL = baseURL.replaceFirst("^http", "ws") + SUBSCRIPTIONS_PATH; //$NON-NLS-1$ //$NON-NLS-2$
+        // @formatter:off
+        this.webSocket = httpClient.newWebSocketBuilder()
+                .header("Authorization", authorization) //$NON-NLS-1$
+                .subprotocols(SUBPROTOCOL)
+                .buildAsync(URI.create(wsURL), this)
+                .join();
+        // @formatter:on
+
+        this.send(Map.of(TYPE, "connection_init", PAYLOAD, Map.of())); //$NON-NLS-1$
+        this.acknowledged.orTimeout(30, TimeUnit.SECONDS).join();
+    }
+
+    /**
+     * Starts a subscription, the given consumer will receive the <code>data</code> of each payload sent by the server.
+     */
+    public String subscribe(String document, Map<String, Object> variables, Consumer<JsonNode> consumer) {
+        String id = String.valueOf(this.nextId.incrementAndGet());
+        this.subscriptions.put(id, consumer);
+        this.send(Map.of(ID, id, TYPE, "start", PAYLOAD, Map.of("query", document, "variables", variables))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        return id;
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket socket, CharSequence data, boolean last) {
+        this.buffer.append(data);
+        if (last) {
+            String message = this.buffer.toString();
+            this.buffer.setLength(0);
+            this.handle(message);
+        }
+        socket.request(1);
+        return null;
+    }
+
+    @Override
+    public void onError(WebSocket socket, Throwable error) {
+        this.logger.warn(error.getMessage(), error);
+        this.acknowledged.completeExceptionally(error);
+    }
+
+    private void handle(String message) {
+        try {
+            JsonNode jsonNode = this.objectMapper.readTree(message);
+            String type = jsonNode.path(TYPE).asText();
+            if ("connection_ack".equals(type)) { //$NON-NLS-1$
+                this.acknowledged.complete(null);
+            } else if ("data".equals(type)) { //$NON-NLS-1$
+                Consumer<JsonNode> consumer = this.subscriptions.get(jsonNode.path(ID).asText());
+                if (consumer != null) {
+                    consumer.accept(jsonNode.path(PAYLOAD).path("data")); //$NON-NLS-1$
+                }
+            } else if ("error".equals(type) || "connection_error".equals(type)) { //$NON-NLS-1$ //$NON-NLS-2$
+                this.logger.warn("Subscription error: {}", message); //$NON-NLS-1$
+            }
+        } catch (JsonProcessingException exception) {
+            this.logger.warn(exception.getMessage(), exception);
+        }
+    }
+
+    private synchronized void send(Map<String, Object> message) {
+        try {
+            ObjectNode jsonNode = this.objectMapper.valueToTree(message);
+            this.webSocket.sendText(this.objectMapper.writeValueAsString(jsonNode), true).join();
+        } catch (JsonProcessingException exception) {
+            throw new IllegalArgumentException(exception);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (String id : this.subscriptions.keySet()) {
+            this.send(Map.of(ID, id, TYPE, "stop")); //$NON-NLS-1$
+        }
+        this.send(Map.of(TYPE, "connection_terminate")); //$NON-NLS-1$
+        this.webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "").join(); //$NON-NLS-1$
+    }
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Drives concurrent users against a running server, each of them subscribed to the editing context and the explorer of
+ * a generated project while performing mutations, and reports the latency of the mutations.
+ *
+ * <p>
+ * Usage: <code>java -cp benchmarks.jar org.eclipse.sirius.web.benchmarks.load.LoadDriver --manifest=generated/{projectId}.json --users=50 --duration=120</code>
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class LoadDriver {
+
+    private final Logger logger = LoggerFactory.getLogger(LoadDriver.class);
+
+    private final LoadDriverConfiguration configuration;
+
+    private final ObjectMapper objectMapper;
+
+    public LoadDriver(LoadDriverConfiguration configuration, ObjectMapper objectMapper) {
+        this.configuration = configuration;
+        this.objectMapper = objectMapper;
+    }
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        new LoadDriver(new LoadDriverConfiguration(args, objectMapper), objectMapper).run();
+    }
+
+    /**
+     * Runs the load test and writes its results in the output file.
+     *
+     * @return The results of the load test
+     */
+    public ObjectNode run() throws InterruptedException, IOException {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        String credentials = this.configuration.getUsername() + ":" + this.configuration.getPassword(); //$NON-NLS-1$
+        String authorization = "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+
+        GraphQLHttpClient graphQLHttpClient = new GraphQLHttpClient(httpClient, this.objectMapper, this.configuration.getURL(), authorization);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Map<String, Optional<String>> childCreationDescriptionIds = new ConcurrentHashMap<>();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(this.configuration.getUsers());
+        long start = System.nanoTime();
+        for (int i = 0; i < this.configuration.getUsers(); i++) {
+            // @formatter:off
+            VirtualUser virtualUser = new VirtualUser(this.configuration, graphQLHttpClient,
+                    () -> new GraphQLWebSocketClient(httpClient, this.objectMapper, this.configuration.getURL(), authorization),
+                    childCreationDescriptionIds, meterRegistry, i);
+            // @formatter:on
+            executorService.submit(virtualUser);
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(this.configuration.getDuration() + 60, TimeUnit.SECONDS);
+        double elapsedSeconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+
+        ObjectNode result = this.objectMapper.createObjectNode();
+        result.put("users", this.configuration.getUsers()); //$NON-NLS-1$
+        result.put("duration", elapsedSeconds); //$NON-NLS-1$
+        result.put("events", meterRegistry.counter(VirtualUser.EVENTS).count()); //$NON-NLS-1$
+        ArrayNode mutations = result.putArray("mutations"); //$NON-NLS-1$
+
+        for (MutationType mutationType : MutationType.values()) {
+            Timer timer = meterRegistry.find(VirtualUser.MUTATION_TIMER).tag("type", mutationType.name()).timer(); //$NON-NLS-1$
+            Counter errors = meterRegistry.find(VirtualUser.MUTATION_ERRORS).tag("type", mutationType.name()).counter(); //$NON-NLS-1$
+            if (timer != null) {
+                HistogramSnapshot snapshot = timer.takeSnapshot();
+                ObjectNode mutation = mutations.addObject();
+                mutation.put("type", mutationType.name()); //$NON-NLS-1$
+                mutation.put("count", snapshot.count()); //$NON-NLS-1$
+                mutation.put("throughput", snapshot.count() / elapsedSeconds); //$NON-NLS-1$
+                mutation.put("mean", snapshot.mean(TimeUnit.MILLISECONDS)); //$NON-NLS-1$
+                for (ValueAtPercentile valueAtPercentile : snapshot.percentileValues()) {
+                    String name = "p" + Math.round(valueAtPercentile.percentile() * 100); //$NON-NLS-1$
+                    mutation.put(name, valueAtPercentile.value(TimeUnit.MILLISECONDS));
+                }
+                mutation.put("errors", Optional.ofNullable(errors).map(Counter::count).orElse(0.0)); //$NON-NLS-1$
+            }
+        }
+
+        this.logger.info(this.objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(result));
+        this.objectMapper.writerWithDefaultPrettyPrinter().writeValue(Path.of(this.configuration.getOutput()).toFile(), result);
+        return result;
+    }
+}
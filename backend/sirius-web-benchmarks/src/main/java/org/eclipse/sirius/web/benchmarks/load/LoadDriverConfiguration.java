@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The configuration of the load driver, parsed from arguments of the form <code>--key=value</code>.
+ *
+ * <ul>
+ * <li>url: The URL of the server, <code>http://localhost:8080</code> by default</li>
+ * <li>username and password: The credentials used with the basic authentication</li>
+ * <li>manifest: The manifest of a project created by the generator</li>
+ * <li>users: The number of concurrent users, each one with its own subscriptions, 10 by default</li>
+ * <li>duration: The duration of the test in seconds, 60 by default</li>
+ * <li>thinkTime: The delay between two mutations of a user in milliseconds, 100 by default</li>
+ * <li>mix: The relative weight of each mutation type, <code>RENAME=60,CREATE_CHILD=30,DELETE=10</code> by
+ * default</li>
+ * <li>output: The file in which the results are written, <code>load-result.json</code> by default</li>
+ * </ul>
+ *
+ * @author sbegaudeau
+ */
+public class LoadDriverConfiguration {
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private String projectId;
+
+    private List<LoadTarget> targets;
+
+    private int users;
+
+    private long duration;
+
+    private long thinkTime;
+
+    private Map<MutationType, Integer> mix;
+
+    private String output;
+
+    public LoadDriverConfiguration(String[] args, ObjectMapper objectMapper) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int index = arg.indexOf('=');
+            if (arg.startsWith("--") && index > 0) { //$NON-NLS-1$
+                values.put(arg.substring(2, index), arg.substring(index + 1));
+            }
+        }
+
+        this.url = values.getOrDefault("url", "http://localhost:8080"); //$NON-NLS-1$ //$NON-NLS-2$
+        this.username = values.getOrDefault("username", "admin"); //$NON-NLS-1$ //$NON-NLS-2$
+        this.password = values.getOrDefault("password", "password"); //$NON-NLS-1$ //$NON-NLS-2$
+        this.users = Integer.parseInt(values.getOrDefault("users", "10")); //$NON-NLS-1$ //$NON-NLS-2$
+        this.duration = Long.parseLong(values.getOrDefault("duration", "60")); //$NON-NLS-1$ //$NON-NLS-2$
+        this.thinkTime = Long.parseLong(values.getOrDefault("thinkTime", "100")); //$NON-NLS-1$ //$NON-NLS-2$
+        this.output = values.getOrDefault("output", "load-result.json"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        this.mix = new EnumMap<>(MutationType.class);
+        for (String weight : values.getOrDefault("mix", "RENAME=60,CREATE_CHILD=30,DELETE=10").split(",")) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            String[] keyValue = weight.split("="); //$NON-NLS-1$
+            this.mix.put(MutationType.valueOf(keyValue[0].trim()), Integer.parseInt(keyValue[1].trim()));
+        }
+
+        String manifest = values.get("manifest"); //$NON-NLS-1$
+        if (manifest == null) {
+            throw new IllegalArgumentException("The manifest of a generated project is required"); //$NON-NLS-1$
+        }
+        JsonNode jsonNode = objectMapper.readTree(Path.of(manifest).toFile());
+        this.projectId = jsonNode.path("projectId").asText(); //$NON-NLS-1$
+        this.targets = new ArrayList<>();
+        jsonNode.path("objects").forEach(object -> this.targets.add(new LoadTarget(object.path("id").asText(), object.path("kind").asText(), object.path("named").asBoolean()))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+    }
+
+    public String getURL() {
+        return this.url;
+    }
+
+    public String getUsername() {
+        return this.username;
+    }
+
+    public String getPassword() {
+        return this.password;
+    }
+
+    public String getProjectId() {
+        return this.projectId;
+    }
+
+    public List<LoadTarget> getTargets() {
+        return this.targets;
+    }
+
+    public List<LoadTarget> getNamedTargets() {
+        return this.targets.stream().filter(LoadTarget::isNamed).collect(Collectors.toUnmodifiableList());
+    }
+
+    public int getUsers() {
+        return this.users;
+    }
+
+    public long getDuration() {
+        return this.duration;
+    }
+
+    public long getThinkTime() {
+        return this.thinkTime;
+    }
+
+    public Map<MutationType, Integer> getMix() {
+        return this.mix;
+    }
+
+    public String getOutput() {
+        return this.output;
+    }
+}
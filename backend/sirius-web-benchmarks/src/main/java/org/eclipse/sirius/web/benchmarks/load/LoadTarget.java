@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks.load;
+
+import java.util.Objects;
+
+/**
+ * An object of the generated project which can be targeted by the mutations.
+ *
+ * @author sbegaudeau
+ */
+public class LoadTarget {
+
+    private final String id;
+
+    private final String kind;
+
+    private final boolean named;
+
+    public LoadTarget(String id, String kind, boolean named) {
+        this.id = Objects.requireNonNull(id);
+        this.kind = Objects.requireNonNull(kind);
+        this.named = named;
+    }
+
+    public String getId() {
+        return this.id;
+    }
+
+    public String getKind() {
+        return this.kind;
+    }
+
+    public boolean isNamed() {
+        return this.named;
+    }
+
+}
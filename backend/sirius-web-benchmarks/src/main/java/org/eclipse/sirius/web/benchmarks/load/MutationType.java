@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks.load;
+
+/**
+ * The mutations replayed by the load driver.
+ *
+ * @author sbegaudeau
+ */
+public enum MutationType {
+    /**
+     * Renames an existing object of the model.
+     */
+    RENAME("renameTreeItem", //$NON-NLS-1$
+            "mutation renameTreeItem($input: RenameTreeItemInput!) { renameTreeItem(input: $input) { __typename ... on ErrorPayload { message } } }"), //$NON-NLS-1$
+
+    /**
+     * Creates a new child in an existing object of the model.
+     */
+    CREATE_CHILD("createChild", //$NON-NLS-1$
+            "mutation createChild($input: CreateChildInput!) { createChild(input: $input) { __typename ... on CreateChildSuccessPayload { object { id } } ... on ErrorPayload { message } } }"), //$NON-NLS-1$
+
+    /**
+     * Deletes an object previously created by the load driver.
+     */
+    DELETE("deleteTreeItem", //$NON-NLS-1$
+            "mutation deleteTreeItem($input: DeleteTreeItemInput!) { deleteTreeItem(input: $input) { __typename ... on ErrorPayload { message } } }"); //$NON-NLS-1$
+
+    private final String fieldName;
+
+    private final String document;
+
+    MutationType(String fieldName, String document) {
+        this.fieldName = fieldName;
+        this.document = document;
+    }
+
+    public String getFieldName() {
+        return this.fieldName;
+    }
+
+    public String getDocument() {
+        return this.document;
+    }
+}
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * A simulated user keeping the subscriptions of an opened project alive while performing mutations.
+ *
+ * @author sbegaudeau
+ */
+public class VirtualUser implements Runnable {
+
+    public static final String MUTATION_TIMER = "siriusweb_load_mutation"; //$NON-NLS-1$
+
+    public static final String MUTATION_ERRORS = "siriusweb_load_mutation_errors"; //$NON-NLS-1$
+
+    public static final String EVENTS = "siriusweb_load_events"; //$NON-NLS-1$
+
+    private static final String EDITING_CONTEXT_EVENT = "subscription editingContextEvent($input: EditingContextEventInput!) { editingContextEvent(input: $input) { __typename } }"; //$NON-NLS-1$
+
+    private static final String TREE_EVENT = "subscription treeEvent($input: TreeEventInput!) { treeEvent(input: $input) { __typename ... on TreeRefreshedEventPayload { tree { id } } } }"; //$NON-NLS-1$
+
+    private static final String CHILD_CREATION_DESCRIPTIONS = "query getChildCreationDescriptions($editingContextId: ID!, $kind: ID!) { viewer { editingContext(editingContextId: $editingContextId) { childCreationDescriptions(kind: $kind) { id } } } }"; //$NON-NLS-1$
+
+    private static final String INPUT = "input"; //$NON-NLS-1$
+
+    private static final String ID = "id"; //$NON-NLS-1$
+
+    private static final String EDITING_CONTEXT_ID = "editingContextId"; //$NON-NLS-1$
+
+    private static final String TREE_ITEM_ID = "treeItemId"; //$NON-NLS-1$
+
+    private static final String REPRESENTATION_ID = "representationId"; //$NON-NLS-1$
+
+    private final Logger logger = LoggerFactory.getLogger(VirtualUser.class);
+
+    private final LoadDriverConfiguration configuration;
+
+    private final GraphQLHttpClient graphQLHttpClient;
+
+    private final Supplier<GraphQLWebSocketClient> webSocketClientFactory;
+
+    private final Map<String, Optional<String>> childCreationDescriptionIds;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Random random;
+
+    private final Deque<String> createdObjectIds = new ConcurrentLinkedDeque<>();
+
+    private final BlockingQueue<String> treeIds = new ArrayBlockingQueue<>(1);
+
+    private int renameCount;
+
+    public VirtualUser(LoadDriverConfiguration configuration, GraphQLHttpClient graphQLHttpClient, Supplier<GraphQLWebSocketClient> webSocketClientFactory,
+            Map<String, Optional<String>> childCreationDescriptionIds, MeterRegistry meterRegistry, long seed) {
+        this.configuration = Objects.requireNonNull(configuration);
+        this.graphQLHttpClient = Objects.requireNonNull(graphQLHttpClient);
+        this.webSocketClientFactory = Objects.requireNonNull(webSocketClientFactory);
+        this.childCreationDescriptionIds = Objects.requireNonNull(childCreationDescriptionIds);
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public void run() {
+        String editingContextId = this.configuration.getProjectId();
+        Counter events = this.meterRegistry.counter(EVENTS);
+
+        try (GraphQLWebSocketClient webSocketClient = this.webSocketClientFactory.get()) {
+            webSocketClient.subscribe(EDITING_CONTEXT_EVENT, Map.of(INPUT, Map.of(ID, UUID.randomUUID().toString(), EDITING_CONTEXT_ID, editingContextId)), data -> events.increment());
+
+            var treeEventInput = Map.of(ID, UUID.randomUUID().toString(), EDITING_CONTEXT_ID, editingContextId, "expanded", List.of()); //$NON-NLS-1$
+            webSocketClient.subscribe(TREE_EVENT, Map.of(INPUT, treeEventInput), data -> {
+                events.increment();
+                JsonNode tree = data.path("treeEvent").path("tree"); //$NON-NLS-1$ //$NON-NLS-2$
+                if (tree.has(ID)) {
+                    this.treeIds.offer(tree.get(ID).asText());
+                }
+            });
+
+            String treeId = this.treeIds.poll(30, TimeUnit.SECONDS);
+            if (treeId == null) {
+                this.logger.warn("The explorer has not been received, the virtual user stops"); //$NON-NLS-1$
+                return;
+            }
+
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(this.configuration.getDuration());
+            while (System.currentTimeMillis() < deadline && !Thread.currentThread().isInterrupted()) {
+                this.perform(this.nextMutationType(), editingContextId, treeId);
+                Thread.sleep(this.configuration.getThinkTime());
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private MutationType nextMutationType() {
+        Map<MutationType, Integer> mix = this.configuration.getMix();
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int value = this.random.nextInt(Math.max(total, 1));
+        for (var entry : mix.entrySet()) {
+            value = value - entry.getValue();
+            if (value < 0) {
+                return entry.getKey();
+            }
+        }
+        return MutationType.RENAME;
+    }
+
+    private void perform(MutationType requestedMutationType, String editingContextId, String treeId) {
+        MutationType mutationType = requestedMutationType;
+        if (mutationType == MutationType.DELETE && this.createdObjectIds.isEmpty()) {
+            mutationType = MutationType.CREATE_CHILD;
+        }
+
+        Optional<Map<String, Object>> optionalInput = this.getInput(mutationType, editingContextId, treeId);
+        if (optionalInput.isEmpty()) {
+            return;
+        }
+
+        Timer timer = Timer.builder(MUTATION_TIMER).tag("type", mutationType.name()).publishPercentiles(0.5, 0.99).register(this.meterRegistry); //$NON-NLS-1$
+        long start = System.nanoTime();
+        try {
+            JsonNode payload = this.graphQLHttpClient.execute(mutationType.getDocument(), Map.of(INPUT, optionalInput.get())).path(mutationType.getFieldName());
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            if (payload.path("__typename").asText().startsWith("Error")) { //$NON-NLS-1$ //$NON-NLS-2$
+                this.meterRegistry.counter(MUTATION_ERRORS, "type", mutationType.name()).increment(); //$NON-NLS-1$
+            } else if (mutationType == MutationType.CREATE_CHILD && payload.path("object").has(ID)) { //$NON-NLS-1$
+                this.createdObjectIds.push(payload.path("object").get(ID).asText()); //$NON-NLS-1$
+            }
+        } catch (IllegalStateException | UncheckedIOException exception) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            this.meterRegistry.counter(MUTATION_ERRORS, "type", mutationType.name()).increment(); //$NON-NLS-1$
+            this.logger.debug(exception.getMessage(), exception);
+        }
+    }
+
+    private Optional<Map<String, Object>> getInput(MutationType mutationType, String editingContextId, String treeId) {
+        Optional<Map<String, Object>> result = Optional.empty();
+        String id = UUID.randomUUID().toString();
+        if (mutationType == MutationType.RENAME) {
+            List<LoadTarget> namedTargets = this.configuration.getNamedTargets();
+            if (!namedTargets.isEmpty()) {
+                LoadTarget target = namedTargets.get(this.random.nextInt(namedTargets.size()));
+                this.renameCount++;
+                result = Optional.of(Map.of(ID, id, EDITING_CONTEXT_ID, editingContextId, REPRESENTATION_ID, treeId, TREE_ITEM_ID, target.getId(), "newLabel", "Renamed" + this.renameCount)); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        } else if (mutationType == MutationType.CREATE_CHILD) {
+            List<LoadTarget> targets = this.configuration.getTargets();
+            if (!targets.isEmpty()) {
+                LoadTarget target = targets.get(this.random.nextInt(targets.size()));
+                Optional<String> optionalChildCreationDescriptionId = this.childCreationDescriptionIds.computeIfAbsent(target.getKind(),
+                        kind -> this.getChildCreationDescriptionId(editingContextId, kind));
+                result = optionalChildCreationDescriptionId.<Map<String, Object>> map(childCreationDescriptionId -> Map.of(ID, id, EDITING_CONTEXT_ID, editingContextId, "objectId", target.getId(), //$NON-NLS-1$
+                        "childCreationDescriptionId", childCreationDescriptionId)); //$NON-NLS-1$
+            }
+        } else if (mutationType == MutationType.DELETE) {
+            String objectId = this.createdObjectIds.poll();
+            if (objectId != null) {
+                result = Optional.of(Map.of(ID, id, EDITING_CONTEXT_ID, editingContextId, REPRESENTATION_ID, treeId, TREE_ITEM_ID, objectId));
+            }
+        }
+        return result;
+    }
+
+    private Optional<String> getChildCreationDescriptionId(String editingContextId, String kind) {
+        JsonNode data = this.graphQLHttpClient.execute(CHILD_CREATION_DESCRIPTIONS, Map.of(EDITING_CONTEXT_ID, editingContextId, "kind", kind)); //$NON-NLS-1$
+        List<String> ids = new ArrayList<>();
+        data.path("viewer").path("editingContext").path("childCreationDescriptions").forEach(description -> ids.add(description.path(ID).asText())); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        return ids.stream().findFirst();
+    }
+}
@@ -28,6 +28,7 @@ package org.eclipse.sirius.web.graphql.schema;
  *   representationCreationDescriptions(objectId: ID): EditingContextRepresentationDescriptionConnection!
  *   representation(representationId: ID!): Representation
  *   representations: EditingContextRepresentationConnection!
+ *   customImages(label: String, page: Int, size: Int): EditingContextCustomImageConnection!
  * }
  * </pre>
  *
@@ -71,4 +72,12 @@ public class EditingContextTypeProvider {
 
     public static final String REPRESENTATION_ID_ARGUMENT = "representationId"; //$NON-NLS-1$
 
+    public static final String CUSTOM_IMAGES_FIELD = "customImages"; //$NON-NLS-1$
+
+    public static final String LABEL_ARGUMENT = "label"; //$NON-NLS-1$
+
+    public static final String PAGE_ARGUMENT = "page"; //$NON-NLS-1$
+
+    public static final String SIZE_ARGUMENT = "size"; //$NON-NLS-1$
+
 }
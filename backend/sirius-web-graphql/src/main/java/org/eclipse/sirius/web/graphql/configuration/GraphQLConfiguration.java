@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,14 +12,32 @@
  *******************************************************************************/
 package org.eclipse.sirius.web.graphql.configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.eclipse.sirius.components.graphql.api.IDataFetcherWithFieldCoordinates;
 import org.eclipse.sirius.components.graphql.api.UploadScalarType;
 import org.eclipse.sirius.web.graphql.datafetchers.GraphQLDataFetcherExceptionHandler;
+import org.eclipse.sirius.web.graphql.datafetchers.subscriptions.ConflatingDataFetcher;
+import org.eclipse.sirius.web.graphql.datafetchers.subscriptions.DeltaEncodingDataFetcher;
+import org.eclipse.sirius.web.graphql.execution.CachingPreparsedDocumentProvider;
+import org.eclipse.sirius.web.graphql.instrumentation.DataLoaderRegistryInstrumentation;
+import org.eclipse.sirius.web.graphql.instrumentation.GraphQLMetricsInstrumentation;
+import org.eclipse.sirius.web.graphql.instrumentation.GraphQLMetricsTagProvider;
+import org.eclipse.sirius.web.graphql.instrumentation.GraphQLMetricsTagProvider.FieldMetrics;
+import org.eclipse.sirius.web.graphql.instrumentation.GraphQLQueryLimitsInstrumentation;
+import org.eclipse.sirius.web.graphql.instrumentation.ProjectAffinityInstrumentation;
+import org.eclipse.sirius.web.graphql.messages.IGraphQLMessageService;
+import org.eclipse.sirius.web.services.api.projects.IProjectOwnershipService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.Resource;
@@ -30,6 +48,8 @@ import graphql.execution.AsyncExecutionStrategy;
 import graphql.execution.AsyncSerialExecutionStrategy;
 import graphql.execution.DataFetcherExceptionHandler;
 import graphql.execution.ExecutionStrategy;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.schema.FieldCoordinates;
 import graphql.schema.GraphQLCodeRegistry;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.idl.RuntimeWiring;
@@ -38,6 +58,7 @@ import graphql.schema.idl.SchemaParser;
 import graphql.schema.idl.SchemaPrinter;
 import graphql.schema.idl.SchemaPrinter.Options;
 import graphql.schema.idl.TypeDefinitionRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * Spring Configuration used to create everything necessary to run GraphQL queries.
@@ -52,42 +73,187 @@ import graphql.schema.idl.TypeDefinitionRegistry;
 @Configuration
 public class GraphQLConfiguration {
 
+    /**
+     * The default costs of the fields which may load an editing context or evaluate expressions. The fields of the
+     * viewer are priced on both the interface <code>Viewer</code>, used by the clients, and its type <code>User</code>.
+     */
+    // @formatter:off
+    public static final String DEFAULT_FIELD_COSTS = "Viewer.project:5,Viewer.projects:5,Viewer.editingContext:10," //$NON-NLS-1$
+            + "User.project:5,User.projects:5,User.editingContext:10,Project.currentEditingContext:10," //$NON-NLS-1$
+            + "EditingContext.representations:10,EditingContext.representation:5," //$NON-NLS-1$
+            + "Object.expressionBasedObjects:20,Object.expressionBasedObject:10,Object.expressionBasedString:10," //$NON-NLS-1$
+            + "Object.expressionBasedBoolean:10,Object.expressionBasedInt:10"; //$NON-NLS-1$
+    // @formatter:on
+
+    private static final String FIELD_COST_SEPARATOR = ":"; //$NON-NLS-1$
+
+    private static final String SUBSCRIPTION_TYPE = "Subscription"; //$NON-NLS-1$
+
+    /**
+     * The subscriptions to the representations whose refresh are conflated, the conflation is performed before the
+     * computation of the deltas since each delta depends on the previous payload sent.
+     */
+    private static final Set<String> CONFLATED_SUBSCRIPTIONS = Set.of("diagramEvent", "formEvent", "treeEvent"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
     private final Logger logger = LoggerFactory.getLogger(GraphQLConfiguration.class);
 
     /**
      * Creates the GraphQL configuration used to execute GraphQL queries.
      *
-     * @param codeRegistry
-     *            The GraphQL code registry
+     * <p>
+     * The duration of the operations and of the fields is recorded with Micrometer. The fields measured are configured
+     * with <code>sirius.web.graphql.metrics.fields</code>, by default only the fields with a data fetcher of Sirius Web
+     * are measured. Only the operation names of <code>sirius.web.graphql.metrics.operationNames</code> are used as
+     * tags or, if none is configured, the first <code>sirius.web.graphql.metrics.maxOperationNames</code> names of
+     * the valid documents.
+     * </p>
+     *
+     * <p>
+     * The documents of the last <code>sirius.web.graphql.documents.maxSize</code> queries are kept once parsed and
+     * validated.
+     * </p>
+     *
+     * <p>
+     * The operations deeper than <code>sirius.web.graphql.limits.maxDepth</code> or more expensive than
+     * <code>sirius.web.graphql.limits.maxCost</code> are rejected before their execution. The costs of the fields are
+     * given by <code>sirius.web.graphql.limits.costs</code>.
+     * </p>
+     *
+     * <p>
+     * Each execution receives its own registry of data loaders, used by the data fetchers to batch their work across the
+     * sibling objects of a query.
+     * </p>
+     *
+     * @param graphQLSchema
+     *            The GraphQL schema
+     * @param meterRegistry
+     *            The registry of the metrics
+     * @param dataFetchersWithCoordinates
+     *            The data fetchers of the fields of the schema
+     * @param fieldMetrics
+     *            The fields measured
+     * @param operationNames
+     *            The operation names used as tags
+     * @param maxOperationNames
+     *            The maximum number of operation names of the valid documents used as tags
+     * @param percentileHistogram
+     *            Indicates if the timers publish a percentile histogram
+     * @param documentsMaxSize
+     *            The maximum number of parsed and validated documents kept
+     * @param messageService
+     *            The message service used to explain the rejection of the operations
+     * @param maxDepth
+     *            The maximum depth of the operations
+     * @param maxCost
+     *            The maximum cost of the operations
+     * @param fieldCosts
+     *            The costs of the fields, as <code>type.field:cost</code>
+     * @param defaultConnectionSize
+     *            The number of elements of the connections requested without size
+     * @param projectOwnershipService
+     *            The service used to reject the operations targeting a project owned by another node
      *
      * @return The GraphQL configuration
      */
+    // @formatter:off
     @Bean
-    public GraphQL graphQL(GraphQLSchema graphQLSchema) {
+    public GraphQL graphQL(GraphQLSchema graphQLSchema, MeterRegistry meterRegistry, List<IDataFetcherWithFieldCoordinates<?>> dataFetchersWithCoordinates,
+            @Value("${sirius.web.graphql.metrics.fields:DATA_FETCHERS}") FieldMetrics fieldMetrics,
+            @Value("${sirius.web.graphql.metrics.operationNames:}") List<String> operationNames,
+            @Value("${sirius.web.graphql.metrics.maxOperationNames:100}") int maxOperationNames,
+            @Value("${sirius.web.graphql.metrics.percentileHistogram:true}") boolean percentileHistogram,
+            @Value("${sirius.web.graphql.documents.maxSize:1000}") int documentsMaxSize,
+            IGraphQLMessageService messageService,
+            @Value("${sirius.web.graphql.limits.maxDepth:30}") int maxDepth,
+            @Value("${sirius.web.graphql.limits.maxCost:10000}") int maxCost,
+            @Value("${sirius.web.graphql.limits.costs:" + DEFAULT_FIELD_COSTS + "}") List<String> fieldCosts,
+            @Value("${sirius.web.graphql.limits.defaultConnectionSize:50}") int defaultConnectionSize,
+            IProjectOwnershipService projectOwnershipService) {
         var options = Options.defaultOptions();
         String schema = new SchemaPrinter(options).print(graphQLSchema);
 
         this.logger.trace(schema);
 
-        DataFetcherExceptionHandler exceptionHandler = new GraphQLDataFetcherExceptionHandler();
+        Set<FieldCoordinates> dataFetcherFieldCoordinates = dataFetchersWithCoordinates.stream()
+                .flatMap(dataFetcherWithCoordinates -> dataFetcherWithCoordinates.getFieldCoordinates().stream())
+                .collect(Collectors.toSet());
+        GraphQLMetricsTagProvider tagProvider = new GraphQLMetricsTagProvider(fieldMetrics, dataFetcherFieldCoordinates, Set.copyOf(operationNames), maxOperationNames);
+        var queryLimitsInstrumentation = new GraphQLQueryLimitsInstrumentation(meterRegistry, tagProvider, messageService, maxDepth, maxCost, this.getFieldCosts(fieldCosts), defaultConnectionSize);
+        var metricsInstrumentation = new GraphQLMetricsInstrumentation(meterRegistry, tagProvider, percentileHistogram);
+        var projectAffinityInstrumentation = new ProjectAffinityInstrumentation(projectOwnershipService, messageService);
+
+        DataFetcherExceptionHandler exceptionHandler = new GraphQLDataFetcherExceptionHandler(meterRegistry, tagProvider);
         ExecutionStrategy queryExecutionStrategy = new AsyncExecutionStrategy(exceptionHandler);
         // @see https://www.graphql-java.com/documentation/v11/execution/ The graphql specification says that mutations
         // MUST be executed serially and in the order in which the query fields occur.
         ExecutionStrategy mutationExecutionStrategy = new AsyncSerialExecutionStrategy(exceptionHandler);
-        // @formatter:off
         return GraphQL.newGraphQL(graphQLSchema)
                 .queryExecutionStrategy(queryExecutionStrategy)
                 .mutationExecutionStrategy(mutationExecutionStrategy)
+                .instrumentation(new ChainedInstrumentation(List.of(projectAffinityInstrumentation, queryLimitsInstrumentation, new DataLoaderRegistryInstrumentation(), metricsInstrumentation)))
+                .preparsedDocumentProvider(new CachingPreparsedDocumentProvider(meterRegistry, documentsMaxSize, tagProvider::learnOperationNames))
                 .build();
-        // @formatter:on
+    }
+    // @formatter:on
+
+    private Map<String, Integer> getFieldCosts(List<String> fieldCosts) {
+        Map<String, Integer> costs = new HashMap<>();
+        for (String fieldCost : fieldCosts) {
+            String[] coordinatesAndCost = fieldCost.split(FIELD_COST_SEPARATOR);
+            if (coordinatesAndCost.length == 2) {
+                try {
+                    costs.put(coordinatesAndCost[0].trim(), Integer.valueOf(coordinatesAndCost[1].trim()));
+                } catch (NumberFormatException exception) {
+                    this.logger.warn("Invalid cost for the GraphQL field {}", coordinatesAndCost[0]); //$NON-NLS-1$
+                }
+            } else if (!fieldCost.isBlank()) {
+                this.logger.warn("Invalid GraphQL field cost {}, expected type.field:cost", fieldCost); //$NON-NLS-1$
+            }
+        }
+        return costs;
     }
 
+    /**
+     * Creates the GraphQL schema from all the schemas found in the classpath and wires the data fetchers.
+     *
+     * <p>
+     * The data fetchers of the subscriptions are decorated in order to send the refresh of the representations as
+     * deltas to the clients which request them with the directive <code>@delta</code>. The refresh of the diagrams,
+     * forms and trees are also conflated for the subscribers which lag, at most
+     * <code>sirius.web.graphql.subscriptions.maxQueueSize</code> payloads wait for each subscriber.
+     * </p>
+     *
+     * @param resourcePatternResolver
+     *            The resolver used to find the schemas
+     * @param graphQLWiringFactory
+     *            The wiring factory providing the type resolvers
+     * @param dataFetchersWithCoordinates
+     *            The data fetchers of the fields of the schema
+     * @param objectMapper
+     *            The object mapper used to serialize the representations sent as deltas
+     * @param meterRegistry
+     *            The registry of the metrics of the conflated subscriptions
+     * @param maxQueueSize
+     *            The maximum number of payloads waiting for a subscriber of a conflated subscription
+     * @return The GraphQL schema
+     */
+    // @formatter:off
     @Bean
     public GraphQLSchema graphQLSchema(ResourcePatternResolver resourcePatternResolver, GraphQLWiringFactory graphQLWiringFactory,
-            List<IDataFetcherWithFieldCoordinates<?>> dataFetchersWithCoordinates) {
+            List<IDataFetcherWithFieldCoordinates<?>> dataFetchersWithCoordinates, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${sirius.web.graphql.subscriptions.maxQueueSize:256}") int maxQueueSize) {
         GraphQLCodeRegistry.Builder builder = GraphQLCodeRegistry.newCodeRegistry();
         dataFetchersWithCoordinates.forEach(dataFetcherWithCoordinates -> {
-            dataFetcherWithCoordinates.getFieldCoordinates().forEach(fieldCoordinates -> builder.dataFetcher(fieldCoordinates, dataFetcherWithCoordinates));
+            dataFetcherWithCoordinates.getFieldCoordinates().forEach(fieldCoordinates -> {
+                if (SUBSCRIPTION_TYPE.equals(fieldCoordinates.getTypeName()) && CONFLATED_SUBSCRIPTIONS.contains(fieldCoordinates.getFieldName())) {
+                    var conflatingDataFetcher = new ConflatingDataFetcher(dataFetcherWithCoordinates, meterRegistry, fieldCoordinates.getFieldName(), maxQueueSize);
+                    builder.dataFetcher(fieldCoordinates, new DeltaEncodingDataFetcher(conflatingDataFetcher, objectMapper));
+                } else if (SUBSCRIPTION_TYPE.equals(fieldCoordinates.getTypeName())) {
+                    builder.dataFetcher(fieldCoordinates, new DeltaEncodingDataFetcher(dataFetcherWithCoordinates, objectMapper));
+                } else {
+                    builder.dataFetcher(fieldCoordinates, dataFetcherWithCoordinates);
+                }
+            });
         });
         var graphQLCodeRegistry = builder.build();
 
@@ -122,4 +288,5 @@ public class GraphQLConfiguration {
         }
         return null;
     }
+    // @formatter:on
 }
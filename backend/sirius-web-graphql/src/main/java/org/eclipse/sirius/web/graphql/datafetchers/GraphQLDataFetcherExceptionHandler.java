@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,6 +12,9 @@
  *******************************************************************************/
 package org.eclipse.sirius.web.graphql.datafetchers;
 
+import java.util.Objects;
+
+import org.eclipse.sirius.web.graphql.instrumentation.GraphQLMetricsTagProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,20 +23,52 @@ import graphql.GraphQLError;
 import graphql.execution.DataFetcherExceptionHandler;
 import graphql.execution.DataFetcherExceptionHandlerParameters;
 import graphql.execution.DataFetcherExceptionHandlerResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * Used to handle any exception coming from a data fetcher.
  *
+ * <p>
+ * The errors are counted by field and by type of exception.
+ * </p>
+ *
  * @author sbegaudeau
  */
 public class GraphQLDataFetcherExceptionHandler implements DataFetcherExceptionHandler {
 
+    /**
+     * The counter of the errors of the data fetchers.
+     */
+    public static final String ERROR_COUNTER = "siriusweb_graphql_errors"; //$NON-NLS-1$
+
+    private static final String FIELD = "field"; //$NON-NLS-1$
+
+    private static final String EXCEPTION = "exception"; //$NON-NLS-1$
+
     private Logger logger = LoggerFactory.getLogger(GraphQLDataFetcherExceptionHandler.class);
 
+    private final MeterRegistry meterRegistry;
+
+    private final GraphQLMetricsTagProvider tagProvider;
+
+    public GraphQLDataFetcherExceptionHandler(MeterRegistry meterRegistry, GraphQLMetricsTagProvider tagProvider) {
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+        this.tagProvider = Objects.requireNonNull(tagProvider);
+    }
+
     @Override
     public DataFetcherExceptionHandlerResult onException(DataFetcherExceptionHandlerParameters handlerParameters) {
         this.logger.warn(handlerParameters.getException().getMessage(), handlerParameters.getException());
 
+        // @formatter:off
+        Counter.builder(ERROR_COUNTER)
+                .tag(FIELD, this.tagProvider.getErrorFieldTag(handlerParameters.getDataFetchingEnvironment()))
+                .tag(EXCEPTION, handlerParameters.getException().getClass().getSimpleName())
+                .register(this.meterRegistry)
+                .increment();
+        // @formatter:on
+
         GraphQLError error = this.getGraphQLError(handlerParameters);
 
         // @formatter:off
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.datafetchers.editingcontext;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.eclipse.sirius.components.annotations.spring.graphql.QueryDataFetcher;
+import org.eclipse.sirius.components.graphql.api.IDataFetcherWithFieldCoordinates;
+import org.eclipse.sirius.web.graphql.pagination.PageInfoWithCount;
+import org.eclipse.sirius.web.graphql.schema.EditingContextTypeProvider;
+import org.eclipse.sirius.web.services.api.images.CustomImageMetadata;
+import org.eclipse.sirius.web.services.api.images.CustomImageMetadataPage;
+import org.eclipse.sirius.web.services.api.images.ICustomImageMetadataService;
+
+import graphql.relay.Connection;
+import graphql.relay.ConnectionCursor;
+import graphql.relay.DefaultConnection;
+import graphql.relay.DefaultConnectionCursor;
+import graphql.relay.DefaultEdge;
+import graphql.relay.Edge;
+import graphql.relay.PageInfo;
+import graphql.relay.Relay;
+import graphql.schema.DataFetchingEnvironment;
+
+/**
+ * The data fetcher used to browse the custom images page by page without loading their content.
+ * <p>
+ * It will be used to fetch the data for the following GraphQL field:
+ * </p>
+ *
+ * <pre>
+ * type EditingContext {
+ *   customImages(label: String, page: Int, size: Int): EditingContextCustomImageConnection!
+ * }
+ * </pre>
+ *
+ * @author sbegaudeau
+ */
+@QueryDataFetcher(type = EditingContextTypeProvider.TYPE, field = EditingContextTypeProvider.CUSTOM_IMAGES_FIELD)
+public class EditingContextCustomImagesDataFetcher implements IDataFetcherWithFieldCoordinates<Connection<CustomImageMetadata>> {
+
+    private static final String CUSTOM_IMAGE_TYPE = "CustomImageMetadata"; //$NON-NLS-1$
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
+    private final ICustomImageMetadataService customImageMetadataService;
+
+    public EditingContextCustomImagesDataFetcher(ICustomImageMetadataService customImageMetadataService) {
+        this.customImageMetadataService = Objects.requireNonNull(customImageMetadataService);
+    }
+
+    @Override
+    public Connection<CustomImageMetadata> get(DataFetchingEnvironment environment) throws Exception {
+        String editingContextId = environment.getSource();
+        String label = environment.getArgument(EditingContextTypeProvider.LABEL_ARGUMENT);
+        int page = Optional.ofNullable(environment.<Integer> getArgument(EditingContextTypeProvider.PAGE_ARGUMENT)).orElse(0);
+        int size = Optional.ofNullable(environment.<Integer> getArgument(EditingContextTypeProvider.SIZE_ARGUMENT)).orElse(DEFAULT_PAGE_SIZE);
+
+        CustomImageMetadataPage imagePage = this.customImageMetadataService.findImages(editingContextId, label, page, size);
+
+        // @formatter:off
+        List<Edge<CustomImageMetadata>> imageEdges = imagePage.getImages().stream()
+                .map(image -> {
+                    String value = new Relay().toGlobalId(CUSTOM_IMAGE_TYPE, image.getId().toString());
+                    ConnectionCursor cursor = new DefaultConnectionCursor(value);
+                    return new DefaultEdge<>(image, cursor);
+                })
+                .collect(Collectors.toList());
+        // @formatter:on
+
+        ConnectionCursor startCursor = imageEdges.stream().findFirst().map(Edge::getCursor).orElse(null);
+        ConnectionCursor endCursor = null;
+        if (!imageEdges.isEmpty()) {
+            endCursor = imageEdges.get(imageEdges.size() - 1).getCursor();
+        }
+        PageInfo pageInfo = new PageInfoWithCount(startCursor, endCursor, imagePage.getPage() > 0, imagePage.hasNextPage(), imagePage.getCount());
+        return new DefaultConnection<>(imageEdges, pageInfo);
+    }
+
+}
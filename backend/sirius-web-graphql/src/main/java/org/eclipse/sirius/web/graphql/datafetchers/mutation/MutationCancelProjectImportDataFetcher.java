@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.datafetchers.mutation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Objects;
+
+import org.eclipse.sirius.components.annotations.spring.graphql.MutationDataFetcher;
+import org.eclipse.sirius.components.core.api.IPayload;
+import org.eclipse.sirius.components.graphql.api.IDataFetcherWithFieldCoordinates;
+import org.eclipse.sirius.web.graphql.schema.MutationTypeProvider;
+import org.eclipse.sirius.web.services.api.projects.CancelProjectImportInput;
+import org.eclipse.sirius.web.services.api.projects.IProjectImportService;
+
+import graphql.schema.DataFetchingEnvironment;
+
+/**
+ * The data fetcher used to cancel the import of a project.
+ * <p>
+ * It will be used to handle the following GraphQL field:
+ * </p>
+ *
+ * <pre>
+ * type Mutation {
+ *   cancelProjectImport(input: CancelProjectImportInput!): CancelProjectImportPayload!
+ * }
+ * </pre>
+ *
+ * @author sbegaudeau
+ */
+@MutationDataFetcher(type = MutationTypeProvider.TYPE, field = MutationCancelProjectImportDataFetcher.CANCEL_PROJECT_IMPORT_FIELD)
+public class MutationCancelProjectImportDataFetcher implements IDataFetcherWithFieldCoordinates<IPayload> {
+
+    public static final String CANCEL_PROJECT_IMPORT_FIELD = "cancelProjectImport"; //$NON-NLS-1$
+
+    private final ObjectMapper objectMapper;
+
+    private final IProjectImportService projectImportService;
+
+    public MutationCancelProjectImportDataFetcher(ObjectMapper objectMapper, IProjectImportService projectImportService) {
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+        this.projectImportService = Objects.requireNonNull(projectImportService);
+    }
+
+    @Override
+    public IPayload get(DataFetchingEnvironment environment) throws Exception {
+        Object argument = environment.getArgument(MutationTypeProvider.INPUT_ARGUMENT);
+        var input = this.objectMapper.convertValue(argument, CancelProjectImportInput.class);
+
+        return this.projectImportService.cancelImport(input.getId(), input.getJobId());
+    }
+
+}
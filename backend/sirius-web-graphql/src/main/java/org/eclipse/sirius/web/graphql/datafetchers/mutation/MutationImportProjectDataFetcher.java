@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.datafetchers.mutation;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.eclipse.sirius.components.annotations.spring.graphql.MutationDataFetcher;
+import org.eclipse.sirius.components.core.api.ErrorPayload;
+import org.eclipse.sirius.components.core.api.IPayload;
+import org.eclipse.sirius.components.graphql.api.IDataFetcherWithFieldCoordinates;
+import org.eclipse.sirius.components.graphql.api.UploadFile;
+import org.eclipse.sirius.web.graphql.messages.IGraphQLMessageService;
+import org.eclipse.sirius.web.graphql.schema.MutationTypeProvider;
+import org.eclipse.sirius.web.services.api.id.IDParser;
+import org.eclipse.sirius.web.services.api.projects.IProjectImportService;
+
+import graphql.schema.DataFetchingEnvironment;
+
+/**
+ * The data fetcher used to schedule the import of a project in the background.
+ * <p>
+ * It will be used to handle the following GraphQL field:
+ * </p>
+ *
+ * <pre>
+ * type Mutation {
+ *   importProject(input: ImportProjectInput!): ImportProjectPayload!
+ * }
+ * </pre>
+ *
+ * <p>
+ * The identifier of the import job returned can be used to subscribe to its progress with the
+ * <code>projectImportEvent</code> subscription.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@MutationDataFetcher(type = MutationTypeProvider.TYPE, field = MutationImportProjectDataFetcher.IMPORT_PROJECT_FIELD)
+public class MutationImportProjectDataFetcher implements IDataFetcherWithFieldCoordinates<IPayload> {
+
+    public static final String IMPORT_PROJECT_FIELD = "importProject"; //$NON-NLS-1$
+
+    private static final String ID = "id"; //$NON-NLS-1$
+
+    private static final String FILE = "file"; //$NON-NLS-1$
+
+    private final IGraphQLMessageService messageService;
+
+    private final IProjectImportService projectImportService;
+
+    public MutationImportProjectDataFetcher(IGraphQLMessageService messageService, IProjectImportService projectImportService) {
+        this.messageService = Objects.requireNonNull(messageService);
+        this.projectImportService = Objects.requireNonNull(projectImportService);
+    }
+
+    @Override
+    public IPayload get(DataFetchingEnvironment environment) throws Exception {
+        Map<Object, Object> input = environment.getArgument(MutationTypeProvider.INPUT_ARGUMENT);
+        // @formatter:off
+        UUID id = Optional.of(input.get(ID))
+                .filter(String.class::isInstance)
+                .map(String.class::cast)
+                .flatMap(new IDParser()::parse)
+                .orElse(null);
+
+        return Optional.of(input.get(FILE))
+                .filter(UploadFile.class::isInstance)
+                .map(UploadFile.class::cast)
+                .map(uploadFile -> this.projectImportService.importProject(id, uploadFile))
+                .orElse(new ErrorPayload(id, this.messageService.unexpectedError()));
+        // @formatter:on
+    }
+
+}
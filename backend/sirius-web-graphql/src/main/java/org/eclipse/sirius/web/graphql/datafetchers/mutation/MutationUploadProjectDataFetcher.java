@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -16,6 +16,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.sirius.components.annotations.spring.graphql.MutationDataFetcher;
 import org.eclipse.sirius.components.core.api.ErrorPayload;
@@ -26,10 +27,16 @@ import org.eclipse.sirius.web.graphql.messages.IGraphQLMessageService;
 import org.eclipse.sirius.web.graphql.schema.MutationTypeProvider;
 import org.eclipse.sirius.web.services.api.id.IDParser;
 import org.eclipse.sirius.web.services.api.projects.IProjectImportService;
+import org.eclipse.sirius.web.services.api.projects.IProjectService;
+import org.eclipse.sirius.web.services.api.projects.ImportProjectSuccessPayload;
 import org.eclipse.sirius.web.services.api.projects.Project;
+import org.eclipse.sirius.web.services.api.projects.ProjectImportProgress;
+import org.eclipse.sirius.web.services.api.projects.ProjectImportStatus;
 import org.eclipse.sirius.web.services.api.projects.UploadProjectInput;
+import org.eclipse.sirius.web.services.api.projects.UploadProjectSuccessPayload;
 
 import graphql.schema.DataFetchingEnvironment;
+import reactor.core.publisher.Flux;
 
 /**
  * The data fetcher used to create a new {@link Project} thanks to an {@link UploadProjectInput}.
@@ -43,10 +50,15 @@ import graphql.schema.DataFetchingEnvironment;
  * }
  * </pre>
  *
+ * <p>
+ * The project is imported in the background like with the <code>importProject</code> mutation, the payload is only
+ * sent once the import is over, without blocking the thread of the request while waiting.
+ * </p>
+ *
  * @author gcoutable
  */
 @MutationDataFetcher(type = MutationTypeProvider.TYPE, field = MutationUploadProjectDataFetcher.UPLOAD_PROJECT_FIELD)
-public class MutationUploadProjectDataFetcher implements IDataFetcherWithFieldCoordinates<IPayload> {
+public class MutationUploadProjectDataFetcher implements IDataFetcherWithFieldCoordinates<CompletableFuture<IPayload>> {
 
     public static final String UPLOAD_PROJECT_FIELD = "uploadProject"; //$NON-NLS-1$
 
@@ -58,13 +70,16 @@ public class MutationUploadProjectDataFetcher implements IDataFetcherWithFieldCo
 
     private final IProjectImportService projectImportService;
 
-    public MutationUploadProjectDataFetcher(IGraphQLMessageService messageService, IProjectImportService projectImportService) {
+    private final IProjectService projectService;
+
+    public MutationUploadProjectDataFetcher(IGraphQLMessageService messageService, IProjectImportService projectImportService, IProjectService projectService) {
         this.messageService = Objects.requireNonNull(messageService);
         this.projectImportService = Objects.requireNonNull(projectImportService);
+        this.projectService = Objects.requireNonNull(projectService);
     }
 
     @Override
-    public IPayload get(DataFetchingEnvironment environment) throws Exception {
+    public CompletableFuture<IPayload> get(DataFetchingEnvironment environment) throws Exception {
         Map<Object, Object> input = environment.getArgument(MutationTypeProvider.INPUT_ARGUMENT);
         // @formatter:off
         UUID id = Optional.of(input.get(ID))
@@ -73,12 +88,40 @@ public class MutationUploadProjectDataFetcher implements IDataFetcherWithFieldCo
                 .flatMap(new IDParser()::parse)
                 .orElse(null);
 
-        return Optional.of(input.get(FILE))
+        IPayload payload = Optional.of(input.get(FILE))
                 .filter(UploadFile.class::isInstance)
                 .map(UploadFile.class::cast)
                 .map(uploadFile -> this.projectImportService.importProject(id, uploadFile))
                 .orElse(new ErrorPayload(id, this.messageService.unexpectedError()));
         // @formatter:on
+
+        if (payload instanceof ImportProjectSuccessPayload) {
+            UUID jobId = ((ImportProjectSuccessPayload) payload).getJobId();
+            // @formatter:off
+            return this.projectImportService.getProgress(jobId)
+                    .orElse(Flux.empty())
+                    .last(ProjectImportProgress.newProjectImportProgress(jobId).status(ProjectImportStatus.FAILED).build())
+                    .map(progress -> this.toPayload(id, progress))
+                    .toFuture();
+            // @formatter:on
+        }
+        return CompletableFuture.completedFuture(payload);
+    }
+
+    private IPayload toPayload(UUID id, ProjectImportProgress progress) {
+        // @formatter:off
+        Optional<Project> optionalProject = progress.getProjectId()
+                .filter(projectId -> progress.getStatus() == ProjectImportStatus.SUCCEEDED)
+                .flatMap(this.projectService::getProject);
+        if (optionalProject.isPresent()) {
+            return new UploadProjectSuccessPayload(id, optionalProject.get());
+        }
+
+        String message = progress.getErrors().stream()
+                .findFirst()
+                .orElse(this.messageService.unexpectedError());
+        // @formatter:on
+        return new ErrorPayload(id, message);
     }
 
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,14 +12,11 @@
  *******************************************************************************/
 package org.eclipse.sirius.web.graphql.datafetchers.object;
 
-import java.util.ArrayList;
-import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.sirius.components.annotations.spring.graphql.QueryDataFetcher;
 import org.eclipse.sirius.components.graphql.api.IDataFetcherWithFieldCoordinates;
-import org.eclipse.sirius.components.interpreter.AQLInterpreter;
-import org.eclipse.sirius.components.interpreter.Result;
-import org.eclipse.sirius.components.representations.VariableManager;
 import org.eclipse.sirius.web.graphql.schema.ObjectTypeProvider;
 
 import graphql.schema.DataFetchingEnvironment;
@@ -39,16 +36,17 @@ import graphql.schema.DataFetchingEnvironment;
  * @author hmarchadour
  */
 @QueryDataFetcher(type = ObjectTypeProvider.TYPE, field = ObjectTypeProvider.EXPRESSION_BASED_BOOLEAN_FIELD)
-public class ObjectExpressionBasedBooleanDataFetcher implements IDataFetcherWithFieldCoordinates<Boolean> {
+public class ObjectExpressionBasedBooleanDataFetcher implements IDataFetcherWithFieldCoordinates<CompletableFuture<Boolean>> {
 
-    @Override
-    public Boolean get(DataFetchingEnvironment environment) throws Exception {
-        Object object = environment.getSource();
-        String expression = environment.getArgument(ObjectTypeProvider.EXPRESSION_ARGUMENT);
+    private final ObjectExpressionEvaluator objectExpressionEvaluator;
+
+    public ObjectExpressionBasedBooleanDataFetcher(ObjectExpressionEvaluator objectExpressionEvaluator) {
+        this.objectExpressionEvaluator = Objects.requireNonNull(objectExpressionEvaluator);
+    }
 
-        AQLInterpreter interpreter = new AQLInterpreter(new ArrayList<>(), new ArrayList<>());
-        Result result = interpreter.evaluateExpression(Map.of(VariableManager.SELF, object), expression);
-        return result.asBoolean().orElse(null);
+    @Override
+    public CompletableFuture<Boolean> get(DataFetchingEnvironment environment) throws Exception {
+        return this.objectExpressionEvaluator.evaluate(environment).thenApply(result -> result.asBoolean().orElse(null));
     }
 
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,15 +12,13 @@
  *******************************************************************************/
 package org.eclipse.sirius.web.graphql.datafetchers.object;
 
-import java.util.ArrayList;
-import java.util.Map;
+import java.util.Objects;
 import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.sirius.components.annotations.spring.graphql.QueryDataFetcher;
 import org.eclipse.sirius.components.graphql.api.IDataFetcherWithFieldCoordinates;
-import org.eclipse.sirius.components.interpreter.AQLInterpreter;
 import org.eclipse.sirius.components.interpreter.Result;
-import org.eclipse.sirius.components.representations.VariableManager;
 import org.eclipse.sirius.web.graphql.schema.ObjectTypeProvider;
 
 import graphql.schema.DataFetchingEnvironment;
@@ -40,15 +38,20 @@ import graphql.schema.DataFetchingEnvironment;
  * @author hmarchadour
  */
 @QueryDataFetcher(type = ObjectTypeProvider.TYPE, field = ObjectTypeProvider.EXPRESSION_BASED_INT_FIELD)
-public class ObjectExpressionBasedIntDataFetcher implements IDataFetcherWithFieldCoordinates<Integer> {
+public class ObjectExpressionBasedIntDataFetcher implements IDataFetcherWithFieldCoordinates<CompletableFuture<Integer>> {
+
+    private final ObjectExpressionEvaluator objectExpressionEvaluator;
+
+    public ObjectExpressionBasedIntDataFetcher(ObjectExpressionEvaluator objectExpressionEvaluator) {
+        this.objectExpressionEvaluator = Objects.requireNonNull(objectExpressionEvaluator);
+    }
 
     @Override
-    public Integer get(DataFetchingEnvironment environment) throws Exception {
-        Object object = environment.getSource();
-        String expression = environment.getArgument(ObjectTypeProvider.EXPRESSION_ARGUMENT);
+    public CompletableFuture<Integer> get(DataFetchingEnvironment environment) throws Exception {
+        return this.objectExpressionEvaluator.evaluate(environment).thenApply(this::toInteger);
+    }
 
-        AQLInterpreter interpreter = new AQLInterpreter(new ArrayList<>(), new ArrayList<>());
-        Result result = interpreter.evaluateExpression(Map.of(VariableManager.SELF, object), expression);
+    private Integer toInteger(Result result) {
         OptionalInt optionalInt = result.asInt();
         if (optionalInt.isPresent()) {
             return Integer.valueOf(optionalInt.getAsInt());
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -14,13 +14,11 @@ package org.eclipse.sirius.web.graphql.datafetchers.object;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.sirius.components.annotations.spring.graphql.QueryDataFetcher;
 import org.eclipse.sirius.components.graphql.api.IDataFetcherWithFieldCoordinates;
-import org.eclipse.sirius.components.interpreter.AQLInterpreter;
-import org.eclipse.sirius.components.interpreter.Result;
-import org.eclipse.sirius.components.representations.VariableManager;
 import org.eclipse.sirius.web.graphql.schema.ObjectTypeProvider;
 
 import graphql.schema.DataFetchingEnvironment;
@@ -40,16 +38,17 @@ import graphql.schema.DataFetchingEnvironment;
  * @author hmarchadour
  */
 @QueryDataFetcher(type = ObjectTypeProvider.TYPE, field = ObjectTypeProvider.EXPRESSION_BASED_OBJECTS_FIELD)
-public class ObjectExpressionBasedObjectsDataFetcher implements IDataFetcherWithFieldCoordinates<List<Object>> {
+public class ObjectExpressionBasedObjectsDataFetcher implements IDataFetcherWithFieldCoordinates<CompletableFuture<List<Object>>> {
 
-    @Override
-    public List<Object> get(DataFetchingEnvironment environment) throws Exception {
-        Object object = environment.getSource();
-        String expression = environment.getArgument(ObjectTypeProvider.EXPRESSION_ARGUMENT);
+    private final ObjectExpressionEvaluator objectExpressionEvaluator;
+
+    public ObjectExpressionBasedObjectsDataFetcher(ObjectExpressionEvaluator objectExpressionEvaluator) {
+        this.objectExpressionEvaluator = Objects.requireNonNull(objectExpressionEvaluator);
+    }
 
-        AQLInterpreter interpreter = new AQLInterpreter(new ArrayList<>(), new ArrayList<>());
-        Result result = interpreter.evaluateExpression(Map.of(VariableManager.SELF, object), expression);
-        return result.asObjects().orElse(new ArrayList<>());
+    @Override
+    public CompletableFuture<List<Object>> get(DataFetchingEnvironment environment) throws Exception {
+        return this.objectExpressionEvaluator.evaluate(environment).thenApply(result -> result.asObjects().orElse(new ArrayList<>()));
     }
 
 }
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.datafetchers.object;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.eclipse.sirius.components.interpreter.AQLInterpreter;
+import org.eclipse.sirius.components.interpreter.Result;
+import org.eclipse.sirius.components.representations.VariableManager;
+import org.eclipse.sirius.web.graphql.instrumentation.DataLoaderRegistryInstrumentation;
+import org.eclipse.sirius.web.graphql.schema.ObjectTypeProvider;
+import org.springframework.stereotype.Service;
+
+import graphql.schema.DataFetchingEnvironment;
+
+/**
+ * Evaluates the expressions of the fields of the type Object.
+ *
+ * <p>
+ * All the expressions of an execution are evaluated by the same interpreter, which keeps the expressions once parsed,
+ * and the evaluation of an expression is batched across all the objects of the execution with a data loader, one per
+ * expression. Without the registry of data loaders of the {@link DataLoaderRegistryInstrumentation}, the expression is
+ * evaluated immediately.
+ * </p>
+ *
+ * <p>
+ * The interpreter, and thus its parsed expressions, only lives as long as its execution: each distinct expression is
+ * parsed once per execution and is parsed again by the following executions.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@Service
+public class ObjectExpressionEvaluator {
+
+    private static final String INTERPRETER = "objectExpressionInterpreter"; //$NON-NLS-1$
+
+    private static final String DATA_LOADER_PREFIX = "objectExpression:"; //$NON-NLS-1$
+
+    private final Supplier<AQLInterpreter> interpreterFactory;
+
+    public ObjectExpressionEvaluator() {
+        this(() -> new AQLInterpreter(new ArrayList<>(), new ArrayList<>()));
+    }
+
+    ObjectExpressionEvaluator(Supplier<AQLInterpreter> interpreterFactory) {
+        this.interpreterFactory = Objects.requireNonNull(interpreterFactory);
+    }
+
+    public CompletableFuture<Result> evaluate(DataFetchingEnvironment environment) {
+        Object object = environment.getSource();
+        String expression = environment.getArgument(ObjectTypeProvider.EXPRESSION_ARGUMENT);
+
+        AQLInterpreter interpreter = environment.getGraphQlContext().computeIfAbsent(INTERPRETER, key -> this.interpreterFactory.get());
+        DataLoaderRegistry dataLoaderRegistry = environment.getGraphQlContext().get(DataLoaderRegistryInstrumentation.DATA_LOADER_REGISTRY);
+        if (dataLoaderRegistry == null) {
+            return CompletableFuture.completedFuture(interpreter.evaluateExpression(Map.of(VariableManager.SELF, object), expression));
+        }
+
+        BatchLoader<Object, Result> batchLoader = objects -> CompletableFuture.completedFuture(this.evaluate(interpreter, objects, expression));
+        DataLoader<Object, Result> dataLoader = dataLoaderRegistry.computeIfAbsent(DATA_LOADER_PREFIX + expression, key -> DataLoaderFactory.newDataLoader(batchLoader));
+        return dataLoader.load(object);
+    }
+
+    private List<Result> evaluate(AQLInterpreter interpreter, List<Object> objects, String expression) {
+        // @formatter:off
+        return objects.stream()
+                .map(object -> interpreter.evaluateExpression(Map.of(VariableManager.SELF, object), expression))
+                .collect(Collectors.toList());
+        // @formatter:on
+    }
+}
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.datafetchers.subscriptions;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import org.eclipse.sirius.components.collaborative.diagrams.dto.DiagramRefreshedEventPayload;
+import org.eclipse.sirius.components.collaborative.forms.dto.FormRefreshedEventPayload;
+import org.eclipse.sirius.components.collaborative.trees.dto.TreeRefreshedEventPayload;
+import org.eclipse.sirius.components.core.api.IPayload;
+import org.reactivestreams.Publisher;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+
+/**
+ * Delivers the payloads of a representation subscription with a {@link ConflatingPayloadDelivery}.
+ *
+ * <p>
+ * This data fetcher decorates the data fetcher of a subscription to a diagram, a form or a tree. While a subscriber
+ * lags, a refresh of a representation replaces the previous refresh of the same representation still waiting for this
+ * subscriber, since only the last one matters. The other payloads are never conflated.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class ConflatingDataFetcher implements DataFetcher<Object> {
+
+    private final DataFetcher<?> delegate;
+
+    private final ConflatingPayloadDelivery payloadDelivery;
+
+    public ConflatingDataFetcher(DataFetcher<?> delegate, MeterRegistry meterRegistry, String subscription, int maxQueueSize) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.payloadDelivery = new ConflatingPayloadDelivery(meterRegistry, subscription, maxQueueSize, this::getConflationKey);
+    }
+
+    @Override
+    public Object get(DataFetchingEnvironment environment) throws Exception {
+        Object result = this.delegate.get(environment);
+        if (result instanceof Publisher<?>) {
+            return this.payloadDelivery.deliver(Flux.from((Publisher<?>) result).cast(IPayload.class));
+        }
+        return result;
+    }
+
+    private Optional<String> getConflationKey(IPayload payload) {
+        Optional<String> optionalRepresentationId = Optional.empty();
+        if (payload instanceof DiagramRefreshedEventPayload) {
+            optionalRepresentationId = Optional.of(((DiagramRefreshedEventPayload) payload).getDiagram().getId());
+        } else if (payload instanceof FormRefreshedEventPayload) {
+            optionalRepresentationId = Optional.of(((FormRefreshedEventPayload) payload).getForm().getId());
+        } else if (payload instanceof TreeRefreshedEventPayload) {
+            optionalRepresentationId = Optional.of(((TreeRefreshedEventPayload) payload).getTree().getId());
+        }
+        return optionalRepresentationId.map(representationId -> payload.getClass().getSimpleName() + ':' + representationId);
+    }
+}
@@ -0,0 +1,248 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.datafetchers.subscriptions;
+
+import java.text.MessageFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.eclipse.sirius.components.core.api.IPayload;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Delivers the payloads of a subscription to each subscriber at its own pace.
+ *
+ * <p>
+ * The payloads are received without ever waiting for the subscriber and kept in a bounded queue, one per subscriber,
+ * from which they are sent on a dedicated worker as soon as the subscriber requests them. While the subscriber lags,
+ * a payload with the same conflation key as a payload still in the queue, for example the same representation,
+ * replaces it since the subscriber would have discarded the previous one. A subscriber whose queue is full is
+ * disconnected with an overflow error and the payloads of its queue are dropped.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class ConflatingPayloadDelivery {
+
+    /**
+     * The counter of the payloads conflated or dropped.
+     */
+    public static final String EVENTS_COUNTER = "siriusweb_graphql_subscription_events"; //$NON-NLS-1$
+
+    /**
+     * The counter of the subscribers disconnected because they were too slow.
+     */
+    public static final String DISCONNECTED_COUNTER = "siriusweb_graphql_subscription_disconnected"; //$NON-NLS-1$
+
+    /**
+     * The distribution of the number of payloads waiting in the queue of a subscriber.
+     */
+    public static final String QUEUE_DEPTH_SUMMARY = "siriusweb_graphql_subscription_queue_depth"; //$NON-NLS-1$
+
+    /**
+     * The tag of the name of the subscription.
+     */
+    public static final String SUBSCRIPTION = "subscription"; //$NON-NLS-1$
+
+    /**
+     * The tag of the result of the payloads.
+     */
+    public static final String RESULT = "result"; //$NON-NLS-1$
+
+    /**
+     * The result of the payloads replaced by a more recent payload with the same conflation key.
+     */
+    public static final String CONFLATED = "conflated"; //$NON-NLS-1$
+
+    /**
+     * The result of the payloads dropped when their subscriber has been disconnected.
+     */
+    public static final String DROPPED = "dropped"; //$NON-NLS-1$
+
+    private static final String OVERFLOW_MESSAGE = "The subscriber of {0} has been disconnected since more than {1} payloads were waiting for it"; //$NON-NLS-1$
+
+    private final String subscription;
+
+    private final int maxQueueSize;
+
+    private final Function<IPayload, Optional<String>> conflationKeyProvider;
+
+    private final Scheduler scheduler;
+
+    private final Counter conflatedCounter;
+
+    private final Counter droppedCounter;
+
+    private final Counter disconnectedCounter;
+
+    private final DistributionSummary queueDepthSummary;
+
+    // @formatter:off
+    public ConflatingPayloadDelivery(MeterRegistry meterRegistry, String subscription, int maxQueueSize, Function<IPayload, Optional<String>> conflationKeyProvider) {
+        this.subscription = Objects.requireNonNull(subscription);
+        this.maxQueueSize = maxQueueSize;
+        this.conflationKeyProvider = Objects.requireNonNull(conflationKeyProvider);
+        this.scheduler = Schedulers.boundedElastic();
+
+        this.conflatedCounter = Counter.builder(EVENTS_COUNTER)
+                .tag(SUBSCRIPTION, subscription)
+                .tag(RESULT, CONFLATED)
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder(EVENTS_COUNTER)
+                .tag(SUBSCRIPTION, subscription)
+                .tag(RESULT, DROPPED)
+                .register(meterRegistry);
+        this.disconnectedCounter = Counter.builder(DISCONNECTED_COUNTER)
+                .tag(SUBSCRIPTION, subscription)
+                .register(meterRegistry);
+        this.queueDepthSummary = DistributionSummary.builder(QUEUE_DEPTH_SUMMARY)
+                .tag(SUBSCRIPTION, subscription)
+                .register(meterRegistry);
+    }
+    // @formatter:on
+
+    public Flux<IPayload> deliver(Flux<IPayload> payloads) {
+        return Flux.create(sink -> new Delivery(sink).start(payloads));
+    }
+
+    /**
+     * The delivery of the payloads to a single subscriber.
+     *
+     * @author sbegaudeau
+     */
+    private final class Delivery {
+
+        private final FluxSink<IPayload> sink;
+
+        private final Scheduler.Worker worker;
+
+        private final Map<Object, IPayload> queue = new LinkedHashMap<>();
+
+        private final AtomicInteger pendingDrains = new AtomicInteger();
+
+        private boolean done;
+
+        private Throwable error;
+
+        Delivery(FluxSink<IPayload> sink) {
+            this.sink = Objects.requireNonNull(sink);
+            this.worker = ConflatingPayloadDelivery.this.scheduler.createWorker();
+        }
+
+        void start(Flux<IPayload> payloads) {
+            Disposable disposable = payloads.subscribe(this::offer, this::terminate, () -> this.terminate(null));
+            this.sink.onRequest(requested -> this.scheduleDrain());
+            this.sink.onDispose(() -> {
+                disposable.dispose();
+                this.worker.dispose();
+            });
+        }
+
+        private void offer(IPayload payload) {
+            int depth = 0;
+            synchronized (this.queue) {
+                if (this.done) {
+                    return;
+                }
+
+                Optional<String> optionalConflationKey = ConflatingPayloadDelivery.this.conflationKeyProvider.apply(payload);
+                if (optionalConflationKey.isPresent() && this.queue.containsKey(optionalConflationKey.get())) {
+                    this.queue.put(optionalConflationKey.get(), payload);
+                    ConflatingPayloadDelivery.this.conflatedCounter.increment();
+                } else if (this.queue.size() < ConflatingPayloadDelivery.this.maxQueueSize) {
+                    this.queue.put(optionalConflationKey.orElseGet(Object::new), payload);
+                } else {
+                    ConflatingPayloadDelivery.this.droppedCounter.increment(this.queue.size() + 1.0);
+                    ConflatingPayloadDelivery.this.disconnectedCounter.increment();
+                    this.queue.clear();
+                    this.done = true;
+                    this.error = Exceptions.failWithOverflow(MessageFormat.format(OVERFLOW_MESSAGE, ConflatingPayloadDelivery.this.subscription, ConflatingPayloadDelivery.this.maxQueueSize));
+                }
+                depth = this.queue.size();
+            }
+            ConflatingPayloadDelivery.this.queueDepthSummary.record(depth);
+            this.scheduleDrain();
+        }
+
+        private void terminate(Throwable throwable) {
+            synchronized (this.queue) {
+                if (!this.done) {
+                    this.done = true;
+                    this.error = throwable;
+                }
+            }
+            this.scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (this.pendingDrains.getAndIncrement() == 0 && !this.worker.isDisposed()) {
+                this.worker.schedule(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                Optional<IPayload> optionalPayload = this.poll();
+                while (optionalPayload.isPresent()) {
+                    this.sink.next(optionalPayload.get());
+                    optionalPayload = this.poll();
+                }
+
+                this.completeIfDone();
+                missed = this.pendingDrains.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private Optional<IPayload> poll() {
+            synchronized (this.queue) {
+                if (this.sink.isCancelled() || this.sink.requestedFromDownstream() <= 0 || this.queue.isEmpty()) {
+                    return Optional.empty();
+                }
+                Iterator<IPayload> iterator = this.queue.values().iterator();
+                IPayload payload = iterator.next();
+                iterator.remove();
+                return Optional.of(payload);
+            }
+        }
+
+        private void completeIfDone() {
+            boolean isDone = false;
+            Throwable throwable = null;
+            synchronized (this.queue) {
+                isDone = this.done && this.queue.isEmpty();
+                throwable = this.error;
+            }
+
+            if (isDone && throwable != null) {
+                this.sink.error(throwable);
+            } else if (isDone) {
+                this.sink.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.datafetchers.subscriptions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.eclipse.sirius.components.collaborative.diagrams.dto.DiagramRefreshedEventPayload;
+import org.eclipse.sirius.components.collaborative.forms.dto.FormRefreshedEventPayload;
+import org.eclipse.sirius.components.collaborative.trees.dto.TreeRefreshedEventPayload;
+import org.eclipse.sirius.components.core.api.IPayload;
+import org.eclipse.sirius.components.representations.IRepresentation;
+import org.reactivestreams.Publisher;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.GraphQLContext;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.language.AstPrinter;
+import graphql.language.Definition;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import reactor.core.publisher.Flux;
+
+/**
+ * Sends the refresh of the representations as deltas to the subscribers which have requested them.
+ *
+ * <p>
+ * This data fetcher decorates the data fetcher of a subscription. When the subscription field is requested with the
+ * directive <code>@delta</code>, the refreshed diagrams, forms and trees are replaced by a
+ * {@link RepresentationDeltaEventPayload} containing the JSON Patch from the previous version sent to this subscriber.
+ * The other payloads and the subscriptions without the directive are left untouched.
+ * </p>
+ *
+ * <p>
+ * The JSON documents compared are the results of the selection set of the subscription field, as the subscriber would
+ * have received them without the directive, with their aliases and their <code>__typename</code>. They are computed by
+ * executing this selection set against the refreshed payload, which has already been validated with the subscription.
+ * If this execution fails, the refreshed payload is sent as is and the next version of the representation will be sent
+ * whole.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class DeltaEncodingDataFetcher implements DataFetcher<Object> {
+
+    /**
+     * The directive used by the clients to request deltas.
+     */
+    public static final String DELTA_DIRECTIVE = "delta"; //$NON-NLS-1$
+
+    private final DataFetcher<?> delegate;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, GraphQLSchema> payloadSchemas = new ConcurrentHashMap<>();
+
+    public DeltaEncodingDataFetcher(DataFetcher<?> delegate, ObjectMapper objectMapper) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+    }
+
+    @Override
+    public Object get(DataFetchingEnvironment environment) throws Exception {
+        Object result = this.delegate.get(environment);
+        if (result instanceof Publisher<?> && this.isDeltaRequested(environment)) {
+            RepresentationDeltaEncoder encoder = new RepresentationDeltaEncoder();
+            FieldResultProvider fieldResultProvider = new FieldResultProvider(environment);
+            return Flux.from((Publisher<?>) result).map(value -> this.encode(encoder, fieldResultProvider, value));
+        }
+        return result;
+    }
+
+    private boolean isDeltaRequested(DataFetchingEnvironment environment) {
+        return environment.getField().getDirectives().stream().anyMatch(directive -> DELTA_DIRECTIVE.equals(directive.getName()));
+    }
+
+    private Object encode(RepresentationDeltaEncoder encoder, FieldResultProvider fieldResultProvider, Object value) {
+        if (value instanceof IPayload) {
+            IPayload payload = (IPayload) value;
+            Optional<IRepresentation> optionalRepresentation = this.getRepresentation(payload);
+            if (optionalRepresentation.isPresent()) {
+                String representationId = optionalRepresentation.get().getId();
+                Optional<JsonNode> optionalContent = fieldResultProvider.getResult(payload);
+                if (optionalContent.isPresent()) {
+                    return encoder.encode(payload.getId(), representationId, optionalContent.get());
+                }
+                encoder.reset(representationId);
+            }
+        }
+        return value;
+    }
+
+    private Optional<IRepresentation> getRepresentation(IPayload payload) {
+        if (payload instanceof DiagramRefreshedEventPayload) {
+            return Optional.of(((DiagramRefreshedEventPayload) payload).getDiagram());
+        } else if (payload instanceof FormRefreshedEventPayload) {
+            return Optional.of(((FormRefreshedEventPayload) payload).getForm());
+        } else if (payload instanceof TreeRefreshedEventPayload) {
+            return Optional.of(((TreeRefreshedEventPayload) payload).getTree());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the schema used to execute a selection set against a payload, in which the type of the payload is the
+     * query type.
+     */
+    private GraphQLSchema getPayloadSchema(GraphQLSchema graphQLSchema, GraphQLObjectType payloadType) {
+        return this.payloadSchemas.computeIfAbsent(payloadType.getName(), typeName -> GraphQLSchema.newSchema(graphQLSchema).query(payloadType).build());
+    }
+
+    /**
+     * Computes the result of the selection set of the subscription field for the payloads of a single subscriber.
+     *
+     * @author sbegaudeau
+     */
+    private final class FieldResultProvider {
+
+        private final GraphQLSchema graphQLSchema;
+
+        private final Document document;
+
+        private final String query;
+
+        private final Map<String, Object> variables;
+
+        private final GraphQLContext graphQLContext;
+
+        private final Map<String, GraphQL> graphQLs = new HashMap<>();
+
+        FieldResultProvider(DataFetchingEnvironment environment) {
+            this.graphQLSchema = environment.getGraphQLSchema();
+            this.variables = environment.getVariables();
+            this.graphQLContext = environment.getGraphQlContext();
+
+            // @formatter:off
+            OperationDefinition operationDefinition = OperationDefinition.newOperationDefinition()
+                    .operation(OperationDefinition.Operation.QUERY)
+                    .variableDefinitions(environment.getOperationDefinition().getVariableDefinitions())
+                    .selectionSet(environment.getField().getSelectionSet())
+                    .build();
+            // @formatter:on
+
+            List<Definition> definitions = new ArrayList<>();
+            definitions.add(operationDefinition);
+            definitions.addAll(environment.getFragmentsByName().values());
+            this.document = Document.newDocument().definitions(definitions).build();
+            this.query = AstPrinter.printAstCompact(this.document);
+        }
+
+        Optional<JsonNode> getResult(IPayload payload) {
+            GraphQLObjectType payloadType = this.graphQLSchema.getObjectType(payload.getClass().getSimpleName());
+            if (payloadType == null) {
+                return Optional.empty();
+            }
+
+            GraphQL graphQL = this.graphQLs.computeIfAbsent(payloadType.getName(), typeName -> {
+                GraphQLSchema payloadSchema = DeltaEncodingDataFetcher.this.getPayloadSchema(this.graphQLSchema, payloadType);
+                return GraphQL.newGraphQL(payloadSchema).preparsedDocumentProvider(this::getDocument).build();
+            });
+
+            // @formatter:off
+            ExecutionInput executionInput = ExecutionInput.newExecutionInput()
+                    .query(this.query)
+                    .root(payload)
+                    .variables(this.variables)
+                    .graphQLContext(builder -> builder.of(this.graphQLContext))
+                    .build();
+            // @formatter:on
+
+            ExecutionResult executionResult = graphQL.execute(executionInput);
+            if (!executionResult.getErrors().isEmpty() || executionResult.getData() == null) {
+                return Optional.empty();
+            }
+            return Optional.of(DeltaEncodingDataFetcher.this.objectMapper.valueToTree(executionResult.getData()));
+        }
+
+        /**
+         * Returns the selection set of the subscription field without parsing nor validating it again. Its inline
+         * fragments on the other payload types would not be valid against the type of the payload.
+         */
+        private PreparsedDocumentEntry getDocument(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+            return new PreparsedDocumentEntry(this.document);
+        }
+    }
+}
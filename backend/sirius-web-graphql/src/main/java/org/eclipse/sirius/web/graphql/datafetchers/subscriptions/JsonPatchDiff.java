@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.datafetchers.subscriptions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Computes the JSON Patch (RFC 6902) transforming a JSON document into another one.
+ *
+ * <p>
+ * The objects are compared field by field. The elements of the arrays of objects with an <code>id</code>, such as the
+ * nodes of a diagram or the items of a tree, are matched by their identifier: the elements removed and added are
+ * patched individually and the others are compared recursively, as long as their order has not changed. Any other
+ * difference replaces the whole value.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class JsonPatchDiff {
+
+    private static final String ID = "id"; //$NON-NLS-1$
+
+    private static final String OP = "op"; //$NON-NLS-1$
+
+    private static final String PATH = "path"; //$NON-NLS-1$
+
+    private static final String VALUE = "value"; //$NON-NLS-1$
+
+    private static final String ADD = "add"; //$NON-NLS-1$
+
+    private static final String REMOVE = "remove"; //$NON-NLS-1$
+
+    private static final String REPLACE = "replace"; //$NON-NLS-1$
+
+    private final JsonNodeFactory jsonNodeFactory = JsonNodeFactory.instance;
+
+    public ArrayNode diff(JsonNode source, JsonNode target) {
+        ArrayNode operations = this.jsonNodeFactory.arrayNode();
+        this.diff("", source, target, operations); //$NON-NLS-1$
+        return operations;
+    }
+
+    private void diff(String path, JsonNode source, JsonNode target, ArrayNode operations) {
+        if (source.isObject() && target.isObject()) {
+            this.diffObjects(path, source, target, operations);
+        } else if (source.isArray() && target.isArray()) {
+            this.diffArrays(path, source, target, operations);
+        } else if (!source.equals(target)) {
+            operations.add(this.newOperation(REPLACE, path).set(VALUE, target));
+        }
+    }
+
+    private void diffObjects(String path, JsonNode source, JsonNode target, ArrayNode operations) {
+        Iterator<String> sourceFieldNames = source.fieldNames();
+        while (sourceFieldNames.hasNext()) {
+            String fieldName = sourceFieldNames.next();
+            if (!target.has(fieldName)) {
+                operations.add(this.newOperation(REMOVE, this.getPath(path, fieldName)));
+            }
+        }
+
+        Iterator<Entry<String, JsonNode>> targetFields = target.fields();
+        while (targetFields.hasNext()) {
+            Entry<String, JsonNode> targetField = targetFields.next();
+            String fieldPath = this.getPath(path, targetField.getKey());
+            JsonNode sourceValue = source.get(targetField.getKey());
+            if (sourceValue == null) {
+                operations.add(this.newOperation(ADD, fieldPath).set(VALUE, targetField.getValue()));
+            } else {
+                this.diff(fieldPath, sourceValue, targetField.getValue(), operations);
+            }
+        }
+    }
+
+    private void diffArrays(String path, JsonNode source, JsonNode target, ArrayNode operations) {
+        Optional<List<String>> optionalSourceIds = this.getIds(source);
+        Optional<List<String>> optionalTargetIds = this.getIds(target);
+        if (optionalSourceIds.isPresent() && optionalTargetIds.isPresent()) {
+            this.diffArraysById(path, source, target, optionalSourceIds.get(), optionalTargetIds.get(), operations);
+        } else if (source.size() == target.size()) {
+            for (int i = 0; i < source.size(); i++) {
+                this.diff(path + '/' + i, source.get(i), target.get(i), operations);
+            }
+        } else {
+            operations.add(this.newOperation(REPLACE, path).set(VALUE, target));
+        }
+    }
+
+    private void diffArraysById(String path, JsonNode source, JsonNode target, List<String> sourceIds, List<String> targetIds, ArrayNode operations) {
+        Set<String> targetIdSet = new HashSet<>(targetIds);
+        Map<String, JsonNode> remainingSourceElements = new HashMap<>();
+        List<String> remainingSourceIds = new ArrayList<>();
+        for (int i = 0; i < sourceIds.size(); i++) {
+            if (targetIdSet.contains(sourceIds.get(i))) {
+                remainingSourceElements.put(sourceIds.get(i), source.get(i));
+                remainingSourceIds.add(sourceIds.get(i));
+            }
+        }
+
+        List<String> keptTargetIds = targetIds.stream().filter(remainingSourceElements::containsKey).collect(Collectors.toList());
+        if (!keptTargetIds.equals(remainingSourceIds)) {
+            operations.add(this.newOperation(REPLACE, path).set(VALUE, target));
+            return;
+        }
+
+        // The elements are removed from the last one in order to keep the index of the previous ones
+        for (int i = sourceIds.size() - 1; i >= 0; i--) {
+            if (!targetIdSet.contains(sourceIds.get(i))) {
+                operations.add(this.newOperation(REMOVE, path + '/' + i));
+            }
+        }
+
+        // Once the elements before the index i match the target, the next remaining element is at the index i
+        for (int i = 0; i < targetIds.size(); i++) {
+            JsonNode sourceElement = remainingSourceElements.get(targetIds.get(i));
+            if (sourceElement == null) {
+                operations.add(this.newOperation(ADD, path + '/' + i).set(VALUE, target.get(i)));
+            } else {
+                this.diff(path + '/' + i, sourceElement, target.get(i), operations);
+            }
+        }
+    }
+
+    private Optional<List<String>> getIds(JsonNode array) {
+        List<String> ids = new ArrayList<>(array.size());
+        for (JsonNode element : array) {
+            JsonNode id = element.get(ID);
+            if (id == null || !id.isValueNode()) {
+                return Optional.empty();
+            }
+            ids.add(id.asText());
+        }
+        if (new HashSet<>(ids).size() != ids.size()) {
+            return Optional.empty();
+        }
+        return Optional.of(ids);
+    }
+
+    private ObjectNode newOperation(String op, String path) {
+        ObjectNode operation = this.jsonNodeFactory.objectNode();
+        operation.put(OP, op);
+        operation.put(PATH, path);
+        return operation;
+    }
+
+    private String getPath(String path, String fieldName) {
+        return path + '/' + fieldName.replace("~", "~0").replace("/", "~1"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+    }
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.datafetchers.subscriptions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Encodes the successive versions of the representations sent to a single subscriber as deltas.
+ *
+ * <p>
+ * The last version sent of each representation is kept in order to send only the JSON Patch from this version to the
+ * new one. The whole document is sent for the first version of a representation and when the patch would not be
+ * smaller than the last whole document sent.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class RepresentationDeltaEncoder {
+
+    private final JsonPatchDiff jsonPatchDiff = new JsonPatchDiff();
+
+    private final Map<String, SentRepresentation> sentRepresentations = new HashMap<>();
+
+    public RepresentationDeltaEventPayload encode(UUID id, String representationId, JsonNode content) {
+        SentRepresentation previous = this.sentRepresentations.get(representationId);
+
+        RepresentationDeltaEventPayload payload = null;
+        if (previous != null) {
+            String patch = this.jsonPatchDiff.diff(previous.getContent(), content).toString();
+            if (patch.length() < previous.getSize()) {
+                payload = new RepresentationDeltaEventPayload(id, representationId, previous.getVersion() + 1, previous.getVersion(), false, patch);
+                this.sentRepresentations.put(representationId, new SentRepresentation(previous.getVersion() + 1, content, previous.getSize()));
+            }
+        }
+
+        if (payload == null) {
+            int version = 1;
+            if (previous != null) {
+                version = previous.getVersion() + 1;
+            }
+            String document = content.toString();
+            payload = new RepresentationDeltaEventPayload(id, representationId, version, 0, true, document);
+            this.sentRepresentations.put(representationId, new SentRepresentation(version, content, document.length()));
+        }
+        return payload;
+    }
+
+    /**
+     * Forgets the last version sent of a representation, whose next version will thus be sent whole.
+     */
+    public void reset(String representationId) {
+        this.sentRepresentations.remove(representationId);
+    }
+
+    /**
+     * The last version of a representation sent to the subscriber.
+     *
+     * @author sbegaudeau
+     */
+    private static final class SentRepresentation {
+
+        private final int version;
+
+        private final JsonNode content;
+
+        private final int size;
+
+        SentRepresentation(int version, JsonNode content, int size) {
+            this.version = version;
+            this.content = content;
+            this.size = size;
+        }
+
+        public int getVersion() {
+            return this.version;
+        }
+
+        public JsonNode getContent() {
+            return this.content;
+        }
+
+        public int getSize() {
+            return this.size;
+        }
+    }
+}
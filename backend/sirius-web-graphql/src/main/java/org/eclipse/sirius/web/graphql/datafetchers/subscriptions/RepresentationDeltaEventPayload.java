@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.datafetchers.subscriptions;
+
+import java.text.MessageFormat;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.eclipse.sirius.components.core.api.IPayload;
+
+/**
+ * The payload sent instead of the refresh of a representation to the subscribers which have requested deltas.
+ *
+ * <p>
+ * The content is either the whole JSON document of the representation, if the payload is full, or the JSON Patch to
+ * apply to the document of the base version in order to obtain this version.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public final class RepresentationDeltaEventPayload implements IPayload {
+
+    private final UUID id;
+
+    private final String representationId;
+
+    private final int version;
+
+    private final int baseVersion;
+
+    private final boolean full;
+
+    private final String content;
+
+    public RepresentationDeltaEventPayload(UUID id, String representationId, int version, int baseVersion, boolean full, String content) {
+        this.id = Objects.requireNonNull(id);
+        this.representationId = Objects.requireNonNull(representationId);
+        this.version = version;
+        this.baseVersion = baseVersion;
+        this.full = full;
+        this.content = Objects.requireNonNull(content);
+    }
+
+    @Override
+    public UUID getId() {
+        return this.id;
+    }
+
+    public String getRepresentationId() {
+        return this.representationId;
+    }
+
+    public int getVersion() {
+        return this.version;
+    }
+
+    public int getBaseVersion() {
+        return this.baseVersion;
+    }
+
+    public boolean isFull() {
+        return this.full;
+    }
+
+    public String getContent() {
+        return this.content;
+    }
+
+    @Override
+    public String toString() {
+        String pattern = "{0} '{'id: {1}, representationId: {2}, version: {3}, baseVersion: {4}, full: {5}'}'"; //$NON-NLS-1$
+        return MessageFormat.format(pattern, this.getClass().getSimpleName(), this.id, this.representationId, this.version, this.baseVersion, this.full);
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -15,17 +15,21 @@ package org.eclipse.sirius.web.graphql.datafetchers.subscriptions;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.util.Objects;
+import java.util.Optional;
 
 import org.eclipse.sirius.components.annotations.spring.graphql.SubscriptionDataFetcher;
 import org.eclipse.sirius.components.collaborative.api.IEditingContextEventProcessor;
 import org.eclipse.sirius.components.collaborative.api.IEditingContextEventProcessorRegistry;
 import org.eclipse.sirius.components.collaborative.dto.EditingContextEventInput;
+import org.eclipse.sirius.components.collaborative.dto.RepresentationRenamedEventPayload;
 import org.eclipse.sirius.components.core.api.IPayload;
 import org.eclipse.sirius.components.graphql.api.IDataFetcherWithFieldCoordinates;
 import org.eclipse.sirius.web.graphql.schema.SubscriptionTypeProvider;
 import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
 
 import graphql.schema.DataFetchingEnvironment;
+import io.micrometer.core.instrument.MeterRegistry;
 import reactor.core.publisher.Flux;
 
 /**
@@ -40,6 +44,11 @@ import reactor.core.publisher.Flux;
  * }
  * </pre>
  *
+ * <p>
+ * Each subscriber receives the payloads at its own pace, the successive renaming of a representation are conflated
+ * while the subscriber lags and the subscribers which are too slow are disconnected.
+ * </p>
+ *
  * @author arichard
  */
 @SubscriptionDataFetcher(type = SubscriptionTypeProvider.TYPE, field = SubscriptionEditingContextEventDataFetcher.EDITING_CONTEXT_EVENT_FIELD)
@@ -51,10 +60,16 @@ public class SubscriptionEditingContextEventDataFetcher implements IDataFetcherW
 
     private final IEditingContextEventProcessorRegistry editingContextEventProcessorRegistry;
 
-    public SubscriptionEditingContextEventDataFetcher(ObjectMapper objectMapper, IEditingContextEventProcessorRegistry editingContextEventProcessorRegistry) {
+    private final ConflatingPayloadDelivery payloadDelivery;
+
+    // @formatter:off
+    public SubscriptionEditingContextEventDataFetcher(ObjectMapper objectMapper, IEditingContextEventProcessorRegistry editingContextEventProcessorRegistry, MeterRegistry meterRegistry,
+            @Value("${sirius.web.graphql.subscriptions.maxQueueSize:256}") int maxQueueSize) {
         this.objectMapper = Objects.requireNonNull(objectMapper);
         this.editingContextEventProcessorRegistry = Objects.requireNonNull(editingContextEventProcessorRegistry);
+        this.payloadDelivery = new ConflatingPayloadDelivery(meterRegistry, EDITING_CONTEXT_EVENT_FIELD, maxQueueSize, this::getConflationKey);
     }
+    // @formatter:on
 
     @Override
     public Publisher<IPayload> get(DataFetchingEnvironment environment) throws Exception {
@@ -64,8 +79,16 @@ public class SubscriptionEditingContextEventDataFetcher implements IDataFetcherW
         // @formatter:off
         return this.editingContextEventProcessorRegistry.getOrCreateEditingContextEventProcessor(input.getEditingContextId())
                 .map(IEditingContextEventProcessor::getOutputEvents)
+                .map(this.payloadDelivery::deliver)
                 .orElse(Flux.empty());
         // @formatter:on
     }
 
+    private Optional<String> getConflationKey(IPayload payload) {
+        if (payload instanceof RepresentationRenamedEventPayload) {
+            return Optional.of(RepresentationRenamedEventPayload.class.getSimpleName() + ':' + ((RepresentationRenamedEventPayload) payload).getRepresentationId());
+        }
+        return Optional.empty();
+    }
+
 }
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.datafetchers.subscriptions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Objects;
+
+import org.eclipse.sirius.components.annotations.spring.graphql.SubscriptionDataFetcher;
+import org.eclipse.sirius.components.core.api.ErrorPayload;
+import org.eclipse.sirius.components.core.api.IPayload;
+import org.eclipse.sirius.components.graphql.api.IDataFetcherWithFieldCoordinates;
+import org.eclipse.sirius.web.graphql.messages.IGraphQLMessageService;
+import org.eclipse.sirius.web.graphql.schema.SubscriptionTypeProvider;
+import org.eclipse.sirius.web.services.api.projects.IProjectImportService;
+import org.eclipse.sirius.web.services.api.projects.ProjectImportEventInput;
+import org.eclipse.sirius.web.services.api.projects.ProjectImportProgressPayload;
+import org.reactivestreams.Publisher;
+
+import graphql.schema.DataFetchingEnvironment;
+import reactor.core.publisher.Flux;
+
+/**
+ * The data fetcher used to send the progress of the import of a project to a subscription.
+ * <p>
+ * It will be used to fetch the data for the following GraphQL field:
+ * </p>
+ *
+ * <pre>
+ * type Subscription {
+ *   projectImportEvent(input: ProjectImportEventInput!): ProjectImportEventPayload!
+ * }
+ * </pre>
+ *
+ * <p>
+ * The subscription completes once the import is over, its last payload then contains the identifier of the project
+ * imported or the errors which have occurred.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@SubscriptionDataFetcher(type = SubscriptionTypeProvider.TYPE, field = SubscriptionProjectImportEventDataFetcher.PROJECT_IMPORT_EVENT_FIELD)
+public class SubscriptionProjectImportEventDataFetcher implements IDataFetcherWithFieldCoordinates<Publisher<IPayload>> {
+
+    public static final String PROJECT_IMPORT_EVENT_FIELD = "projectImportEvent"; //$NON-NLS-1$
+
+    private final ObjectMapper objectMapper;
+
+    private final IProjectImportService projectImportService;
+
+    private final IGraphQLMessageService messageService;
+
+    public SubscriptionProjectImportEventDataFetcher(ObjectMapper objectMapper, IProjectImportService projectImportService, IGraphQLMessageService messageService) {
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+        this.projectImportService = Objects.requireNonNull(projectImportService);
+        this.messageService = Objects.requireNonNull(messageService);
+    }
+
+    @Override
+    public Publisher<IPayload> get(DataFetchingEnvironment environment) throws Exception {
+        Object argument = environment.getArgument(SubscriptionTypeProvider.INPUT_ARGUMENT);
+        var input = this.objectMapper.convertValue(argument, ProjectImportEventInput.class);
+
+        // @formatter:off
+        return this.projectImportService.getProgress(input.getJobId())
+                .map(progress -> progress.map(projectImportProgress -> (IPayload) new ProjectImportProgressPayload(input.getId(), projectImportProgress)))
+                .orElse(Flux.just(new ErrorPayload(input.getId(), this.messageService.unexpectedError())));
+        // @formatter:on
+    }
+
+}
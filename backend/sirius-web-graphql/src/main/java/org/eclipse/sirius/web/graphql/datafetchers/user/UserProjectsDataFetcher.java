@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -21,6 +21,7 @@ import org.eclipse.sirius.components.graphql.api.IDataFetcherWithFieldCoordinate
 import org.eclipse.sirius.web.graphql.pagination.PageInfoWithCount;
 import org.eclipse.sirius.web.graphql.schema.ProjectTypeProvider;
 import org.eclipse.sirius.web.graphql.schema.ViewerTypeProvider;
+import org.eclipse.sirius.web.services.api.editingcontext.IEditingContextPrewarmingService;
 import org.eclipse.sirius.web.services.api.projects.IProjectService;
 import org.eclipse.sirius.web.services.api.projects.Project;
 
@@ -53,14 +54,20 @@ public class UserProjectsDataFetcher implements IDataFetcherWithFieldCoordinates
 
     private final IProjectService projectService;
 
-    public UserProjectsDataFetcher(IProjectService projectService) {
+    private final IEditingContextPrewarmingService editingContextPrewarmingService;
+
+    public UserProjectsDataFetcher(IProjectService projectService, IEditingContextPrewarmingService editingContextPrewarmingService) {
         this.projectService = Objects.requireNonNull(projectService);
+        this.editingContextPrewarmingService = Objects.requireNonNull(editingContextPrewarmingService);
     }
 
     @Override
     public Connection<Project> get(DataFetchingEnvironment environment) throws Exception {
+        List<Project> projects = this.projectService.getProjects();
+        this.editingContextPrewarmingService.prewarm(projects.stream().map(Project::getId).collect(Collectors.toList()));
+
         // @formatter:off
-        List<Edge<Project>> projectEdges = this.projectService.getProjects().stream()
+        List<Edge<Project>> projectEdges = projects.stream()
                 .map(project -> {
                     String value = new Relay().toGlobalId(ProjectTypeProvider.TYPE, project.getId().toString());
                     ConnectionCursor cursor = new DefaultConnectionCursor(value);
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.execution;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.language.Document;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Keeps the documents of the GraphQL queries once parsed and validated in order to execute them again without any
+ * parsing or validation.
+ *
+ * <p>
+ * The documents are kept in a bounded LRU cache keyed by the SHA-256 hash of the text of the query. Only the valid
+ * documents are kept since they only depend on the schema, the variables are not part of the document.
+ * </p>
+ *
+ * <p>
+ * Each document parsed and validated successfully is given to a listener, used for example to learn the names of the
+ * operations of the valid documents.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+    /**
+     * The counter of the lookups in the cache.
+     */
+    public static final String LOOKUPS_COUNTER = "siriusweb_graphql_documents"; //$NON-NLS-1$
+
+    /**
+     * The gauge of the number of documents in the cache.
+     */
+    public static final String SIZE_GAUGE = "siriusweb_graphql_documents_cached"; //$NON-NLS-1$
+
+    /**
+     * The tag of the result of the lookup.
+     */
+    public static final String RESULT = "result"; //$NON-NLS-1$
+
+    /**
+     * The result of the lookups which have found the document in the cache.
+     */
+    public static final String HIT = "hit"; //$NON-NLS-1$
+
+    /**
+     * The result of the lookups which had to parse and validate the query.
+     */
+    public static final String MISS = "miss"; //$NON-NLS-1$
+
+    private static final String SHA_256 = "SHA-256"; //$NON-NLS-1$
+
+    private static final char[] HEXADECIMAL_DIGITS = "0123456789abcdef".toCharArray(); //$NON-NLS-1$
+
+    private final Map<String, PreparsedDocumentEntry> documents;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Consumer<Document> validDocumentListener;
+
+    public CachingPreparsedDocumentProvider(MeterRegistry meterRegistry, int maxSize, Consumer<Document> validDocumentListener) {
+        this.documents = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparsedDocumentEntry> eldest) {
+                return this.size() > maxSize;
+            }
+        };
+
+        this.hits = Counter.builder(LOOKUPS_COUNTER).tag(RESULT, HIT).register(meterRegistry);
+        this.misses = Counter.builder(LOOKUPS_COUNTER).tag(RESULT, MISS).register(meterRegistry);
+        Gauge.builder(SIZE_GAUGE, this, CachingPreparsedDocumentProvider::size).register(meterRegistry);
+        this.validDocumentListener = Objects.requireNonNull(validDocumentListener);
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        String query = executionInput.getQuery();
+        if (query == null || query.isBlank()) {
+            return parseAndValidateFunction.apply(executionInput);
+        }
+
+        String hash = this.hash(query);
+        PreparsedDocumentEntry cachedEntry = this.get(hash);
+        if (cachedEntry != null) {
+            this.hits.increment();
+            return cachedEntry;
+        }
+
+        this.misses.increment();
+        PreparsedDocumentEntry result = parseAndValidateFunction.apply(executionInput);
+        if (!result.hasErrors()) {
+            this.put(hash, result);
+            this.validDocumentListener.accept(result.getDocument());
+        }
+        return result;
+    }
+
+    private String hash(String query) {
+        try {
+            byte[] digest = MessageDigest.getInstance(SHA_256).digest(query.getBytes(StandardCharsets.UTF_8));
+            char[] hexadecimal = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hexadecimal[i * 2] = HEXADECIMAL_DIGITS[(digest[i] >> 4) & 0xF];
+                hexadecimal[i * 2 + 1] = HEXADECIMAL_DIGITS[digest[i] & 0xF];
+            }
+            return new String(hexadecimal);
+        } catch (NoSuchAlgorithmException exception) {
+            // Every implementation of the Java platform is required to support SHA-256
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private PreparsedDocumentEntry get(String hash) {
+        synchronized (this.documents) {
+            return this.documents.get(hash);
+        }
+    }
+
+    private void put(String hash, PreparsedDocumentEntry entry) {
+        synchronized (this.documents) {
+            this.documents.put(hash, entry);
+        }
+    }
+
+    private int size() {
+        synchronized (this.documents) {
+            return this.documents.size();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.instrumentation;
+
+import org.dataloader.DataLoaderRegistry;
+
+import graphql.ExecutionInput;
+import graphql.execution.instrumentation.DataLoaderDispatcherInstrumentation;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+
+/**
+ * Gives a new registry of data loaders to each execution and dispatches the data loaders registered in it.
+ *
+ * <p>
+ * The GraphQL requests are received without any registry of data loaders, this instrumentation thus creates one for each
+ * execution, which also contains the data loaders which may have been given with the request. The data fetchers can
+ * then register their own data loaders lazily in this registry, with
+ * {@link DataLoaderRegistry#computeIfAbsent(String, java.util.function.Function)}, in order to batch their work across
+ * the sibling objects of a query. The registry is also available in the GraphQL context under the key
+ * {@link #DATA_LOADER_REGISTRY}.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class DataLoaderRegistryInstrumentation extends DataLoaderDispatcherInstrumentation {
+
+    /**
+     * The key of the registry of data loaders in the GraphQL context.
+     */
+    public static final String DATA_LOADER_REGISTRY = "dataLoaderRegistry"; //$NON-NLS-1$
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        ExecutionInput executionInput = this.withDataLoaderRegistry(parameters.getExecutionInput());
+        return super.createState(new InstrumentationCreateStateParameters(parameters.getSchema(), executionInput));
+    }
+
+    @Override
+    public ExecutionInput instrumentExecutionInput(ExecutionInput executionInput, InstrumentationExecutionParameters parameters) {
+        return this.withDataLoaderRegistry(executionInput);
+    }
+
+    private ExecutionInput withDataLoaderRegistry(ExecutionInput executionInput) {
+        DataLoaderRegistry dataLoaderRegistry = executionInput.getGraphQLContext().computeIfAbsent(DATA_LOADER_REGISTRY, key -> new DataLoaderRegistry().combine(executionInput.getDataLoaderRegistry()));
+        if (executionInput.getDataLoaderRegistry() == dataLoaderRegistry) {
+            return executionInput;
+        }
+        return executionInput.transform(builder -> builder.dataLoaderRegistry(dataLoaderRegistry));
+    }
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.instrumentation;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the duration of the GraphQL operations and of the fetching of their fields with Micrometer.
+ *
+ * <p>
+ * The operations are tagged by their name and the fields by their <code>type.field</code> coordinates, both computed by
+ * a {@link GraphQLMetricsTagProvider} in order to keep the cardinality of the metrics bounded. The fetching of a field
+ * is measured until the completion of the value returned by its data fetcher, even if it is asynchronous.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class GraphQLMetricsInstrumentation extends SimpleInstrumentation {
+
+    /**
+     * The timer of the GraphQL operations.
+     */
+    public static final String OPERATION_TIMER = "siriusweb_graphql_operation"; //$NON-NLS-1$
+
+    /**
+     * The timer of the fetching of the GraphQL fields.
+     */
+    public static final String FIELD_TIMER = "siriusweb_graphql_field"; //$NON-NLS-1$
+
+    /**
+     * The tag of the name of the operation.
+     */
+    public static final String OPERATION = "operation"; //$NON-NLS-1$
+
+    /**
+     * The tag of the coordinates of the field.
+     */
+    public static final String FIELD = "field"; //$NON-NLS-1$
+
+    /**
+     * The tag of the outcome of the operation or of the field.
+     */
+    public static final String OUTCOME = "outcome"; //$NON-NLS-1$
+
+    /**
+     * The outcome of the operations and the fields completed without errors.
+     */
+    public static final String SUCCESS = "success"; //$NON-NLS-1$
+
+    /**
+     * The outcome of the operations and the fields completed with errors.
+     */
+    public static final String ERROR = "error"; //$NON-NLS-1$
+
+    private final MeterRegistry meterRegistry;
+
+    private final GraphQLMetricsTagProvider tagProvider;
+
+    private final boolean percentileHistogram;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public GraphQLMetricsInstrumentation(MeterRegistry meterRegistry, GraphQLMetricsTagProvider tagProvider, boolean percentileHistogram) {
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+        this.tagProvider = Objects.requireNonNull(tagProvider);
+        this.percentileHistogram = percentileHistogram;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters) {
+        long start = System.nanoTime();
+        String operation = this.tagProvider.getOperationTag(parameters.getOperation());
+        return SimpleInstrumentationContext.whenCompleted((executionResult, throwable) -> {
+            boolean hasErrors = throwable != null || (executionResult != null && !executionResult.getErrors().isEmpty());
+            this.getTimer(OPERATION_TIMER, OPERATION, operation, hasErrors).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        });
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters) {
+        Optional<String> optionalField = this.tagProvider.getFieldTag(parameters.getEnvironment());
+        if (optionalField.isEmpty()) {
+            return super.beginFieldFetch(parameters);
+        }
+
+        long start = System.nanoTime();
+        String field = optionalField.get();
+        return SimpleInstrumentationContext.whenCompleted((value, throwable) -> {
+            this.getTimer(FIELD_TIMER, FIELD, field, throwable != null).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        });
+    }
+
+    private Timer getTimer(String name, String tag, String tagValue, boolean hasErrors) {
+        String outcome = this.getOutcome(hasErrors);
+        String key = name + ':' + tagValue + ':' + outcome;
+        // @formatter:off
+        return this.timers.computeIfAbsent(key, id -> Timer.builder(name)
+                .tag(tag, tagValue)
+                .tag(OUTCOME, outcome)
+                .publishPercentileHistogram(this.percentileHistogram)
+                .register(this.meterRegistry));
+        // @formatter:on
+    }
+
+    private String getOutcome(boolean hasErrors) {
+        if (hasErrors) {
+            return ERROR;
+        }
+        return SUCCESS;
+    }
+}
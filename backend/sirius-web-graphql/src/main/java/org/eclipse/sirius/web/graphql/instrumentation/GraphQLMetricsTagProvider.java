@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.instrumentation;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLNamedType;
+
+/**
+ * Computes the tags of the GraphQL metrics while keeping their cardinality bounded.
+ *
+ * <p>
+ * The fields are identified by their <code>type.field</code> coordinates, which are bounded by the schema, and the
+ * operations by their name. The values of the arguments are never used as tags.
+ * </p>
+ *
+ * <p>
+ * The name sent by a client is only used as a tag if it is known: either it has been configured, or it is the name of
+ * an operation of a document which has been parsed and validated successfully. The names of the documents are only
+ * learned if no name has been configured, and only the first <code>maxOperationNames</code> of them. The other
+ * operations are tagged with {@link #OTHER}.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class GraphQLMetricsTagProvider {
+
+    /**
+     * The tag used for the operations without a name.
+     */
+    public static final String ANONYMOUS = "anonymous"; //$NON-NLS-1$
+
+    /**
+     * The tag used for the operations and the fields beyond the limits of the cardinality.
+     */
+    public static final String OTHER = "other"; //$NON-NLS-1$
+
+    /**
+     * The fields for which metrics are recorded.
+     *
+     * @author sbegaudeau
+     */
+    public enum FieldMetrics {
+        /**
+         * No field is measured.
+         */
+        NONE,
+
+        /**
+         * Only the fields with a data fetcher of Sirius Web are measured.
+         */
+        DATA_FETCHERS,
+
+        /**
+         * All the fields are measured, including the ones which are only read from their parent.
+         */
+        ALL,
+    }
+
+    private final FieldMetrics fieldMetrics;
+
+    private final Set<String> dataFetcherFields;
+
+    private final Set<String> configuredOperationNames;
+
+    private final int maxOperationNames;
+
+    private final Set<String> learnedOperationNames = ConcurrentHashMap.newKeySet();
+
+    public GraphQLMetricsTagProvider(FieldMetrics fieldMetrics, Set<FieldCoordinates> dataFetcherFieldCoordinates, Set<String> configuredOperationNames, int maxOperationNames) {
+        this.fieldMetrics = Objects.requireNonNull(fieldMetrics);
+        // @formatter:off
+        this.dataFetcherFields = dataFetcherFieldCoordinates.stream()
+                .map(fieldCoordinates -> this.getField(fieldCoordinates.getTypeName(), fieldCoordinates.getFieldName()))
+                .collect(Collectors.toUnmodifiableSet());
+        this.configuredOperationNames = configuredOperationNames.stream()
+                .map(String::trim)
+                .filter(operationName -> !operationName.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        // @formatter:on
+        this.maxOperationNames = maxOperationNames;
+    }
+
+    /**
+     * Returns the tag of the operation with the given name, the unknown names are never used as tags.
+     *
+     * @param operationName
+     *            The name of the operation given by the client, may be <code>null</code>
+     * @return The tag of the operation
+     */
+    public String getOperationTag(String operationName) {
+        if (operationName == null || operationName.isBlank()) {
+            return ANONYMOUS;
+        }
+        if (this.configuredOperationNames.contains(operationName) || this.learnedOperationNames.contains(operationName)) {
+            return operationName;
+        }
+        return OTHER;
+    }
+
+    /**
+     * Learns the names of the operations of the given document, which has been parsed and validated successfully.
+     *
+     * @param document
+     *            A valid document
+     */
+    public void learnOperationNames(Document document) {
+        if (!this.configuredOperationNames.isEmpty()) {
+            return;
+        }
+
+        for (OperationDefinition operationDefinition : document.getDefinitionsOfType(OperationDefinition.class)) {
+            String operationName = operationDefinition.getName();
+            if (operationName != null && !operationName.isBlank() && !this.learnedOperationNames.contains(operationName)) {
+                synchronized (this.learnedOperationNames) {
+                    if (this.learnedOperationNames.size() < this.maxOperationNames) {
+                        this.learnedOperationNames.add(operationName);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the tag of the field being fetched or {@link Optional#empty()} if this field should not be measured.
+     *
+     * @param environment
+     *            The environment of the data fetcher
+     * @return The <code>type.field</code> coordinates of the field or {@link Optional#empty()}
+     */
+    public Optional<String> getFieldTag(DataFetchingEnvironment environment) {
+        if (this.fieldMetrics == FieldMetrics.NONE) {
+            return Optional.empty();
+        }
+
+        String typeName = OTHER;
+        if (environment.getParentType() instanceof GraphQLNamedType) {
+            typeName = ((GraphQLNamedType) environment.getParentType()).getName();
+        }
+        String field = this.getField(typeName, environment.getFieldDefinition().getName());
+
+        if (this.fieldMetrics == FieldMetrics.ALL || this.dataFetcherFields.contains(field)) {
+            return Optional.of(field);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the tag of the field in which an error has occurred, errors are counted for all the fields.
+     *
+     * @param environment
+     *            The environment of the data fetcher, may be <code>null</code>
+     * @return The <code>type.field</code> coordinates of the field or {@link #OTHER}
+     */
+    public String getErrorFieldTag(DataFetchingEnvironment environment) {
+        if (environment == null || !(environment.getParentType() instanceof GraphQLNamedType)) {
+            return OTHER;
+        }
+        return this.getField(((GraphQLNamedType) environment.getParentType()).getName(), environment.getFieldDefinition().getName());
+    }
+
+    private String getField(String typeName, String fieldName) {
+        return typeName + '.' + fieldName;
+    }
+}
@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.instrumentation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.sirius.web.graphql.messages.IGraphQLMessageService;
+
+import graphql.ExecutionResult;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.util.TraversalControl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Rejects the GraphQL operations which are too deep or too expensive before their execution.
+ *
+ * <p>
+ * The depth of an operation is the maximum number of nested fields, fragments included. The cost of an operation is
+ * the sum of the costs of its fields, declared by their <code>type.field</code> coordinates and 1 by default, multiplied
+ * by the number of elements requested by their parents. This number is given by the arguments <code>first</code>,
+ * <code>last</code> or <code>size</code> and, for the connections without such arguments, by a default size. The
+ * analysis stops as soon as one of the limits is exceeded.
+ * </p>
+ *
+ * <p>
+ * The rejected operations are only counted by reason, the name of an operation is only used as a tag once it has been
+ * accepted.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class GraphQLQueryLimitsInstrumentation extends SimpleInstrumentation {
+
+    /**
+     * The counter of the rejected operations.
+     */
+    public static final String REJECTED_COUNTER = "siriusweb_graphql_rejected"; //$NON-NLS-1$
+
+    /**
+     * The distribution of the cost of the operations accepted.
+     */
+    public static final String COST_SUMMARY = "siriusweb_graphql_cost"; //$NON-NLS-1$
+
+    /**
+     * The tag of the reason of the rejection.
+     */
+    public static final String REASON = "reason"; //$NON-NLS-1$
+
+    /**
+     * The reason of the operations rejected because of their depth.
+     */
+    public static final String DEPTH = "depth"; //$NON-NLS-1$
+
+    /**
+     * The reason of the operations rejected because of their cost.
+     */
+    public static final String COST = "cost"; //$NON-NLS-1$
+
+    private static final List<String> SIZE_ARGUMENTS = List.of("first", "last", "size"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+    private static final String CONNECTION_SUFFIX = "Connection"; //$NON-NLS-1$
+
+    private final MeterRegistry meterRegistry;
+
+    private final GraphQLMetricsTagProvider tagProvider;
+
+    private final IGraphQLMessageService messageService;
+
+    private final int maxDepth;
+
+    private final int maxCost;
+
+    private final Map<String, Integer> fieldCosts;
+
+    private final int defaultConnectionSize;
+
+    // @formatter:off
+    public GraphQLQueryLimitsInstrumentation(MeterRegistry meterRegistry, GraphQLMetricsTagProvider tagProvider, IGraphQLMessageService messageService,
+            int maxDepth, int maxCost, Map<String, Integer> fieldCosts, int defaultConnectionSize) {
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+        this.tagProvider = Objects.requireNonNull(tagProvider);
+        this.messageService = Objects.requireNonNull(messageService);
+        this.maxDepth = maxDepth;
+        this.maxCost = maxCost;
+        this.fieldCosts = Map.copyOf(fieldCosts);
+        this.defaultConnectionSize = defaultConnectionSize;
+    }
+    // @formatter:on
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+
+        // @formatter:off
+        QueryTraverser queryTraverser = QueryTraverser.newQueryTraverser()
+                .schema(executionContext.getGraphQLSchema())
+                .document(executionContext.getDocument())
+                .operationName(executionContext.getOperationDefinition().getName())
+                .variables(executionContext.getVariables())
+                .build();
+        // @formatter:on
+
+        QueryLimitsVisitor visitor = new QueryLimitsVisitor();
+        queryTraverser.visitPreOrder(visitor);
+
+        if (visitor.getRejectionReason() != null) {
+            // @formatter:off
+            Counter.builder(REJECTED_COUNTER)
+                    .tag(REASON, visitor.getRejectionReason())
+                    .register(this.meterRegistry)
+                    .increment();
+            // @formatter:on
+
+            if (DEPTH.equals(visitor.getRejectionReason())) {
+                throw new AbortExecutionException(this.messageService.queryTooDeep(this.maxDepth));
+            }
+            throw new AbortExecutionException(this.messageService.queryTooExpensive(this.maxCost));
+        }
+
+        String operation = this.tagProvider.getOperationTag(executionContext.getOperationDefinition().getName());
+        // @formatter:off
+        DistributionSummary.builder(COST_SUMMARY)
+                .tag(GraphQLMetricsInstrumentation.OPERATION, operation)
+                .register(this.meterRegistry)
+                .record(visitor.getCost());
+        // @formatter:on
+        return super.beginExecuteOperation(parameters);
+    }
+
+    private long getCost(QueryVisitorFieldEnvironment environment) {
+        String coordinates = environment.getFieldsContainer().getName() + '.' + environment.getFieldDefinition().getName();
+        long cost = this.fieldCosts.getOrDefault(coordinates, 1);
+
+        QueryVisitorFieldEnvironment parentEnvironment = environment.getParentEnvironment();
+        while (parentEnvironment != null && cost <= this.maxCost) {
+            cost = cost * this.getSize(parentEnvironment);
+            parentEnvironment = parentEnvironment.getParentEnvironment();
+        }
+        return cost;
+    }
+
+    private long getSize(QueryVisitorFieldEnvironment environment) {
+        for (String argument : SIZE_ARGUMENTS) {
+            Object size = environment.getArguments().get(argument);
+            if (size instanceof Number) {
+                return Math.max(1, ((Number) size).longValue());
+            }
+        }
+
+        GraphQLType type = GraphQLTypeUtil.unwrapNonNull(environment.getFieldDefinition().getType());
+        if (type instanceof GraphQLNamedType && ((GraphQLNamedType) type).getName().endsWith(CONNECTION_SUFFIX)) {
+            return this.defaultConnectionSize;
+        }
+        return 1;
+    }
+
+    private int getDepth(QueryVisitorFieldEnvironment environment) {
+        int depth = 1;
+        QueryVisitorFieldEnvironment parentEnvironment = environment.getParentEnvironment();
+        while (parentEnvironment != null) {
+            depth++;
+            parentEnvironment = parentEnvironment.getParentEnvironment();
+        }
+        return depth;
+    }
+
+    /**
+     * Computes the depth and the cost of the fields of an operation until one of the limits is exceeded.
+     *
+     * @author sbegaudeau
+     */
+    private final class QueryLimitsVisitor extends QueryVisitorStub {
+
+        private long cost;
+
+        private String rejectionReason;
+
+        @Override
+        public TraversalControl visitFieldWithControl(QueryVisitorFieldEnvironment environment) {
+            if (environment.isTypeNameIntrospectionField()) {
+                return TraversalControl.CONTINUE;
+            }
+
+            if (GraphQLQueryLimitsInstrumentation.this.getDepth(environment) > GraphQLQueryLimitsInstrumentation.this.maxDepth) {
+                this.rejectionReason = DEPTH;
+                return TraversalControl.QUIT;
+            }
+
+            this.cost = this.cost + GraphQLQueryLimitsInstrumentation.this.getCost(environment);
+            if (this.cost > GraphQLQueryLimitsInstrumentation.this.maxCost) {
+                this.rejectionReason = COST;
+                return TraversalControl.QUIT;
+            }
+            return TraversalControl.CONTINUE;
+        }
+
+        public long getCost() {
+            return this.cost;
+        }
+
+        public String getRejectionReason() {
+            return this.rejectionReason;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.instrumentation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.eclipse.sirius.web.graphql.messages.IGraphQLMessageService;
+import org.eclipse.sirius.web.services.api.projects.IProjectOwnershipService;
+
+import graphql.ExecutionResult;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+
+/**
+ * Rejects the GraphQL operations, subscriptions included, targeting a project owned by another node of the cluster.
+ *
+ * <p>
+ * The project is found in the variables <code>editingContextId</code> and <code>projectId</code> of the operation or
+ * in the fields of the same name of its <code>input</code> variable. The URL of the node owning the project is returned
+ * in the extensions of the error, the front-end then reloads the page of the project from this node so that all its
+ * requests and subscriptions reach the owner of the project.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class ProjectAffinityInstrumentation extends SimpleInstrumentation {
+
+    /**
+     * The code of the error returned when the project is owned by another node.
+     */
+    public static final String PROJECT_OWNED_BY_ANOTHER_NODE = "PROJECT_OWNED_BY_ANOTHER_NODE"; //$NON-NLS-1$
+
+    /**
+     * The extension containing the URL of the node owning the project.
+     */
+    public static final String NODE_URL = "nodeURL"; //$NON-NLS-1$
+
+    private static final String CODE = "code"; //$NON-NLS-1$
+
+    private static final String INPUT = "input"; //$NON-NLS-1$
+
+    private static final List<String> PROJECT_VARIABLES = List.of("editingContextId", "projectId"); //$NON-NLS-1$ //$NON-NLS-2$
+
+    private final IProjectOwnershipService projectOwnershipService;
+
+    private final IGraphQLMessageService messageService;
+
+    public ProjectAffinityInstrumentation(IProjectOwnershipService projectOwnershipService, IGraphQLMessageService messageService) {
+        this.projectOwnershipService = Objects.requireNonNull(projectOwnershipService);
+        this.messageService = Objects.requireNonNull(messageService);
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters) {
+        Map<String, Object> variables = parameters.getExecutionContext().getVariables();
+
+        var optionalProjectId = this.getProjectId(variables);
+        Object input = variables.get(INPUT);
+        if (optionalProjectId.isEmpty() && input instanceof Map<?, ?>) {
+            optionalProjectId = this.getProjectId((Map<?, ?>) input);
+        }
+
+        // The lookup of the owner is only performed for the projects which are not owned by the current node
+        var optionalOwnerURL = optionalProjectId.filter(projectId -> !this.projectOwnershipService.isOwner(projectId)).flatMap(this.projectOwnershipService::getRemoteOwnerURL);
+        if (optionalOwnerURL.isPresent()) {
+            String ownerURL = optionalOwnerURL.get();
+            // @formatter:off
+            var error = GraphqlErrorBuilder.newError()
+                    .message(this.messageService.projectOwnedByAnotherNode(ownerURL))
+                    .extensions(Map.of(CODE, PROJECT_OWNED_BY_ANOTHER_NODE, NODE_URL, ownerURL))
+                    .build();
+            // @formatter:on
+            throw new AbortExecutionException(List.of(error));
+        }
+        return super.beginExecuteOperation(parameters);
+    }
+
+    private Optional<UUID> getProjectId(Map<?, ?> variables) {
+        for (String variable : PROJECT_VARIABLES) {
+            Object value = variables.get(variable);
+            if (value instanceof String) {
+                try {
+                    return Optional.of(UUID.fromString((String) value));
+                } catch (IllegalArgumentException exception) {
+                    // The identifiers which are not projects are ignored
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -37,4 +37,19 @@ public class GraphQLMessageService implements IGraphQLMessageService {
         return this.messageSourceAccessor.getMessage("UNEXPECTED_ERROR"); //$NON-NLS-1$
     }
 
+    @Override
+    public String queryTooDeep(int maxDepth) {
+        return this.messageSourceAccessor.getMessage("QUERY_TOO_DEEP", new Object[] { maxDepth }); //$NON-NLS-1$
+    }
+
+    @Override
+    public String queryTooExpensive(int maxCost) {
+        return this.messageSourceAccessor.getMessage("QUERY_TOO_EXPENSIVE", new Object[] { maxCost }); //$NON-NLS-1$
+    }
+
+    @Override
+    public String projectOwnedByAnotherNode(String nodeURL) {
+        return this.messageSourceAccessor.getMessage("PROJECT_OWNED_BY_ANOTHER_NODE", new Object[] { nodeURL }); //$NON-NLS-1$
+    }
+
 }
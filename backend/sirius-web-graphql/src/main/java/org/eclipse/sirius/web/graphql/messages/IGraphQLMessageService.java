@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -21,4 +21,10 @@ public interface IGraphQLMessageService {
 
     String unexpectedError();
 
+    String queryTooDeep(int maxDepth);
+
+    String queryTooExpensive(int maxCost);
+
+    String projectOwnedByAnotherNode(String nodeURL);
+
 }
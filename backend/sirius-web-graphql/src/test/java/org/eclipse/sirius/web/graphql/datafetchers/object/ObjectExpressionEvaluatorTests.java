@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.datafetchers.object;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dataloader.DataLoaderRegistry;
+import org.dataloader.stats.Statistics;
+import org.eclipse.sirius.components.interpreter.AQLInterpreter;
+import org.eclipse.sirius.web.graphql.instrumentation.DataLoaderRegistryInstrumentation;
+import org.eclipse.sirius.web.graphql.schema.ObjectTypeProvider;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import reactor.core.publisher.Flux;
+
+/**
+ * Unit tests of the evaluation of the expressions of the fields of the type Object.
+ *
+ * @author sbegaudeau
+ */
+public class ObjectExpressionEvaluatorTests {
+
+    // @formatter:off
+    private static final String SCHEMA = "type Query { objects: [Object!]! }\n" //$NON-NLS-1$
+            + "type Mutation { objects: [Object!]! }\n" //$NON-NLS-1$
+            + "type Subscription { objects: Object! }\n" //$NON-NLS-1$
+            + "type Object {\n" //$NON-NLS-1$
+            + "  expressionBasedObjects(expression: String!): [Object!]!\n" //$NON-NLS-1$
+            + "  expressionBasedObject(expression: String!): Object\n" //$NON-NLS-1$
+            + "  expressionBasedString(expression: String!): String\n" //$NON-NLS-1$
+            + "  expressionBasedInt(expression: String!): Int\n" //$NON-NLS-1$
+            + "  expressionBasedBoolean(expression: String!): Boolean\n" //$NON-NLS-1$
+            + "}"; //$NON-NLS-1$
+    // @formatter:on
+
+    // @formatter:off
+    private static final String SELECTION = "{ name: expressionBasedString(expression: \"aql:self\")" //$NON-NLS-1$
+            + " size: expressionBasedInt(expression: \"aql:self.size()\")" //$NON-NLS-1$
+            + " first: expressionBasedBoolean(expression: \"aql:self = 'a'\") }"; //$NON-NLS-1$
+    // @formatter:on
+
+    private static final String QUERY = "query getObjects { objects " + SELECTION + " }"; //$NON-NLS-1$ //$NON-NLS-2$
+
+    private static final List<String> OBJECTS = List.of("a", "bb", "ccc"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+    private final AtomicInteger interpreterCount = new AtomicInteger();
+
+    private GraphQL createGraphQL(boolean withDataLoaderRegistry) {
+        ObjectExpressionEvaluator objectExpressionEvaluator = new ObjectExpressionEvaluator(() -> {
+            this.interpreterCount.incrementAndGet();
+            return new AQLInterpreter(new ArrayList<>(), new ArrayList<>());
+        });
+
+        // @formatter:off
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", builder -> builder.dataFetcher("objects", environment -> OBJECTS)) //$NON-NLS-1$ //$NON-NLS-2$
+                .type("Mutation", builder -> builder.dataFetcher("objects", environment -> OBJECTS)) //$NON-NLS-1$ //$NON-NLS-2$
+                .type("Subscription", builder -> builder.dataFetcher("objects", environment -> Flux.fromIterable(OBJECTS))) //$NON-NLS-1$ //$NON-NLS-2$
+                .type(ObjectTypeProvider.TYPE, builder -> builder
+                        .dataFetcher(ObjectTypeProvider.EXPRESSION_BASED_OBJECTS_FIELD, new ObjectExpressionBasedObjectsDataFetcher(objectExpressionEvaluator))
+                        .dataFetcher(ObjectTypeProvider.EXPRESSION_BASED_OBJECT_FIELD, new ObjectExpressionBasedObjectDataFetcher(objectExpressionEvaluator))
+                        .dataFetcher(ObjectTypeProvider.EXPRESSION_BASED_STRING_FIELD, new ObjectExpressionBasedStringDataFetcher(objectExpressionEvaluator))
+                        .dataFetcher(ObjectTypeProvider.EXPRESSION_BASED_INT_FIELD, new ObjectExpressionBasedIntDataFetcher(objectExpressionEvaluator))
+                        .dataFetcher(ObjectTypeProvider.EXPRESSION_BASED_BOOLEAN_FIELD, new ObjectExpressionBasedBooleanDataFetcher(objectExpressionEvaluator)))
+                .build();
+        // @formatter:on
+        GraphQLSchema graphQLSchema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA), runtimeWiring);
+
+        GraphQL.Builder builder = GraphQL.newGraphQL(graphQLSchema);
+        if (withDataLoaderRegistry) {
+            builder.instrumentation(new DataLoaderRegistryInstrumentation());
+        }
+        return builder.build();
+    }
+
+    private List<Map<String, Object>> getObjects(ExecutionResult executionResult) {
+        assertThat(executionResult.getErrors()).isEmpty();
+        Map<String, List<Map<String, Object>>> data = executionResult.getData();
+        return data.get("objects"); //$NON-NLS-1$
+    }
+
+    private Statistics getStatistics(ExecutionInput executionInput) {
+        DataLoaderRegistry dataLoaderRegistry = executionInput.getGraphQLContext().get(DataLoaderRegistryInstrumentation.DATA_LOADER_REGISTRY);
+        assertThat(dataLoaderRegistry).isNotNull();
+        return dataLoaderRegistry.getStatistics();
+    }
+
+    @Test
+    public void testExpressionsBatchedAcrossObjects() {
+        GraphQL graphQL = this.createGraphQL(true);
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput(QUERY).build();
+
+        List<Map<String, Object>> objects = this.getObjects(graphQL.execute(executionInput));
+
+        assertThat(objects).extracting(object -> object.get("name")).containsExactly("a", "bb", "ccc"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        assertThat(objects).extracting(object -> object.get("size")).containsExactly(1, 2, 3); //$NON-NLS-1$
+        assertThat(objects).extracting(object -> object.get("first")).containsExactly(true, false, false); //$NON-NLS-1$
+
+        // One batch per expression for all the objects
+        Statistics statistics = this.getStatistics(executionInput);
+        assertThat(statistics.getLoadCount()).isEqualTo(9);
+        assertThat(statistics.getBatchInvokeCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void testOneInterpreterPerExecution() {
+        GraphQL graphQL = this.createGraphQL(true);
+
+        this.getObjects(graphQL.execute(QUERY));
+        assertThat(this.interpreterCount.get()).isEqualTo(1);
+
+        this.getObjects(graphQL.execute(QUERY));
+        assertThat(this.interpreterCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testExpressionsEvaluatedImmediatelyWithoutDataLoaderRegistry() {
+        GraphQL graphQL = this.createGraphQL(false);
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput(QUERY).build();
+
+        List<Map<String, Object>> objects = this.getObjects(graphQL.execute(executionInput));
+
+        assertThat(objects).extracting(object -> object.get("size")).containsExactly(1, 2, 3); //$NON-NLS-1$
+        assertThat(executionInput.getGraphQLContext().<DataLoaderRegistry> get(DataLoaderRegistryInstrumentation.DATA_LOADER_REGISTRY)).isNull();
+        assertThat(this.interpreterCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testMutationExpressionsDispatched() {
+        GraphQL graphQL = this.createGraphQL(true);
+        String mutation = "mutation getObjects { objects { self: expressionBasedObject(expression: \"aql:self\") " + SELECTION //$NON-NLS-1$
+                + " all: expressionBasedObjects(expression: \"aql:Sequence{self, self}\") " + SELECTION + " } }"; //$NON-NLS-1$ //$NON-NLS-2$
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput(mutation).build();
+
+        List<Map<String, Object>> objects = this.getObjects(graphQL.execute(executionInput));
+
+        assertThat(objects).extracting(object -> object.get("self")).extracting(self -> ((Map<?, ?>) self).get("name")).containsExactly("a", "bb", "ccc"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+        assertThat(objects).extracting(object -> object.get("all")).extracting(all -> ((List<?>) all).size()).containsExactly(2, 2, 2); //$NON-NLS-1$
+        assertThat(this.getStatistics(executionInput).getLoadCount()).isPositive();
+        assertThat(this.interpreterCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testSubscriptionExpressionsDispatched() {
+        GraphQL graphQL = this.createGraphQL(true);
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput("subscription getObjects { objects " + SELECTION + " }").build(); //$NON-NLS-1$ //$NON-NLS-2$
+
+        ExecutionResult executionResult = graphQL.execute(executionInput);
+        assertThat(executionResult.getErrors()).isEmpty();
+        Publisher<ExecutionResult> publisher = executionResult.getData();
+        List<ExecutionResult> eventResults = Flux.from(publisher).collectList().block(Duration.ofSeconds(10));
+
+        // @formatter:off
+        assertThat(eventResults).extracting(eventResult -> eventResult.<Map<String, Map<String, Object>>> getData().get("objects").get("name")) //$NON-NLS-1$ //$NON-NLS-2$
+                .containsExactly("a", "bb", "ccc"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        // @formatter:on
+        assertThat(this.getStatistics(executionInput).getLoadCount()).isEqualTo(9);
+    }
+}
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.datafetchers.subscriptions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.eclipse.sirius.components.collaborative.dto.RepresentationRenamedEventPayload;
+import org.eclipse.sirius.components.core.api.IPayload;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Sinks;
+import reactor.core.publisher.Sinks.Many;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests of the delivery of the payloads of a subscription.
+ *
+ * @author sbegaudeau
+ */
+public class ConflatingPayloadDeliveryTests {
+
+    private static final String SUBSCRIPTION = "diagramEvent"; //$NON-NLS-1$
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final Function<IPayload, Optional<String>> representationIdProvider = payload -> Optional.of(((RepresentationRenamedEventPayload) payload).getRepresentationId());
+
+    private IPayload payload(String representationId, String newLabel) {
+        return new RepresentationRenamedEventPayload(UUID.randomUUID(), representationId, newLabel);
+    }
+
+    private double count(MeterRegistry meterRegistry, String result) {
+        return meterRegistry.get(ConflatingPayloadDelivery.EVENTS_COUNTER).tag(ConflatingPayloadDelivery.SUBSCRIPTION, SUBSCRIPTION).tag(ConflatingPayloadDelivery.RESULT, result).counter().count();
+    }
+
+    private double countDisconnected(MeterRegistry meterRegistry) {
+        return meterRegistry.get(ConflatingPayloadDelivery.DISCONNECTED_COUNTER).tag(ConflatingPayloadDelivery.SUBSCRIPTION, SUBSCRIPTION).counter().count();
+    }
+
+    @Test
+    public void testPayloadsOfTheSameRepresentationConflatedWhileTheSubscriberLags() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConflatingPayloadDelivery payloadDelivery = new ConflatingPayloadDelivery(meterRegistry, SUBSCRIPTION, 10, this.representationIdProvider);
+        Many<IPayload> sink = Sinks.many().unicast().onBackpressureBuffer();
+
+        IPayload first = this.payload("diagram", "first"); //$NON-NLS-1$ //$NON-NLS-2$
+        IPayload second = this.payload("diagram", "second"); //$NON-NLS-1$ //$NON-NLS-2$
+        IPayload third = this.payload("diagram", "third"); //$NON-NLS-1$ //$NON-NLS-2$
+        IPayload other = this.payload("form", "other"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        // @formatter:off
+        StepVerifier.create(payloadDelivery.deliver(sink.asFlux()), 0)
+            .then(() -> {
+                sink.tryEmitNext(first);
+                sink.tryEmitNext(second);
+                sink.tryEmitNext(other);
+                sink.tryEmitNext(third);
+            })
+            .thenRequest(2)
+            .expectNext(third, other)
+            .then(sink::tryEmitComplete)
+            .expectComplete()
+            .verify(TIMEOUT);
+        // @formatter:on
+
+        assertThat(this.count(meterRegistry, ConflatingPayloadDelivery.CONFLATED)).isEqualTo(2.0);
+        assertThat(this.count(meterRegistry, ConflatingPayloadDelivery.DROPPED)).isZero();
+    }
+
+    @Test
+    public void testPayloadsWithoutConflationKeyNeverConflated() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConflatingPayloadDelivery payloadDelivery = new ConflatingPayloadDelivery(meterRegistry, SUBSCRIPTION, 10, payload -> Optional.empty());
+        Many<IPayload> sink = Sinks.many().unicast().onBackpressureBuffer();
+
+        IPayload first = this.payload("diagram", "first"); //$NON-NLS-1$ //$NON-NLS-2$
+        IPayload second = this.payload("diagram", "second"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        // @formatter:off
+        StepVerifier.create(payloadDelivery.deliver(sink.asFlux()), 0)
+            .then(() -> {
+                sink.tryEmitNext(first);
+                sink.tryEmitNext(second);
+            })
+            .thenRequest(2)
+            .expectNext(first, second)
+            .then(sink::tryEmitComplete)
+            .expectComplete()
+            .verify(TIMEOUT);
+        // @formatter:on
+
+        assertThat(this.count(meterRegistry, ConflatingPayloadDelivery.CONFLATED)).isZero();
+    }
+
+    @Test
+    public void testSubscriberDisconnectedWhenItsQueueOverflows() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConflatingPayloadDelivery payloadDelivery = new ConflatingPayloadDelivery(meterRegistry, SUBSCRIPTION, 2, this.representationIdProvider);
+        Many<IPayload> sink = Sinks.many().unicast().onBackpressureBuffer();
+
+        // @formatter:off
+        StepVerifier.create(payloadDelivery.deliver(sink.asFlux()), 0)
+            .then(() -> {
+                sink.tryEmitNext(this.payload("diagram", "diagram")); //$NON-NLS-1$ //$NON-NLS-2$
+                sink.tryEmitNext(this.payload("form", "form")); //$NON-NLS-1$ //$NON-NLS-2$
+                sink.tryEmitNext(this.payload("tree", "tree")); //$NON-NLS-1$ //$NON-NLS-2$
+            })
+            .expectErrorMatches(Exceptions::isOverflow)
+            .verify(TIMEOUT);
+        // @formatter:on
+
+        assertThat(this.countDisconnected(meterRegistry)).isEqualTo(1.0);
+        assertThat(this.count(meterRegistry, ConflatingPayloadDelivery.DROPPED)).isEqualTo(3.0);
+    }
+
+    @Test
+    public void testQueuedPayloadsDeliveredBeforeCompletion() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConflatingPayloadDelivery payloadDelivery = new ConflatingPayloadDelivery(meterRegistry, SUBSCRIPTION, 10, this.representationIdProvider);
+        Many<IPayload> sink = Sinks.many().unicast().onBackpressureBuffer();
+
+        IPayload diagram = this.payload("diagram", "diagram"); //$NON-NLS-1$ //$NON-NLS-2$
+        IPayload form = this.payload("form", "form"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        // @formatter:off
+        StepVerifier.create(payloadDelivery.deliver(sink.asFlux()), 0)
+            .then(() -> {
+                sink.tryEmitNext(diagram);
+                sink.tryEmitNext(form);
+                sink.tryEmitComplete();
+            })
+            .expectNoEvent(Duration.ofMillis(100))
+            .thenRequest(1)
+            .expectNext(diagram)
+            .thenRequest(1)
+            .expectNext(form)
+            .expectComplete()
+            .verify(TIMEOUT);
+        // @formatter:on
+    }
+
+    @Test
+    public void testSourceCancelledWithTheSubscriber() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConflatingPayloadDelivery payloadDelivery = new ConflatingPayloadDelivery(meterRegistry, SUBSCRIPTION, 10, this.representationIdProvider);
+        Many<IPayload> sink = Sinks.many().unicast().onBackpressureBuffer();
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        IPayload diagram = this.payload("diagram", "diagram"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        // @formatter:off
+        StepVerifier.create(payloadDelivery.deliver(sink.asFlux().doOnCancel(() -> cancelled.set(true))))
+            .then(() -> sink.tryEmitNext(diagram))
+            .expectNext(diagram)
+            .thenCancel()
+            .verify(TIMEOUT);
+        // @formatter:on
+
+        assertThat(cancelled).isTrue();
+        assertThat(sink.currentSubscriberCount()).isZero();
+    }
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.datafetchers.subscriptions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Applies the JSON Patch operations add, remove and replace to a JSON document like the clients would.
+ *
+ * @author sbegaudeau
+ */
+public class JsonPatchApplier {
+
+    private static final String ADD = "add"; //$NON-NLS-1$
+
+    private static final String REMOVE = "remove"; //$NON-NLS-1$
+
+    private static final String REPLACE = "replace"; //$NON-NLS-1$
+
+    public JsonNode apply(JsonNode source, JsonNode patch) {
+        JsonNode document = source.deepCopy();
+        for (JsonNode operation : patch) {
+            String op = operation.get("op").asText(); //$NON-NLS-1$
+            String path = operation.get("path").asText(); //$NON-NLS-1$
+            JsonNode value = operation.get("value"); //$NON-NLS-1$
+
+            if (path.isEmpty() && REPLACE.equals(op)) {
+                document = value.deepCopy();
+            } else {
+                int separatorIndex = path.lastIndexOf('/');
+                JsonNode parent = document.at(path.substring(0, separatorIndex));
+                String token = path.substring(separatorIndex + 1).replace("~1", "/").replace("~0", "~"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+                if (parent.isArray()) {
+                    this.apply((ArrayNode) parent, op, Integer.parseInt(token), value);
+                } else {
+                    this.apply((ObjectNode) parent, op, token, value);
+                }
+            }
+        }
+        return document;
+    }
+
+    private void apply(ArrayNode parent, String op, int index, JsonNode value) {
+        if (ADD.equals(op)) {
+            parent.insert(index, value.deepCopy());
+        } else if (REMOVE.equals(op)) {
+            parent.remove(index);
+        } else if (REPLACE.equals(op)) {
+            parent.set(index, value.deepCopy());
+        } else {
+            throw new IllegalArgumentException(op);
+        }
+    }
+
+    private void apply(ObjectNode parent, String op, String fieldName, JsonNode value) {
+        if (ADD.equals(op) || REPLACE.equals(op)) {
+            parent.set(fieldName, value.deepCopy());
+        } else if (REMOVE.equals(op)) {
+            parent.remove(fieldName);
+        } else {
+            throw new IllegalArgumentException(op);
+        }
+    }
+}
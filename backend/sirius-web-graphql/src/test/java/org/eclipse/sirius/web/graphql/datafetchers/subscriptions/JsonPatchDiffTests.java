@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.datafetchers.subscriptions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests of the computation of the JSON Patch between two JSON documents.
+ *
+ * @author sbegaudeau
+ */
+public class JsonPatchDiffTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final JsonPatchDiff jsonPatchDiff = new JsonPatchDiff();
+
+    private final JsonPatchApplier jsonPatchApplier = new JsonPatchApplier();
+
+    private JsonNode json(String content) throws JsonProcessingException {
+        return this.objectMapper.readTree(content.replace('\'', '"'));
+    }
+
+    private JsonNode diffAndApply(JsonNode source, JsonNode target) {
+        JsonNode patch = this.jsonPatchDiff.diff(source, target);
+        assertThat(this.jsonPatchApplier.apply(source, patch)).isEqualTo(target);
+        return patch;
+    }
+
+    private List<String> getOperations(JsonNode patch) {
+        List<String> operations = new ArrayList<>();
+        for (JsonNode operation : patch) {
+            operations.add(operation.get("op").asText() + ' ' + operation.get("path").asText()); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        return operations;
+    }
+
+    @Test
+    public void testSameDocuments() throws Exception {
+        JsonNode source = this.json("{'id':'diagram','nodes':[{'id':'a','label':'A'}]}"); //$NON-NLS-1$
+        JsonNode target = this.json("{'id':'diagram','nodes':[{'id':'a','label':'A'}]}"); //$NON-NLS-1$
+
+        assertThat(this.diffAndApply(source, target)).isEmpty();
+    }
+
+    @Test
+    public void testObjectFieldsPatchedIndividually() throws Exception {
+        JsonNode source = this.json("{'label':'A','width':10,'removed':true}"); //$NON-NLS-1$
+        JsonNode target = this.json("{'label':'B','width':10,'added':1}"); //$NON-NLS-1$
+
+        JsonNode patch = this.diffAndApply(source, target);
+        assertThat(this.getOperations(patch)).containsExactly("remove /removed", "replace /label", "add /added"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    @Test
+    public void testFieldNamesEscapedInPaths() throws Exception {
+        JsonNode source = this.json("{'a/b':1,'c~d':2}"); //$NON-NLS-1$
+        JsonNode target = this.json("{'a/b':3,'c~d':4}"); //$NON-NLS-1$
+
+        JsonNode patch = this.diffAndApply(source, target);
+        assertThat(this.getOperations(patch)).containsExactly("replace /a~1b", "replace /c~0d"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testElementsMatchedById() throws Exception {
+        JsonNode source = this.json("{'nodes':[{'id':'a','label':'A'},{'id':'b','label':'B'},{'id':'c','label':'C'}]}"); //$NON-NLS-1$
+        JsonNode target = this.json("{'nodes':[{'id':'a','label':'A2'},{'id':'c','label':'C'},{'id':'d','label':'D'}]}"); //$NON-NLS-1$
+
+        JsonNode patch = this.diffAndApply(source, target);
+        assertThat(this.getOperations(patch)).containsExactly("remove /nodes/1", "replace /nodes/0/label", "add /nodes/2"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    @Test
+    public void testElementsRemovedAndAddedAroundTheRemainingOnes() throws Exception {
+        JsonNode source = this.json("{'items':[{'id':'a'},{'id':'b'},{'id':'c'},{'id':'d'}]}"); //$NON-NLS-1$
+        JsonNode target = this.json("{'items':[{'id':'e'},{'id':'b'},{'id':'f'},{'id':'d'},{'id':'g'}]}"); //$NON-NLS-1$
+
+        JsonNode patch = this.diffAndApply(source, target);
+        assertThat(this.getOperations(patch)).containsExactly("remove /items/2", "remove /items/0", "add /items/0", "add /items/2", "add /items/4"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+    }
+
+    @Test
+    public void testReorderedElementsReplaceTheWholeArray() throws Exception {
+        JsonNode source = this.json("{'nodes':[{'id':'a'},{'id':'b'},{'id':'c'}]}"); //$NON-NLS-1$
+        JsonNode target = this.json("{'nodes':[{'id':'c'},{'id':'a'},{'id':'b'}]}"); //$NON-NLS-1$
+
+        JsonNode patch = this.diffAndApply(source, target);
+        assertThat(this.getOperations(patch)).containsExactly("replace /nodes"); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testReorderedElementsWithRemovalReplaceTheWholeArray() throws Exception {
+        JsonNode source = this.json("{'nodes':[{'id':'a'},{'id':'b'},{'id':'c'}]}"); //$NON-NLS-1$
+        JsonNode target = this.json("{'nodes':[{'id':'b'},{'id':'d'},{'id':'a'}]}"); //$NON-NLS-1$
+
+        JsonNode patch = this.diffAndApply(source, target);
+        assertThat(this.getOperations(patch)).containsExactly("replace /nodes"); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testElementsWithDuplicatedIdsComparedByIndex() throws Exception {
+        JsonNode source = this.json("[{'id':'a','value':1},{'id':'a','value':2}]"); //$NON-NLS-1$
+        JsonNode target = this.json("[{'id':'a','value':3},{'id':'a','value':2}]"); //$NON-NLS-1$
+
+        JsonNode patch = this.diffAndApply(source, target);
+        assertThat(this.getOperations(patch)).containsExactly("replace /0/value"); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testArraysWithoutIdsOfDifferentSizesReplaced() throws Exception {
+        JsonNode source = this.json("{'points':[{'x':0},{'x':1}]}"); //$NON-NLS-1$
+        JsonNode target = this.json("{'points':[{'x':0},{'x':1},{'x':2}]}"); //$NON-NLS-1$
+
+        JsonNode patch = this.diffAndApply(source, target);
+        assertThat(this.getOperations(patch)).containsExactly("replace /points"); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testDifferentTypesReplaced() throws Exception {
+        JsonNode source = this.json("{'style':{'color':'red'}}"); //$NON-NLS-1$
+        JsonNode target = this.json("{'style':['red']}"); //$NON-NLS-1$
+
+        JsonNode patch = this.diffAndApply(source, target);
+        assertThat(this.getOperations(patch)).containsExactly("replace /style"); //$NON-NLS-1$
+    }
+}
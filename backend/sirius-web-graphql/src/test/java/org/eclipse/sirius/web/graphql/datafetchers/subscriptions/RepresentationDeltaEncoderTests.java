@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.datafetchers.subscriptions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests of the encoding of the successive versions of the representations as deltas.
+ *
+ * @author sbegaudeau
+ */
+public class RepresentationDeltaEncoderTests {
+
+    private static final String DIAGRAM_ID = "diagram"; //$NON-NLS-1$
+
+    private static final String FORM_ID = "form"; //$NON-NLS-1$
+
+    private static final String VERSION_1 = "{'id':'diagram','label':'Diagram','nodes':[{'id':'a','label':'A'},{'id':'b','label':'B'}]}"; //$NON-NLS-1$
+
+    private static final String VERSION_2 = "{'id':'diagram','label':'Diagram','nodes':[{'id':'a','label':'A'},{'id':'b','label':'B2'}]}"; //$NON-NLS-1$
+
+    private static final String VERSION_3 = "{'id':'diagram','label':'Another diagram','nodes':[{'id':'c','label':'C'},{'id':'d','label':'D'}]}"; //$NON-NLS-1$
+
+    private static final String VERSION_4 = "{'id':'diagram','label':'Another diagram','nodes':[{'id':'c','label':'C2'},{'id':'d','label':'D'}]}"; //$NON-NLS-1$
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final JsonPatchApplier jsonPatchApplier = new JsonPatchApplier();
+
+    private JsonNode json(String content) throws JsonProcessingException {
+        return this.objectMapper.readTree(content.replace('\'', '"'));
+    }
+
+    private void assertFull(RepresentationDeltaEventPayload payload, int version, JsonNode document) throws JsonProcessingException {
+        assertThat(payload.isFull()).isTrue();
+        assertThat(payload.getVersion()).isEqualTo(version);
+        assertThat(payload.getBaseVersion()).isZero();
+        assertThat(this.objectMapper.readTree(payload.getContent())).isEqualTo(document);
+    }
+
+    private void assertDelta(RepresentationDeltaEventPayload payload, int version, JsonNode baseDocument, JsonNode document) throws JsonProcessingException {
+        assertThat(payload.isFull()).isFalse();
+        assertThat(payload.getVersion()).isEqualTo(version);
+        assertThat(payload.getBaseVersion()).isEqualTo(version - 1);
+        assertThat(this.jsonPatchApplier.apply(baseDocument, this.objectMapper.readTree(payload.getContent()))).isEqualTo(document);
+    }
+
+    @Test
+    public void testSuccessiveVersionsSentAsDeltas() throws Exception {
+        RepresentationDeltaEncoder encoder = new RepresentationDeltaEncoder();
+        JsonNode version1 = this.json(VERSION_1);
+        JsonNode version2 = this.json(VERSION_2);
+
+        RepresentationDeltaEventPayload payload = encoder.encode(UUID.randomUUID(), DIAGRAM_ID, version1);
+        assertThat(payload.getRepresentationId()).isEqualTo(DIAGRAM_ID);
+        this.assertFull(payload, 1, version1);
+
+        this.assertDelta(encoder.encode(UUID.randomUUID(), DIAGRAM_ID, version2), 2, version1, version2);
+    }
+
+    @Test
+    public void testWholeDocumentSentWhenThePatchIsNotSmaller() throws Exception {
+        RepresentationDeltaEncoder encoder = new RepresentationDeltaEncoder();
+        JsonNode version1 = this.json(VERSION_1);
+        JsonNode version2 = this.json(VERSION_2);
+        JsonNode version3 = this.json(VERSION_3);
+        JsonNode version4 = this.json(VERSION_4);
+
+        encoder.encode(UUID.randomUUID(), DIAGRAM_ID, version1);
+        encoder.encode(UUID.randomUUID(), DIAGRAM_ID, version2);
+
+        this.assertFull(encoder.encode(UUID.randomUUID(), DIAGRAM_ID, version3), 3, version3);
+        this.assertDelta(encoder.encode(UUID.randomUUID(), DIAGRAM_ID, version4), 4, version3, version4);
+    }
+
+    @Test
+    public void testRepresentationsVersionedIndependently() throws Exception {
+        RepresentationDeltaEncoder encoder = new RepresentationDeltaEncoder();
+        JsonNode version1 = this.json(VERSION_1);
+        JsonNode version2 = this.json(VERSION_2);
+        JsonNode form = this.json("{'id':'form','pages':[{'id':'page','label':'Page'}]}"); //$NON-NLS-1$
+
+        encoder.encode(UUID.randomUUID(), DIAGRAM_ID, version1);
+        this.assertFull(encoder.encode(UUID.randomUUID(), FORM_ID, form), 1, form);
+        this.assertDelta(encoder.encode(UUID.randomUUID(), DIAGRAM_ID, version2), 2, version1, version2);
+    }
+
+    @Test
+    public void testWholeDocumentSentAfterReset() throws Exception {
+        RepresentationDeltaEncoder encoder = new RepresentationDeltaEncoder();
+        JsonNode version1 = this.json(VERSION_1);
+        JsonNode version2 = this.json(VERSION_2);
+
+        encoder.encode(UUID.randomUUID(), DIAGRAM_ID, version1);
+        encoder.reset(DIAGRAM_ID);
+
+        this.assertFull(encoder.encode(UUID.randomUUID(), DIAGRAM_ID, version2), 1, version2);
+    }
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import graphql.ExecutionInput;
+import graphql.ParseAndValidate;
+import graphql.ParseAndValidateResult;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.language.Document;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests of the cache of the parsed and validated GraphQL documents.
+ *
+ * @author sbegaudeau
+ */
+public class CachingPreparsedDocumentProviderTests {
+
+    private static final String SCHEMA = "type Query { project: String  projects: [String] }"; //$NON-NLS-1$
+
+    private static final String PROJECT_QUERY = "query getProject { project }"; //$NON-NLS-1$
+
+    private static final String PROJECTS_QUERY = "query getProjects { projects }"; //$NON-NLS-1$
+
+    private static final String INVALID_QUERY = "query getUnknown { unknown }"; //$NON-NLS-1$
+
+    private final GraphQLSchema graphQLSchema = UnExecutableSchemaGenerator.makeUnExecutableSchema(new SchemaParser().parse(SCHEMA));
+
+    private final AtomicInteger parseCount = new AtomicInteger();
+
+    private final List<Document> validDocuments = new ArrayList<>();
+
+    private final Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate = executionInput -> {
+        this.parseCount.incrementAndGet();
+        ParseAndValidateResult result = ParseAndValidate.parseAndValidate(this.graphQLSchema, executionInput);
+        if (result.getDocument() == null) {
+            return new PreparsedDocumentEntry(result.getErrors());
+        }
+        return new PreparsedDocumentEntry(result.getDocument(), result.getErrors());
+    };
+
+    private CachingPreparsedDocumentProvider createProvider(MeterRegistry meterRegistry, int maxSize) {
+        return new CachingPreparsedDocumentProvider(meterRegistry, maxSize, this.validDocuments::add);
+    }
+
+    private PreparsedDocumentEntry getDocument(CachingPreparsedDocumentProvider documentProvider, String query) {
+        return documentProvider.getDocument(ExecutionInput.newExecutionInput().query(query).build(), this.parseAndValidate);
+    }
+
+    private double count(MeterRegistry meterRegistry, String result) {
+        return meterRegistry.get(CachingPreparsedDocumentProvider.LOOKUPS_COUNTER).tag(CachingPreparsedDocumentProvider.RESULT, result).counter().count();
+    }
+
+    @Test
+    public void testMissThenHit() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CachingPreparsedDocumentProvider documentProvider = this.createProvider(meterRegistry, 10);
+
+        PreparsedDocumentEntry firstEntry = this.getDocument(documentProvider, PROJECT_QUERY);
+        assertThat(firstEntry.hasErrors()).isFalse();
+        assertThat(this.count(meterRegistry, CachingPreparsedDocumentProvider.MISS)).isEqualTo(1);
+        assertThat(this.count(meterRegistry, CachingPreparsedDocumentProvider.HIT)).isZero();
+
+        PreparsedDocumentEntry secondEntry = this.getDocument(documentProvider, PROJECT_QUERY);
+        assertThat(secondEntry).isSameAs(firstEntry);
+        assertThat(this.parseCount.get()).isEqualTo(1);
+        assertThat(this.count(meterRegistry, CachingPreparsedDocumentProvider.HIT)).isEqualTo(1);
+
+        assertThat(this.validDocuments).containsExactly(firstEntry.getDocument());
+        assertThat(meterRegistry.get(CachingPreparsedDocumentProvider.SIZE_GAUGE).gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDistinctQueriesCachedSeparately() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CachingPreparsedDocumentProvider documentProvider = this.createProvider(meterRegistry, 10);
+
+        PreparsedDocumentEntry projectEntry = this.getDocument(documentProvider, PROJECT_QUERY);
+        PreparsedDocumentEntry projectsEntry = this.getDocument(documentProvider, PROJECTS_QUERY);
+
+        assertThat(projectsEntry).isNotSameAs(projectEntry);
+        assertThat(this.getDocument(documentProvider, PROJECTS_QUERY)).isSameAs(projectsEntry);
+        assertThat(this.parseCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testInvalidDocumentsNotCached() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CachingPreparsedDocumentProvider documentProvider = this.createProvider(meterRegistry, 10);
+
+        assertThat(this.getDocument(documentProvider, INVALID_QUERY).hasErrors()).isTrue();
+        assertThat(this.getDocument(documentProvider, INVALID_QUERY).hasErrors()).isTrue();
+        assertThat(this.getDocument(documentProvider, "query {").hasErrors()).isTrue(); //$NON-NLS-1$
+
+        assertThat(this.parseCount.get()).isEqualTo(3);
+        assertThat(this.count(meterRegistry, CachingPreparsedDocumentProvider.HIT)).isZero();
+        assertThat(this.validDocuments).isEmpty();
+        assertThat(meterRegistry.get(CachingPreparsedDocumentProvider.SIZE_GAUGE).gauge().value()).isZero();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedDocumentEvicted() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CachingPreparsedDocumentProvider documentProvider = this.createProvider(meterRegistry, 1);
+
+        this.getDocument(documentProvider, PROJECT_QUERY);
+        this.getDocument(documentProvider, PROJECTS_QUERY);
+        this.getDocument(documentProvider, PROJECT_QUERY);
+
+        assertThat(this.parseCount.get()).isEqualTo(3);
+        assertThat(meterRegistry.get(CachingPreparsedDocumentProvider.SIZE_GAUGE).gauge().value()).isEqualTo(1);
+    }
+}
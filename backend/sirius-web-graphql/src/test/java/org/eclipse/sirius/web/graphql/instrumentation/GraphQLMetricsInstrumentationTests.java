@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.instrumentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+
+import org.eclipse.sirius.web.graphql.instrumentation.GraphQLMetricsTagProvider.FieldMetrics;
+import org.junit.jupiter.api.Test;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests of the instrumentation recording the GraphQL metrics.
+ *
+ * @author sbegaudeau
+ */
+public class GraphQLMetricsInstrumentationTests {
+
+    private static final String SCHEMA = "type Query { project: String  failure: String }"; //$NON-NLS-1$
+
+    private static final String GET_PROJECT = "getProject"; //$NON-NLS-1$
+
+    private GraphQL createGraphQL(MeterRegistry meterRegistry) {
+        // @formatter:off
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", builder -> builder //$NON-NLS-1$
+                        .dataFetcher("project", environment -> "project") //$NON-NLS-1$ //$NON-NLS-2$
+                        .dataFetcher("failure", environment -> { //$NON-NLS-1$
+                            throw new IllegalStateException();
+                        }))
+                .build();
+        // @formatter:on
+        GraphQLSchema graphQLSchema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA), runtimeWiring);
+
+        Set<FieldCoordinates> dataFetcherFieldCoordinates = Set.of(FieldCoordinates.coordinates("Query", "project"), FieldCoordinates.coordinates("Query", "failure")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        var tagProvider = new GraphQLMetricsTagProvider(FieldMetrics.DATA_FETCHERS, dataFetcherFieldCoordinates, Set.of(GET_PROJECT), 100);
+        return GraphQL.newGraphQL(graphQLSchema).instrumentation(new GraphQLMetricsInstrumentation(meterRegistry, tagProvider, false)).build();
+    }
+
+    private Timer findTimer(MeterRegistry meterRegistry, String name, String tag, String tagValue, String outcome) {
+        return meterRegistry.find(name).tag(tag, tagValue).tag(GraphQLMetricsInstrumentation.OUTCOME, outcome).timer();
+    }
+
+    @Test
+    public void testOperationAndFieldRecorded() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GraphQL graphQL = this.createGraphQL(meterRegistry);
+
+        ExecutionResult executionResult = graphQL.execute("query getProject { project }"); //$NON-NLS-1$
+        assertThat(executionResult.getErrors()).isEmpty();
+
+        Timer operationTimer = this.findTimer(meterRegistry, GraphQLMetricsInstrumentation.OPERATION_TIMER, GraphQLMetricsInstrumentation.OPERATION, GET_PROJECT,
+                GraphQLMetricsInstrumentation.SUCCESS);
+        assertThat(operationTimer).isNotNull();
+        assertThat(operationTimer.count()).isEqualTo(1);
+
+        Timer fieldTimer = this.findTimer(meterRegistry, GraphQLMetricsInstrumentation.FIELD_TIMER, GraphQLMetricsInstrumentation.FIELD, "Query.project", //$NON-NLS-1$
+                GraphQLMetricsInstrumentation.SUCCESS);
+        assertThat(fieldTimer).isNotNull();
+        assertThat(fieldTimer.count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testUnknownOperationNameNotUsedAsTag() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GraphQL graphQL = this.createGraphQL(meterRegistry);
+
+        graphQL.execute("query junk1 { project }"); //$NON-NLS-1$
+        graphQL.execute("query junk2 { project }"); //$NON-NLS-1$
+
+        Timer operationTimer = this.findTimer(meterRegistry, GraphQLMetricsInstrumentation.OPERATION_TIMER, GraphQLMetricsInstrumentation.OPERATION,
+                GraphQLMetricsTagProvider.OTHER, GraphQLMetricsInstrumentation.SUCCESS);
+        assertThat(operationTimer).isNotNull();
+        assertThat(operationTimer.count()).isEqualTo(2);
+        assertThat(meterRegistry.find(GraphQLMetricsInstrumentation.OPERATION_TIMER).timers()).hasSize(1);
+    }
+
+    @Test
+    public void testErrorsRecorded() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GraphQL graphQL = this.createGraphQL(meterRegistry);
+
+        ExecutionResult executionResult = graphQL.execute("query getProject { failure }"); //$NON-NLS-1$
+        assertThat(executionResult.getErrors()).isNotEmpty();
+
+        Timer operationTimer = this.findTimer(meterRegistry, GraphQLMetricsInstrumentation.OPERATION_TIMER, GraphQLMetricsInstrumentation.OPERATION, GET_PROJECT,
+                GraphQLMetricsInstrumentation.ERROR);
+        assertThat(operationTimer).isNotNull();
+        Timer fieldTimer = this.findTimer(meterRegistry, GraphQLMetricsInstrumentation.FIELD_TIMER, GraphQLMetricsInstrumentation.FIELD, "Query.failure", //$NON-NLS-1$
+                GraphQLMetricsInstrumentation.ERROR);
+        assertThat(fieldTimer).isNotNull();
+    }
+}
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.instrumentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.sirius.web.graphql.instrumentation.GraphQLMetricsTagProvider.FieldMetrics;
+import org.junit.jupiter.api.Test;
+
+import graphql.Scalars;
+import graphql.parser.Parser;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+
+/**
+ * Unit tests of the provider of the tags of the GraphQL metrics.
+ *
+ * @author sbegaudeau
+ */
+public class GraphQLMetricsTagProviderTests {
+
+    private static final String GET_PROJECT = "getProject"; //$NON-NLS-1$
+
+    private static final String GET_PROJECTS = "getProjects"; //$NON-NLS-1$
+
+    @Test
+    public void testUnknownOperationNamesNotUsed() {
+        GraphQLMetricsTagProvider tagProvider = new GraphQLMetricsTagProvider(FieldMetrics.NONE, Set.of(), Set.of(), 100);
+
+        assertThat(tagProvider.getOperationTag(null)).isEqualTo(GraphQLMetricsTagProvider.ANONYMOUS);
+        assertThat(tagProvider.getOperationTag(" ")).isEqualTo(GraphQLMetricsTagProvider.ANONYMOUS); //$NON-NLS-1$
+        for (int i = 0; i < 200; i++) {
+            assertThat(tagProvider.getOperationTag("junk" + i)).isEqualTo(GraphQLMetricsTagProvider.OTHER); //$NON-NLS-1$
+        }
+
+        tagProvider.learnOperationNames(new Parser().parseDocument("query getProject { project }")); //$NON-NLS-1$
+        assertThat(tagProvider.getOperationTag(GET_PROJECT)).isEqualTo(GET_PROJECT);
+    }
+
+    @Test
+    public void testOnlyConfiguredOperationNamesUsed() {
+        GraphQLMetricsTagProvider tagProvider = new GraphQLMetricsTagProvider(FieldMetrics.NONE, Set.of(), Set.of(GET_PROJECT, " "), 100); //$NON-NLS-1$
+
+        tagProvider.learnOperationNames(new Parser().parseDocument("query getProjects { projects }")); //$NON-NLS-1$
+
+        assertThat(tagProvider.getOperationTag(GET_PROJECT)).isEqualTo(GET_PROJECT);
+        assertThat(tagProvider.getOperationTag(GET_PROJECTS)).isEqualTo(GraphQLMetricsTagProvider.OTHER);
+        assertThat(tagProvider.getOperationTag(" ")).isEqualTo(GraphQLMetricsTagProvider.ANONYMOUS); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testLearnedOperationNamesBounded() {
+        GraphQLMetricsTagProvider tagProvider = new GraphQLMetricsTagProvider(FieldMetrics.NONE, Set.of(), Set.of(), 1);
+
+        tagProvider.learnOperationNames(new Parser().parseDocument("query getProject { project } query getProjects { projects }")); //$NON-NLS-1$
+
+        assertThat(tagProvider.getOperationTag(GET_PROJECT)).isEqualTo(GET_PROJECT);
+        assertThat(tagProvider.getOperationTag(GET_PROJECTS)).isEqualTo(GraphQLMetricsTagProvider.OTHER);
+    }
+
+    @Test
+    public void testConcurrentlyLearnedOperationNamesBounded() throws Exception {
+        int maxOperationNames = 10;
+        GraphQLMetricsTagProvider tagProvider = new GraphQLMetricsTagProvider(FieldMetrics.NONE, Set.of(), Set.of(), maxOperationNames);
+
+        int threadCount = 8;
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threadCount; thread++) {
+                int threadIndex = thread;
+                futures.add(executorService.submit(() -> {
+                    startLatch.await();
+                    for (int i = 0; i < 50; i++) {
+                        tagProvider.learnOperationNames(new Parser().parseDocument("query operation" + threadIndex + "x" + i + " { project }")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                    }
+                    return null;
+                }));
+            }
+            startLatch.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        // @formatter:off
+        Set<String> tags = IntStream.range(0, threadCount).boxed()
+                .flatMap(thread -> IntStream.range(0, 50).mapToObj(i -> tagProvider.getOperationTag("operation" + thread + "x" + i))) //$NON-NLS-1$ //$NON-NLS-2$
+                .filter(tag -> !GraphQLMetricsTagProvider.OTHER.equals(tag))
+                .collect(Collectors.toSet());
+        // @formatter:on
+        assertThat(tags).hasSize(maxOperationNames);
+    }
+
+    @Test
+    public void testFieldTags() {
+        DataFetchingEnvironment projectEnvironment = this.createEnvironment("Query", "project"); //$NON-NLS-1$ //$NON-NLS-2$
+        DataFetchingEnvironment nameEnvironment = this.createEnvironment("Project", "name"); //$NON-NLS-1$ //$NON-NLS-2$
+        Set<FieldCoordinates> dataFetcherFieldCoordinates = Set.of(FieldCoordinates.coordinates("Query", "project")); //$NON-NLS-1$ //$NON-NLS-2$
+
+        GraphQLMetricsTagProvider noneTagProvider = new GraphQLMetricsTagProvider(FieldMetrics.NONE, dataFetcherFieldCoordinates, Set.of(), 100);
+        assertThat(noneTagProvider.getFieldTag(projectEnvironment)).isEmpty();
+
+        GraphQLMetricsTagProvider dataFetchersTagProvider = new GraphQLMetricsTagProvider(FieldMetrics.DATA_FETCHERS, dataFetcherFieldCoordinates, Set.of(), 100);
+        assertThat(dataFetchersTagProvider.getFieldTag(projectEnvironment)).contains("Query.project"); //$NON-NLS-1$
+        assertThat(dataFetchersTagProvider.getFieldTag(nameEnvironment)).isEmpty();
+
+        GraphQLMetricsTagProvider allTagProvider = new GraphQLMetricsTagProvider(FieldMetrics.ALL, dataFetcherFieldCoordinates, Set.of(), 100);
+        assertThat(allTagProvider.getFieldTag(nameEnvironment)).contains("Project.name"); //$NON-NLS-1$
+
+        assertThat(noneTagProvider.getErrorFieldTag(nameEnvironment)).isEqualTo("Project.name"); //$NON-NLS-1$
+        assertThat(noneTagProvider.getErrorFieldTag(null)).isEqualTo(GraphQLMetricsTagProvider.OTHER);
+    }
+
+    private DataFetchingEnvironment createEnvironment(String typeName, String fieldName) {
+        GraphQLFieldDefinition fieldDefinition = GraphQLFieldDefinition.newFieldDefinition().name(fieldName).type(Scalars.GraphQLString).build();
+        GraphQLObjectType parentType = GraphQLObjectType.newObject().name(typeName).field(fieldDefinition).build();
+        return DataFetchingEnvironmentImpl.newDataFetchingEnvironment().parentType(parentType).fieldDefinition(fieldDefinition).build();
+    }
+}
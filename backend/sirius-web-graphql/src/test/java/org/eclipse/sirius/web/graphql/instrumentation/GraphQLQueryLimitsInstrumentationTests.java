@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.instrumentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.sirius.web.graphql.configuration.GraphQLConfiguration;
+import org.eclipse.sirius.web.graphql.configuration.GraphQLMessageServiceConfiguration;
+import org.eclipse.sirius.web.graphql.instrumentation.GraphQLMetricsTagProvider.FieldMetrics;
+import org.eclipse.sirius.web.graphql.messages.GraphQLMessageService;
+import org.eclipse.sirius.web.graphql.messages.IGraphQLMessageService;
+import org.junit.jupiter.api.Test;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests of the instrumentation rejecting the GraphQL operations which are too deep or too expensive.
+ *
+ * @author sbegaudeau
+ */
+public class GraphQLQueryLimitsInstrumentationTests {
+
+    // @formatter:off
+    private static final String SCHEMA = "type Query { viewer: Viewer }\n" //$NON-NLS-1$
+            + "interface Viewer { project: Project  projects(size: Int): ProjectConnection }\n" //$NON-NLS-1$
+            + "type User implements Viewer { project: Project  projects(size: Int): ProjectConnection }\n" //$NON-NLS-1$
+            + "type ProjectConnection { edges: [ProjectEdge] }\n" //$NON-NLS-1$
+            + "type ProjectEdge { node: Project }\n" //$NON-NLS-1$
+            + "type Project { name: String  parent: Project }"; //$NON-NLS-1$
+    // @formatter:on
+
+    private static final String PROJECTS_QUERY = "query getProjects { viewer { projects(size: 10) { edges { node { name } } } } }"; //$NON-NLS-1$
+
+    private static final String PROJECTS_WITHOUT_SIZE_QUERY = "query getProjects { viewer { projects { edges { node { name } } } } }"; //$NON-NLS-1$
+
+    // @formatter:off
+    private static final String PROJECTS_WITH_FRAGMENTS_QUERY = "query getProjects { viewer { ...ViewerProjects } }\n" //$NON-NLS-1$
+            + "fragment ViewerProjects on Viewer { projects(size: 10) { edges { ... on ProjectEdge { node { name } } } } }"; //$NON-NLS-1$
+    // @formatter:on
+
+    /**
+     * The cost of the projects queries: viewer (1), projects (1), edges (10), node (10) and name (10).
+     */
+    private static final int PROJECTS_COST = 32;
+
+    private static final int DEFAULT_CONNECTION_SIZE = 5;
+
+    private final IGraphQLMessageService messageService = new GraphQLMessageService(new GraphQLMessageServiceConfiguration().graphQLMessageSourceAccessor());
+
+    private GraphQL createGraphQL(MeterRegistry meterRegistry, int maxDepth, int maxCost, Map<String, Integer> fieldCosts) {
+        // @formatter:off
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", builder -> builder.dataFetcher("viewer", environment -> Map.of())) //$NON-NLS-1$ //$NON-NLS-2$
+                .type("Viewer", builder -> builder.typeResolver(environment -> environment.getSchema().getObjectType("User"))) //$NON-NLS-1$ //$NON-NLS-2$
+                .build();
+        // @formatter:on
+        GraphQLSchema graphQLSchema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA), runtimeWiring);
+
+        var tagProvider = new GraphQLMetricsTagProvider(FieldMetrics.NONE, Set.of(), Set.of(), 100);
+        var instrumentation = new GraphQLQueryLimitsInstrumentation(meterRegistry, tagProvider, this.messageService, maxDepth, maxCost, fieldCosts, DEFAULT_CONNECTION_SIZE);
+        return GraphQL.newGraphQL(graphQLSchema).instrumentation(instrumentation).build();
+    }
+
+    private double getRejectedCount(MeterRegistry meterRegistry, String reason) {
+        return meterRegistry.get(GraphQLQueryLimitsInstrumentation.REJECTED_COUNTER).tag(GraphQLQueryLimitsInstrumentation.REASON, reason).counter().count();
+    }
+
+    private double getRecordedCost(MeterRegistry meterRegistry) {
+        DistributionSummary summary = meterRegistry.get(GraphQLQueryLimitsInstrumentation.COST_SUMMARY).summary();
+        assertThat(summary.count()).isEqualTo(1);
+        return summary.totalAmount();
+    }
+
+    @Test
+    public void testTooDeepOperationRejected() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GraphQL graphQL = this.createGraphQL(meterRegistry, 3, 1000, Map.of());
+
+        ExecutionResult executionResult = graphQL.execute("query getProject { viewer { project { parent { name } } } }"); //$NON-NLS-1$
+
+        assertThat(executionResult.<Object> getData()).isNull();
+        assertThat(executionResult.getErrors()).hasSize(1);
+        assertThat(executionResult.getErrors().get(0).getMessage()).isEqualTo(this.messageService.queryTooDeep(3));
+        assertThat(this.getRejectedCount(meterRegistry, GraphQLQueryLimitsInstrumentation.DEPTH)).isEqualTo(1);
+        assertThat(meterRegistry.find(GraphQLQueryLimitsInstrumentation.COST_SUMMARY).summaries()).isEmpty();
+
+        assertThat(graphQL.execute("query getProject { viewer { project { name } } }").getErrors()).isEmpty(); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testTooDeepOperationWithFragmentsRejected() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GraphQL graphQL = this.createGraphQL(meterRegistry, 3, 1000, Map.of());
+
+        // @formatter:off
+        String query = "query getProject { viewer { ...ViewerProject } }\n" //$NON-NLS-1$
+                + "fragment ViewerProject on Viewer { project { ...ProjectParent } }\n" //$NON-NLS-1$
+                + "fragment ProjectParent on Project { parent { name } }"; //$NON-NLS-1$
+        // @formatter:on
+        ExecutionResult executionResult = graphQL.execute(query);
+
+        assertThat(executionResult.getErrors()).hasSize(1);
+        assertThat(this.getRejectedCount(meterRegistry, GraphQLQueryLimitsInstrumentation.DEPTH)).isEqualTo(1);
+    }
+
+    @Test
+    public void testCostMultipliedBySize() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GraphQL graphQL = this.createGraphQL(meterRegistry, 30, PROJECTS_COST, Map.of());
+
+        assertThat(graphQL.execute(PROJECTS_QUERY).getErrors()).isEmpty();
+        assertThat(this.getRecordedCost(meterRegistry)).isEqualTo(PROJECTS_COST);
+
+        MeterRegistry rejectingMeterRegistry = new SimpleMeterRegistry();
+        GraphQL rejectingGraphQL = this.createGraphQL(rejectingMeterRegistry, 30, PROJECTS_COST - 1, Map.of());
+
+        ExecutionResult executionResult = rejectingGraphQL.execute(PROJECTS_QUERY);
+        assertThat(executionResult.getErrors()).hasSize(1);
+        assertThat(executionResult.getErrors().get(0).getMessage()).isEqualTo(this.messageService.queryTooExpensive(PROJECTS_COST - 1));
+        assertThat(this.getRejectedCount(rejectingMeterRegistry, GraphQLQueryLimitsInstrumentation.COST)).isEqualTo(1);
+    }
+
+    @Test
+    public void testCostMultipliedByDefaultConnectionSize() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GraphQL graphQL = this.createGraphQL(meterRegistry, 30, 1000, Map.of());
+
+        assertThat(graphQL.execute(PROJECTS_WITHOUT_SIZE_QUERY).getErrors()).isEmpty();
+        assertThat(this.getRecordedCost(meterRegistry)).isEqualTo(2 + 3 * DEFAULT_CONNECTION_SIZE);
+    }
+
+    @Test
+    public void testCostOfFragmentsCounted() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GraphQL graphQL = this.createGraphQL(meterRegistry, 30, 1000, Map.of());
+
+        assertThat(graphQL.execute(PROJECTS_WITH_FRAGMENTS_QUERY).getErrors()).isEmpty();
+        assertThat(this.getRecordedCost(meterRegistry)).isEqualTo(PROJECTS_COST);
+    }
+
+    @Test
+    public void testFieldCostsOfTheViewerInterfaceApplied() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GraphQL graphQL = this.createGraphQL(meterRegistry, 30, 1000, Map.of("Viewer.projects", 100)); //$NON-NLS-1$
+
+        assertThat(graphQL.execute(PROJECTS_QUERY).getErrors()).isEmpty();
+        assertThat(this.getRecordedCost(meterRegistry)).isEqualTo(PROJECTS_COST - 1 + 100);
+
+        assertThat(GraphQLConfiguration.DEFAULT_FIELD_COSTS).contains("Viewer.project:", "Viewer.projects:", "Viewer.editingContext:"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    @Test
+    public void testRejectedOperationNotTaggedWithItsName() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GraphQL graphQL = this.createGraphQL(meterRegistry, 30, 1, Map.of());
+
+        graphQL.execute(PROJECTS_QUERY);
+
+        assertThat(meterRegistry.get(GraphQLQueryLimitsInstrumentation.REJECTED_COUNTER).counter().getId().getTag(GraphQLMetricsInstrumentation.OPERATION)).isNull();
+    }
+}
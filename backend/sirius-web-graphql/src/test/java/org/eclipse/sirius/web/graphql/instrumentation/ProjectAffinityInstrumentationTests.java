@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.graphql.instrumentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.eclipse.sirius.web.graphql.configuration.GraphQLMessageServiceConfiguration;
+import org.eclipse.sirius.web.graphql.messages.GraphQLMessageService;
+import org.eclipse.sirius.web.services.api.projects.IProjectOwnershipService;
+import org.junit.jupiter.api.Test;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+
+/**
+ * Unit tests of the project affinity instrumentation.
+ *
+ * @author sbegaudeau
+ */
+public class ProjectAffinityInstrumentationTests {
+
+    private static final String SCHEMA = "type Query { editingContext(editingContextId: ID!): String  project(input: ProjectInput!): String }\n" //$NON-NLS-1$
+            + "input ProjectInput { projectId: ID! }"; //$NON-NLS-1$
+
+    private static final String EDITING_CONTEXT_QUERY = "query getEditingContext($editingContextId: ID!) { editingContext(editingContextId: $editingContextId) }"; //$NON-NLS-1$
+
+    private static final String PROJECT_QUERY = "query getProject($input: ProjectInput!) { project(input: $input) }"; //$NON-NLS-1$
+
+    private static final String REMOTE_NODE_URL = "http://second:8080"; //$NON-NLS-1$
+
+    private GraphQL createGraphQL(IProjectOwnershipService projectOwnershipService) {
+        // @formatter:off
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", builder -> builder //$NON-NLS-1$
+                        .dataFetcher("editingContext", environment -> environment.getArgument("editingContextId")) //$NON-NLS-1$ //$NON-NLS-2$
+                        .dataFetcher("project", environment -> "project")) //$NON-NLS-1$ //$NON-NLS-2$
+                .build();
+        // @formatter:on
+        GraphQLSchema graphQLSchema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA), runtimeWiring);
+
+        var messageService = new GraphQLMessageService(new GraphQLMessageServiceConfiguration().graphQLMessageSourceAccessor());
+        return GraphQL.newGraphQL(graphQLSchema).instrumentation(new ProjectAffinityInstrumentation(projectOwnershipService, messageService)).build();
+    }
+
+    private IProjectOwnershipService createRemoteOwnershipService(UUID remoteProjectId) {
+        return new IProjectOwnershipService.NoOp() {
+            @Override
+            public boolean isOwner(UUID projectId) {
+                return !remoteProjectId.equals(projectId);
+            }
+
+            @Override
+            public Optional<String> getRemoteOwnerURL(UUID projectId) {
+                if (remoteProjectId.equals(projectId)) {
+                    return Optional.of(REMOTE_NODE_URL);
+                }
+                return Optional.empty();
+            }
+        };
+    }
+
+    @Test
+    public void testOperationOnLocalProjectExecuted() {
+        UUID projectId = UUID.randomUUID();
+        GraphQL graphQL = this.createGraphQL(this.createRemoteOwnershipService(UUID.randomUUID()));
+
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput().query(EDITING_CONTEXT_QUERY).variables(Map.of("editingContextId", projectId.toString())).build(); //$NON-NLS-1$
+        ExecutionResult executionResult = graphQL.execute(executionInput);
+
+        assertThat(executionResult.getErrors()).isEmpty();
+        assertThat(executionResult.<Map<String, Object>> getData()).containsEntry("editingContext", projectId.toString()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testOperationOnRemoteProjectRejectedWithTheURLOfItsOwner() {
+        UUID projectId = UUID.randomUUID();
+        GraphQL graphQL = this.createGraphQL(this.createRemoteOwnershipService(projectId));
+
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput().query(EDITING_CONTEXT_QUERY).variables(Map.of("editingContextId", projectId.toString())).build(); //$NON-NLS-1$
+        ExecutionResult executionResult = graphQL.execute(executionInput);
+
+        assertThat(executionResult.<Object> getData()).isNull();
+        assertThat(executionResult.getErrors()).hasSize(1);
+        assertThat(executionResult.getErrors().get(0).getMessage()).contains(REMOTE_NODE_URL);
+        assertThat(executionResult.getErrors().get(0).getExtensions()).containsEntry("code", ProjectAffinityInstrumentation.PROJECT_OWNED_BY_ANOTHER_NODE); //$NON-NLS-1$
+        assertThat(executionResult.getErrors().get(0).getExtensions()).containsEntry(ProjectAffinityInstrumentation.NODE_URL, REMOTE_NODE_URL);
+    }
+
+    @Test
+    public void testOperationOnRemoteProjectFromItsInputRejected() {
+        UUID projectId = UUID.randomUUID();
+        GraphQL graphQL = this.createGraphQL(this.createRemoteOwnershipService(projectId));
+
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput().query(PROJECT_QUERY).variables(Map.of("input", Map.of("projectId", projectId.toString()))).build(); //$NON-NLS-1$ //$NON-NLS-2$
+        ExecutionResult executionResult = graphQL.execute(executionInput);
+
+        assertThat(executionResult.getErrors()).hasSize(1);
+        assertThat(executionResult.getErrors().get(0).getExtensions()).containsEntry(ProjectAffinityInstrumentation.NODE_URL, REMOTE_NODE_URL);
+    }
+
+    @Test
+    public void testOperationWithoutProjectExecuted() {
+        GraphQL graphQL = this.createGraphQL(this.createRemoteOwnershipService(UUID.randomUUID()));
+
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput().query(EDITING_CONTEXT_QUERY).variables(Map.of("editingContextId", "not-a-project")).build(); //$NON-NLS-1$ //$NON-NLS-2$
+        ExecutionResult executionResult = graphQL.execute(executionInput);
+
+        assertThat(executionResult.getErrors()).isEmpty();
+    }
+}
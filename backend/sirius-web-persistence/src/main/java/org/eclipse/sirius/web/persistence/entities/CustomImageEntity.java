@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Obeo.
+ * Copyright (c) 2021, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -18,19 +18,32 @@ import java.util.UUID;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
 import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
 
 /**
  * Represents a custom (user-supplied) image that can be used on representations.
  *
+ * <p>
+ * The id of a custom image is assigned by the application, the entity thus indicates itself if it is new. This lets
+ * the repository insert new images directly, in JDBC batches, instead of trying to merge them with a select first.
+ * </p>
+ *
  * @author pcdavid
  */
 @Entity
 @Table(name = "CustomImage")
-public class CustomImageEntity {
+public class CustomImageEntity implements Persistable<UUID> {
     @Id
     private UUID id;
 
+    @Transient
+    private boolean isNew = true;
+
     private String label;
 
     @Column(name = "content_type")
@@ -38,6 +51,7 @@ public class CustomImageEntity {
 
     private byte[] content;
 
+    @Override
     public UUID getId() {
         return this.id;
     }
@@ -70,6 +84,17 @@ public class CustomImageEntity {
         this.content = content;
     }
 
+    @Override
+    public boolean isNew() {
+        return this.isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
     @Override
     public String toString() {
         String pattern = "{0} '{' id: {1}, label: {2}, contentType: {3} '}'"; //$NON-NLS-1$
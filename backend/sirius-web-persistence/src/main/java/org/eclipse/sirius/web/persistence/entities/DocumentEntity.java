@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,7 @@ package org.eclipse.sirius.web.persistence.entities;
 import java.text.MessageFormat;
 import java.util.UUID;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
@@ -23,12 +24,15 @@ import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 /**
  * Document entity used by the persistence layer.
  *
  * @author sbegaudeau
  */
 @Entity
+@DynamicUpdate
 @Table(name = "Document")
 public class DocumentEntity {
 
@@ -44,6 +48,12 @@ public class DocumentEntity {
 
     private String content;
 
+    /**
+     * Incremented each time the content is updated, it is only modified by the conditional updates of the repository.
+     */
+    @Column(insertable = false, updatable = false)
+    private int version;
+
     public UUID getId() {
         return this.id;
     }
@@ -76,6 +86,14 @@ public class DocumentEntity {
         this.content = content;
     }
 
+    public int getVersion() {
+        return this.version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         String pattern = "{0} '{'id: {1}, name: {2}'}'"; //$NON-NLS-1$
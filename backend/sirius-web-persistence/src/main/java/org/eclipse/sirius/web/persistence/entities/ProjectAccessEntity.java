@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.persistence.entities;
+
+import java.text.MessageFormat;
+import java.time.Instant;
+import java.util.UUID;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Keeps track of the last time and the number of times the editing context of a project has been opened.
+ *
+ * @author sbegaudeau
+ */
+@Entity
+@Table(name = "ProjectAccess")
+public class ProjectAccessEntity {
+
+    @Id
+    @Column(name = "project_id")
+    private UUID projectId;
+
+    @Column(name = "last_accessed_on")
+    private Instant lastAccessedOn;
+
+    @Column(name = "access_count")
+    private long accessCount;
+
+    public UUID getProjectId() {
+        return this.projectId;
+    }
+
+    public void setProjectId(UUID projectId) {
+        this.projectId = projectId;
+    }
+
+    public Instant getLastAccessedOn() {
+        return this.lastAccessedOn;
+    }
+
+    public void setLastAccessedOn(Instant lastAccessedOn) {
+        this.lastAccessedOn = lastAccessedOn;
+    }
+
+    public long getAccessCount() {
+        return this.accessCount;
+    }
+
+    public void setAccessCount(long accessCount) {
+        this.accessCount = accessCount;
+    }
+
+    @Override
+    public String toString() {
+        String pattern = "{0} '{' projectId: {1}, lastAccessedOn: {2}, accessCount: {3} '}'"; //$NON-NLS-1$
+        return MessageFormat.format(pattern, this.getClass().getSimpleName(), this.projectId, this.lastAccessedOn, this.accessCount);
+    }
+}
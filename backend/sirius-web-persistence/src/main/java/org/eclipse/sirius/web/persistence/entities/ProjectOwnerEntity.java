@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.persistence.entities;
+
+import java.text.MessageFormat;
+import java.time.Instant;
+import java.util.UUID;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * The lease held by the node of the cluster on which the editing context of a project lives.
+ *
+ * @author sbegaudeau
+ */
+@Entity
+@Table(name = "ProjectOwner")
+public class ProjectOwnerEntity {
+
+    @Id
+    @Column(name = "project_id")
+    private UUID projectId;
+
+    @Column(name = "node_id")
+    private String nodeId;
+
+    @Column(name = "node_url")
+    private String nodeURL;
+
+    @Column(name = "lease_until")
+    private Instant leaseUntil;
+
+    @Column(name = "fencing_token")
+    private long fencingToken;
+
+    public UUID getProjectId() {
+        return this.projectId;
+    }
+
+    public void setProjectId(UUID projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getNodeId() {
+        return this.nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public String getNodeURL() {
+        return this.nodeURL;
+    }
+
+    public void setNodeURL(String nodeURL) {
+        this.nodeURL = nodeURL;
+    }
+
+    public Instant getLeaseUntil() {
+        return this.leaseUntil;
+    }
+
+    public void setLeaseUntil(Instant leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+
+    public long getFencingToken() {
+        return this.fencingToken;
+    }
+
+    public void setFencingToken(long fencingToken) {
+        this.fencingToken = fencingToken;
+    }
+
+    @Override
+    public String toString() {
+        String pattern = "{0} '{' projectId: {1}, nodeId: {2}, nodeURL: {3}, leaseUntil: {4}, fencingToken: {5} '}'"; //$NON-NLS-1$
+        return MessageFormat.format(pattern, this.getClass().getSimpleName(), this.projectId, this.nodeId, this.nodeURL, this.leaseUntil, this.fencingToken);
+    }
+}
@@ -15,11 +15,18 @@ package org.eclipse.sirius.web.persistence.entities;
 import java.text.MessageFormat;
 import java.util.UUID;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
 import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.hibernate.annotations.DynamicUpdate;
+import org.springframework.data.domain.Persistable;
 
 /**
  * Representation entity used by the persistence layer.
@@ -27,11 +34,19 @@ import javax.persistence.Table;
  * @author gcoutable
  */
 @Entity
+@DynamicUpdate
 @Table(name = "Representation")
-public class RepresentationEntity {
+public class RepresentationEntity implements Persistable<UUID> {
     @Id
     private UUID id;
 
+    /**
+     * The identifier is assigned by the application, the entities created by the application are thus persisted
+     * without the select performed by a merge.
+     */
+    @Transient
+    private boolean isNew = true;
+
     @ManyToOne
     @JoinColumn(name = "project_id")
     private ProjectEntity project;
@@ -46,6 +61,13 @@ public class RepresentationEntity {
 
     private String content;
 
+    /**
+     * Incremented each time the content is updated, it is only modified by the conditional updates of the repository.
+     */
+    @Column(insertable = false, updatable = false)
+    private int version;
+
+    @Override
     public UUID getId() {
         return this.id;
     }
@@ -102,6 +124,25 @@ public class RepresentationEntity {
         this.content = content;
     }
 
+    public int getVersion() {
+        return this.version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    @Override
+    public boolean isNew() {
+        return this.isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
     @Override
     public String toString() {
         String pattern = "{0} '{'id: {1}, targetObjectId: {2}, label: {3}, kind: {4}'}'"; //$NON-NLS-1$
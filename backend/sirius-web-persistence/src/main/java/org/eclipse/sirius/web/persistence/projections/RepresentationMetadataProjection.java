@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.persistence.projections;
+
+import java.util.UUID;
+
+/**
+ * Projection of a representation without its content, used to browse the representations of a project without loading
+ * all their content at once.
+ *
+ * @author sbegaudeau
+ */
+public interface RepresentationMetadataProjection {
+
+    UUID getId();
+
+    String getDescriptionId();
+
+    String getTargetObjectId();
+
+    String getLabel();
+
+    String getKind();
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Obeo.
+ * Copyright (c) 2021, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,12 +12,17 @@
  *******************************************************************************/
 package org.eclipse.sirius.web.persistence.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.eclipse.sirius.components.annotations.Audited;
 import org.eclipse.sirius.web.persistence.entities.CustomImageEntity;
+import org.eclipse.sirius.web.persistence.projections.CustomImageMetadataProjection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 
@@ -35,4 +40,42 @@ public interface ICustomImageRepository extends PagingAndSortingRepository<Custo
     @Audited
     @Override
     Optional<CustomImageEntity> findById(UUID id);
+
+    @Audited
+    @Override
+    boolean existsById(UUID id);
+
+    @Audited
+    @Query("SELECT image.id FROM CustomImageEntity image")
+    List<UUID> findAllIds();
+
+    @Audited
+    @Query("SELECT image.id FROM CustomImageEntity image WHERE image.id IN ?1")
+    List<UUID> findExistingIds(Collection<UUID> ids);
+
+    @Audited
+    @Query("SELECT image.id AS id, image.label AS label, image.contentType AS contentType FROM CustomImageEntity image ORDER BY image.label")
+    List<CustomImageMetadataProjection> findAllMetadata();
+
+    /**
+     * Returns a page of the custom images whose label contains the given text, ignoring the case, without their
+     * content.
+     *
+     * <p>
+     * The given text is used in a LIKE pattern whose escape character is <code>\</code>, the characters
+     * <code>%</code>, <code>_</code> and <code>\</code> of the text must thus be escaped to be matched literally.
+     * </p>
+     *
+     * @param label
+     *            The text to search in the label of the images, with its LIKE wildcards escaped
+     * @param pageable
+     *            The page to retrieve
+     * @return A page of the matching images sorted by label
+     */
+    @Audited
+    // @formatter:off
+    @Query(value = "SELECT image.id AS id, image.label AS label, image.contentType AS contentType FROM CustomImageEntity image WHERE LOWER(image.label) LIKE LOWER(CONCAT('%', ?1, '%')) ESCAPE '\\' ORDER BY image.label",
+           countQuery = "SELECT COUNT(image) FROM CustomImageEntity image WHERE LOWER(image.label) LIKE LOWER(CONCAT('%', ?1, '%')) ESCAPE '\\'")
+    // @formatter:on
+    Page<CustomImageMetadataProjection> findAllMetadataByLabel(String label, Pageable pageable);
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -18,9 +18,12 @@ import java.util.UUID;
 
 import org.eclipse.sirius.components.annotations.Audited;
 import org.eclipse.sirius.web.persistence.entities.DocumentEntity;
+import org.eclipse.sirius.web.persistence.projections.DocumentMetadataProjection;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Persistence layer used to manipulate documents.
@@ -45,6 +48,18 @@ public interface IDocumentRepository extends PagingAndSortingRepository<Document
     @Audited
     List<DocumentEntity> findAllByProjectId(UUID projectId);
 
+    @Audited
+    @Query("SELECT document.id AS id, document.name AS name FROM DocumentEntity document WHERE document.project.id=?1")
+    List<DocumentMetadataProjection> findAllMetadataByProjectId(UUID projectId);
+
+    /**
+     * Returns the content of the given document without loading it in the persistence context, in order to process
+     * large projects one document at a time.
+     */
+    @Audited
+    @Query("SELECT document.content FROM DocumentEntity document WHERE document.id=?1")
+    Optional<String> findContentById(UUID id);
+
     @Audited
     @Query("SELECT document FROM DocumentEntity document WHERE document.project.id=?1 AND document.id=?2")
     Optional<DocumentEntity> findByProjectIdAndId(UUID projectId, UUID documentId);
@@ -56,4 +71,15 @@ public interface IDocumentRepository extends PagingAndSortingRepository<Document
     @Audited
     @Override
     <S extends DocumentEntity> S save(S entity);
+
+    /**
+     * Updates the content of the given document only if it has not been modified since the given version.
+     *
+     * @return 1 if the content has been updated, 0 if the document has been modified concurrently or does not exist
+     */
+    @Audited
+    @Transactional
+    @Modifying
+    @Query(name = "Document.updateContent", nativeQuery = true)
+    int updateContent(UUID id, String content, int expectedVersion);
 }
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.persistence.repositories;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.eclipse.sirius.components.annotations.Audited;
+import org.eclipse.sirius.web.persistence.entities.ProjectAccessEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Persistence layer used to keep track of the projects which have been opened recently.
+ *
+ * @author sbegaudeau
+ */
+@Repository
+public interface IProjectAccessRepository extends PagingAndSortingRepository<ProjectAccessEntity, UUID> {
+    @Audited
+    @Override
+    Optional<ProjectAccessEntity> findById(UUID projectId);
+
+    @Audited
+    @Transactional
+    @Modifying
+    @Query(name = "ProjectAccess.recordAccess", nativeQuery = true)
+    int recordAccess(UUID projectId);
+
+    @Audited
+    @Query(name = "ProjectAccess.findMostRecentlyAccessed", nativeQuery = true)
+    List<ProjectAccessEntity> findMostRecentlyAccessed(int limit);
+
+    @Audited
+    @Query(name = "ProjectAccess.findMostFrequentlyAccessed", nativeQuery = true)
+    List<ProjectAccessEntity> findMostFrequentlyAccessed(List<UUID> projectIds, int limit);
+}
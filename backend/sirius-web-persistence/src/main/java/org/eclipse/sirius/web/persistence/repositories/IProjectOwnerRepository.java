@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.persistence.repositories;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.eclipse.sirius.components.annotations.Audited;
+import org.eclipse.sirius.web.persistence.entities.ProjectOwnerEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Persistence layer used to manipulate the leases giving the ownership of a project to a node of the cluster.
+ *
+ * @author sbegaudeau
+ */
+@Repository
+public interface IProjectOwnerRepository extends PagingAndSortingRepository<ProjectOwnerEntity, UUID> {
+
+    /**
+     * Acquires or renews the lease of the given project for the given node. The lease is only acquired if it is not
+     * held by another node or if it has expired. A new fencing token is given to the lease each time its ownership
+     * changes.
+     *
+     * @return 1 if the given node owns the project, 0 otherwise
+     */
+    @Audited
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(name = "ProjectOwner.acquireLease", nativeQuery = true)
+    int acquireLease(UUID projectId, String nodeId, String nodeURL, long leaseDurationInSeconds);
+
+    /**
+     * Renews the lease of the given project only if it is still held by the given node with the given fencing token.
+     *
+     * @return 1 if the lease has been renewed, 0 if it has been taken over by another node
+     */
+    @Audited
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(name = "ProjectOwner.renewLease", nativeQuery = true)
+    int renewLease(UUID projectId, String nodeId, long fencingToken, long leaseDurationInSeconds);
+
+    @Audited
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(name = "ProjectOwner.releaseLease", nativeQuery = true)
+    int releaseLease(UUID projectId, String nodeId, long fencingToken);
+
+    @Audited
+    @Transactional
+    @Modifying
+    @Query(name = "ProjectOwner.releaseLeases", nativeQuery = true)
+    int releaseLeases(String nodeId);
+
+    @Audited
+    @Query(name = "ProjectOwner.findValidLease", nativeQuery = true)
+    Optional<ProjectOwnerEntity> findValidLease(UUID projectId);
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -18,6 +18,7 @@ import java.util.UUID;
 
 import org.eclipse.sirius.components.annotations.Audited;
 import org.eclipse.sirius.web.persistence.entities.RepresentationEntity;
+import org.eclipse.sirius.web.persistence.projections.RepresentationMetadataProjection;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
@@ -44,6 +45,25 @@ public interface IRepresentationRepository extends PagingAndSortingRepository<Re
     @Audited
     List<RepresentationEntity> findAllByProjectId(UUID projectId);
 
+    @Audited
+    @Query("SELECT representation.id AS id, representation.descriptionId AS descriptionId, representation.targetObjectId AS targetObjectId, representation.label AS label, representation.kind AS kind FROM RepresentationEntity representation WHERE representation.project.id=?1")
+    List<RepresentationMetadataProjection> findAllMetadataByProjectId(UUID projectId);
+
+    /**
+     * Returns the content of the given representation without loading it in the persistence context, in order to
+     * process large projects one representation at a time.
+     */
+    @Audited
+    @Query("SELECT representation.content FROM RepresentationEntity representation WHERE representation.id=?1")
+    Optional<String> findContentById(UUID id);
+
+    /**
+     * Returns the identifier of the project of the given representation without loading the representation.
+     */
+    @Audited
+    @Query("SELECT representation.project.id FROM RepresentationEntity representation WHERE representation.id=?1")
+    Optional<UUID> findProjectIdById(UUID id);
+
     @Audited
     @Query("SELECT CASE WHEN COUNT(representation)> 0 THEN true ELSE false END FROM RepresentationEntity representation WHERE representation.targetObjectId=?1")
     boolean hasRepresentations(String objectId);
@@ -52,6 +72,10 @@ public interface IRepresentationRepository extends PagingAndSortingRepository<Re
     @Override
     <S extends RepresentationEntity> S save(S representationEntity);
 
+    @Audited
+    @Override
+    <S extends RepresentationEntity> Iterable<S> saveAll(Iterable<S> representationEntities);
+
     @Audited
     @Transactional
     @Modifying
@@ -61,4 +85,16 @@ public interface IRepresentationRepository extends PagingAndSortingRepository<Re
     @Audited
     @Override
     void deleteById(UUID id);
+
+    /**
+     * Updates the label and the content of the given representation only if it has not been modified since the given
+     * version.
+     *
+     * @return 1 if the representation has been updated, 0 if it has been modified concurrently or does not exist
+     */
+    @Audited
+    @Transactional
+    @Modifying
+    @Query(name = "Representation.updateContent", nativeQuery = true)
+    int updateContent(UUID id, String label, String content, int expectedVersion);
 }
@@ -0,0 +1,9 @@
+CREATE TABLE ProjectAccess (
+    project_id uuid NOT NULL,
+    last_accessed_on timestamp with time zone DEFAULT now() NOT NULL,
+    access_count bigint DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_projectaccess_project_id PRIMARY KEY (project_id),
+    CONSTRAINT fk_projectaccess_project_id_id FOREIGN KEY (project_id) REFERENCES project(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_projectaccess_last_accessed_on ON ProjectAccess (last_accessed_on DESC);
@@ -0,0 +1,2 @@
+CREATE SEQUENCE projectowner_fencing_token_seq;
+ALTER TABLE ProjectOwner ADD COLUMN fencing_token bigint DEFAULT 0 NOT NULL;
@@ -0,0 +1,10 @@
+CREATE TABLE ProjectOwner (
+    project_id uuid NOT NULL,
+    node_id text NOT NULL,
+    node_url text NOT NULL,
+    lease_until timestamp with time zone NOT NULL,
+    CONSTRAINT pk_projectowner_project_id PRIMARY KEY (project_id),
+    CONSTRAINT fk_projectowner_project_id_id FOREIGN KEY (project_id) REFERENCES project(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_projectowner_node_id ON ProjectOwner (node_id);
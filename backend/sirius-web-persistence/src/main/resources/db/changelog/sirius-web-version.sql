@@ -0,0 +1,2 @@
+ALTER TABLE document ADD COLUMN version integer DEFAULT 0 NOT NULL;
+ALTER TABLE representation ADD COLUMN version integer DEFAULT 0 NOT NULL;
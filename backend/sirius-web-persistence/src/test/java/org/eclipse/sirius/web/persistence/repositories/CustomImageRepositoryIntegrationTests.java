@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.persistence.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.eclipse.sirius.web.persistence.entities.CustomImageEntity;
+import org.eclipse.sirius.web.persistence.projections.CustomImageMetadataProjection;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Integration tests of the custom image repository.
+ *
+ * @author sbegaudeau
+ */
+@Testcontainers
+@SpringBootTest
+@ContextConfiguration(classes = PersistenceTestConfiguration.class)
+public class CustomImageRepositoryIntegrationTests extends AbstractIntegrationTests {
+
+    private static final String CONTENT_TYPE = "image/svg+xml"; //$NON-NLS-1$
+
+    @Autowired
+    private ICustomImageRepository customImageRepository;
+
+    @DynamicPropertySource
+    public static void postgresqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRESQL_CONTAINER::getJdbcUrl); //$NON-NLS-1$
+        registry.add("spring.datasource.password", POSTGRESQL_CONTAINER::getPassword); //$NON-NLS-1$
+        registry.add("spring.datasource.username", POSTGRESQL_CONTAINER::getUsername); //$NON-NLS-1$
+    }
+
+    @Test
+    @Transactional
+    public void testFindAllMetadata() {
+        this.customImageRepository.save(this.createCustomImageEntity("Rocket")); //$NON-NLS-1$
+        this.customImageRepository.save(this.createCustomImageEntity("Planet")); //$NON-NLS-1$
+
+        List<CustomImageMetadataProjection> images = this.customImageRepository.findAllMetadata();
+        assertThat(images).extracting(CustomImageMetadataProjection::getLabel).containsExactly("Planet", "Rocket"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertThat(images).extracting(CustomImageMetadataProjection::getContentType).containsOnly(CONTENT_TYPE);
+    }
+
+    @Test
+    @Transactional
+    public void testFindAllMetadataByLabel() {
+        for (int i = 0; i < 5; i++) {
+            this.customImageRepository.save(this.createCustomImageEntity("Icons / Star " + i)); //$NON-NLS-1$
+        }
+        this.customImageRepository.save(this.createCustomImageEntity("Icons / Moon")); //$NON-NLS-1$
+
+        Page<CustomImageMetadataProjection> firstPage = this.customImageRepository.findAllMetadataByLabel("star", PageRequest.of(0, 2)); //$NON-NLS-1$
+        assertThat(firstPage.getTotalElements()).isEqualTo(5);
+        assertThat(firstPage.hasNext()).isTrue();
+        assertThat(firstPage.getContent()).extracting(CustomImageMetadataProjection::getLabel).containsExactly("Icons / Star 0", "Icons / Star 1"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        Page<CustomImageMetadataProjection> lastPage = this.customImageRepository.findAllMetadataByLabel("star", PageRequest.of(2, 2)); //$NON-NLS-1$
+        assertThat(lastPage.hasNext()).isFalse();
+        assertThat(lastPage.getContent()).extracting(CustomImageMetadataProjection::getLabel).containsExactly("Icons / Star 4"); //$NON-NLS-1$
+    }
+
+    @Test
+    @Transactional
+    public void testFindAllMetadataByLabelWithEscapedWildcards() {
+        this.customImageRepository.save(this.createCustomImageEntity("100% Star")); //$NON-NLS-1$
+        this.customImageRepository.save(this.createCustomImageEntity("100 Stars")); //$NON-NLS-1$
+        this.customImageRepository.save(this.createCustomImageEntity("Star_1")); //$NON-NLS-1$
+        this.customImageRepository.save(this.createCustomImageEntity("Star 1")); //$NON-NLS-1$
+
+        Page<CustomImageMetadataProjection> percentPage = this.customImageRepository.findAllMetadataByLabel("100\\%", PageRequest.of(0, 10)); //$NON-NLS-1$
+        assertThat(percentPage.getContent()).extracting(CustomImageMetadataProjection::getLabel).containsExactly("100% Star"); //$NON-NLS-1$
+        assertThat(percentPage.getTotalElements()).isEqualTo(1);
+
+        Page<CustomImageMetadataProjection> underscorePage = this.customImageRepository.findAllMetadataByLabel("star\\_", PageRequest.of(0, 10)); //$NON-NLS-1$
+        assertThat(underscorePage.getContent()).extracting(CustomImageMetadataProjection::getLabel).containsExactly("Star_1"); //$NON-NLS-1$
+        assertThat(underscorePage.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    public void testInsertNewImagesAndFindAllIds() {
+        CustomImageEntity firstImage = this.createCustomImageEntity("Rocket"); //$NON-NLS-1$
+        CustomImageEntity secondImage = this.createCustomImageEntity("Planet"); //$NON-NLS-1$
+        assertThat(firstImage.isNew()).isTrue();
+
+        this.customImageRepository.saveAll(List.of(firstImage, secondImage));
+        assertThat(firstImage.isNew()).isFalse();
+        assertThat(this.customImageRepository.findAllIds()).containsExactlyInAnyOrder(firstImage.getId(), secondImage.getId());
+        assertThat(this.customImageRepository.findExistingIds(List.of(firstImage.getId(), UUID.randomUUID()))).containsExactly(firstImage.getId());
+    }
+
+    private CustomImageEntity createCustomImageEntity(String label) {
+        CustomImageEntity customImageEntity = new CustomImageEntity();
+        customImageEntity.setId(UUID.randomUUID());
+        customImageEntity.setLabel(label);
+        customImageEntity.setContentType(CONTENT_TYPE);
+        customImageEntity.setContent(label.getBytes());
+        return customImageEntity;
+    }
+}
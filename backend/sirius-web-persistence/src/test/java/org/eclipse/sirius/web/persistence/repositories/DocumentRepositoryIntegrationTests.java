@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -186,6 +186,22 @@ public class DocumentRepositoryIntegrationTests extends AbstractIntegrationTests
         assertThat(this.documentRepository.count()).isEqualTo(0);
     }
 
+    @Test
+    @Transactional
+    public void testUpdateContentWithStaleVersion() {
+        ProjectEntity project = this.createAndSaveProjectEntity();
+
+        DocumentEntity firstDocument = new DocumentEntity();
+        firstDocument.setName(FIRST_DOCUMENT_NAME);
+        firstDocument.setProject(project);
+        firstDocument.setContent(DOCUMENT_CONTENT);
+        DocumentEntity savedDocument = this.documentRepository.save(firstDocument);
+
+        assertThat(this.documentRepository.updateContent(savedDocument.getId(), DOCUMENT_CONTENT, 0)).isEqualTo(1);
+        assertThat(this.documentRepository.updateContent(savedDocument.getId(), DOCUMENT_CONTENT, 0)).isEqualTo(0);
+        assertThat(this.documentRepository.updateContent(savedDocument.getId(), DOCUMENT_CONTENT, 1)).isEqualTo(1);
+    }
+
     private ProjectEntity createAndSaveProjectEntity() {
         AccountEntity owner = new AccountEntity();
         owner.setUsername(OWNER_NAME);
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.persistence.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.sirius.web.persistence.entities.AccountEntity;
+import org.eclipse.sirius.web.persistence.entities.ProjectAccessEntity;
+import org.eclipse.sirius.web.persistence.entities.ProjectEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Integration tests of the project access repository.
+ *
+ * @author sbegaudeau
+ */
+@Testcontainers
+@SpringBootTest
+@ContextConfiguration(classes = PersistenceTestConfiguration.class)
+public class ProjectAccessRepositoryIntegrationTests extends AbstractIntegrationTests {
+
+    private static final String OWNER_NAME = "Jyn Erso"; //$NON-NLS-1$
+
+    private static final String ROLE_USER = "user"; //$NON-NLS-1$
+
+    private static final String FIRST_PROJECT_NAME = "Cluster Prism"; //$NON-NLS-1$
+
+    private static final String SECOND_PROJECT_NAME = "War Mantle"; //$NON-NLS-1$
+
+    @Autowired
+    private IAccountRepository accountRepository;
+
+    @Autowired
+    private IProjectRepository projectRepository;
+
+    @Autowired
+    private IProjectAccessRepository projectAccessRepository;
+
+    @DynamicPropertySource
+    public static void postgresqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRESQL_CONTAINER::getJdbcUrl); //$NON-NLS-1$
+        registry.add("spring.datasource.password", POSTGRESQL_CONTAINER::getPassword); //$NON-NLS-1$
+        registry.add("spring.datasource.username", POSTGRESQL_CONTAINER::getUsername); //$NON-NLS-1$
+    }
+
+    @Test
+    @Transactional
+    public void testRecordAccessCreatesThenIncrementsTheAccessCount() {
+        AccountEntity owner = this.createAndSaveAccountEntity();
+        ProjectEntity project = this.createAndSaveProjectEntity(owner, FIRST_PROJECT_NAME);
+
+        this.projectAccessRepository.recordAccess(project.getId());
+        this.projectAccessRepository.recordAccess(project.getId());
+
+        var optionalProjectAccess = this.projectAccessRepository.findById(project.getId());
+        assertThat(optionalProjectAccess).isPresent();
+        assertThat(optionalProjectAccess.get().getAccessCount()).isEqualTo(2);
+        assertThat(optionalProjectAccess.get().getLastAccessedOn()).isNotNull();
+    }
+
+    @Test
+    @Transactional
+    public void testFindMostFrequentlyAccessed() {
+        AccountEntity owner = this.createAndSaveAccountEntity();
+        ProjectEntity firstProject = this.createAndSaveProjectEntity(owner, FIRST_PROJECT_NAME);
+        ProjectEntity secondProject = this.createAndSaveProjectEntity(owner, SECOND_PROJECT_NAME);
+
+        this.projectAccessRepository.recordAccess(firstProject.getId());
+        this.projectAccessRepository.recordAccess(secondProject.getId());
+        this.projectAccessRepository.recordAccess(secondProject.getId());
+
+        List<ProjectAccessEntity> projectAccesses = this.projectAccessRepository.findMostFrequentlyAccessed(List.of(firstProject.getId(), secondProject.getId()), 1);
+        var projectIds = projectAccesses.stream().map(ProjectAccessEntity::getProjectId).collect(Collectors.toList());
+        assertThat(projectIds).containsExactly(secondProject.getId());
+
+        assertThat(this.projectAccessRepository.findMostRecentlyAccessed(10)).hasSize(2);
+    }
+
+    private AccountEntity createAndSaveAccountEntity() {
+        AccountEntity owner = new AccountEntity();
+        owner.setUsername(OWNER_NAME);
+        owner.setPassword(OWNER_NAME);
+        owner.setRole(ROLE_USER);
+        return this.accountRepository.save(owner);
+    }
+
+    private ProjectEntity createAndSaveProjectEntity(AccountEntity owner, String name) {
+        ProjectEntity project = new ProjectEntity();
+        project.setName(name);
+        project.setOwner(owner);
+        return this.projectRepository.save(project);
+    }
+}
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.persistence.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.sirius.web.persistence.entities.AccountEntity;
+import org.eclipse.sirius.web.persistence.entities.ProjectEntity;
+import org.eclipse.sirius.web.persistence.entities.ProjectOwnerEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Integration tests of the project owner repository.
+ *
+ * @author sbegaudeau
+ */
+@Testcontainers
+@SpringBootTest
+@ContextConfiguration(classes = PersistenceTestConfiguration.class)
+public class ProjectOwnerRepositoryIntegrationTests extends AbstractIntegrationTests {
+
+    private static final String OWNER_NAME = "Jyn Erso"; //$NON-NLS-1$
+
+    private static final String ROLE_USER = "user"; //$NON-NLS-1$
+
+    private static final String PROJECT_NAME = "Cluster Prism"; //$NON-NLS-1$
+
+    private static final String FIRST_NODE_ID = "first"; //$NON-NLS-1$
+
+    private static final String FIRST_NODE_URL = "http://first:8080"; //$NON-NLS-1$
+
+    private static final String SECOND_NODE_ID = "second"; //$NON-NLS-1$
+
+    private static final String SECOND_NODE_URL = "http://second:8080"; //$NON-NLS-1$
+
+    private static final long LEASE_DURATION = 30;
+
+    @Autowired
+    private IAccountRepository accountRepository;
+
+    @Autowired
+    private IProjectRepository projectRepository;
+
+    @Autowired
+    private IProjectOwnerRepository projectOwnerRepository;
+
+    @DynamicPropertySource
+    public static void postgresqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRESQL_CONTAINER::getJdbcUrl); //$NON-NLS-1$
+        registry.add("spring.datasource.password", POSTGRESQL_CONTAINER::getPassword); //$NON-NLS-1$
+        registry.add("spring.datasource.username", POSTGRESQL_CONTAINER::getUsername); //$NON-NLS-1$
+    }
+
+    @Test
+    @Transactional
+    public void testLeaseHeldByASingleNode() {
+        ProjectEntity project = this.createAndSaveProjectEntity();
+
+        assertThat(this.projectOwnerRepository.acquireLease(project.getId(), FIRST_NODE_ID, FIRST_NODE_URL, LEASE_DURATION)).isEqualTo(1);
+        assertThat(this.projectOwnerRepository.acquireLease(project.getId(), SECOND_NODE_ID, SECOND_NODE_URL, LEASE_DURATION)).isEqualTo(0);
+        assertThat(this.projectOwnerRepository.acquireLease(project.getId(), FIRST_NODE_ID, FIRST_NODE_URL, LEASE_DURATION)).isEqualTo(1);
+
+        var optionalProjectOwner = this.projectOwnerRepository.findValidLease(project.getId());
+        assertThat(optionalProjectOwner).isPresent();
+        assertThat(optionalProjectOwner.get().getNodeId()).isEqualTo(FIRST_NODE_ID);
+        assertThat(optionalProjectOwner.get().getNodeURL()).isEqualTo(FIRST_NODE_URL);
+
+        long fencingToken = optionalProjectOwner.get().getFencingToken();
+        assertThat(this.projectOwnerRepository.renewLease(project.getId(), FIRST_NODE_ID, fencingToken, LEASE_DURATION)).isEqualTo(1);
+        assertThat(this.projectOwnerRepository.renewLease(project.getId(), SECOND_NODE_ID, fencingToken, LEASE_DURATION)).isEqualTo(0);
+        assertThat(this.projectOwnerRepository.findValidLease(project.getId()).map(ProjectOwnerEntity::getFencingToken)).contains(fencingToken);
+    }
+
+    @Test
+    @Transactional
+    public void testLeaseTakenOverCannotBeRenewedWithTheOldFencingToken() {
+        ProjectEntity project = this.createAndSaveProjectEntity();
+
+        assertThat(this.projectOwnerRepository.acquireLease(project.getId(), FIRST_NODE_ID, FIRST_NODE_URL, -1)).isEqualTo(1);
+        long firstFencingToken = this.projectOwnerRepository.findById(project.getId()).map(ProjectOwnerEntity::getFencingToken).orElse(0L);
+
+        assertThat(this.projectOwnerRepository.acquireLease(project.getId(), SECOND_NODE_ID, SECOND_NODE_URL, LEASE_DURATION)).isEqualTo(1);
+        var optionalProjectOwner = this.projectOwnerRepository.findValidLease(project.getId());
+        assertThat(optionalProjectOwner).isPresent();
+        long secondFencingToken = optionalProjectOwner.get().getFencingToken();
+        assertThat(secondFencingToken).isGreaterThan(firstFencingToken);
+
+        assertThat(this.projectOwnerRepository.renewLease(project.getId(), FIRST_NODE_ID, firstFencingToken, LEASE_DURATION)).isEqualTo(0);
+        assertThat(this.projectOwnerRepository.releaseLease(project.getId(), FIRST_NODE_ID, firstFencingToken)).isEqualTo(0);
+        assertThat(this.projectOwnerRepository.renewLease(project.getId(), SECOND_NODE_ID, secondFencingToken, LEASE_DURATION)).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    public void testExpiredLeaseTakenOverByAnotherNode() {
+        ProjectEntity project = this.createAndSaveProjectEntity();
+
+        assertThat(this.projectOwnerRepository.acquireLease(project.getId(), FIRST_NODE_ID, FIRST_NODE_URL, -1)).isEqualTo(1);
+        assertThat(this.projectOwnerRepository.acquireLease(project.getId(), SECOND_NODE_ID, SECOND_NODE_URL, LEASE_DURATION)).isEqualTo(1);
+
+        var optionalProjectOwner = this.projectOwnerRepository.findValidLease(project.getId());
+        assertThat(optionalProjectOwner).isPresent();
+        assertThat(optionalProjectOwner.get().getNodeId()).isEqualTo(SECOND_NODE_ID);
+    }
+
+    @Test
+    @Transactional
+    public void testReleasedLease() {
+        ProjectEntity project = this.createAndSaveProjectEntity();
+
+        this.projectOwnerRepository.acquireLease(project.getId(), FIRST_NODE_ID, FIRST_NODE_URL, LEASE_DURATION);
+        assertThat(this.projectOwnerRepository.releaseLeases(FIRST_NODE_ID)).isEqualTo(1);
+
+        assertThat(this.projectOwnerRepository.findValidLease(project.getId())).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    public void testSingleLeaseReleased() {
+        ProjectEntity project = this.createAndSaveProjectEntity();
+
+        this.projectOwnerRepository.acquireLease(project.getId(), FIRST_NODE_ID, FIRST_NODE_URL, LEASE_DURATION);
+        long fencingToken = this.projectOwnerRepository.findValidLease(project.getId()).map(ProjectOwnerEntity::getFencingToken).orElse(0L);
+        assertThat(this.projectOwnerRepository.releaseLease(project.getId(), FIRST_NODE_ID, fencingToken)).isEqualTo(1);
+
+        assertThat(this.projectOwnerRepository.findValidLease(project.getId())).isEmpty();
+        assertThat(this.projectOwnerRepository.acquireLease(project.getId(), SECOND_NODE_ID, SECOND_NODE_URL, LEASE_DURATION)).isEqualTo(1);
+    }
+
+    private ProjectEntity createAndSaveProjectEntity() {
+        AccountEntity owner = new AccountEntity();
+        owner.setUsername(OWNER_NAME);
+        owner.setPassword(OWNER_NAME);
+        owner.setRole(ROLE_USER);
+        AccountEntity savedOwner = this.accountRepository.save(owner);
+
+        ProjectEntity project = new ProjectEntity();
+        project.setName(PROJECT_NAME);
+        project.setOwner(savedOwner);
+        return this.projectRepository.save(project);
+    }
+}
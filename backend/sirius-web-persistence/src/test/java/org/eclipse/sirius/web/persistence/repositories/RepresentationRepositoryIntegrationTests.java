@@ -25,6 +25,7 @@ import org.eclipse.sirius.web.persistence.entities.AccountEntity;
 import org.eclipse.sirius.web.persistence.entities.DocumentEntity;
 import org.eclipse.sirius.web.persistence.entities.ProjectEntity;
 import org.eclipse.sirius.web.persistence.entities.RepresentationEntity;
+import org.eclipse.sirius.web.persistence.projections.RepresentationMetadataProjection;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -120,6 +121,20 @@ public class RepresentationRepositoryIntegrationTests extends AbstractIntegratio
         });
     }
 
+    @Test
+    @Transactional
+    public void testInsertNewRepresentations() {
+        ProjectEntity savedProject = this.createAndSaveProjectEntity();
+
+        RepresentationEntity firstRepresentationEntity = this.createRepresentationEntity(savedProject, FIRST_DIAGRAM_LABEL, FIRST_TARGET_OBJECT_ID);
+        RepresentationEntity secondRepresentationEntity = this.createRepresentationEntity(savedProject, SECOND_DIAGRAM_LABEL, SECOND_TARGET_OBJECT_ID);
+        assertThat(firstRepresentationEntity.isNew()).isTrue();
+
+        this.representationRepository.saveAll(List.of(firstRepresentationEntity, secondRepresentationEntity));
+        assertThat(firstRepresentationEntity.isNew()).isFalse();
+        assertThat(this.findRepresentationUUIDsByProject(savedProject.getId())).containsExactlyInAnyOrder(firstRepresentationEntity.getId(), secondRepresentationEntity.getId());
+    }
+
     @Test
     @Transactional
     public void testFindByIdAndProjectId() {
@@ -171,6 +186,24 @@ public class RepresentationRepositoryIntegrationTests extends AbstractIntegratio
 
     }
 
+    @Test
+    @Transactional
+    public void testFindAllMetadataAndContentByProjectId() {
+        ProjectEntity savedProject = this.createAndSaveProjectEntity();
+
+        RepresentationEntity representationEntity = this.createRepresentationEntity(savedProject, FIRST_DIAGRAM_LABEL, FIRST_TARGET_OBJECT_ID);
+        this.representationRepository.save(representationEntity);
+
+        List<RepresentationMetadataProjection> representationsMetadata = this.representationRepository.findAllMetadataByProjectId(savedProject.getId());
+        assertThat(representationsMetadata).hasSize(1);
+        assertThat(representationsMetadata.get(0).getId()).isEqualTo(representationEntity.getId());
+        assertThat(representationsMetadata.get(0).getLabel()).isEqualTo(FIRST_DIAGRAM_LABEL);
+        assertThat(representationsMetadata.get(0).getTargetObjectId()).isEqualTo(FIRST_TARGET_OBJECT_ID);
+
+        assertThat(this.representationRepository.findContentById(representationEntity.getId())).contains(representationEntity.getContent());
+        assertThat(this.representationRepository.findContentById(UUID.randomUUID())).isEmpty();
+    }
+
     @Test
     @Transactional
     public void testFindAllByTargetObjectId() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Obeo.
+ * Copyright (c) 2021, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -16,72 +16,240 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.sirius.web.persistence.entities.CustomImageEntity;
 import org.eclipse.sirius.web.persistence.repositories.ICustomImageRepository;
+import org.eclipse.sirius.web.services.api.events.CustomImagesAddedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
- * Import custom images into the database on startup.
+ * Import custom images into the database once the application is ready.
+ *
+ * <p>
+ * The ids of the images are derived from their content. The files are thus read, probed and hashed in parallel, the
+ * images which already exist in the database are found with a single query and only the new ones are inserted, in
+ * batches. The import runs in the background in order not to delay the readiness of the application.
+ * </p>
+ *
+ * <p>
+ * Several nodes may import the same images at the same time. If some images of a batch have been inserted since the
+ * ids have been retrieved, the batch is rejected as a whole, the images of the batch which now exist are skipped and
+ * the remaining ones are inserted again, so that the import continues with the following batches.
+ * </p>
  *
  * @author pcdavid
  */
 @Component
-public class CustomImagesLoader implements CommandLineRunner {
+public class CustomImagesLoader implements DisposableBean {
+
+    private static final String COUNTER_NAME = "siriusweb_customimages_loader"; //$NON-NLS-1$
+
+    private static final String GAUGE_NAME = "siriusweb_customimages_loader_remaining"; //$NON-NLS-1$
+
+    private static final String RESULT = "result"; //$NON-NLS-1$
+
+    private static final String THREAD_NAME_PREFIX = "custom-images-loader-"; //$NON-NLS-1$
+
+    private static final String COORDINATOR_THREAD_NAME_PREFIX = "custom-images-loader-coordinator-"; //$NON-NLS-1$
 
     private final Logger logger = LoggerFactory.getLogger(CustomImagesLoader.class);
 
     private final ICustomImageRepository customImageRepository;
 
-    public CustomImagesLoader(ICustomImageRepository customImageRepository) {
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final int batchSize;
+
+    private final ExecutorService executor;
+
+    private final ExecutorService coordinator;
+
+    private final AtomicInteger remainingFileCount = new AtomicInteger();
+
+    private final Counter importedCounter;
+
+    private final Counter skippedCounter;
+
+    private final Counter failedCounter;
+
+    // @formatter:off
+    public CustomImagesLoader(ICustomImageRepository customImageRepository, ApplicationEventPublisher applicationEventPublisher, MeterRegistry meterRegistry,
+            @Value("${sirius.web.customImages.loader.threads:4}") int threads,
+            @Value("${sirius.web.customImages.loader.batchSize:100}") int batchSize) {
         this.customImageRepository = Objects.requireNonNull(customImageRepository);
+        this.applicationEventPublisher = Objects.requireNonNull(applicationEventPublisher);
+        this.batchSize = Math.max(batchSize, 1);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newFixedThreadPool(Math.max(threads, 1), threadFactory);
+
+        CustomizableThreadFactory coordinatorThreadFactory = new CustomizableThreadFactory(COORDINATOR_THREAD_NAME_PREFIX);
+        coordinatorThreadFactory.setDaemon(true);
+        this.coordinator = Executors.newSingleThreadExecutor(coordinatorThreadFactory);
+
+        this.importedCounter = Counter.builder(COUNTER_NAME).tag(RESULT, "imported").register(meterRegistry); //$NON-NLS-1$
+        this.skippedCounter = Counter.builder(COUNTER_NAME).tag(RESULT, "skipped").register(meterRegistry); //$NON-NLS-1$
+        this.failedCounter = Counter.builder(COUNTER_NAME).tag(RESULT, "failed").register(meterRegistry); //$NON-NLS-1$
+        Gauge.builder(GAUGE_NAME, this.remainingFileCount, AtomicInteger::get).register(meterRegistry);
     }
+    // @formatter:on
 
-    @Override
-    public void run(String... args) throws Exception {
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
         String rootPath = System.getProperty("org.eclipse.sirius.web.customImages.path"); //$NON-NLS-1$
         if (rootPath != null) {
-            this.importAllImages(Paths.get(rootPath));
-        }
-    }
-
-    public void importAllImages(Path rootPath) throws IOException {
-        try (var images = Files.walk(rootPath).filter(this::isImageFile)) {
-            int prefixLength = rootPath.toString().length() + 1;
-            images.forEach(imgPath -> {
+            this.coordinator.execute(() -> {
                 try {
-                    CustomImageEntity customImageEntity = this.loadImageFile(imgPath);
-                    String fullLabel = imgPath.toString().substring(prefixLength).replace("/", " / "); //$NON-NLS-1$ //$NON-NLS-2$
-                    customImageEntity.setLabel(this.trimFileExtension(fullLabel));
-                    customImageEntity = this.customImageRepository.save(customImageEntity);
-                } catch (IOException e) {
-                    this.logger.warn("Error loading image {}: {}", imgPath, e.getMessage()); //$NON-NLS-1$
+                    this.importAllImages(Paths.get(rootPath));
+                } catch (IOException | DataAccessException exception) {
+                    this.logger.warn(exception.getMessage(), exception);
                 }
             });
         }
     }
 
-    private boolean isImageFile(Path path) {
-        try {
-            String probedType = Files.probeContentType(path);
-            return probedType != null && probedType.startsWith("image/"); //$NON-NLS-1$
-        } catch (IOException ioe) {
-            return false;
+    /**
+     * Imports the images of the given directory which are not in the database yet.
+     *
+     * @param rootPath
+     *            The directory containing the images
+     * @return The number of images imported
+     * @throws IOException
+     *             If the directory cannot be browsed
+     */
+    public int importAllImages(Path rootPath) throws IOException {
+        long start = System.currentTimeMillis();
+
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(rootPath)) {
+            files = paths.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        this.remainingFileCount.set(files.size());
+
+        Set<UUID> knownIds = ConcurrentHashMap.newKeySet();
+        knownIds.addAll(this.customImageRepository.findAllIds());
+
+        CompletionService<Optional<CustomImageEntity>> completionService = new ExecutorCompletionService<>(this.executor);
+        int maxPendingFileCount = this.batchSize * 2;
+        int submittedFileCount = 0;
+        int importedImageCount = 0;
+        List<CustomImageEntity> batch = new ArrayList<>(this.batchSize);
+        for (int completedFileCount = 0; completedFileCount < files.size(); completedFileCount++) {
+            while (submittedFileCount < files.size() && submittedFileCount - completedFileCount < maxPendingFileCount) {
+                Path file = files.get(submittedFileCount);
+                completionService.submit(() -> this.loadImageFile(rootPath, file, knownIds));
+                submittedFileCount++;
+            }
+
+            try {
+                Future<Optional<CustomImageEntity>> future = completionService.take();
+                this.remainingFileCount.decrementAndGet();
+                future.get().ifPresent(batch::add);
+            } catch (ExecutionException exception) {
+                this.failedCounter.increment();
+                this.logger.warn("Error loading image: {}", exception.getCause().getMessage()); //$NON-NLS-1$
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                this.logger.warn("The import of the custom images has been interrupted"); //$NON-NLS-1$
+                return importedImageCount;
+            }
+
+            if (batch.size() >= this.batchSize) {
+                importedImageCount += this.save(batch);
+                this.logger.debug("{} custom images imported, {} files remaining", importedImageCount, this.remainingFileCount.get()); //$NON-NLS-1$
+            }
+        }
+        importedImageCount += this.save(batch);
+
+        long end = System.currentTimeMillis();
+        this.logger.info("{} custom images imported out of {} files in {}ms", importedImageCount, files.size(), end - start); //$NON-NLS-1$
+        return importedImageCount;
+    }
+
+    private int save(List<CustomImageEntity> batch) {
+        List<CustomImageEntity> newImages = new ArrayList<>(batch);
+        batch.clear();
+
+        while (!newImages.isEmpty()) {
+            List<UUID> imageIds = newImages.stream().map(CustomImageEntity::getId).collect(Collectors.toList());
+            try {
+                this.customImageRepository.saveAll(newImages);
+                this.applicationEventPublisher.publishEvent(new CustomImagesAddedEvent(imageIds));
+                this.importedCounter.increment(newImages.size());
+                return newImages.size();
+            } catch (DataIntegrityViolationException exception) {
+                Set<UUID> existingIds = new HashSet<>(this.customImageRepository.findExistingIds(imageIds));
+                if (existingIds.isEmpty()) {
+                    this.failedCounter.increment(newImages.size());
+                    this.logger.warn("Error saving {} custom images: {}", newImages.size(), exception.getMessage()); //$NON-NLS-1$
+                    return 0;
+                }
+
+                this.logger.debug("{} custom images have been imported concurrently", existingIds.size()); //$NON-NLS-1$
+                this.skippedCounter.increment(existingIds.size());
+                newImages = newImages.stream().filter(image -> !existingIds.contains(image.getId())).collect(Collectors.toList());
+            }
         }
+        return 0;
     }
 
-    private CustomImageEntity loadImageFile(Path imgPath) throws IOException {
+    /**
+     * Reads the given file, on one of the threads of the pool, and returns a new custom image if it is an image which
+     * is not already known.
+     */
+    private Optional<CustomImageEntity> loadImageFile(Path rootPath, Path imgPath, Set<UUID> knownIds) throws IOException {
+        String contentType = Files.probeContentType(imgPath);
+        if (contentType == null || !contentType.startsWith("image/")) { //$NON-NLS-1$
+            return Optional.empty();
+        }
+
+        byte[] content = Files.readAllBytes(imgPath);
+        UUID id = UUID.nameUUIDFromBytes(content);
+        if (!knownIds.add(id)) {
+            this.skippedCounter.increment();
+            return Optional.empty();
+        }
+
+        String fullLabel = rootPath.relativize(imgPath).toString().replace("/", " / "); //$NON-NLS-1$ //$NON-NLS-2$
+
         CustomImageEntity customImageEntity = new CustomImageEntity();
-        customImageEntity.setLabel(this.trimFileExtension(imgPath.getFileName().toString()));
-        customImageEntity.setContentType(Files.probeContentType(imgPath));
-        customImageEntity.setContent(Files.readAllBytes(imgPath));
-        customImageEntity.setId(UUID.nameUUIDFromBytes(customImageEntity.getContent()));
-        return customImageEntity;
+        customImageEntity.setId(id);
+        customImageEntity.setLabel(this.trimFileExtension(fullLabel));
+        customImageEntity.setContentType(contentType);
+        customImageEntity.setContent(content);
+        return Optional.of(customImageEntity);
     }
 
     private String trimFileExtension(String fileName) {
@@ -92,4 +260,10 @@ public class CustomImagesLoader implements CommandLineRunner {
             return fileName;
         }
     }
+
+    @Override
+    public void destroy() throws Exception {
+        this.coordinator.shutdownNow();
+        this.executor.shutdownNow();
+    }
 }
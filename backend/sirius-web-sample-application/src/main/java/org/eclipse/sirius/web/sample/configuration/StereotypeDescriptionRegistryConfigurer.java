@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -15,9 +15,12 @@ package org.eclipse.sirius.web.sample.configuration;
 import fr.obeo.dsl.designer.sample.flow.FlowFactory;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.sirius.components.core.configuration.IStereotypeDescriptionRegistry;
@@ -38,6 +41,11 @@ import io.micrometer.core.instrument.MeterRegistry;
 /**
  * Configuration used to register new stereotype descriptions.
  *
+ * <p>
+ * The content of the stereotypes which never changes is only computed the first time it is used. The documents created
+ * from a stereotype do not share the identifiers of its content since new identifiers are given to their objects.
+ * </p>
+ *
  * @author sbegaudeau
  */
 @Configuration
@@ -319,6 +327,11 @@ public class StereotypeDescriptionRegistryConfigurer implements IStereotypeDescr
 
     private final boolean studiosEnabled;
 
+    /**
+     * The content of the stereotypes already computed by stereotype id.
+     */
+    private final Map<UUID, String> contents = new ConcurrentHashMap<>();
+
     public StereotypeDescriptionRegistryConfigurer(MeterRegistry meterRegistry, @Value("${org.eclipse.sirius.web.features.studioDefinition:false}") boolean studiosEnabled, Environment environment) {
         this.environment = Objects.requireNonNull(environment);
         this.stereotypeBuilder = new StereotypeBuilder(TIMER_NAME, meterRegistry);
@@ -328,14 +341,22 @@ public class StereotypeDescriptionRegistryConfigurer implements IStereotypeDescr
 
     @Override
     public void addStereotypeDescriptions(IStereotypeDescriptionRegistry registry) {
-        registry.add(new StereotypeDescription(EMPTY_FLOW_ID, EMPTY_FLOW_LABEL, this::getEmptyFlowContent));
+        registry.add(new StereotypeDescription(EMPTY_FLOW_ID, EMPTY_FLOW_LABEL, this.memoize(EMPTY_FLOW_ID, this::getEmptyFlowContent)));
         if (this.studiosEnabled) {
             registry.add(new StereotypeDescription(EMPTY_DOMAIN_ID, EMPTY_DOMAIN_LABEL, this::getEmptyDomainContent));
-            registry.add(new StereotypeDescription(EMPTY_VIEW_ID, EMPTY_VIEW_LABEL, this::getEmptyViewContent));
+            registry.add(new StereotypeDescription(EMPTY_VIEW_ID, EMPTY_VIEW_LABEL, this.memoize(EMPTY_VIEW_ID, this::getEmptyViewContent)));
         }
-        registry.add(new StereotypeDescription(ROBOT_FLOW_ID, ROBOT_FLOW_LABEL, this::getRobotFlowContent));
-        registry.add(new StereotypeDescription(BIG_GUY_FLOW_ID, BIG_GUY_FLOW_LABEL, this::getBigGuyFlowContent));
-        registry.add(new StereotypeDescription(EMPTY_ID, EMPTY_LABEL, "New", this::getEmptyContent)); //$NON-NLS-1$
+        registry.add(new StereotypeDescription(ROBOT_FLOW_ID, ROBOT_FLOW_LABEL, this.memoize(ROBOT_FLOW_ID, this::getRobotFlowContent)));
+        registry.add(new StereotypeDescription(BIG_GUY_FLOW_ID, BIG_GUY_FLOW_LABEL, this.memoize(BIG_GUY_FLOW_ID, this::getBigGuyFlowContent)));
+        registry.add(new StereotypeDescription(EMPTY_ID, EMPTY_LABEL, "New", this.memoize(EMPTY_ID, this::getEmptyContent))); //$NON-NLS-1$
+    }
+
+    /**
+     * Returns a supplier computing the content of the stereotype with the given id only once, the content of the
+     * stereotype of domains is not memoized since it is given a random name.
+     */
+    private Supplier<String> memoize(UUID stereotypeId, Supplier<String> contentSupplier) {
+        return () -> this.contents.computeIfAbsent(stereotypeId, id -> contentSupplier.get());
     }
 
     private String getEmptyDomainContent() {
@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.eclipse.sirius.web.persistence.entities.CustomImageEntity;
+import org.eclipse.sirius.web.persistence.projections.CustomImageMetadataProjection;
+import org.eclipse.sirius.web.persistence.repositories.ICustomImageRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests of the custom images loader.
+ *
+ * @author sbegaudeau
+ */
+public class CustomImagesLoaderTests {
+
+    private static final String COUNTER_NAME = "siriusweb_customimages_loader"; //$NON-NLS-1$
+
+    private static final String RESULT = "result"; //$NON-NLS-1$
+
+    private static final String SKIPPED = "skipped"; //$NON-NLS-1$
+
+    @TempDir
+    Path rootPath;
+
+    @Test
+    public void testKnownImagesSkipped() throws Exception {
+        this.createImage("known.png", "known"); //$NON-NLS-1$ //$NON-NLS-2$
+        this.createImage("new.png", "new"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        InMemoryCustomImageRepository customImageRepository = new InMemoryCustomImageRepository();
+        customImageRepository.insert(this.getId("known")); //$NON-NLS-1$
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        List<Object> events = new ArrayList<>();
+
+        assertThat(this.importAllImages(customImageRepository, events, meterRegistry, 10)).isEqualTo(1);
+        assertThat(customImageRepository.getLabels()).containsExactlyInAnyOrder(null, "new"); //$NON-NLS-1$
+        assertThat(meterRegistry.get(COUNTER_NAME).tag(RESULT, SKIPPED).counter().count()).isEqualTo(1);
+        assertThat(events).hasSize(1);
+    }
+
+    @Test
+    public void testImagesWithTheSameContentImportedOnce() throws Exception {
+        this.createImage("first.png", "same"); //$NON-NLS-1$ //$NON-NLS-2$
+        this.createImage("folder/second.png", "same"); //$NON-NLS-1$ //$NON-NLS-2$
+        this.createImage("notes.txt", "not an image"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        InMemoryCustomImageRepository customImageRepository = new InMemoryCustomImageRepository();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        assertThat(this.importAllImages(customImageRepository, new ArrayList<>(), meterRegistry, 10)).isEqualTo(1);
+        assertThat(customImageRepository.getIds()).containsExactly(this.getId("same")); //$NON-NLS-1$
+        assertThat(meterRegistry.get(COUNTER_NAME).tag(RESULT, SKIPPED).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testImagesSavedInBatches() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            this.createImage("image-" + i + ".png", "content-" + i); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+
+        InMemoryCustomImageRepository customImageRepository = new InMemoryCustomImageRepository();
+        List<Object> events = new ArrayList<>();
+
+        assertThat(this.importAllImages(customImageRepository, events, new SimpleMeterRegistry(), 2)).isEqualTo(5);
+        assertThat(customImageRepository.getIds()).hasSize(5);
+        assertThat(customImageRepository.getBatchSizes()).containsExactly(2, 2, 1);
+        assertThat(events).hasSize(3);
+    }
+
+    @Test
+    public void testImagesInsertedConcurrentlySkipped() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            this.createImage("image-" + i + ".png", "content-" + i); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+
+        // Another node inserts one of the images once the known ids have been retrieved
+        InMemoryCustomImageRepository customImageRepository = new InMemoryCustomImageRepository();
+        customImageRepository.insertAfterFindAllIds(this.getId("content-1")); //$NON-NLS-1$
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        assertThat(this.importAllImages(customImageRepository, new ArrayList<>(), meterRegistry, 2)).isEqualTo(3);
+        assertThat(customImageRepository.getIds()).hasSize(4);
+        assertThat(meterRegistry.get(COUNTER_NAME).tag(RESULT, SKIPPED).counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(COUNTER_NAME).tag(RESULT, "failed").counter().count()).isZero(); //$NON-NLS-1$
+    }
+
+    private int importAllImages(ICustomImageRepository customImageRepository, List<Object> events, SimpleMeterRegistry meterRegistry, int batchSize) throws Exception {
+        CustomImagesLoader customImagesLoader = new CustomImagesLoader(customImageRepository, events::add, meterRegistry, 2, batchSize);
+        try {
+            return customImagesLoader.importAllImages(this.rootPath);
+        } finally {
+            customImagesLoader.destroy();
+        }
+    }
+
+    private void createImage(String path, String content) throws IOException {
+        Path file = this.rootPath.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private UUID getId(String content) {
+        return UUID.nameUUIDFromBytes(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Keeps the custom images in memory and rejects a whole batch if one of its images already exists, like the
+     * database.
+     *
+     * @author sbegaudeau
+     */
+    private static final class InMemoryCustomImageRepository implements ICustomImageRepository {
+
+        private final Map<UUID, String> labels = Collections.synchronizedMap(new LinkedHashMap<>());
+
+        private final List<Integer> batchSizes = new ArrayList<>();
+
+        private final List<UUID> concurrentIds = new ArrayList<>();
+
+        public void insert(UUID id) {
+            this.labels.put(id, null);
+        }
+
+        public void insertAfterFindAllIds(UUID id) {
+            this.concurrentIds.add(id);
+        }
+
+        public List<UUID> getIds() {
+            return new ArrayList<>(this.labels.keySet());
+        }
+
+        public List<String> getLabels() {
+            return new ArrayList<>(this.labels.values());
+        }
+
+        public List<Integer> getBatchSizes() {
+            return this.batchSizes;
+        }
+
+        @Override
+        public List<UUID> findAllIds() {
+            List<UUID> ids = this.getIds();
+            this.concurrentIds.forEach(this::insert);
+            return ids;
+        }
+
+        @Override
+        public List<UUID> findExistingIds(Collection<UUID> ids) {
+            return ids.stream().filter(this.labels::containsKey).collect(Collectors.toList());
+        }
+
+        @Override
+        public <S extends CustomImageEntity> Iterable<S> saveAll(Iterable<S> entities) {
+            List<S> images = new ArrayList<>();
+            entities.forEach(images::add);
+            if (images.stream().map(CustomImageEntity::getId).anyMatch(this.labels::containsKey)) {
+                throw new DataIntegrityViolationException("duplicate key value violates unique constraint"); //$NON-NLS-1$
+            }
+            images.forEach(image -> this.labels.put(image.getId(), image.getLabel()));
+            this.batchSizes.add(images.size());
+            return images;
+        }
+
+        @Override
+        public Iterable<CustomImageEntity> findAll(Sort sort) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public Page<CustomImageEntity> findAll(Pageable pageable) {
+            return Page.empty();
+        }
+
+        @Override
+        public <S extends CustomImageEntity> S save(S entity) {
+            return entity;
+        }
+
+        @Override
+        public Optional<CustomImageEntity> findById(UUID id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public boolean existsById(UUID id) {
+            return this.labels.containsKey(id);
+        }
+
+        @Override
+        public List<CustomImageEntity> findAll() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public Iterable<CustomImageEntity> findAllById(Iterable<UUID> ids) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public long count() {
+            return this.labels.size();
+        }
+
+        @Override
+        public void deleteById(UUID id) {
+        }
+
+        @Override
+        public void delete(CustomImageEntity entity) {
+        }
+
+        @Override
+        public void deleteAll(Iterable<? extends CustomImageEntity> entities) {
+        }
+
+        @Override
+        public void deleteAll() {
+        }
+
+        @Override
+        public void deleteAllById(Iterable<? extends UUID> ids) {
+        }
+
+        @Override
+        public List<CustomImageMetadataProjection> findAllMetadata() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public Page<CustomImageMetadataProjection> findAllMetadataByLabel(String label, Pageable pageable) {
+            return Page.empty(pageable);
+        }
+    }
+}
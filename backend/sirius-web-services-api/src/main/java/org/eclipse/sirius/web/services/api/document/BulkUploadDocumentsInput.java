@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.api.document;
+
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.eclipse.sirius.components.core.api.IInput;
+import org.eclipse.sirius.components.graphql.api.UploadFile;
+
+/**
+ * The input used to create several documents from uploaded files at once.
+ *
+ * <p>
+ * All the documents are created in a single transaction and with a single change of the editing context, instead of
+ * one persistence of the editing context and one refresh of its representations per document.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public final class BulkUploadDocumentsInput implements IInput {
+
+    private final UUID id;
+
+    private final String editingContextId;
+
+    private final List<UploadFile> files;
+
+    private final boolean withObjectIdMapping;
+
+    public BulkUploadDocumentsInput(UUID id, String editingContextId, List<UploadFile> files) {
+        this(id, editingContextId, files, false);
+    }
+
+    public BulkUploadDocumentsInput(UUID id, String editingContextId, List<UploadFile> files, boolean withObjectIdMapping) {
+        this.id = Objects.requireNonNull(id);
+        this.editingContextId = Objects.requireNonNull(editingContextId);
+        this.files = Objects.requireNonNull(files);
+        this.withObjectIdMapping = withObjectIdMapping;
+    }
+
+    @Override
+    public UUID getId() {
+        return this.id;
+    }
+
+    public String getEditingContextId() {
+        return this.editingContextId;
+    }
+
+    public List<UploadFile> getFiles() {
+        return this.files;
+    }
+
+    /**
+     * Indicates if the payload should contain the mapping between the identifiers of the objects in the uploaded files
+     * and their new identifiers.
+     *
+     * @return <code>true</code> if the mapping of the identifiers of the objects should be returned
+     */
+    public boolean isWithObjectIdMapping() {
+        return this.withObjectIdMapping;
+    }
+
+    @Override
+    public String toString() {
+        String fileNames = this.files.stream().map(UploadFile::getName).collect(Collectors.joining(", ")); //$NON-NLS-1$
+        String pattern = "{0} '{'id: {1}, editingContextId: {2}, files: [{3}]'}'"; //$NON-NLS-1$
+        return MessageFormat.format(pattern, this.getClass().getSimpleName(), this.id, this.editingContextId, fileNames);
+    }
+
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.api.document;
+
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.eclipse.sirius.components.core.api.IPayload;
+
+/**
+ * The payload returned when several documents have been created from uploaded files.
+ *
+ * <p>
+ * The documents are in the same order as the files of the {@link BulkUploadDocumentsInput}. If it has been requested,
+ * the payload also contains the mapping between the identifiers of the objects in the uploaded files and their new
+ * identifiers.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public final class BulkUploadDocumentsSuccessPayload implements IPayload {
+
+    private final UUID id;
+
+    private final List<Document> documents;
+
+    private final Map<String, String> objectIdMapping;
+
+    public BulkUploadDocumentsSuccessPayload(UUID id, List<Document> documents, Map<String, String> objectIdMapping) {
+        this.id = Objects.requireNonNull(id);
+        this.documents = Objects.requireNonNull(documents);
+        this.objectIdMapping = Objects.requireNonNull(objectIdMapping);
+    }
+
+    @Override
+    public UUID getId() {
+        return this.id;
+    }
+
+    public List<Document> getDocuments() {
+        return this.documents;
+    }
+
+    public Map<String, String> getObjectIdMapping() {
+        return this.objectIdMapping;
+    }
+
+    @Override
+    public String toString() {
+        String pattern = "{0} '{'id: {1}, documents: {2}'}'"; //$NON-NLS-1$
+        return MessageFormat.format(pattern, this.getClass().getSimpleName(), this.id, this.documents.size());
+    }
+}
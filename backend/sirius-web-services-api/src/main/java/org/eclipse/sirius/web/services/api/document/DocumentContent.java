@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.api.document;
+
+import java.text.MessageFormat;
+import java.util.Objects;
+
+/**
+ * The name and the content of a document to create.
+ *
+ * @author sbegaudeau
+ */
+public final class DocumentContent {
+
+    private final String name;
+
+    private final String content;
+
+    public DocumentContent(String name, String content) {
+        this.name = Objects.requireNonNull(name);
+        this.content = Objects.requireNonNull(content);
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public String getContent() {
+        return this.content;
+    }
+
+    @Override
+    public String toString() {
+        String pattern = "{0} '{'name: {1}'}'"; //$NON-NLS-1$
+        return MessageFormat.format(pattern, this.getClass().getSimpleName(), this.name);
+    }
+}
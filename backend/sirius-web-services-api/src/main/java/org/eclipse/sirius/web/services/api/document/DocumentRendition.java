@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.api.document;
+
+import java.io.InputStream;
+import java.text.MessageFormat;
+import java.util.Objects;
+
+/**
+ * A document converted in a given kind of resource, ready to be downloaded.
+ *
+ * <p>
+ * The input stream is already opened and it must be closed by the caller.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public final class DocumentRendition {
+
+    private final String eTag;
+
+    private final long size;
+
+    private final InputStream inputStream;
+
+    public DocumentRendition(String eTag, long size, InputStream inputStream) {
+        this.eTag = Objects.requireNonNull(eTag);
+        this.size = size;
+        this.inputStream = Objects.requireNonNull(inputStream);
+    }
+
+    public String getETag() {
+        return this.eTag;
+    }
+
+    public long getSize() {
+        return this.size;
+    }
+
+    public InputStream getInputStream() {
+        return this.inputStream;
+    }
+
+    @Override
+    public String toString() {
+        String pattern = "{0} '{'eTag: {1}, size: {2}'}'"; //$NON-NLS-1$
+        return MessageFormat.format(pattern, this.getClass().getSimpleName(), this.eTag, this.size);
+    }
+}
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.api.document;
+
+import java.util.Optional;
+
+/**
+ * Service used to convert documents in a given kind of resource in order to download them.
+ *
+ * @author sbegaudeau
+ */
+public interface IDocumentRenditionService {
+
+    /**
+     * Returns the entity tag of the given document converted in the given kind of resource.
+     *
+     * <p>
+     * It only depends on the name and on the content of the document, it can thus be computed without converting the
+     * document and it changes as soon as the document is modified.
+     * </p>
+     *
+     * @param document
+     *            The document
+     * @param resourceKind
+     *            The kind of resource
+     * @return The entity tag, without quotes
+     */
+    String getETag(Document document, String resourceKind);
+
+    /**
+     * Returns the given document converted in the given kind of resource.
+     *
+     * @param document
+     *            The document
+     * @param resourceKind
+     *            The kind of resource
+     * @return The converted document or {@link Optional#empty()} if it could not be converted
+     */
+    Optional<DocumentRendition> getRendition(Document document, String resourceKind);
+
+    /**
+     * Implementation which does nothing, used for mocks in unit tests.
+     *
+     * @author sbegaudeau
+     */
+    class NoOp implements IDocumentRenditionService {
+
+        @Override
+        public String getETag(Document document, String resourceKind) {
+            return ""; //$NON-NLS-1$
+        }
+
+        @Override
+        public Optional<DocumentRendition> getRendition(Document document, String resourceKind) {
+            return Optional.empty();
+        }
+
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,6 +12,8 @@
  *******************************************************************************/
 package org.eclipse.sirius.web.services.api.document;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -29,6 +31,18 @@ public interface IDocumentService {
 
     Optional<Document> createDocument(String projectId, String name, String content);
 
+    /**
+     * Creates all the given documents in a single transaction.
+     *
+     * @param projectId
+     *            The identifier of the project
+     * @param documentContents
+     *            The name and the content of the documents to create
+     * @return The documents created, in the same order as the given contents, or an empty list if the project does not
+     *         exist
+     */
+    List<Document> createDocuments(String projectId, List<DocumentContent> documentContents);
+
     Optional<Document> getDocument(UUID documentId);
 
     Optional<Document> getDocument(String projectId, UUID documentId);
@@ -39,6 +53,22 @@ public interface IDocumentService {
 
     Optional<byte[]> getBytes(Document document, String resourceKind);
 
+    /**
+     * Writes the content of the given document in the given kind of resource.
+     *
+     * @param document
+     *            The document
+     * @param resourceKind
+     *            The kind of resource, {@link #RESOURCE_KIND_JSON} or {@link #RESOURCE_KIND_XMI}
+     * @param outputStream
+     *            The output stream in which the document is written, it is not closed
+     * @return <code>true</code> if the document has been written, <code>false</code> if the kind of resource is not
+     *         supported
+     * @throws IOException
+     *             If the document cannot be read or written
+     */
+    boolean write(Document document, String resourceKind, OutputStream outputStream) throws IOException;
+
     Optional<Document> rename(UUID documentId, String newName);
 
     /**
@@ -53,6 +83,11 @@ public interface IDocumentService {
             return Optional.empty();
         }
 
+        @Override
+        public List<Document> createDocuments(String projectId, List<DocumentContent> documentContents) {
+            return List.of();
+        }
+
         @Override
         public Optional<Document> getDocument(UUID documentId) {
             return Optional.empty();
@@ -77,6 +112,11 @@ public interface IDocumentService {
             return Optional.empty();
         }
 
+        @Override
+        public boolean write(Document document, String resourceKind, OutputStream outputStream) throws IOException {
+            return false;
+        }
+
         @Override
         public Optional<Document> rename(UUID documentId, String newName) {
             return Optional.empty();
@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.api.editingcontext;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Used to load the editing context of some projects in the background before they are opened.
+ *
+ * @author sbegaudeau
+ */
+public interface IEditingContextPrewarmingService {
+
+    /**
+     * Asks for the editing context of the most likely to be opened projects among the given ones to be loaded in the
+     * background. This method never blocks the caller.
+     *
+     * @param projectIds
+     *            The identifiers of the projects which are about to be displayed to the user
+     */
+    void prewarm(List<UUID> projectIds);
+
+    /**
+     * Implementation which does nothing, used for mocks in unit tests.
+     *
+     * @author sbegaudeau
+     */
+    class NoOp implements IEditingContextPrewarmingService {
+
+        @Override
+        public void prewarm(List<UUID> projectIds) {
+        }
+
+    }
+}
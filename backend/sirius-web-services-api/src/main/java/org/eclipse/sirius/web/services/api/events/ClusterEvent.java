@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.api.events;
+
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * An internal event indicating that a change has been performed on another node of the cluster.
+ *
+ * <p>
+ * It is only published for the changes performed on other nodes in order to let each node invalidate or reload the
+ * data it keeps in memory. The identifiers of the objects impacted (documents or representations) may be empty if the
+ * change impacts the whole project or if there were too many of them to be propagated.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class ClusterEvent {
+    private final String nodeId;
+
+    private final ClusterEventKind kind;
+
+    private final UUID projectId;
+
+    private final List<String> objectIds;
+
+    private final long sentOn;
+
+    public ClusterEvent(String nodeId, ClusterEventKind kind, UUID projectId, List<String> objectIds, long sentOn) {
+        this.nodeId = Objects.requireNonNull(nodeId);
+        this.kind = Objects.requireNonNull(kind);
+        this.projectId = Objects.requireNonNull(projectId);
+        this.objectIds = List.copyOf(Objects.requireNonNull(objectIds));
+        this.sentOn = sentOn;
+    }
+
+    public String getNodeId() {
+        return this.nodeId;
+    }
+
+    public ClusterEventKind getKind() {
+        return this.kind;
+    }
+
+    public UUID getProjectId() {
+        return this.projectId;
+    }
+
+    public List<String> getObjectIds() {
+        return this.objectIds;
+    }
+
+    public long getSentOn() {
+        return this.sentOn;
+    }
+
+    @Override
+    public String toString() {
+        String pattern = "{0} '{' nodeId: {1}, kind: {2}, projectId: {3}, objectIds: {4} '}'"; //$NON-NLS-1$
+        return MessageFormat.format(pattern, this.getClass().getSimpleName(), this.nodeId, this.kind, this.projectId, this.objectIds);
+    }
+}
@@ -0,0 +1,22 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.api.events;
+
+/**
+ * The kind of changes propagated to the other nodes of the cluster.
+ *
+ * @author sbegaudeau
+ */
+public enum ClusterEventKind {
+    DOCUMENTS_MODIFIED, PROJECT_DELETED, PROJECT_RENAMED, REPRESENTATIONS_MODIFIED
+}
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.api.events;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * An internal event indicating that a project has been renamed.
+ *
+ * @author sbegaudeau
+ */
+public class ProjectRenamedEvent {
+    private final UUID projectId;
+
+    private final String newName;
+
+    public ProjectRenamedEvent(UUID projectId, String newName) {
+        this.projectId = Objects.requireNonNull(projectId);
+        this.newName = Objects.requireNonNull(newName);
+    }
+
+    public UUID getProjectId() {
+        return this.projectId;
+    }
+
+    public String getNewName() {
+        return this.newName;
+    }
+
+}
@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.api.events;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * An internal event indicating that some representations of a project have been persisted or deleted.
+ *
+ * @author sbegaudeau
+ */
+public class RepresentationsModifiedEvent {
+    private final UUID projectId;
+
+    private final List<UUID> representationIds;
+
+    public RepresentationsModifiedEvent(UUID projectId, List<UUID> representationIds) {
+        this.projectId = Objects.requireNonNull(projectId);
+        this.representationIds = List.copyOf(Objects.requireNonNull(representationIds));
+    }
+
+    public UUID getProjectId() {
+        return this.projectId;
+    }
+
+    public List<UUID> getRepresentationIds() {
+        return this.representationIds;
+    }
+
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.api.images;
+
+import java.text.MessageFormat;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * The content of a custom image along with its content type.
+ *
+ * @author sbegaudeau
+ */
+public final class CustomImageContent {
+
+    private final UUID id;
+
+    private final String contentType;
+
+    private final byte[] content;
+
+    public CustomImageContent(UUID id, String contentType, byte[] content) {
+        this.id = Objects.requireNonNull(id);
+        this.contentType = Objects.requireNonNull(contentType);
+        this.content = Objects.requireNonNull(content);
+    }
+
+    public UUID getId() {
+        return this.id;
+    }
+
+    public String getContentType() {
+        return this.contentType;
+    }
+
+    public byte[] getContent() {
+        return this.content;
+    }
+
+    @Override
+    public String toString() {
+        String pattern = "{0} '{'id: {1}, contentType: {2}, size: {3}'}'"; //$NON-NLS-1$
+        return MessageFormat.format(pattern, this.getClass().getSimpleName(), this.id, this.contentType, this.content.length);
+    }
+}
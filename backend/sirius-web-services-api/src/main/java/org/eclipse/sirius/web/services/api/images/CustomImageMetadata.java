@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.api.images;
+
+import java.text.MessageFormat;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * The metadata of a custom image, without its content.
+ *
+ * @author sbegaudeau
+ */
+public final class CustomImageMetadata {
+
+    private final UUID id;
+
+    private final String label;
+
+    private final String contentType;
+
+    public CustomImageMetadata(UUID id, String label, String contentType) {
+        this.id = Objects.requireNonNull(id);
+        this.label = Objects.requireNonNull(label);
+        this.contentType = Objects.requireNonNull(contentType);
+    }
+
+    public UUID getId() {
+        return this.id;
+    }
+
+    public String getLabel() {
+        return this.label;
+    }
+
+    public String getContentType() {
+        return this.contentType;
+    }
+
+    @Override
+    public String toString() {
+        String pattern = "{0} '{'id: {1}, label: {2}, contentType: {3}'}'"; //$NON-NLS-1$
+        return MessageFormat.format(pattern, this.getClass().getSimpleName(), this.id, this.label, this.contentType);
+    }
+}
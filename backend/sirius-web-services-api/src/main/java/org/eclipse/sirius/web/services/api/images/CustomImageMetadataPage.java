@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.api.images;
+
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A page of custom images.
+ *
+ * @author sbegaudeau
+ */
+public final class CustomImageMetadataPage {
+
+    private final List<CustomImageMetadata> images;
+
+    private final int page;
+
+    private final boolean hasNextPage;
+
+    private final long count;
+
+    public CustomImageMetadataPage(List<CustomImageMetadata> images, int page, boolean hasNextPage, long count) {
+        this.images = Objects.requireNonNull(images);
+        this.page = page;
+        this.hasNextPage = hasNextPage;
+        this.count = count;
+    }
+
+    public List<CustomImageMetadata> getImages() {
+        return this.images;
+    }
+
+    public int getPage() {
+        return this.page;
+    }
+
+    public boolean hasNextPage() {
+        return this.hasNextPage;
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+
+    @Override
+    public String toString() {
+        String pattern = "{0} '{'page: {1}, size: {2}, count: {3}'}'"; //$NON-NLS-1$
+        return MessageFormat.format(pattern, this.getClass().getSimpleName(), this.page, this.images.size(), this.count);
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Obeo.
+ * Copyright (c) 2021, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -22,6 +22,28 @@ import java.util.UUID;
  */
 public interface ICustomImageContentService {
 
+    /**
+     * Returns both the content and the content type of the given custom image.
+     *
+     * @param editingContextId
+     *            The id of the editing context
+     * @param imageId
+     *            The id of the custom image
+     * @return The content of the image or {@link Optional#empty()} if it does not exist
+     */
+    Optional<CustomImageContent> getImageContent(String editingContextId, UUID imageId);
+
+    /**
+     * Indicates if the given custom image exists, without loading its content if it is not known yet.
+     *
+     * @param editingContextId
+     *            The id of the editing context
+     * @param imageId
+     *            The id of the custom image
+     * @return <code>true</code> if the image exists, <code>false</code> otherwise
+     */
+    boolean exists(String editingContextId, UUID imageId);
+
     Optional<byte[]> getImageContentById(String editingContextId, UUID imageId);
 
     Optional<String> getImageContentTypeById(String editingContextId, UUID imageId);
@@ -33,6 +55,16 @@ public interface ICustomImageContentService {
      */
     class NoOp implements ICustomImageContentService {
 
+        @Override
+        public Optional<CustomImageContent> getImageContent(String editingContextId, UUID imageId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public boolean exists(String editingContextId, UUID imageId) {
+            return false;
+        }
+
         @Override
         public Optional<byte[]> getImageContentById(String editingContextId, UUID imageId) {
             return Optional.empty();
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.api.images;
+
+import java.util.List;
+
+/**
+ * Service used to browse the custom images without loading their content, for example in an image picker.
+ *
+ * @author sbegaudeau
+ */
+public interface ICustomImageMetadataService {
+
+    /**
+     * Returns a page of the custom images whose label contains the given text, sorted by label.
+     *
+     * @param editingContextId
+     *            The id of the editing context
+     * @param label
+     *            The text to search in the labels, ignoring the case, an empty text matches all the images
+     * @param page
+     *            The index of the page, starting at 0
+     * @param size
+     *            The maximum number of images in the page
+     * @return The page of images
+     */
+    CustomImageMetadataPage findImages(String editingContextId, String label, int page, int size);
+
+    /**
+     * Implementation which does nothing, used for mocks in unit tests.
+     *
+     * @author sbegaudeau
+     */
+    class NoOp implements ICustomImageMetadataService {
+
+        @Override
+        public CustomImageMetadataPage findImages(String editingContextId, String label, int page, int size) {
+            return new CustomImageMetadataPage(List.of(), page, false, 0);
+        }
+
+    }
+}
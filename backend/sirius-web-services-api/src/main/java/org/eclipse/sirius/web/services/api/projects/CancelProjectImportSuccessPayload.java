@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.api.projects;
+
+import java.text.MessageFormat;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.eclipse.sirius.components.core.api.IPayload;
+
+/**
+ * The payload of the mutation used to cancel the import of a project.
+ *
+ * <p>
+ * The cancellation is asynchronous, the import will stop as soon as possible and its progress will then have the
+ * status {@link ProjectImportStatus#CANCELLED}.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public final class CancelProjectImportSuccessPayload implements IPayload {
+    private final UUID id;
+
+    private final UUID jobId;
+
+    public CancelProjectImportSuccessPayload(UUID id, UUID jobId) {
+        this.id = Objects.requireNonNull(id);
+        this.jobId = Objects.requireNonNull(jobId);
+    }
+
+    @Override
+    public UUID getId() {
+        return this.id;
+    }
+
+    public UUID getJobId() {
+        return this.jobId;
+    }
+
+    @Override
+    public String toString() {
+        String pattern = "{0} '{'id: {1}, jobId: {2}'}'"; //$NON-NLS-1$
+        return MessageFormat.format(pattern, this.getClass().getSimpleName(), this.id, this.jobId);
+    }
+}
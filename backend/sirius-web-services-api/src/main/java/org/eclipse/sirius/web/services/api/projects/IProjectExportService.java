@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,6 +12,8 @@
  *******************************************************************************/
 package org.eclipse.sirius.web.services.api.projects;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.UUID;
 
 /**
@@ -23,6 +25,19 @@ public interface IProjectExportService {
 
     byte[] exportProjectAsZip(UUID projectId);
 
+    /**
+     * Writes the zip of the given project in the given output stream while its documents and representations are
+     * retrieved one at a time, so that the export of a project never requires the whole zip to be kept in memory.
+     *
+     * @param projectId
+     *            The id of the project to export
+     * @param outputStream
+     *            The output stream in which the zip will be written
+     * @throws IOException
+     *             if an I/O error occurred while writing the zip
+     */
+    void exportProject(UUID projectId, OutputStream outputStream) throws IOException;
+
     /**
      * Implementation which does nothing, used for mocks in unit tests.
      *
@@ -35,6 +50,10 @@ public interface IProjectExportService {
             return new byte[0];
         }
 
+        @Override
+        public void exportProject(UUID projectId, OutputStream outputStream) throws IOException {
+        }
+
     }
 
 }
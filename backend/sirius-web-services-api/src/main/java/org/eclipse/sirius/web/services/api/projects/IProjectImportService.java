@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,18 +12,62 @@
  *******************************************************************************/
 package org.eclipse.sirius.web.services.api.projects;
 
+import java.util.Optional;
 import java.util.UUID;
 
 import org.eclipse.sirius.components.core.api.IPayload;
 import org.eclipse.sirius.components.graphql.api.UploadFile;
 
+import reactor.core.publisher.Flux;
+
 /**
  * Service used to import a project.
  *
+ * <p>
+ * Projects are imported in the background by a limited number of threads. The uploaded archive is copied before the
+ * import is scheduled so that it can be read once the request which has uploaded it is over.
+ * </p>
+ *
  * @author gcoutable
  */
 public interface IProjectImportService {
 
+    /**
+     * Schedules the import of the project in the given archive.
+     *
+     * @param inputId
+     *            The identifier of the input which has triggered the import
+     * @param file
+     *            The archive of the project
+     * @return {@link ImportProjectSuccessPayload} with the identifier of the import job if it has been scheduled,
+     *         an error payload otherwise
+     */
     IPayload importProject(UUID inputId, UploadFile file);
 
+    /**
+     * Returns the progress of the given import job.
+     *
+     * <p>
+     * The last progress known is replayed to new subscribers and the flux completes once the import is over.
+     * </p>
+     *
+     * @param jobId
+     *            The identifier of the import job
+     * @return The progress of the import or {@link Optional#empty()} if the job is unknown or if it has been started by
+     *         another user
+     */
+    Optional<Flux<ProjectImportProgress>> getProgress(UUID jobId);
+
+    /**
+     * Cancels the given import job.
+     *
+     * @param inputId
+     *            The identifier of the input which has triggered the cancellation
+     * @param jobId
+     *            The identifier of the import job
+     * @return {@link CancelProjectImportSuccessPayload} if the job will be cancelled, an error payload if it is unknown,
+     *         started by another user or already over
+     */
+    IPayload cancelImport(UUID inputId, UUID jobId);
+
 }
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.api.projects;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service used to make sure that the editing context of a project lives on a single node of the cluster.
+ *
+ * @author sbegaudeau
+ */
+public interface IProjectOwnershipService {
+
+    /**
+     * Acquires or renews the ownership of the given project for the current node.
+     *
+     * @return <code>true</code> if the current node owns the project, <code>false</code> if it is owned by another
+     *         node
+     */
+    boolean acquireOwnership(UUID projectId);
+
+    /**
+     * Returns the URL of the node owning the given project if it is not the current node.
+     */
+    Optional<String> getRemoteOwnerURL(UUID projectId);
+
+    /**
+     * Indicates if the current node still holds the lease it has acquired on the given project. The changes performed
+     * by a node which has lost the ownership of a project must not be persisted.
+     */
+    boolean isOwner(UUID projectId);
+
+    /**
+     * Implementation which does nothing, used for mocks in unit tests.
+     *
+     * @author sbegaudeau
+     */
+    class NoOp implements IProjectOwnershipService {
+
+        @Override
+        public boolean acquireOwnership(UUID projectId) {
+            return true;
+        }
+
+        @Override
+        public Optional<String> getRemoteOwnerURL(UUID projectId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public boolean isOwner(UUID projectId) {
+            return true;
+        }
+
+    }
+}
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.api.projects;
+
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.eclipse.sirius.components.annotations.Immutable;
+
+/**
+ * A snapshot of the progress of the import of a project running in the background.
+ *
+ * <p>
+ * The number of bytes read is the number of uncompressed bytes read from the archive. The identifier of the project is
+ * only available once the project has been imported.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@Immutable
+public final class ProjectImportProgress {
+
+    private UUID jobId;
+
+    private ProjectImportStatus status;
+
+    private long bytesRead;
+
+    private int documentCount;
+
+    private int processedDocumentCount;
+
+    private int representationCount;
+
+    private int processedRepresentationCount;
+
+    private UUID projectId;
+
+    private List<String> errors;
+
+    private ProjectImportProgress() {
+        // Prevent instantiation
+    }
+
+    public UUID getJobId() {
+        return this.jobId;
+    }
+
+    public ProjectImportStatus getStatus() {
+        return this.status;
+    }
+
+    public long getBytesRead() {
+        return this.bytesRead;
+    }
+
+    public int getDocumentCount() {
+        return this.documentCount;
+    }
+
+    public int getProcessedDocumentCount() {
+        return this.processedDocumentCount;
+    }
+
+    public int getRepresentationCount() {
+        return this.representationCount;
+    }
+
+    public int getProcessedRepresentationCount() {
+        return this.processedRepresentationCount;
+    }
+
+    public Optional<UUID> getProjectId() {
+        return Optional.ofNullable(this.projectId);
+    }
+
+    public List<String> getErrors() {
+        return this.errors;
+    }
+
+    public static Builder newProjectImportProgress(UUID jobId) {
+        return new Builder(jobId);
+    }
+
+    @Override
+    public String toString() {
+        String pattern = "{0} '{'jobId: {1}, status: {2}, bytesRead: {3}, documents: {4}/{5}, representations: {6}/{7}'}'"; //$NON-NLS-1$
+        return MessageFormat.format(pattern, this.getClass().getSimpleName(), this.jobId, this.status, this.bytesRead, this.processedDocumentCount, this.documentCount,
+                this.processedRepresentationCount, this.representationCount);
+    }
+
+    /**
+     * The builder used to create the progress of an import.
+     *
+     * @author sbegaudeau
+     */
+    @SuppressWarnings("checkstyle:HiddenField")
+    public static final class Builder {
+        private UUID jobId;
+
+        private ProjectImportStatus status;
+
+        private long bytesRead;
+
+        private int documentCount;
+
+        private int processedDocumentCount;
+
+        private int representationCount;
+
+        private int processedRepresentationCount;
+
+        private UUID projectId;
+
+        private List<String> errors = List.of();
+
+        private Builder(UUID jobId) {
+            this.jobId = Objects.requireNonNull(jobId);
+        }
+
+        public Builder status(ProjectImportStatus status) {
+            this.status = Objects.requireNonNull(status);
+            return this;
+        }
+
+        public Builder bytesRead(long bytesRead) {
+            this.bytesRead = bytesRead;
+            return this;
+        }
+
+        public Builder documentCount(int documentCount) {
+            this.documentCount = documentCount;
+            return this;
+        }
+
+        public Builder processedDocumentCount(int processedDocumentCount) {
+            this.processedDocumentCount = processedDocumentCount;
+            return this;
+        }
+
+        public Builder representationCount(int representationCount) {
+            this.representationCount = representationCount;
+            return this;
+        }
+
+        public Builder processedRepresentationCount(int processedRepresentationCount) {
+            this.processedRepresentationCount = processedRepresentationCount;
+            return this;
+        }
+
+        public Builder projectId(UUID projectId) {
+            this.projectId = Objects.requireNonNull(projectId);
+            return this;
+        }
+
+        public Builder errors(List<String> errors) {
+            this.errors = List.copyOf(errors);
+            return this;
+        }
+
+        public ProjectImportProgress build() {
+            ProjectImportProgress progress = new ProjectImportProgress();
+            progress.jobId = Objects.requireNonNull(this.jobId);
+            progress.status = Objects.requireNonNull(this.status);
+            progress.bytesRead = this.bytesRead;
+            progress.documentCount = this.documentCount;
+            progress.processedDocumentCount = this.processedDocumentCount;
+            progress.representationCount = this.representationCount;
+            progress.processedRepresentationCount = this.processedRepresentationCount;
+            progress.projectId = this.projectId;
+            progress.errors = Objects.requireNonNull(this.errors);
+            return progress;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.api.projects;
+
+import java.text.MessageFormat;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.eclipse.sirius.components.core.api.IPayload;
+
+/**
+ * The payload sent to the subscribers of the import of a project each time it progresses.
+ *
+ * @author sbegaudeau
+ */
+public final class ProjectImportProgressPayload implements IPayload {
+    private final UUID id;
+
+    private final ProjectImportProgress progress;
+
+    public ProjectImportProgressPayload(UUID id, ProjectImportProgress progress) {
+        this.id = Objects.requireNonNull(id);
+        this.progress = Objects.requireNonNull(progress);
+    }
+
+    @Override
+    public UUID getId() {
+        return this.id;
+    }
+
+    public ProjectImportProgress getProgress() {
+        return this.progress;
+    }
+
+    @Override
+    public String toString() {
+        String pattern = "{0} '{'id: {1}, progress: {2}'}'"; //$NON-NLS-1$
+        return MessageFormat.format(pattern, this.getClass().getSimpleName(), this.id, this.progress);
+    }
+}
@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.api.projects;
+
+/**
+ * The status of the import of a project running in the background.
+ *
+ * @author sbegaudeau
+ */
+public enum ProjectImportStatus {
+    /**
+     * The import is waiting for a thread to be available.
+     */
+    PENDING,
+    /**
+     * The import is running.
+     */
+    RUNNING,
+    /**
+     * The project has been imported.
+     */
+    SUCCEEDED,
+    /**
+     * The project could not be imported, nothing has been kept.
+     */
+    FAILED,
+    /**
+     * The import has been cancelled, nothing has been kept.
+     */
+    CANCELLED;
+
+    public boolean isTerminal() {
+        return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -20,11 +20,15 @@ import java.util.Objects;
 
 import org.eclipse.sirius.components.annotations.Immutable;
 import org.eclipse.sirius.components.graphql.api.UploadFile;
-import org.eclipse.sirius.web.services.api.representations.RepresentationDescriptor;
 
 /**
  * Data class for project that has been unzipped with {@link ProjectUnzipper}.
  *
+ * <p>
+ * The representation descriptors are kept as files, in their serialized form, in order to import their content
+ * directly without deserializing the representations.
+ * </p>
+ *
  * @author gcoutable
  */
 @Immutable
@@ -32,7 +36,7 @@ public final class UnzippedProject {
 
     private String projectName;
 
-    private List<RepresentationDescriptor> representationDescriptors = new ArrayList<>();
+    private List<UploadFile> representationDescriptorFiles = new ArrayList<>();
 
     private Map<String, UploadFile> documentIdToUploadFile = new HashMap<>();
 
@@ -46,8 +50,8 @@ public final class UnzippedProject {
         return this.projectName;
     }
 
-    public List<RepresentationDescriptor> getRepresentationDescriptors() {
-        return this.representationDescriptors;
+    public List<UploadFile> getRepresentationDescriptorFiles() {
+        return this.representationDescriptorFiles;
     }
 
     public Map<String, UploadFile> getDocumentIdToUploadFile() {
@@ -71,7 +75,7 @@ public final class UnzippedProject {
     public static final class Builder {
         private String projectName;
 
-        private List<RepresentationDescriptor> representationDescriptors;
+        private List<UploadFile> representationDescriptorFiles;
 
         private Map<String, UploadFile> documentIdToUploadFile;
 
@@ -81,8 +85,8 @@ public final class UnzippedProject {
             this.projectName = Objects.requireNonNull(projectName);
         }
 
-        public Builder representationDescriptors(List<RepresentationDescriptor> representationDescriptors) {
-            this.representationDescriptors = Objects.requireNonNull(representationDescriptors);
+        public Builder representationDescriptorFiles(List<UploadFile> representationDescriptorFiles) {
+            this.representationDescriptorFiles = Objects.requireNonNull(representationDescriptorFiles);
             return this;
         }
 
@@ -99,7 +103,7 @@ public final class UnzippedProject {
         public UnzippedProject build() {
             UnzippedProject unzippedProject = new UnzippedProject();
             unzippedProject.projectName = Objects.requireNonNull(this.projectName);
-            unzippedProject.representationDescriptors = Objects.requireNonNull(this.representationDescriptors);
+            unzippedProject.representationDescriptorFiles = Objects.requireNonNull(this.representationDescriptorFiles);
             unzippedProject.documentIdToUploadFile = Objects.requireNonNull(this.documentIdToUploadFile);
             unzippedProject.projectManifest = Objects.requireNonNull(this.projectManifest);
             return unzippedProject;
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.cluster;
+
+import java.util.Objects;
+
+import org.eclipse.sirius.components.collaborative.api.IEditingContextEventProcessorRegistry;
+import org.eclipse.sirius.web.services.api.events.ClusterEvent;
+import org.eclipse.sirius.web.services.api.events.ClusterEventKind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Disposes the editing contexts loaded on this node when their documents have been modified on another node.
+ *
+ * <p>
+ * The editing context will be reloaded from the database by the next request. The modification of a representation
+ * does not dispose the editing context since representations are persisted after each refresh, which would make two
+ * nodes with the same project loaded dispose each other endlessly.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@Service
+public class ClusterEditingContextSynchronizer {
+
+    private final Logger logger = LoggerFactory.getLogger(ClusterEditingContextSynchronizer.class);
+
+    private final IEditingContextEventProcessorRegistry editingContextEventProcessorRegistry;
+
+    public ClusterEditingContextSynchronizer(IEditingContextEventProcessorRegistry editingContextEventProcessorRegistry) {
+        this.editingContextEventProcessorRegistry = Objects.requireNonNull(editingContextEventProcessorRegistry);
+    }
+
+    @EventListener
+    public void onClusterEvent(ClusterEvent clusterEvent) {
+        if (clusterEvent.getKind() == ClusterEventKind.DOCUMENTS_MODIFIED || clusterEvent.getKind() == ClusterEventKind.PROJECT_DELETED) {
+            this.logger.debug("Disposing the editing context {} modified on the node {}", clusterEvent.getProjectId(), clusterEvent.getNodeId()); //$NON-NLS-1$
+            this.editingContextEventProcessorRegistry.disposeEditingContextEventProcessor(clusterEvent.getProjectId().toString());
+        }
+    }
+}
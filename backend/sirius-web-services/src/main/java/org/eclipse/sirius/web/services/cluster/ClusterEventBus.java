@@ -0,0 +1,377 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.cluster;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.eclipse.sirius.web.services.api.document.Document;
+import org.eclipse.sirius.web.services.api.events.ClusterEvent;
+import org.eclipse.sirius.web.services.api.events.ClusterEventKind;
+import org.eclipse.sirius.web.services.api.events.DocumentsModifiedEvent;
+import org.eclipse.sirius.web.services.api.events.ProjectDeletedEvent;
+import org.eclipse.sirius.web.services.api.events.ProjectRenamedEvent;
+import org.eclipse.sirius.web.services.api.events.RepresentationsModifiedEvent;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Propagates the changes performed on this node to the other nodes of the cluster using PostgreSQL LISTEN/NOTIFY.
+ *
+ * <p>
+ * Local changes ({@link DocumentsModifiedEvent}, {@link ProjectDeletedEvent}, {@link ProjectRenamedEvent} and
+ * {@link RepresentationsModifiedEvent}) are sent as notifications on a dedicated channel. The notifications received
+ * from the other nodes are published in the application context as {@link ClusterEvent} so that each component can
+ * invalidate or reload the data it keeps in memory. The bus is disabled by default and should only be enabled when
+ * several instances share the same database.
+ * </p>
+ *
+ * <p>
+ * Local changes are only sent once the transaction which has performed them, if any, has been committed. They are
+ * sent in the background in order to never block the thread of an editing context on the database, and the changes of
+ * the same kind performed on the same project during a short delay are coalesced into a single notification.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@Service
+public class ClusterEventBus implements DisposableBean {
+
+    private static final String CHANNEL = "sirius_web_cluster_events"; //$NON-NLS-1$
+
+    private static final String LISTEN = "LISTEN " + CHANNEL; //$NON-NLS-1$
+
+    private static final String NOTIFY = "SELECT pg_notify(?, ?)"; //$NON-NLS-1$
+
+    private static final String THREAD_NAME = "cluster-event-listener"; //$NON-NLS-1$
+
+    private static final String SENDER_THREAD_NAME_PREFIX = "cluster-event-sender-"; //$NON-NLS-1$
+
+    private static final String TIMER_NAME = "siriusweb_cluster_event_propagation"; //$NON-NLS-1$
+
+    private static final String COUNTER_NAME = "siriusweb_cluster_event"; //$NON-NLS-1$
+
+    private static final String DIRECTION = "direction"; //$NON-NLS-1$
+
+    /**
+     * The identifiers of the impacted objects are not propagated beyond this limit to stay under the maximum size of a
+     * notification payload, the receiving nodes will then consider that the whole project has been impacted.
+     */
+    private static final int MAX_OBJECT_IDS = 100;
+
+    private static final int POLL_TIMEOUT = 500;
+
+    private static final long RECONNECT_DELAY = 5000;
+
+    private final Logger logger = LoggerFactory.getLogger(ClusterEventBus.class);
+
+    private final DataSource dataSource;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final boolean isEnabled;
+
+    private final String nodeId;
+
+    private final ClusterEventCodec clusterEventCodec = new ClusterEventCodec();
+
+    private final Timer propagationTimer;
+
+    private final Counter sentCounter;
+
+    private final Counter receivedCounter;
+
+    private final long coalescingDelay;
+
+    private final ScheduledThreadPoolExecutor senderExecutor;
+
+    private final Map<String, PendingClusterEvent> pendingClusterEvents = new LinkedHashMap<>();
+
+    private volatile boolean isRunning;
+
+    private Thread listenerThread;
+
+    // @formatter:off
+    public ClusterEventBus(DataSource dataSource, ApplicationEventPublisher applicationEventPublisher, MeterRegistry meterRegistry,
+            @Value("${sirius.web.cluster.enabled:false}") boolean isEnabled,
+            @Value("${sirius.web.cluster.nodeId:}") String nodeId,
+            @Value("${sirius.web.cluster.coalescingDelay:50}") long coalescingDelay) {
+        this.dataSource = Objects.requireNonNull(dataSource);
+        this.applicationEventPublisher = Objects.requireNonNull(applicationEventPublisher);
+        this.isEnabled = isEnabled;
+        if (nodeId == null || nodeId.isBlank()) {
+            this.nodeId = UUID.randomUUID().toString();
+        } else {
+            this.nodeId = nodeId;
+        }
+
+        this.propagationTimer = Timer.builder(TIMER_NAME).register(meterRegistry);
+        this.sentCounter = Counter.builder(COUNTER_NAME).tag(DIRECTION, "sent").register(meterRegistry); //$NON-NLS-1$
+        this.receivedCounter = Counter.builder(COUNTER_NAME).tag(DIRECTION, "received").register(meterRegistry); //$NON-NLS-1$
+
+        this.coalescingDelay = Math.max(coalescingDelay, 0);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(SENDER_THREAD_NAME_PREFIX);
+        threadFactory.setDaemon(true);
+        this.senderExecutor = new ScheduledThreadPoolExecutor(1, threadFactory);
+    }
+    // @formatter:on
+
+    public String getNodeId() {
+        return this.nodeId;
+    }
+
+    /**
+     * Starts to listen to the notifications of the other nodes. Once this method returns, the node is listening unless
+     * the database could not be reached, in which case the listener thread will retry on its own.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (this.isEnabled && this.listenerThread == null) {
+            this.isRunning = true;
+
+            Connection connection = null;
+            try {
+                connection = this.connect();
+            } catch (SQLException exception) {
+                this.logger.warn("Unable to listen to the cluster events: {}", exception.getMessage()); //$NON-NLS-1$
+            }
+
+            Connection initialConnection = connection;
+            this.listenerThread = new Thread(() -> this.listen(initialConnection), THREAD_NAME);
+            this.listenerThread.setDaemon(true);
+            this.listenerThread.start();
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Connection connection = this.dataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(LISTEN);
+        } catch (SQLException exception) {
+            connection.close();
+            throw exception;
+        }
+        return connection;
+    }
+
+    private void listen(Connection initialConnection) {
+        Connection connection = initialConnection;
+        while (this.isRunning) {
+            try {
+                if (connection == null) {
+                    connection = this.connect();
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (this.isRunning) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            this.handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException exception) {
+                this.logger.warn("The connection used to listen to the cluster events has been lost: {}", exception.getMessage()); //$NON-NLS-1$
+                this.waitBeforeReconnecting();
+            } finally {
+                this.close(connection);
+                connection = null;
+            }
+        }
+    }
+
+    private void waitBeforeReconnecting() {
+        try {
+            Thread.sleep(RECONNECT_DELAY);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            this.isRunning = false;
+        }
+    }
+
+    private void close(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException exception) {
+                this.logger.debug(exception.getMessage(), exception);
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        var optionalClusterEvent = this.clusterEventCodec.decode(payload);
+        if (optionalClusterEvent.isPresent()) {
+            ClusterEvent clusterEvent = optionalClusterEvent.get();
+            if (!this.nodeId.equals(clusterEvent.getNodeId())) {
+                this.propagationTimer.record(Math.max(0, System.currentTimeMillis() - clusterEvent.getSentOn()), TimeUnit.MILLISECONDS);
+                this.receivedCounter.increment();
+                try {
+                    this.applicationEventPublisher.publishEvent(clusterEvent);
+                } catch (RuntimeException exception) {
+                    this.logger.warn("An error occurred while handling the cluster event {}: {}", clusterEvent, exception.getMessage()); //$NON-NLS-1$
+                }
+            }
+        } else {
+            this.logger.warn("Invalid cluster event received: {}", payload); //$NON-NLS-1$
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDocumentsModified(DocumentsModifiedEvent event) {
+        List<String> documentIds = event.getDocuments().stream().map(Document::getId).map(UUID::toString).collect(Collectors.toList());
+        this.publish(ClusterEventKind.DOCUMENTS_MODIFIED, event.getProjectId(), documentIds);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectDeleted(ProjectDeletedEvent event) {
+        this.publish(ClusterEventKind.PROJECT_DELETED, event.getProjectId(), List.of());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectRenamed(ProjectRenamedEvent event) {
+        this.publish(ClusterEventKind.PROJECT_RENAMED, event.getProjectId(), List.of());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRepresentationsModified(RepresentationsModifiedEvent event) {
+        List<String> representationIds = event.getRepresentationIds().stream().map(UUID::toString).collect(Collectors.toList());
+        this.publish(ClusterEventKind.REPRESENTATIONS_MODIFIED, event.getProjectId(), representationIds);
+    }
+
+    /**
+     * Sends the given change to the other nodes in the background, along with the other changes of the same kind
+     * performed on the same project during the coalescing delay.
+     */
+    public void publish(ClusterEventKind kind, UUID projectId, List<String> objectIds) {
+        if (this.isEnabled) {
+            boolean isFlushNeeded = false;
+            synchronized (this.pendingClusterEvents) {
+                isFlushNeeded = this.pendingClusterEvents.isEmpty();
+                String key = kind.name() + ':' + projectId;
+                this.pendingClusterEvents.computeIfAbsent(key, k -> new PendingClusterEvent(kind, projectId)).add(objectIds);
+            }
+
+            if (isFlushNeeded) {
+                try {
+                    this.senderExecutor.schedule(this::flush, this.coalescingDelay, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException exception) {
+                    this.logger.debug("Unable to send the cluster events after the shutdown of the node: {}", exception.getMessage()); //$NON-NLS-1$
+                }
+            }
+        }
+    }
+
+    private void flush() {
+        List<PendingClusterEvent> clusterEventsToSend = new ArrayList<>();
+        synchronized (this.pendingClusterEvents) {
+            clusterEventsToSend.addAll(this.pendingClusterEvents.values());
+            this.pendingClusterEvents.clear();
+        }
+
+        if (!clusterEventsToSend.isEmpty()) {
+            try (Connection connection = this.dataSource.getConnection(); PreparedStatement statement = connection.prepareStatement(NOTIFY)) {
+                for (PendingClusterEvent pendingClusterEvent : clusterEventsToSend) {
+                    ClusterEvent clusterEvent = pendingClusterEvent.toClusterEvent(this.nodeId, System.currentTimeMillis());
+                    statement.setString(1, CHANNEL);
+                    statement.setString(2, this.clusterEventCodec.encode(clusterEvent));
+                    statement.execute();
+                    this.sentCounter.increment();
+                }
+            } catch (SQLException exception) {
+                this.logger.warn("Unable to send {} cluster events: {}", clusterEventsToSend.size(), exception.getMessage()); //$NON-NLS-1$
+            }
+        }
+    }
+
+    @Override
+    public synchronized void destroy() throws InterruptedException {
+        // The changes waiting for the end of the coalescing delay are still sent
+        this.senderExecutor.shutdown();
+        this.senderExecutor.awaitTermination(this.coalescingDelay + POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+
+        this.isRunning = false;
+        if (this.listenerThread != null) {
+            this.listenerThread.join(POLL_TIMEOUT * 2L);
+            this.listenerThread = null;
+        }
+    }
+
+    /**
+     * The changes of the same kind performed on the same project which are waiting to be sent.
+     *
+     * @author sbegaudeau
+     */
+    private static final class PendingClusterEvent {
+        private final ClusterEventKind kind;
+
+        private final UUID projectId;
+
+        private final Set<String> objectIds = new LinkedHashSet<>();
+
+        private boolean isProjectImpacted;
+
+        PendingClusterEvent(ClusterEventKind kind, UUID projectId) {
+            this.kind = Objects.requireNonNull(kind);
+            this.projectId = Objects.requireNonNull(projectId);
+        }
+
+        public void add(List<String> newObjectIds) {
+            // A change without any object identifier impacts the whole project
+            if (newObjectIds.isEmpty()) {
+                this.isProjectImpacted = true;
+                this.objectIds.clear();
+            } else if (!this.isProjectImpacted) {
+                this.objectIds.addAll(newObjectIds);
+                if (this.objectIds.size() > MAX_OBJECT_IDS) {
+                    this.isProjectImpacted = true;
+                    this.objectIds.clear();
+                }
+            }
+        }
+
+        public ClusterEvent toClusterEvent(String nodeId, long sentOn) {
+            return new ClusterEvent(nodeId, this.kind, this.projectId, List.copyOf(this.objectIds), sentOn);
+        }
+    }
+}
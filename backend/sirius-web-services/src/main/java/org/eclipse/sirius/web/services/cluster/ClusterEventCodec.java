@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.cluster;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.eclipse.sirius.web.services.api.events.ClusterEvent;
+import org.eclipse.sirius.web.services.api.events.ClusterEventKind;
+
+/**
+ * Converts cluster events to and from the payload of a PostgreSQL notification.
+ *
+ * <p>
+ * The payload of a notification must stay under 8000 bytes, we are thus using a compact line based format:
+ * <code>nodeId|kind|projectId|sentOn|objectId1,objectId2</code>.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class ClusterEventCodec {
+
+    private static final String SEPARATOR = "|"; //$NON-NLS-1$
+
+    private static final String SEPARATOR_REGEX = "\\|"; //$NON-NLS-1$
+
+    private static final String OBJECT_IDS_SEPARATOR = ","; //$NON-NLS-1$
+
+    private static final int SEGMENT_COUNT = 5;
+
+    public String encode(ClusterEvent clusterEvent) {
+        // @formatter:off
+        return String.join(SEPARATOR,
+                clusterEvent.getNodeId(),
+                clusterEvent.getKind().name(),
+                clusterEvent.getProjectId().toString(),
+                String.valueOf(clusterEvent.getSentOn()),
+                String.join(OBJECT_IDS_SEPARATOR, clusterEvent.getObjectIds()));
+        // @formatter:on
+    }
+
+    public Optional<ClusterEvent> decode(String payload) {
+        String[] segments = payload.split(SEPARATOR_REGEX, SEGMENT_COUNT);
+        if (segments.length == SEGMENT_COUNT) {
+            try {
+                String nodeId = segments[0];
+                ClusterEventKind kind = ClusterEventKind.valueOf(segments[1]);
+                UUID projectId = UUID.fromString(segments[2]);
+                long sentOn = Long.parseLong(segments[3]);
+                // @formatter:off
+                List<String> objectIds = Arrays.stream(segments[4].split(OBJECT_IDS_SEPARATOR))
+                        .filter(objectId -> !objectId.isBlank())
+                        .collect(Collectors.toList());
+                // @formatter:on
+                return Optional.of(new ClusterEvent(nodeId, kind, projectId, objectIds, sentOn));
+            } catch (IllegalArgumentException exception) {
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+}
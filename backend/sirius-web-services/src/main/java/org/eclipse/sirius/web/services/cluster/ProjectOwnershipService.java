@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.cluster;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.sirius.components.collaborative.api.IEditingContextEventProcessor;
+import org.eclipse.sirius.components.collaborative.api.IEditingContextEventProcessorRegistry;
+import org.eclipse.sirius.web.persistence.entities.ProjectOwnerEntity;
+import org.eclipse.sirius.web.persistence.repositories.IProjectOwnerRepository;
+import org.eclipse.sirius.web.services.api.id.IDParser;
+import org.eclipse.sirius.web.services.api.projects.IProjectOwnershipService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Spreads the projects across the nodes of the cluster while keeping the editing context of each project on a single
+ * node.
+ *
+ * <p>
+ * The first node loading the editing context of a project acquires a lease on this project in the database, along with
+ * a fencing token which changes each time the project is taken over by another node. The lease is renewed periodically
+ * for as long as the editing context stays loaded on the node and it is released once the editing context has been
+ * disposed. If a node crashes, its leases expire and the projects are taken over by the next node loading them. A node
+ * which fails to renew a lease with its fencing token disposes its editing context and stops persisting its changes.
+ * If the database cannot be reached, the node does not consider itself as the owner of any new project. This mechanism
+ * is disabled by default.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@Service
+public class ProjectOwnershipService implements IProjectOwnershipService, DisposableBean {
+
+    private static final String THREAD_NAME_PREFIX = "project-ownership-"; //$NON-NLS-1$
+
+    private final Logger logger = LoggerFactory.getLogger(ProjectOwnershipService.class);
+
+    private final IProjectOwnerRepository projectOwnerRepository;
+
+    private final ObjectProvider<IEditingContextEventProcessorRegistry> editingContextEventProcessorRegistryProvider;
+
+    private final boolean isEnabled;
+
+    private final String nodeId;
+
+    private final String nodeURL;
+
+    private final long leaseDuration;
+
+    private final long renewalPeriod;
+
+    private final Map<UUID, OwnedProject> ownedProjects = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduledExecutorService;
+
+    // @formatter:off
+    public ProjectOwnershipService(IProjectOwnerRepository projectOwnerRepository, ObjectProvider<IEditingContextEventProcessorRegistry> editingContextEventProcessorRegistryProvider,
+            @Value("${sirius.web.cluster.affinity.enabled:false}") boolean isEnabled,
+            @Value("${sirius.web.cluster.nodeId:}") String nodeId,
+            @Value("${sirius.web.cluster.nodeURL:}") String nodeURL,
+            @Value("${sirius.web.cluster.affinity.leaseDuration:30}") long leaseDuration) {
+        this.projectOwnerRepository = Objects.requireNonNull(projectOwnerRepository);
+        // The registry is retrieved lazily since it depends on the loading of the editing contexts which depends on this service
+        this.editingContextEventProcessorRegistryProvider = Objects.requireNonNull(editingContextEventProcessorRegistryProvider);
+        this.isEnabled = isEnabled;
+        this.nodeId = Optional.ofNullable(nodeId).filter(id -> !id.isBlank()).orElseGet(() -> UUID.randomUUID().toString());
+        this.nodeURL = Objects.requireNonNull(nodeURL);
+        this.leaseDuration = Math.max(leaseDuration, 3);
+        this.renewalPeriod = this.leaseDuration / 3;
+
+        if (this.isEnabled && this.nodeURL.isBlank()) {
+            this.logger.warn("The URL of the node should be configured with sirius.web.cluster.nodeURL to let the other nodes redirect users"); //$NON-NLS-1$
+        }
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+        threadFactory.setDaemon(true);
+        this.scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        if (this.isEnabled) {
+            this.scheduledExecutorService.scheduleAtFixedRate(this::renewLeases, this.renewalPeriod, this.renewalPeriod, TimeUnit.SECONDS);
+        }
+    }
+    // @formatter:on
+
+    @Override
+    public boolean acquireOwnership(UUID projectId) {
+        if (!this.isEnabled) {
+            return true;
+        }
+
+        boolean isOwner = false;
+        try {
+            long start = System.currentTimeMillis();
+            if (this.projectOwnerRepository.acquireLease(projectId, this.nodeId, this.nodeURL, this.leaseDuration) > 0) {
+                var optionalProjectOwner = this.projectOwnerRepository.findValidLease(projectId).filter(projectOwner -> this.nodeId.equals(projectOwner.getNodeId()));
+                if (optionalProjectOwner.isPresent()) {
+                    this.ownedProjects.put(projectId, new OwnedProject(optionalProjectOwner.get().getFencingToken(), start, start + TimeUnit.SECONDS.toMillis(this.leaseDuration), false));
+                    isOwner = true;
+                }
+            }
+        } catch (RuntimeException exception) {
+            // Serving a project without knowing its owner could let two nodes modify it concurrently
+            this.logger.warn("Unable to acquire the ownership of the project {}: {}", projectId, exception.getMessage()); //$NON-NLS-1$
+        }
+
+        if (!isOwner) {
+            this.ownedProjects.remove(projectId);
+        }
+        return isOwner;
+    }
+
+    @Override
+    public Optional<String> getRemoteOwnerURL(UUID projectId) {
+        if (!this.isEnabled) {
+            return Optional.empty();
+        }
+        // @formatter:off
+        return this.projectOwnerRepository.findValidLease(projectId)
+                .filter(projectOwner -> !this.nodeId.equals(projectOwner.getNodeId()))
+                .map(ProjectOwnerEntity::getNodeURL)
+                .filter(url -> !url.isBlank());
+        // @formatter:on
+    }
+
+    @Override
+    public boolean isOwner(UUID projectId) {
+        if (!this.isEnabled) {
+            return true;
+        }
+        // The lease is considered as lost locally before it expires in the database since its renewal has been requested before the update of the database
+        return Optional.ofNullable(this.ownedProjects.get(projectId)).filter(ownedProject -> ownedProject.getValidUntil() > System.currentTimeMillis()).isPresent();
+    }
+
+    private void renewLeases() {
+        Set<UUID> loadedProjectIds = new HashSet<>();
+        IEditingContextEventProcessorRegistry editingContextEventProcessorRegistry = this.editingContextEventProcessorRegistryProvider.getIfAvailable();
+        if (editingContextEventProcessorRegistry != null) {
+            // @formatter:off
+            editingContextEventProcessorRegistry.getEditingContextEventProcessors().stream()
+                    .map(IEditingContextEventProcessor::getEditingContextId)
+                    .map(new IDParser()::parse)
+                    .flatMap(Optional::stream)
+                    .forEach(loadedProjectIds::add);
+            // @formatter:on
+        }
+
+        Set<UUID> lostProjectIds = this.renewLeases(loadedProjectIds);
+        if (editingContextEventProcessorRegistry != null) {
+            lostProjectIds.forEach(projectId -> editingContextEventProcessorRegistry.disposeEditingContextEventProcessor(projectId.toString()));
+        }
+    }
+
+    /**
+     * Renews the leases of the projects whose editing context is still loaded and releases the other ones.
+     *
+     * @return The identifiers of the loaded projects which have been taken over by another node
+     */
+    Set<UUID> renewLeases(Set<UUID> loadedProjectIds) {
+        Set<UUID> lostProjectIds = new HashSet<>();
+        long now = System.currentTimeMillis();
+        for (var entry : Map.copyOf(this.ownedProjects).entrySet()) {
+            UUID projectId = entry.getKey();
+            OwnedProject ownedProject = entry.getValue();
+            try {
+                if (loadedProjectIds.contains(projectId)) {
+                    if (this.projectOwnerRepository.renewLease(projectId, this.nodeId, ownedProject.getFencingToken(), this.leaseDuration) > 0) {
+                        this.ownedProjects.replace(projectId, ownedProject, ownedProject.renewedUntil(now + TimeUnit.SECONDS.toMillis(this.leaseDuration)));
+                    } else {
+                        this.logger.warn("The ownership of the project {} has been taken over by another node", projectId); //$NON-NLS-1$
+                        this.ownedProjects.remove(projectId, ownedProject);
+                        lostProjectIds.add(projectId);
+                    }
+                } else if (ownedProject.isLoaded() || now - ownedProject.getAcquiredOn() > TimeUnit.SECONDS.toMillis(this.renewalPeriod)) {
+                    // The editing context of a project which has just been acquired may not be registered yet
+                    this.projectOwnerRepository.releaseLease(projectId, this.nodeId, ownedProject.getFencingToken());
+                    this.ownedProjects.remove(projectId, ownedProject);
+                }
+            } catch (RuntimeException exception) {
+                this.logger.warn("Unable to renew the lease of the project {}: {}", projectId, exception.getMessage()); //$NON-NLS-1$
+            }
+        }
+        this.logger.debug("{} project leases held by the node {}", this.ownedProjects.size(), this.nodeId); //$NON-NLS-1$
+        return lostProjectIds;
+    }
+
+    @Override
+    public void destroy() {
+        this.scheduledExecutorService.shutdownNow();
+        if (this.isEnabled) {
+            try {
+                this.projectOwnerRepository.releaseLeases(this.nodeId);
+                this.ownedProjects.clear();
+            } catch (RuntimeException exception) {
+                this.logger.warn("Unable to release the project leases of the node {}: {}", this.nodeId, exception.getMessage()); //$NON-NLS-1$
+            }
+        }
+    }
+
+    /**
+     * A project owned by the current node, along with the fencing token of its lease, the date until which the lease is
+     * known to be valid and whether its editing context has already been seen loaded.
+     *
+     * @author sbegaudeau
+     */
+    private static final class OwnedProject {
+        private final long fencingToken;
+
+        private final long acquiredOn;
+
+        private final long validUntil;
+
+        private final boolean loaded;
+
+        OwnedProject(long fencingToken, long acquiredOn, long validUntil, boolean loaded) {
+            this.fencingToken = fencingToken;
+            this.acquiredOn = acquiredOn;
+            this.validUntil = validUntil;
+            this.loaded = loaded;
+        }
+
+        public long getFencingToken() {
+            return this.fencingToken;
+        }
+
+        public long getAcquiredOn() {
+            return this.acquiredOn;
+        }
+
+        public long getValidUntil() {
+            return this.validUntil;
+        }
+
+        public boolean isLoaded() {
+            return this.loaded;
+        }
+
+        public OwnedProject renewedUntil(long newValidUntil) {
+            return new OwnedProject(this.fencingToken, this.acquiredOn, newValidUntil, true);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.documents;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.sirius.components.collaborative.api.ChangeDescription;
+import org.eclipse.sirius.components.collaborative.api.ChangeKind;
+import org.eclipse.sirius.components.collaborative.api.IEditingContextEventHandler;
+import org.eclipse.sirius.components.collaborative.api.Monitoring;
+import org.eclipse.sirius.components.core.api.ErrorPayload;
+import org.eclipse.sirius.components.core.api.IEditingContext;
+import org.eclipse.sirius.components.core.api.IInput;
+import org.eclipse.sirius.components.core.api.IPayload;
+import org.eclipse.sirius.components.emf.services.EditingContext;
+import org.eclipse.sirius.components.graphql.api.UploadFile;
+import org.eclipse.sirius.web.services.api.document.BulkUploadDocumentsInput;
+import org.eclipse.sirius.web.services.api.document.BulkUploadDocumentsSuccessPayload;
+import org.eclipse.sirius.web.services.api.document.Document;
+import org.eclipse.sirius.web.services.api.document.DocumentContent;
+import org.eclipse.sirius.web.services.api.document.IDocumentService;
+import org.eclipse.sirius.web.services.messages.IServicesMessageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Sinks.Many;
+import reactor.core.publisher.Sinks.One;
+
+/**
+ * Event handler used to create several documents from uploaded files at once.
+ *
+ * <p>
+ * The documents are all created in a single transaction and they are attached to the resource set of the editing
+ * context with a single semantic change. If one of the files cannot be read or exceeds
+ * <code>sirius.web.upload.maxSize</code> bytes, no document is created.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@Service
+public class BulkUploadDocumentsEventHandler implements IEditingContextEventHandler {
+
+    private final Logger logger = LoggerFactory.getLogger(BulkUploadDocumentsEventHandler.class);
+
+    private final IDocumentService documentService;
+
+    private final IServicesMessageService messageService;
+
+    private final UploadedDocumentLoader uploadedDocumentLoader;
+
+    private final Counter counter;
+
+    // @formatter:off
+    public BulkUploadDocumentsEventHandler(IDocumentService documentService, IServicesMessageService messageService, MeterRegistry meterRegistry,
+            @Value("${sirius.web.upload.maxSize:" + UploadedDocumentLoader.DEFAULT_MAX_SIZE + "}") long maxSize) {
+        this.documentService = Objects.requireNonNull(documentService);
+        this.messageService = Objects.requireNonNull(messageService);
+        this.uploadedDocumentLoader = new UploadedDocumentLoader(maxSize);
+
+        this.counter = Counter.builder(Monitoring.EVENT_HANDLER)
+                .tag(Monitoring.NAME, this.getClass().getSimpleName())
+                .register(meterRegistry);
+    }
+    // @formatter:on
+
+    @Override
+    public boolean canHandle(IEditingContext editingContext, IInput input) {
+        return input instanceof BulkUploadDocumentsInput;
+    }
+
+    @Override
+    public void handle(One<IPayload> payloadSink, Many<ChangeDescription> changeDescriptionSink, IEditingContext editingContext, IInput input) {
+        this.counter.increment();
+
+        IPayload payload = new ErrorPayload(input.getId(), this.messageService.unexpectedError());
+        ChangeDescription changeDescription = new ChangeDescription(ChangeKind.NOTHING, editingContext.getId(), input);
+
+        if (input instanceof BulkUploadDocumentsInput && editingContext instanceof EditingContext) {
+            BulkUploadDocumentsInput bulkUploadDocumentsInput = (BulkUploadDocumentsInput) input;
+            ResourceSet resourceSet = ((EditingContext) editingContext).getDomain().getResourceSet();
+
+            Map<String, String> objectIdMapping = new HashMap<>();
+            Optional<List<UploadedDocument>> optionalUploadedDocuments = this.getUploadedDocuments(resourceSet, bulkUploadDocumentsInput, objectIdMapping);
+            if (optionalUploadedDocuments.isPresent()) {
+                List<UploadedDocument> uploadedDocuments = optionalUploadedDocuments.get();
+                List<DocumentContent> documentContents = new ArrayList<>(uploadedDocuments.size());
+                for (int i = 0; i < uploadedDocuments.size(); i++) {
+                    String name = bulkUploadDocumentsInput.getFiles().get(i).getName().trim();
+                    documentContents.add(new DocumentContent(name, uploadedDocuments.get(i).getContent()));
+                }
+                List<Document> documents = this.documentService.createDocuments(bulkUploadDocumentsInput.getEditingContextId(), documentContents);
+
+                if (!documents.isEmpty() && documents.size() == documentContents.size()) {
+                    List<Resource> resources = new ArrayList<>(documents.size());
+                    for (int i = 0; i < documents.size(); i++) {
+                        Document document = documents.get(i);
+                        if (resourceSet.getResource(URI.createURI(document.getId().toString()), false) == null) {
+                            resources.add(this.uploadedDocumentLoader.getResource(uploadedDocuments.get(i), document));
+                        }
+                    }
+                    resourceSet.getResources().addAll(resources);
+
+                    payload = new BulkUploadDocumentsSuccessPayload(input.getId(), documents, objectIdMapping);
+                    changeDescription = new ChangeDescription(ChangeKind.SEMANTIC_CHANGE, editingContext.getId(), input);
+                }
+            }
+        }
+
+        payloadSink.tryEmitValue(payload);
+        changeDescriptionSink.tryEmitNext(changeDescription);
+    }
+
+    /**
+     * Converts all the uploaded files into the documents to create.
+     *
+     * @param resourceSet
+     *            The resource set of the editing context
+     * @param input
+     *            The input containing the uploaded files
+     * @param objectIdMapping
+     *            The map in which the new identifiers of the objects are recorded, if requested by the input
+     * @return The documents to create, in the order of the files, or {@link Optional#empty()} if one of the files
+     *         cannot be read
+     */
+    private Optional<List<UploadedDocument>> getUploadedDocuments(ResourceSet resourceSet, BulkUploadDocumentsInput input, Map<String, String> objectIdMapping) {
+        List<UploadedDocument> uploadedDocuments = new ArrayList<>(input.getFiles().size());
+        for (UploadFile file : input.getFiles()) {
+            Optional<UploadedDocument> optionalUploadedDocument;
+            if (input.isWithObjectIdMapping()) {
+                optionalUploadedDocument = this.uploadedDocumentLoader.load(resourceSet.getPackageRegistry(), file, objectIdMapping);
+            } else {
+                optionalUploadedDocument = this.uploadedDocumentLoader.load(resourceSet.getPackageRegistry(), file);
+            }
+            if (optionalUploadedDocument.isEmpty()) {
+                this.logger.warn("The document {} cannot be read", file.getName().trim()); //$NON-NLS-1$
+                return Optional.empty();
+            }
+            uploadedDocuments.add(optionalUploadedDocument.get());
+        }
+        return Optional.of(uploadedDocuments);
+    }
+}
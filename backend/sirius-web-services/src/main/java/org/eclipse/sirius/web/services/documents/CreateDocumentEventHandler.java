@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,8 +12,11 @@
  *******************************************************************************/
 package org.eclipse.sirius.web.services.documents;
 
-import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -32,8 +35,8 @@ import org.eclipse.sirius.components.core.api.IEditingContext;
 import org.eclipse.sirius.components.core.api.IInput;
 import org.eclipse.sirius.components.core.api.IPayload;
 import org.eclipse.sirius.components.core.configuration.StereotypeDescription;
+import org.eclipse.sirius.components.emf.services.EObjectIDManager;
 import org.eclipse.sirius.components.emf.services.EditingContext;
-import org.eclipse.sirius.components.emf.services.SiriusWebJSONResourceFactoryImpl;
 import org.eclipse.sirius.emfjson.resource.JsonResource;
 import org.eclipse.sirius.web.services.api.document.Document;
 import org.eclipse.sirius.web.services.api.document.IDocumentService;
@@ -51,11 +54,19 @@ import reactor.core.publisher.Sinks.One;
 /**
  * Event handler used to create a new document from a stereotype.
  *
+ * <p>
+ * The content of the stereotypes is parsed once, new documents are then created by copying the parsed objects.
+ * </p>
+ *
  * @author sbegaudeau
  */
 @Service
 public class CreateDocumentEventHandler implements IEditingContextEventHandler {
 
+    private static final int TEMPLATE_CACHE_SIZE = 32;
+
+    private static final URI NEW_DOCUMENT_URI = URI.createURI("new"); //$NON-NLS-1$
+
     private final Logger logger = LoggerFactory.getLogger(CreateDocumentEventHandler.class);
 
     private final IDocumentService documentService;
@@ -66,6 +77,8 @@ public class CreateDocumentEventHandler implements IEditingContextEventHandler {
 
     private final Counter counter;
 
+    private final DocumentTemplateCache documentTemplateCache = new DocumentTemplateCache(TEMPLATE_CACHE_SIZE);
+
     public CreateDocumentEventHandler(IDocumentService documentService, IStereotypeDescriptionService stereotypeDescriptionService, IServicesMessageService messageService,
             MeterRegistry meterRegistry) {
         this.documentService = Objects.requireNonNull(documentService);
@@ -133,17 +146,13 @@ public class CreateDocumentEventHandler implements IEditingContextEventHandler {
             AdapterFactoryEditingDomain adapterFactoryEditingDomain = optionalEditingDomain.get();
             ResourceSet resourceSet = adapterFactoryEditingDomain.getResourceSet();
 
-            var optionalDocument = this.documentService.createDocument(editingContextId, name, stereotypeDescription.getContent());
+            JsonResource resource = this.documentTemplateCache.createResource(NEW_DOCUMENT_URI, stereotypeDescription.getContent());
+            Optional<String> optionalContent = this.getContent(resource);
+
+            var optionalDocument = optionalContent.flatMap(content -> this.documentService.createDocument(editingContextId, name, content));
             if (optionalDocument.isPresent()) {
                 Document document = optionalDocument.get();
-                URI uri = URI.createURI(document.getId().toString());
-
-                JsonResource resource = new SiriusWebJSONResourceFactoryImpl().createResource(uri);
-                try (var inputStream = new ByteArrayInputStream(document.getContent().getBytes())) {
-                    resource.load(inputStream, null);
-                } catch (IOException exception) {
-                    this.logger.warn(exception.getMessage(), exception);
-                }
+                resource.setURI(URI.createURI(document.getId().toString()));
 
                 resource.eAdapters().add(new DocumentMetadataAdapter(name));
 
@@ -158,4 +167,22 @@ public class CreateDocumentEventHandler implements IEditingContextEventHandler {
         changeDescriptionSink.tryEmitNext(changeDescription);
     }
 
+    /**
+     * Serializes the given new resource, which gives their identifiers to its objects.
+     */
+    private Optional<String> getContent(JsonResource resource) {
+        Map<String, Object> options = new HashMap<>();
+        options.put(JsonResource.OPTION_ENCODING, JsonResource.ENCODING_UTF_8);
+        options.put(JsonResource.OPTION_SCHEMA_LOCATION, Boolean.TRUE);
+        options.put(JsonResource.OPTION_ID_MANAGER, new EObjectIDManager());
+
+        try (var outputStream = new ByteArrayOutputStream()) {
+            resource.save(outputStream, options);
+            return Optional.of(outputStream.toString(StandardCharsets.UTF_8));
+        } catch (IOException exception) {
+            this.logger.warn(exception.getMessage(), exception);
+        }
+        return Optional.empty();
+    }
+
 }
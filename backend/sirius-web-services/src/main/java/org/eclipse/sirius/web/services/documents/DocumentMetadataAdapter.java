@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -26,6 +26,7 @@ import org.eclipse.emf.common.notify.Notifier;
  * </p>
  * <ul>
  * <li>name: The name of the document which can be modified</li>
+ * <li>version: The version of the document in the database when it has been loaded or saved for the last time</li>
  * </ul>
  *
  * @author sbegaudeau
@@ -33,10 +34,17 @@ import org.eclipse.emf.common.notify.Notifier;
 public class DocumentMetadataAdapter implements Adapter {
     private String name;
 
+    private int version;
+
     private Notifier notifier;
 
     public DocumentMetadataAdapter(String name) {
+        this(name, 0);
+    }
+
+    public DocumentMetadataAdapter(String name, int version) {
         this.name = Objects.requireNonNull(name);
+        this.version = version;
     }
 
     public String getName() {
@@ -47,6 +55,14 @@ public class DocumentMetadataAdapter implements Adapter {
         this.name = name;
     }
 
+    public int getVersion() {
+        return this.version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     @Override
     public void notifyChanged(Notification notification) {
         // do nothing
@@ -0,0 +1,294 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.documents;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.sirius.web.services.api.document.Document;
+import org.eclipse.sirius.web.services.api.document.DocumentRendition;
+import org.eclipse.sirius.web.services.api.document.IDocumentRenditionService;
+import org.eclipse.sirius.web.services.api.document.IDocumentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Converts documents and keeps the result in a bounded cache on the disk.
+ *
+ * <p>
+ * Each rendition is stored in a file named after the id of the document, the hash of its content and the kind of
+ * resource. A modified document thus never reuses an outdated rendition, and the least recently downloaded renditions
+ * are deleted once the size of the cache exceeds its maximum size.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@Service
+public class DocumentRenditionService implements IDocumentRenditionService {
+
+    private static final String SEPARATOR = "."; //$NON-NLS-1$
+
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp"; //$NON-NLS-1$
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray(); //$NON-NLS-1$
+
+    private final Logger logger = LoggerFactory.getLogger(DocumentRenditionService.class);
+
+    private final IDocumentService documentService;
+
+    private final Path directory;
+
+    private final long maxSize;
+
+    /**
+     * The cached renditions by document id and resource kind, from the least to the most recently used.
+     */
+    private final Map<String, CachedRendition> renditions = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long size;
+
+    // @formatter:off
+    public DocumentRenditionService(IDocumentService documentService,
+            @Value("${sirius.web.documents.renditions.directory:}") String directory,
+            @Value("${sirius.web.documents.renditions.maxSize:268435456}") long maxSize) {
+        this.documentService = Objects.requireNonNull(documentService);
+        if (directory == null || directory.isBlank()) {
+            this.directory = Path.of(System.getProperty("java.io.tmpdir"), "sirius-web-renditions"); //$NON-NLS-1$ //$NON-NLS-2$
+        } else {
+            this.directory = Path.of(directory);
+        }
+        this.maxSize = maxSize;
+        this.initialize();
+    }
+    // @formatter:on
+
+    /**
+     * Indexes the renditions left in the directory by a previous execution, the oldest ones being evicted first.
+     */
+    private void initialize() {
+        try {
+            Files.createDirectories(this.directory);
+            try (Stream<Path> paths = Files.list(this.directory)) {
+                // @formatter:off
+                var files = paths.filter(Files::isRegularFile)
+                        .sorted(Comparator.comparing(this::getLastModifiedTime))
+                        .collect(Collectors.toList());
+                // @formatter:on
+
+                synchronized (this.renditions) {
+                    for (Path file : files) {
+                        String[] segments = file.getFileName().toString().split("\\."); //$NON-NLS-1$
+                        if (segments.length == 3) {
+                            String key = segments[0] + SEPARATOR + segments[2];
+                            this.put(key, new CachedRendition(segments[1], file, Files.size(file)));
+                        } else {
+                            Files.deleteIfExists(file);
+                        }
+                    }
+                    this.evict();
+                }
+            }
+        } catch (IOException | UncheckedIOException exception) {
+            this.logger.warn(exception.getMessage(), exception);
+        }
+    }
+
+    private long getLastModifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @Override
+    public String getETag(Document document, String resourceKind) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+            messageDigest.update(resourceKind.getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) 0);
+            messageDigest.update(document.getName().getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) 0);
+            messageDigest.update(document.getContent().getBytes(StandardCharsets.UTF_8));
+
+            byte[] digest = messageDigest.digest();
+            StringBuilder builder = new StringBuilder(digest.length * 2);
+            for (byte value : digest) {
+                builder.append(HEX_DIGITS[(value >> 4) & 0xF]);
+                builder.append(HEX_DIGITS[value & 0xF]);
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    @Override
+    public Optional<DocumentRendition> getRendition(Document document, String resourceKind) {
+        String eTag = this.getETag(document, resourceKind);
+        String key = document.getId() + SEPARATOR + resourceKind;
+
+        Optional<DocumentRendition> optionalRendition = this.open(key, eTag);
+        if (optionalRendition.isEmpty()) {
+            optionalRendition = this.convert(document, resourceKind, key, eTag);
+        }
+        return optionalRendition;
+    }
+
+    private Optional<DocumentRendition> open(String key, String eTag) {
+        synchronized (this.renditions) {
+            CachedRendition cachedRendition = this.renditions.get(key);
+            if (cachedRendition != null && cachedRendition.getHash().equals(eTag)) {
+                try {
+                    InputStream inputStream = Files.newInputStream(cachedRendition.getFile());
+                    return Optional.of(new DocumentRendition(eTag, cachedRendition.getSize(), inputStream));
+                } catch (IOException exception) {
+                    this.logger.warn(exception.getMessage(), exception);
+                    this.remove(key);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Converts the document in a temporary file, outside of the lock of the cache since the conversion can be long,
+     * and then moves it atomically to its final location.
+     */
+    private Optional<DocumentRendition> convert(Document document, String resourceKind, String key, String eTag) {
+        Path temporaryFile = null;
+        try {
+            Files.createDirectories(this.directory);
+            temporaryFile = Files.createTempFile(this.directory, key + SEPARATOR, TEMPORARY_FILE_SUFFIX);
+
+            boolean converted = false;
+            try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+                converted = this.documentService.write(document, resourceKind, outputStream);
+            }
+            if (!converted) {
+                return Optional.empty();
+            }
+
+            Path file = this.directory.resolve(document.getId() + SEPARATOR + eTag + SEPARATOR + resourceKind);
+            synchronized (this.renditions) {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                temporaryFile = null;
+
+                long fileSize = Files.size(file);
+                InputStream inputStream = Files.newInputStream(file);
+
+                this.put(key, new CachedRendition(eTag, file, fileSize));
+                this.evict();
+                return Optional.of(new DocumentRendition(eTag, fileSize, inputStream));
+            }
+        } catch (IOException exception) {
+            this.logger.warn(exception.getMessage(), exception);
+        } finally {
+            if (temporaryFile != null) {
+                this.delete(temporaryFile);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void put(String key, CachedRendition cachedRendition) {
+        CachedRendition previousRendition = this.renditions.put(key, cachedRendition);
+        if (previousRendition != null) {
+            this.size -= previousRendition.getSize();
+            if (!previousRendition.getFile().equals(cachedRendition.getFile())) {
+                this.delete(previousRendition.getFile());
+            }
+        }
+        this.size += cachedRendition.getSize();
+    }
+
+    private void remove(String key) {
+        CachedRendition cachedRendition = this.renditions.remove(key);
+        if (cachedRendition != null) {
+            this.size -= cachedRendition.getSize();
+            this.delete(cachedRendition.getFile());
+        }
+    }
+
+    /**
+     * Deletes the least recently used renditions until the cache fits in its maximum size. The input streams already
+     * opened on the deleted files remain readable.
+     */
+    private void evict() {
+        Iterator<CachedRendition> iterator = this.renditions.values().iterator();
+        while (this.size > this.maxSize && iterator.hasNext()) {
+            CachedRendition cachedRendition = iterator.next();
+            iterator.remove();
+            this.size -= cachedRendition.getSize();
+            this.delete(cachedRendition.getFile());
+        }
+    }
+
+    private void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException exception) {
+            this.logger.warn(exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * A rendition stored on the disk.
+     *
+     * @author sbegaudeau
+     */
+    private static final class CachedRendition {
+
+        private final String hash;
+
+        private final Path file;
+
+        private final long size;
+
+        CachedRendition(String hash, Path file, long size) {
+            this.hash = Objects.requireNonNull(hash);
+            this.file = Objects.requireNonNull(file);
+            this.size = size;
+        }
+
+        public String getHash() {
+            return this.hash;
+        }
+
+        public Path getFile() {
+            return this.file;
+        }
+
+        public long getSize() {
+            return this.size;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,7 @@ package org.eclipse.sirius.web.services.documents;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,6 +23,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EPackage;
@@ -38,6 +40,7 @@ import org.eclipse.sirius.web.persistence.entities.DocumentEntity;
 import org.eclipse.sirius.web.persistence.repositories.IDocumentRepository;
 import org.eclipse.sirius.web.persistence.repositories.IProjectRepository;
 import org.eclipse.sirius.web.services.api.document.Document;
+import org.eclipse.sirius.web.services.api.document.DocumentContent;
 import org.eclipse.sirius.web.services.api.document.IDocumentService;
 import org.eclipse.sirius.web.services.api.id.IDParser;
 import org.slf4j.Logger;
@@ -85,6 +88,26 @@ public class DocumentService implements IDocumentService {
         // @formatter:on
     }
 
+    @Override
+    public List<Document> createDocuments(String projectId, List<DocumentContent> documentContents) {
+        // @formatter:off
+        return new IDParser().parse(projectId)
+                .flatMap(this.projectRepository::findById)
+                .map(projectEntity -> documentContents.stream().map(documentContent -> {
+                    DocumentEntity documentEntity = new DocumentEntity();
+                    documentEntity.setProject(projectEntity);
+                    documentEntity.setName(documentContent.getName());
+                    documentEntity.setContent(documentContent.getContent());
+                    return documentEntity;
+                }).collect(Collectors.toList()))
+                .map(this.documentRepository::saveAll)
+                .map(documentEntities -> StreamSupport.stream(documentEntities.spliterator(), false)
+                        .map(new DocumentMapper()::toDTO)
+                        .collect(Collectors.toUnmodifiableList()))
+                .orElseGet(List::of);
+        // @formatter:on
+    }
+
     @Override
     public Optional<Document> getDocument(UUID documentId) {
         return this.documentRepository.findById(documentId).map(new DocumentMapper()::toDTO);
@@ -130,21 +153,30 @@ public class DocumentService implements IDocumentService {
     @Override
     public Optional<byte[]> getBytes(Document document, String resourceKind) {
         Optional<byte[]> optionalBytes = Optional.empty();
-        Resource outputResource = null;
-        Map<String, Object> options = new HashMap<>();
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            if (this.write(document, resourceKind, outputStream)) {
+                optionalBytes = Optional.of(outputStream.toByteArray());
+            }
+        } catch (IOException exception) {
+            this.logger.warn(exception.getMessage(), exception);
+        }
+        return optionalBytes;
+    }
 
+    @Override
+    public boolean write(Document document, String resourceKind, OutputStream outputStream) throws IOException {
         if (RESOURCE_KIND_JSON.equals(resourceKind)) {
-            optionalBytes = Optional.of(document.getContent().getBytes());
-        } else if (RESOURCE_KIND_XMI.equals(resourceKind)) {
-            outputResource = new XMIResourceImpl(URI.createURI(document.getName()));
-            options.put(XMIResource.OPTION_ENCODING, JsonResource.ENCODING_UTF_8);
-            options.put(XMIResource.OPTION_SCHEMA_LOCATION, Boolean.TRUE);
-            options.put(XMIResource.OPTION_USE_XMI_TYPE, Boolean.TRUE);
+            outputStream.write(document.getContent().getBytes());
+            return true;
+        } else if (!RESOURCE_KIND_XMI.equals(resourceKind)) {
+            return false;
         }
 
-        if (outputResource == null) {
-            return optionalBytes;
-        }
+        Resource outputResource = new XMIResourceImpl(URI.createURI(document.getName()));
+        Map<String, Object> options = new HashMap<>();
+        options.put(XMIResource.OPTION_ENCODING, JsonResource.ENCODING_UTF_8);
+        options.put(XMIResource.OPTION_SCHEMA_LOCATION, Boolean.TRUE);
+        options.put(XMIResource.OPTION_USE_XMI_TYPE, Boolean.TRUE);
 
         EPackageRegistryImpl ePackageRegistryImpl = new EPackageRegistryImpl();
         List<EPackage> ePackages = this.editingContextEPackageService.getEPackages(document.getProject().getId().toString());
@@ -160,16 +192,9 @@ public class DocumentService implements IDocumentService {
         try (var inputStream = new ByteArrayInputStream(document.getContent().getBytes())) {
             resource.load(inputStream, new HashMap<>());
             outputResource.getContents().addAll(resource.getContents());
-            try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream();) {
-
-                outputResource.save(outputStream, options);
-                optionalBytes = Optional.of(outputStream.toByteArray());
-            }
-        } catch (IOException exception) {
-            this.logger.warn(exception.getMessage(), exception);
+            outputResource.save(outputStream, options);
         }
-
-        return optionalBytes;
+        return true;
     }
 
     @Override
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.documents;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.sirius.components.emf.services.SiriusWebJSONResourceFactoryImpl;
+import org.eclipse.sirius.emfjson.resource.JsonResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the parsed content of the most recently used document templates, such as the content of the stereotypes.
+ *
+ * <p>
+ * New documents are created by copying the objects of the parsed template instead of parsing the same content again.
+ * The copies do not share the identifiers of the template, each new document thus gets its own identifiers once saved.
+ * The cached templates are never modified and can thus be copied concurrently.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class DocumentTemplateCache {
+
+    private static final URI TEMPLATE_URI = URI.createURI("template"); //$NON-NLS-1$
+
+    private final Logger logger = LoggerFactory.getLogger(DocumentTemplateCache.class);
+
+    private final int maxSize;
+
+    /**
+     * The root objects of the cached templates, from the least to the most recently used, by content.
+     */
+    private final Map<String, List<EObject>> templates;
+
+    public DocumentTemplateCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.templates = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<EObject>> eldest) {
+                return this.size() > DocumentTemplateCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Creates a new resource with the given URI containing a copy of the objects of the document with the given JSON
+     * content.
+     *
+     * @param uri
+     *            The URI of the new resource
+     * @param content
+     *            The JSON content of the template
+     * @return A new resource, which is empty if the template cannot be parsed
+     */
+    public JsonResource createResource(URI uri, String content) {
+        List<EObject> template = this.getTemplate(content);
+
+        EcoreUtil.Copier copier = new EcoreUtil.Copier(false);
+        Collection<EObject> contents = copier.copyAll(template);
+        copier.copyReferences();
+
+        JsonResource resource = new SiriusWebJSONResourceFactoryImpl().createResource(uri);
+        resource.getContents().addAll(contents);
+        return resource;
+    }
+
+    private List<EObject> getTemplate(String content) {
+        synchronized (this.templates) {
+            List<EObject> template = this.templates.get(content);
+            if (template != null) {
+                return template;
+            }
+        }
+
+        List<EObject> template = this.parse(content);
+        synchronized (this.templates) {
+            this.templates.put(content, template);
+        }
+        return template;
+    }
+
+    private List<EObject> parse(String content) {
+        JsonResource resource = new SiriusWebJSONResourceFactoryImpl().createResource(TEMPLATE_URI);
+        try (var inputStream = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))) {
+            resource.load(inputStream, null);
+        } catch (IOException exception) {
+            this.logger.warn(exception.getMessage(), exception);
+        }
+        return List.copyOf(resource.getContents());
+    }
+}
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.documents;
+
+import java.util.Objects;
+
+import org.eclipse.sirius.emfjson.resource.JsonResource;
+
+/**
+ * An uploaded file converted into the resource to attach to the editing context and the content of the document to
+ * create.
+ *
+ * @author sbegaudeau
+ */
+public final class UploadedDocument {
+
+    private final JsonResource resource;
+
+    private final String content;
+
+    public UploadedDocument(JsonResource resource, String content) {
+        this.resource = Objects.requireNonNull(resource);
+        this.content = Objects.requireNonNull(content);
+    }
+
+    public JsonResource getResource() {
+        return this.resource;
+    }
+
+    public String getContent() {
+        return this.content;
+    }
+}
@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.documents;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.XMLParserPool;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
+import org.eclipse.sirius.components.emf.services.EObjectIDManager;
+import org.eclipse.sirius.components.emf.services.SiriusWebJSONResourceFactoryImpl;
+import org.eclipse.sirius.components.emf.utils.EMFResourceUtils;
+import org.eclipse.sirius.components.graphql.api.UploadFile;
+import org.eclipse.sirius.emfjson.resource.JsonResource;
+import org.eclipse.sirius.emfjson.resource.JsonResourceImpl;
+import org.eclipse.sirius.web.services.api.document.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Converts the uploaded files into the resources and the content of the documents to create.
+ *
+ * <p>
+ * An uploaded file is parsed only once. New identifiers are given to its objects which are then moved in the resource
+ * attached to the editing context, this resource is serialized once to get the content of the document to create.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class UploadedDocumentLoader {
+
+    /**
+     * The default maximum size of an uploaded file, in bytes.
+     */
+    public static final long DEFAULT_MAX_SIZE = 268435456L;
+
+    /**
+     * The number of bytes read at the beginning of a file to determine its format.
+     */
+    private static final int FORMAT_DETECTION_LIMIT = 8192;
+
+    private static final int UTF8_BOM_FIRST_BYTE = 0xEF;
+
+    private static final URI UPLOADED_DOCUMENT_URI = URI.createURI("uploaded"); //$NON-NLS-1$
+
+    private static XMLParserPool parserPool = new XMLParserPoolImpl();
+
+    private final Logger logger = LoggerFactory.getLogger(UploadedDocumentLoader.class);
+
+    private final long maxSize;
+
+    public UploadedDocumentLoader() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public UploadedDocumentLoader(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Converts the given file into the resource and the content of the document to create.
+     *
+     * <p>
+     * The document is empty if the format of the file is not supported and {@link Optional#empty()} is returned if the
+     * file could not be read, for example if it exceeds the maximum size of an uploaded file or the limits of an
+     * imported archive, in order not to create a truncated document.
+     * </p>
+     *
+     * @param registry
+     *            The package registry used to load the file
+     * @param file
+     *            The uploaded file
+     * @return The document to create or {@link Optional#empty()}
+     */
+    public Optional<UploadedDocument> load(EPackage.Registry registry, UploadFile file) {
+        return this.load(registry, file, Optional.empty());
+    }
+
+    /**
+     * Converts the given file into the resource and the content of the document to create and records the new
+     * identifier of each of its objects.
+     *
+     * @param registry
+     *            The package registry used to load the file
+     * @param file
+     *            The uploaded file
+     * @param objectIdMapping
+     *            The map in which the previous identifiers of the objects are mapped to their new identifiers
+     * @return The document to create or {@link Optional#empty()}
+     */
+    public Optional<UploadedDocument> load(EPackage.Registry registry, UploadFile file, Map<String, String> objectIdMapping) {
+        return this.load(registry, file, Optional.of(objectIdMapping));
+    }
+
+    private Optional<UploadedDocument> load(EPackage.Registry registry, UploadFile file, Optional<Map<String, String>> optionalObjectIdMapping) {
+        ResourceSet resourceSet = new ResourceSetImpl();
+        resourceSet.setPackageRegistry(registry);
+
+        JsonResource outputResource = new SiriusWebJSONResourceFactoryImpl().createResource(UPLOADED_DOCUMENT_URI);
+        resourceSet.getResources().add(outputResource);
+        try (var inputStream = new UploadedFileInputStream(file.getInputStream(), this.maxSize)) {
+            Optional<Resource> optionalInputResource = this.getResource(inputStream, URI.createURI(file.getName()), resourceSet);
+            if (optionalInputResource.isPresent()) {
+                Resource inputResource = optionalInputResource.get();
+                this.giveNewIds(inputResource, optionalObjectIdMapping);
+                outputResource.getContents().addAll(inputResource.getContents());
+                resourceSet.getResources().remove(inputResource);
+            }
+        } catch (IOException exception) {
+            this.logger.warn(exception.getMessage(), exception);
+            return Optional.empty();
+        }
+
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            Map<String, Object> saveOptions = new HashMap<>();
+            saveOptions.put(JsonResource.OPTION_ENCODING, JsonResource.ENCODING_UTF_8);
+            saveOptions.put(JsonResource.OPTION_SCHEMA_LOCATION, Boolean.TRUE);
+            saveOptions.put(JsonResource.OPTION_ID_MANAGER, new EObjectIDManager());
+
+            outputResource.save(outputStream, saveOptions);
+
+            String content = outputStream.toString(StandardCharsets.UTF_8);
+            return Optional.of(new UploadedDocument(outputResource, content));
+        } catch (IOException exception) {
+            this.logger.warn(exception.getMessage(), exception);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Gives a new random identifier to all the objects of the given resource, before they are attached to the resource
+     * of the new document, to ensure that there will be no conflict with the objects of the existing documents.
+     */
+    private void giveNewIds(Resource inputResource, Optional<Map<String, String>> optionalObjectIdMapping) {
+        List<EObject> eObjects = new ArrayList<>();
+        inputResource.getAllContents().forEachRemaining(eObjects::add);
+
+        List<String> previousIds = new ArrayList<>();
+        if (optionalObjectIdMapping.isPresent()) {
+            eObjects.forEach(eObject -> previousIds.add(inputResource.getURIFragment(eObject)));
+        }
+
+        EObjectIDManager idManager = new EObjectIDManager();
+        for (int i = 0; i < eObjects.size(); i++) {
+            EObject eObject = eObjects.get(i);
+            String id = UUID.randomUUID().toString();
+            idManager.clearId(eObject);
+            idManager.setId(eObject, id);
+
+            if (optionalObjectIdMapping.isPresent()) {
+                optionalObjectIdMapping.get().put(previousIds.get(i), id);
+            }
+        }
+    }
+
+    /**
+     * Returns the {@link Resource} with the given {@link URI} or {@link Optional#empty()} regarding to the first
+     * character of the given {@link InputStream} which is not a whitespace.
+     *
+     * <p>
+     * Returns a {@link JsonResourceImpl} if this character is a '{', a {@link XMIResourceImpl} loaded with a pooled
+     * parser if it is a '<', {@link Optional#empty()} otherwise. Only the beginning of the content is buffered to
+     * detect its format.
+     * </p>
+     *
+     * @param inputStream
+     *            The {@link InputStream} used to determine which {@link Resource} to create
+     * @param resourceURI
+     *            The {@link URI} to use to create the {@link Resource}
+     * @param resourceSet
+     *            The {@link ResourceSet} used to store the loaded resource
+     * @return a {@link JsonResourceImpl}, a {@link XMIResourceImpl} or {@link Optional#empty()}
+     * @throws IOException
+     *             If the input stream could not be read
+     */
+    private Optional<Resource> getResource(InputStream inputStream, URI resourceURI, ResourceSet resourceSet) throws IOException {
+        Resource resource = null;
+        BufferedInputStream bufferedInputStream = new BufferedInputStream(inputStream);
+        bufferedInputStream.mark(FORMAT_DETECTION_LIMIT);
+        int firstCharacter = this.readFirstCharacter(bufferedInputStream);
+        bufferedInputStream.reset();
+
+        Map<String, Object> options = new HashMap<>();
+        if (firstCharacter == '{') {
+            resource = new SiriusWebJSONResourceFactoryImpl().createResource(resourceURI);
+        } else if (firstCharacter == '<') {
+            resource = new XMIResourceImpl(resourceURI);
+            options = new EMFResourceUtils().getXMILoadOptions(parserPool);
+        }
+
+        if (resource != null) {
+            resourceSet.getResources().add(resource);
+            resource.load(bufferedInputStream, options);
+        }
+        return Optional.ofNullable(resource);
+    }
+
+    private int readFirstCharacter(InputStream inputStream) throws IOException {
+        int character = inputStream.read();
+        if (character == UTF8_BOM_FIRST_BYTE) {
+            inputStream.skip(2);
+            character = inputStream.read();
+        }
+
+        int count = 1;
+        while (character >= 0 && Character.isWhitespace(character) && count < FORMAT_DETECTION_LIMIT - 3) {
+            character = inputStream.read();
+            count++;
+        }
+        return character;
+    }
+
+    /**
+     * Attaches the given uploaded document to the document created.
+     *
+     * @param uploadedDocument
+     *            The uploaded document
+     * @param document
+     *            The document created
+     * @return The resource to add to the resource set of the editing context
+     */
+    public JsonResource getResource(UploadedDocument uploadedDocument, Document document) {
+        JsonResource resource = uploadedDocument.getResource();
+        resource.setURI(URI.createURI(document.getId().toString()));
+        resource.eAdapters().add(new DocumentMetadataAdapter(document.getName()));
+        return resource;
+    }
+}
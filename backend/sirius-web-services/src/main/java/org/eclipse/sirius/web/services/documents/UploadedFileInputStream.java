@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.documents;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.MessageFormat;
+
+/**
+ * Input stream used to read an uploaded file while enforcing the maximum size of the uploaded documents.
+ *
+ * <p>
+ * The number of bytes actually read is counted, the size of the file is thus never trusted.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class UploadedFileInputStream extends FilterInputStream {
+
+    private final long maxSize;
+
+    private long size;
+
+    private long markedSize;
+
+    public UploadedFileInputStream(InputStream inputStream, long maxSize) {
+        super(inputStream);
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value >= 0) {
+            this.count(1);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        int count = super.read(bytes, offset, length);
+        if (count > 0) {
+            this.count(count);
+        }
+        return count;
+    }
+
+    @Override
+    public long skip(long length) throws IOException {
+        long count = super.skip(length);
+        if (count > 0) {
+            this.count(count);
+        }
+        return count;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+        super.mark(readLimit);
+        this.markedSize = this.size;
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        super.reset();
+        this.size = this.markedSize;
+    }
+
+    private void count(long count) throws IOException {
+        this.size += count;
+        if (this.size > this.maxSize) {
+            String message = MessageFormat.format("The uploaded file exceeds {0} bytes", this.maxSize); //$NON-NLS-1$
+            throw new IOException(message);
+        }
+    }
+}
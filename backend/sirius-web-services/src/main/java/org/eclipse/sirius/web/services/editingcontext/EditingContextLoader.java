@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2021, 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.editingcontext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+
+import org.eclipse.emf.common.command.BasicCommandStack;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.ECrossReferenceAdapter;
+import org.eclipse.emf.edit.domain.AdapterFactoryEditingDomain;
+import org.eclipse.emf.edit.provider.ComposedAdapterFactory;
+import org.eclipse.sirius.components.core.api.IEditingContext;
+import org.eclipse.sirius.components.emf.services.EditingContext;
+import org.eclipse.sirius.components.emf.services.IEditingContextEPackageService;
+import org.eclipse.sirius.components.emf.services.SiriusWebJSONResourceFactoryImpl;
+import org.eclipse.sirius.emfjson.resource.JsonResource;
+import org.eclipse.sirius.web.persistence.entities.DocumentEntity;
+import org.eclipse.sirius.web.persistence.repositories.IDocumentRepository;
+import org.eclipse.sirius.web.services.api.id.IDParser;
+import org.eclipse.sirius.web.services.documents.DocumentMetadataAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads the documents of a project in a brand new editing context.
+ *
+ * @author sbegaudeau
+ */
+public class EditingContextLoader {
+
+    private final Logger logger = LoggerFactory.getLogger(EditingContextLoader.class);
+
+    private final IDocumentRepository documentRepository;
+
+    private final IEditingContextEPackageService editingContextEPackageService;
+
+    private final ComposedAdapterFactory composedAdapterFactory;
+
+    private final EPackage.Registry globalEPackageRegistry;
+
+    public EditingContextLoader(IDocumentRepository documentRepository, IEditingContextEPackageService editingContextEPackageService, ComposedAdapterFactory composedAdapterFactory,
+            EPackage.Registry globalEPackageRegistry) {
+        this.documentRepository = Objects.requireNonNull(documentRepository);
+        this.editingContextEPackageService = Objects.requireNonNull(editingContextEPackageService);
+        this.composedAdapterFactory = Objects.requireNonNull(composedAdapterFactory);
+        this.globalEPackageRegistry = Objects.requireNonNull(globalEPackageRegistry);
+    }
+
+    public IEditingContext load(String editingContextId) {
+        this.logger.debug("Loading the editing context {}", editingContextId); //$NON-NLS-1$
+
+        AdapterFactoryEditingDomain editingDomain = new AdapterFactoryEditingDomain(this.composedAdapterFactory, new BasicCommandStack());
+        ResourceSet resourceSet = editingDomain.getResourceSet();
+        resourceSet.eAdapters().add(new ECrossReferenceAdapter());
+
+        EPackageRegistryImpl ePackageRegistry = new EPackageRegistryImpl();
+        this.globalEPackageRegistry.forEach(ePackageRegistry::put);
+        List<EPackage> additionalEPackages = this.editingContextEPackageService.getEPackages(editingContextId);
+        additionalEPackages.forEach(ePackage -> ePackageRegistry.put(ePackage.getNsURI(), ePackage));
+        resourceSet.setPackageRegistry(ePackageRegistry);
+
+        List<DocumentEntity> documentEntities = new IDParser().parse(editingContextId).map(this.documentRepository::findAllByProjectId).orElseGet(List::of);
+        for (DocumentEntity documentEntity : documentEntities) {
+            URI uri = URI.createURI(documentEntity.getId().toString());
+            JsonResource resource = new SiriusWebJSONResourceFactoryImpl().createResource(uri);
+            try (var inputStream = new ByteArrayInputStream(documentEntity.getContent().getBytes())) {
+                resourceSet.getResources().add(resource);
+                resource.load(inputStream, null);
+
+                resource.eAdapters().add(new DocumentMetadataAdapter(documentEntity.getName(), documentEntity.getVersion()));
+            } catch (IOException | IllegalArgumentException exception) {
+                this.logger.warn("An error occured while loading document {}: {}.", documentEntity.getId(), exception.getMessage()); //$NON-NLS-1$
+                resourceSet.getResources().remove(resource);
+            }
+        }
+
+        this.logger.debug("{} documents loaded for the editing context {}", resourceSet.getResources().size(), editingContextId); //$NON-NLS-1$
+
+        return new EditingContext(editingContextId, editingDomain);
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,6 +12,7 @@
  *******************************************************************************/
 package org.eclipse.sirius.web.services.editingcontext;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -19,6 +20,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -32,9 +34,12 @@ import org.eclipse.sirius.emfjson.resource.JsonResource;
 import org.eclipse.sirius.web.persistence.entities.DocumentEntity;
 import org.eclipse.sirius.web.persistence.repositories.IDocumentRepository;
 import org.eclipse.sirius.web.services.api.document.Document;
+import org.eclipse.sirius.web.services.api.events.DocumentConflictEvent;
 import org.eclipse.sirius.web.services.api.events.DocumentsModifiedEvent;
 import org.eclipse.sirius.web.services.api.id.IDParser;
+import org.eclipse.sirius.web.services.api.projects.IProjectOwnershipService;
 import org.eclipse.sirius.web.services.documents.DocumentMapper;
+import org.eclipse.sirius.web.services.documents.DocumentMetadataAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
@@ -46,6 +51,13 @@ import io.micrometer.core.instrument.Timer;
 /**
  * Service used to persist the editing context when a change has been performed.
  *
+ * <p>
+ * The content of a document is only updated if the document has not been modified since the editing context has loaded
+ * or saved it. Otherwise, the document is reloaded from the database and a {@link DocumentConflictEvent} is published
+ * instead of silently overwriting the most recent content. The changes of a node of the cluster which has lost the
+ * ownership of the project are not persisted.
+ * </p>
+ *
  * @author sbegaudeau
  */
 @Service
@@ -59,11 +71,15 @@ public class EditingContextPersistenceService implements IEditingContextPersiste
 
     private final ApplicationEventPublisher applicationEventPublisher;
 
+    private final IProjectOwnershipService projectOwnershipService;
+
     private final Timer timer;
 
-    public EditingContextPersistenceService(IDocumentRepository documentRepository, ApplicationEventPublisher applicationEventPublisher, MeterRegistry meterRegistry) {
+    public EditingContextPersistenceService(IDocumentRepository documentRepository, ApplicationEventPublisher applicationEventPublisher, IProjectOwnershipService projectOwnershipService,
+            MeterRegistry meterRegistry) {
         this.documentRepository = Objects.requireNonNull(documentRepository);
         this.applicationEventPublisher = Objects.requireNonNull(applicationEventPublisher);
+        this.projectOwnershipService = Objects.requireNonNull(projectOwnershipService);
 
         this.timer = Timer.builder(TIMER_NAME).register(meterRegistry);
     }
@@ -72,31 +88,33 @@ public class EditingContextPersistenceService implements IEditingContextPersiste
     public void persist(IEditingContext editingContext) {
         long start = System.currentTimeMillis();
 
-        if (editingContext instanceof EditingContext) {
-            EditingDomain editingDomain = ((EditingContext) editingContext).getDomain();
-            List<DocumentEntity> documentEntities = this.persist(editingDomain);
-            List<Document> documents = documentEntities.stream().map(new DocumentMapper()::toDTO).collect(Collectors.toList());
-            // @formatter:off
-            new IDParser().parse(editingContext.getId())
-                .map(editingContextId -> new DocumentsModifiedEvent(editingContextId, documents))
-                .ifPresent(this.applicationEventPublisher::publishEvent);
-            // @formatter:on
+        var optionalProjectId = new IDParser().parse(editingContext.getId());
+        if (editingContext instanceof EditingContext && optionalProjectId.isPresent()) {
+            UUID projectId = optionalProjectId.get();
+            if (this.projectOwnershipService.isOwner(projectId)) {
+                EditingDomain editingDomain = ((EditingContext) editingContext).getDomain();
+                List<DocumentEntity> documentEntities = this.persist(projectId, editingDomain);
+                List<Document> documents = documentEntities.stream().map(new DocumentMapper()::toDTO).collect(Collectors.toList());
+                this.applicationEventPublisher.publishEvent(new DocumentsModifiedEvent(projectId, documents));
+            } else {
+                this.logger.warn("The editing context {} is not persisted since the project is now owned by another node", projectId); //$NON-NLS-1$
+            }
         }
 
         long end = System.currentTimeMillis();
         this.timer.record(end - start, TimeUnit.MILLISECONDS);
     }
 
-    private List<DocumentEntity> persist(EditingDomain editingDomain) {
+    private List<DocumentEntity> persist(UUID projectId, EditingDomain editingDomain) {
         List<DocumentEntity> result = new ArrayList<>();
-        List<Resource> resources = editingDomain.getResourceSet().getResources();
+        List<Resource> resources = List.copyOf(editingDomain.getResourceSet().getResources());
         for (Resource resource : resources) {
-            this.save(resource).ifPresent(result::add);
+            this.save(projectId, resource).ifPresent(result::add);
         }
         return result;
     }
 
-    private Optional<DocumentEntity> save(Resource resource) {
+    private Optional<DocumentEntity> save(UUID projectId, Resource resource) {
         Optional<DocumentEntity> result = Optional.empty();
         HashMap<Object, Object> options = new HashMap<>();
         options.put(JsonResource.OPTION_ID_MANAGER, new EObjectIDManager());
@@ -114,18 +132,52 @@ public class EditingContextPersistenceService implements IEditingContextPersiste
             byte[] bytes = outputStream.toByteArray();
             String content = new String(bytes);
 
-            // @formatter:off
-            result = new IDParser().parse(resource.getURI().toString())
-                    .flatMap(this.documentRepository::findById)
-                    .map(entity -> {
-                        entity.setContent(content);
-                        return this.documentRepository.save(entity);
-                    });
-            // @formatter:on
-
+            var optionalDocumentEntity = new IDParser().parse(resource.getURI().toString()).flatMap(this.documentRepository::findById);
+            if (optionalDocumentEntity.isPresent()) {
+                DocumentEntity documentEntity = optionalDocumentEntity.get();
+                Optional<DocumentMetadataAdapter> optionalAdapter = this.getDocumentMetadataAdapter(resource);
+                int expectedVersion = optionalAdapter.map(DocumentMetadataAdapter::getVersion).orElse(documentEntity.getVersion());
+
+                if (this.documentRepository.updateContent(documentEntity.getId(), content, expectedVersion) > 0) {
+                    documentEntity.setContent(content);
+                    documentEntity.setVersion(expectedVersion + 1);
+                    optionalAdapter.ifPresent(adapter -> adapter.setVersion(expectedVersion + 1));
+                    result = Optional.of(documentEntity);
+                } else {
+                    this.logger.warn("The document {} has been modified concurrently, it will be reloaded", documentEntity.getId()); //$NON-NLS-1$
+                    this.documentRepository.findById(documentEntity.getId()).ifPresent(entity -> this.reload(resource, entity));
+                    this.applicationEventPublisher.publishEvent(new DocumentConflictEvent(projectId, documentEntity.getId()));
+                }
+            }
         } catch (IllegalArgumentException | IOException exception) {
             this.logger.warn(exception.getMessage(), exception);
         }
         return result;
     }
+
+    private Optional<DocumentMetadataAdapter> getDocumentMetadataAdapter(Resource resource) {
+        // @formatter:off
+        return resource.eAdapters().stream()
+                .filter(DocumentMetadataAdapter.class::isInstance)
+                .map(DocumentMetadataAdapter.class::cast)
+                .findFirst();
+        // @formatter:on
+    }
+
+    /**
+     * Replaces the content of the given resource by the most recent content of the document, the other resources of the
+     * editing context are left untouched.
+     */
+    private void reload(Resource resource, DocumentEntity documentEntity) {
+        resource.unload();
+        try (var inputStream = new ByteArrayInputStream(documentEntity.getContent().getBytes())) {
+            resource.load(inputStream, null);
+            this.getDocumentMetadataAdapter(resource).ifPresent(adapter -> {
+                adapter.setName(documentEntity.getName());
+                adapter.setVersion(documentEntity.getVersion());
+            });
+        } catch (IOException | IllegalArgumentException exception) {
+            this.logger.warn("An error occured while reloading document {}: {}.", documentEntity.getId(), exception.getMessage()); //$NON-NLS-1$
+        }
+    }
 }
@@ -0,0 +1,314 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.editingcontext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.edit.provider.ComposedAdapterFactory;
+import org.eclipse.sirius.components.core.api.IEditingContext;
+import org.eclipse.sirius.components.emf.services.IEditingContextEPackageService;
+import org.eclipse.sirius.web.persistence.entities.ProjectAccessEntity;
+import org.eclipse.sirius.web.persistence.repositories.IDocumentRepository;
+import org.eclipse.sirius.web.persistence.repositories.IProjectAccessRepository;
+import org.eclipse.sirius.web.services.api.editingcontext.IEditingContextPrewarmingService;
+import org.eclipse.sirius.web.services.api.events.ClusterEvent;
+import org.eclipse.sirius.web.services.api.events.DocumentsModifiedEvent;
+import org.eclipse.sirius.web.services.api.id.IDParser;
+import org.eclipse.sirius.web.services.api.projects.IProjectOwnershipService;
+import org.eclipse.sirius.web.services.editingcontext.api.IPrewarmedEditingContextProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Loads in the background the editing contexts of the projects which are the most likely to be opened next.
+ *
+ * <p>
+ * Prewarming is disabled by default. Once enabled, the editing contexts of the most recently opened projects are
+ * loaded when the server starts and the editing contexts of the most frequently opened projects are loaded when a
+ * user retrieves the list of its projects. Background loads use low priority threads, are held back while an editing
+ * context is loaded on behalf of a user and are simply dropped when too many of them are waiting.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@Service
+public class EditingContextPrewarmingService implements IEditingContextPrewarmingService, IPrewarmedEditingContextProvider, DisposableBean {
+
+    private static final String COUNTER_NAME = "siriusweb_editingcontext_prewarming"; //$NON-NLS-1$
+
+    private static final String RESULT = "result"; //$NON-NLS-1$
+
+    private static final String THREAD_NAME_PREFIX = "editing-context-prewarming-"; //$NON-NLS-1$
+
+    private final Logger logger = LoggerFactory.getLogger(EditingContextPrewarmingService.class);
+
+    private final IProjectAccessRepository projectAccessRepository;
+
+    private final EditingContextLoader editingContextLoader;
+
+    private final IProjectOwnershipService projectOwnershipService;
+
+    private final boolean isEnabled;
+
+    private final int size;
+
+    private final long timeToLive;
+
+    private final Map<String, PrewarmedEditingContext> prewarmedEditingContexts = new ConcurrentHashMap<>();
+
+    private final Set<String> pendingEditingContextIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Guards the publication of a prewarmed editing context against its concurrent take or invalidation, which must
+     * not let a stale editing context be published once its load is no longer pending.
+     */
+    private final Object publicationLock = new Object();
+
+    private final AtomicInteger interactiveLoadCount = new AtomicInteger();
+
+    private final ThreadPoolExecutor executor;
+
+    private final Counter hitCounter;
+
+    private final Counter missCounter;
+
+    private final Counter loadCounter;
+
+    // @formatter:off
+    public EditingContextPrewarmingService(IProjectAccessRepository projectAccessRepository, IDocumentRepository documentRepository, IEditingContextEPackageService editingContextEPackageService,
+            ComposedAdapterFactory composedAdapterFactory, EPackage.Registry globalEPackageRegistry, IProjectOwnershipService projectOwnershipService, MeterRegistry meterRegistry,
+            @Value("${sirius.web.editingContext.prewarming.enabled:false}") boolean isEnabled,
+            @Value("${sirius.web.editingContext.prewarming.size:10}") int size,
+            @Value("${sirius.web.editingContext.prewarming.threads:1}") int threads,
+            @Value("${sirius.web.editingContext.prewarming.timeToLive:600}") long timeToLiveInSeconds) {
+        this.projectAccessRepository = Objects.requireNonNull(projectAccessRepository);
+        this.editingContextLoader = new EditingContextLoader(documentRepository, editingContextEPackageService, composedAdapterFactory, globalEPackageRegistry);
+        this.projectOwnershipService = Objects.requireNonNull(projectOwnershipService);
+        this.isEnabled = isEnabled;
+        this.size = Math.max(size, 1);
+        this.timeToLive = TimeUnit.SECONDS.toMillis(timeToLiveInSeconds);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+        threadFactory.setDaemon(true);
+        threadFactory.setThreadPriority(Thread.MIN_PRIORITY);
+        int poolSize = Math.max(threads, 1);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(this.size), threadFactory, this::discard);
+
+        this.hitCounter = Counter.builder(COUNTER_NAME).tag(RESULT, "hit").register(meterRegistry); //$NON-NLS-1$
+        this.missCounter = Counter.builder(COUNTER_NAME).tag(RESULT, "miss").register(meterRegistry); //$NON-NLS-1$
+        this.loadCounter = Counter.builder(COUNTER_NAME).tag(RESULT, "load").register(meterRegistry); //$NON-NLS-1$
+    }
+    // @formatter:on
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarmMostRecentlyAccessed() {
+        if (this.isEnabled) {
+            // @formatter:off
+            List<String> editingContextIds = this.projectAccessRepository.findMostRecentlyAccessed(this.size).stream()
+                    .map(ProjectAccessEntity::getProjectId)
+                    .map(UUID::toString)
+                    .collect(Collectors.toList());
+            // @formatter:on
+            editingContextIds.forEach(this::schedule);
+        }
+    }
+
+    @Override
+    public void prewarm(List<UUID> projectIds) {
+        if (this.isEnabled && !projectIds.isEmpty()) {
+            this.executor.execute(() -> {
+                // @formatter:off
+                this.projectAccessRepository.findMostFrequentlyAccessed(projectIds, this.size).stream()
+                        .map(ProjectAccessEntity::getProjectId)
+                        .map(UUID::toString)
+                        .forEach(this::schedule);
+                // @formatter:on
+            });
+        }
+    }
+
+    private void schedule(String editingContextId) {
+        this.evictExpiredEditingContexts();
+
+        boolean isAlreadyAvailable = this.prewarmedEditingContexts.containsKey(editingContextId);
+        boolean isFull = this.prewarmedEditingContexts.size() + this.pendingEditingContextIds.size() >= this.size;
+        if (!isAlreadyAvailable && !isFull && this.pendingEditingContextIds.add(editingContextId)) {
+            this.executor.execute(new LoadTask(editingContextId));
+        }
+    }
+
+    private void discard(Runnable runnable, ThreadPoolExecutor threadPoolExecutor) {
+        // A load which will never run should not keep its slot
+        if (runnable instanceof LoadTask) {
+            String editingContextId = ((LoadTask) runnable).getEditingContextId();
+            this.pendingEditingContextIds.remove(editingContextId);
+            this.logger.debug("Dropping the prewarming of the editing context {}", editingContextId); //$NON-NLS-1$
+        }
+    }
+
+    private void load(String editingContextId) {
+        try {
+            boolean isOwnedByAnotherNode = new IDParser().parse(editingContextId).flatMap(this.projectOwnershipService::getRemoteOwnerURL).isPresent();
+            if (this.interactiveLoadCount.get() == 0 && this.pendingEditingContextIds.contains(editingContextId) && !isOwnedByAnotherNode) {
+                IEditingContext editingContext = this.editingContextLoader.load(editingContextId);
+                synchronized (this.publicationLock) {
+                    if (this.pendingEditingContextIds.remove(editingContextId)) {
+                        this.prewarmedEditingContexts.put(editingContextId, new PrewarmedEditingContext(editingContext, System.currentTimeMillis() + this.timeToLive));
+                        this.loadCounter.increment();
+                    }
+                }
+            } else {
+                this.logger.debug("Skipping the prewarming of the editing context {}", editingContextId); //$NON-NLS-1$
+            }
+        } catch (RuntimeException exception) {
+            this.logger.warn("An error occurred while prewarming the editing context {}: {}", editingContextId, exception.getMessage()); //$NON-NLS-1$
+        } finally {
+            this.pendingEditingContextIds.remove(editingContextId);
+        }
+    }
+
+    private void evictExpiredEditingContexts() {
+        long now = System.currentTimeMillis();
+        this.prewarmedEditingContexts.values().removeIf(prewarmedEditingContext -> prewarmedEditingContext.getExpiresOn() < now);
+    }
+
+    @Override
+    public Optional<IEditingContext> takePrewarmedEditingContext(String editingContextId) {
+        if (!this.isEnabled) {
+            return Optional.empty();
+        }
+
+        this.evictExpiredEditingContexts();
+
+        Optional<IEditingContext> optionalEditingContext = Optional.empty();
+        synchronized (this.publicationLock) {
+            // A prewarmed editing context still being loaded would be stale once the user starts to modify it
+            this.pendingEditingContextIds.remove(editingContextId);
+            optionalEditingContext = Optional.ofNullable(this.prewarmedEditingContexts.remove(editingContextId)).map(PrewarmedEditingContext::getEditingContext);
+        }
+        if (optionalEditingContext.isPresent()) {
+            this.hitCounter.increment();
+        } else {
+            this.missCounter.increment();
+        }
+        return optionalEditingContext;
+    }
+
+    @Override
+    public void editingContextLoadStarted(String editingContextId) {
+        this.interactiveLoadCount.incrementAndGet();
+        if (this.isEnabled) {
+            try {
+                new IDParser().parse(editingContextId).ifPresent(this.projectAccessRepository::recordAccess);
+            } catch (RuntimeException exception) {
+                this.logger.warn("An error occurred while recording the access to the project {}: {}", editingContextId, exception.getMessage()); //$NON-NLS-1$
+            }
+        }
+    }
+
+    @Override
+    public void editingContextLoadFinished(String editingContextId) {
+        this.interactiveLoadCount.decrementAndGet();
+    }
+
+    @EventListener
+    public void onDocumentsModified(DocumentsModifiedEvent event) {
+        this.invalidate(event.getProjectId());
+    }
+
+    @EventListener
+    public void onClusterEvent(ClusterEvent event) {
+        this.invalidate(event.getProjectId());
+    }
+
+    private void invalidate(UUID projectId) {
+        String editingContextId = projectId.toString();
+        synchronized (this.publicationLock) {
+            this.pendingEditingContextIds.remove(editingContextId);
+            this.prewarmedEditingContexts.remove(editingContextId);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        this.executor.shutdownNow();
+        this.prewarmedEditingContexts.clear();
+    }
+
+    /**
+     * The load of an editing context in the background, which releases its slot if it is dropped by the executor.
+     *
+     * @author sbegaudeau
+     */
+    private final class LoadTask implements Runnable {
+        private final String editingContextId;
+
+        LoadTask(String editingContextId) {
+            this.editingContextId = Objects.requireNonNull(editingContextId);
+        }
+
+        public String getEditingContextId() {
+            return this.editingContextId;
+        }
+
+        @Override
+        public void run() {
+            EditingContextPrewarmingService.this.load(this.editingContextId);
+        }
+    }
+
+    /**
+     * An editing context loaded in the background along with its expiration date.
+     *
+     * @author sbegaudeau
+     */
+    private static final class PrewarmedEditingContext {
+        private final IEditingContext editingContext;
+
+        private final long expiresOn;
+
+        PrewarmedEditingContext(IEditingContext editingContext, long expiresOn) {
+            this.editingContext = Objects.requireNonNull(editingContext);
+            this.expiresOn = expiresOn;
+        }
+
+        public IEditingContext getEditingContext() {
+            return this.editingContext;
+        }
+
+        public long getExpiresOn() {
+            return this.expiresOn;
+        }
+    }
+}
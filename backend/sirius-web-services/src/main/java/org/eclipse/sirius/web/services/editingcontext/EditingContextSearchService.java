@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Obeo.
+ * Copyright (c) 2021, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,32 +12,20 @@
  *******************************************************************************/
 package org.eclipse.sirius.web.services.editingcontext;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
-import org.eclipse.emf.common.command.BasicCommandStack;
-import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EPackage;
-import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
-import org.eclipse.emf.ecore.resource.ResourceSet;
-import org.eclipse.emf.ecore.util.ECrossReferenceAdapter;
-import org.eclipse.emf.edit.domain.AdapterFactoryEditingDomain;
 import org.eclipse.emf.edit.provider.ComposedAdapterFactory;
 import org.eclipse.sirius.components.core.api.IEditingContext;
 import org.eclipse.sirius.components.core.api.IEditingContextSearchService;
-import org.eclipse.sirius.components.emf.services.EditingContext;
 import org.eclipse.sirius.components.emf.services.IEditingContextEPackageService;
-import org.eclipse.sirius.components.emf.services.SiriusWebJSONResourceFactoryImpl;
-import org.eclipse.sirius.emfjson.resource.JsonResource;
-import org.eclipse.sirius.web.persistence.entities.DocumentEntity;
 import org.eclipse.sirius.web.persistence.repositories.IDocumentRepository;
 import org.eclipse.sirius.web.persistence.repositories.IProjectRepository;
 import org.eclipse.sirius.web.services.api.id.IDParser;
-import org.eclipse.sirius.web.services.documents.DocumentMetadataAdapter;
+import org.eclipse.sirius.web.services.api.projects.IProjectOwnershipService;
+import org.eclipse.sirius.web.services.editingcontext.api.IPrewarmedEditingContextProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -56,29 +44,32 @@ public class EditingContextSearchService implements IEditingContextSearchService
 
     private static final String TIMER_NAME = "siriusweb_editingcontext_load"; //$NON-NLS-1$
 
+    private static final String PREWARMED = "prewarmed"; //$NON-NLS-1$
+
     private final Logger logger = LoggerFactory.getLogger(EditingContextSearchService.class);
 
     private final IProjectRepository projectRepository;
 
-    private final IDocumentRepository documentRepository;
-
-    private final IEditingContextEPackageService editingContextEPackageService;
+    private final EditingContextLoader editingContextLoader;
 
-    private final ComposedAdapterFactory composedAdapterFactory;
+    private final IPrewarmedEditingContextProvider prewarmedEditingContextProvider;
 
-    private final EPackage.Registry globalEPackageRegistry;
+    private final IProjectOwnershipService projectOwnershipService;
 
     private final Timer timer;
 
+    private final Timer prewarmedTimer;
+
     public EditingContextSearchService(IProjectRepository projectRepository, IDocumentRepository documentRepository, IEditingContextEPackageService editingContextEPackageService,
-            ComposedAdapterFactory composedAdapterFactory, EPackage.Registry globalEPackageRegistry, MeterRegistry meterRegistry) {
+            ComposedAdapterFactory composedAdapterFactory, EPackage.Registry globalEPackageRegistry, IPrewarmedEditingContextProvider prewarmedEditingContextProvider, IProjectOwnershipService projectOwnershipService,
+            MeterRegistry meterRegistry) {
         this.projectRepository = Objects.requireNonNull(projectRepository);
-        this.documentRepository = Objects.requireNonNull(documentRepository);
-        this.editingContextEPackageService = Objects.requireNonNull(editingContextEPackageService);
-        this.composedAdapterFactory = Objects.requireNonNull(composedAdapterFactory);
-        this.globalEPackageRegistry = Objects.requireNonNull(globalEPackageRegistry);
+        this.editingContextLoader = new EditingContextLoader(documentRepository, editingContextEPackageService, composedAdapterFactory, globalEPackageRegistry);
+        this.prewarmedEditingContextProvider = Objects.requireNonNull(prewarmedEditingContextProvider);
+        this.projectOwnershipService = Objects.requireNonNull(projectOwnershipService);
 
-        this.timer = Timer.builder(TIMER_NAME).register(meterRegistry);
+        this.timer = Timer.builder(TIMER_NAME).tag(PREWARMED, Boolean.FALSE.toString()).register(meterRegistry);
+        this.prewarmedTimer = Timer.builder(TIMER_NAME).tag(PREWARMED, Boolean.TRUE.toString()).register(meterRegistry);
     }
 
     @Override
@@ -91,39 +82,30 @@ public class EditingContextSearchService implements IEditingContextSearchService
     public Optional<IEditingContext> findById(String editingContextId) {
         long start = System.currentTimeMillis();
 
-        this.logger.debug("Loading the editing context {}", editingContextId); //$NON-NLS-1$
-
-        AdapterFactoryEditingDomain editingDomain = new AdapterFactoryEditingDomain(this.composedAdapterFactory, new BasicCommandStack());
-        ResourceSet resourceSet = editingDomain.getResourceSet();
-        resourceSet.eAdapters().add(new ECrossReferenceAdapter());
-
-        EPackageRegistryImpl ePackageRegistry = new EPackageRegistryImpl();
-        this.globalEPackageRegistry.forEach(ePackageRegistry::put);
-        List<EPackage> additionalEPackages = this.editingContextEPackageService.getEPackages(editingContextId);
-        additionalEPackages.forEach(ePackage -> ePackageRegistry.put(ePackage.getNsURI(), ePackage));
-        resourceSet.setPackageRegistry(ePackageRegistry);
-
-        List<DocumentEntity> documentEntities = new IDParser().parse(editingContextId).map(this.documentRepository::findAllByProjectId).orElseGet(List::of);
-        for (DocumentEntity documentEntity : documentEntities) {
-            URI uri = URI.createURI(documentEntity.getId().toString());
-            JsonResource resource = new SiriusWebJSONResourceFactoryImpl().createResource(uri);
-            try (var inputStream = new ByteArrayInputStream(documentEntity.getContent().getBytes())) {
-                resourceSet.getResources().add(resource);
-                resource.load(inputStream, null);
-
-                resource.eAdapters().add(new DocumentMetadataAdapter(documentEntity.getName()));
-            } catch (IOException | IllegalArgumentException exception) {
-                this.logger.warn("An error occured while loading document {}: {}.", documentEntity.getId(), exception.getMessage()); //$NON-NLS-1$
-                resourceSet.getResources().remove(resource);
-            }
+        boolean isOwnedByAnotherNode = new IDParser().parse(editingContextId).map(this.projectOwnershipService::acquireOwnership).map(isOwned -> !isOwned).orElse(false);
+        if (isOwnedByAnotherNode) {
+            this.logger.debug("The editing context {} is owned by another node", editingContextId); //$NON-NLS-1$
+            return Optional.empty();
         }
 
-        this.logger.debug("{} documents loaded for the editing context {}", resourceSet.getResources().size(), editingContextId); //$NON-NLS-1$
+        this.prewarmedEditingContextProvider.editingContextLoadStarted(editingContextId);
+        try {
+            var optionalPrewarmedEditingContext = this.prewarmedEditingContextProvider.takePrewarmedEditingContext(editingContextId);
+            if (optionalPrewarmedEditingContext.isPresent()) {
+                this.logger.debug("Using the prewarmed editing context {}", editingContextId); //$NON-NLS-1$
+                this.prewarmedTimer.record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+                return optionalPrewarmedEditingContext;
+            }
+
+            IEditingContext editingContext = this.editingContextLoader.load(editingContextId);
 
-        long end = System.currentTimeMillis();
-        this.timer.record(end - start, TimeUnit.MILLISECONDS);
+            long end = System.currentTimeMillis();
+            this.timer.record(end - start, TimeUnit.MILLISECONDS);
 
-        return Optional.of(new EditingContext(editingContextId, editingDomain));
+            return Optional.of(editingContext);
+        } finally {
+            this.prewarmedEditingContextProvider.editingContextLoadFinished(editingContextId);
+        }
     }
 
 }
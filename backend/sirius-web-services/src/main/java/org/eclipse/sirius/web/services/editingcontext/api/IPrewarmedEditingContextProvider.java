@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.editingcontext.api;
+
+import java.util.Optional;
+
+import org.eclipse.sirius.components.core.api.IEditingContext;
+
+/**
+ * Gives access to the editing contexts which have been loaded in the background.
+ *
+ * @author sbegaudeau
+ */
+public interface IPrewarmedEditingContextProvider {
+
+    /**
+     * Removes and returns the editing context loaded in the background for the given identifier, if any. A prewarmed
+     * editing context is handed over only once since it will then be used by a single editing context event processor.
+     */
+    Optional<IEditingContext> takePrewarmedEditingContext(String editingContextId);
+
+    /**
+     * Indicates that the editing context with the given identifier is being loaded on behalf of a user. Background
+     * loads are held back while such loads are in progress.
+     */
+    void editingContextLoadStarted(String editingContextId);
+
+    void editingContextLoadFinished(String editingContextId);
+
+    /**
+     * Implementation which does nothing, used for mocks in unit tests.
+     *
+     * @author sbegaudeau
+     */
+    class NoOp implements IPrewarmedEditingContextProvider {
+
+        @Override
+        public Optional<IEditingContext> takePrewarmedEditingContext(String editingContextId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void editingContextLoadStarted(String editingContextId) {
+        }
+
+        @Override
+        public void editingContextLoadFinished(String editingContextId) {
+        }
+
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Obeo.
+ * Copyright (c) 2021, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,35 +12,134 @@
  *******************************************************************************/
 package org.eclipse.sirius.web.services.images;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.eclipse.sirius.web.persistence.entities.CustomImageEntity;
 import org.eclipse.sirius.web.persistence.repositories.ICustomImageRepository;
+import org.eclipse.sirius.web.services.api.images.CustomImageContent;
 import org.eclipse.sirius.web.services.api.images.ICustomImageContentService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Implementation of the service used to retrieve the content of custom images.
  *
+ * <p>
+ * Custom images never change once created, the most recently used ones are thus kept in memory as long as their total
+ * size does not exceed <code>sirius.web.images.cache.maxSize</code> bytes.
+ * </p>
+ *
  * @author pcdavid
  */
 @Service
 public class CustomImageContentService implements ICustomImageContentService {
+
+    private static final String COUNTER_NAME = "siriusweb_images_cache"; //$NON-NLS-1$
+
+    private static final String GAUGE_NAME = "siriusweb_images_cache_size"; //$NON-NLS-1$
+
+    private static final String RESULT = "result"; //$NON-NLS-1$
+
     private final ICustomImageRepository customImageRepository;
 
-    public CustomImageContentService(ICustomImageRepository customImageRepository) {
+    private final long maxSize;
+
+    /**
+     * The cached images, from the least to the most recently used.
+     */
+    private final Map<UUID, CustomImageContent> images = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long size;
+
+    private final Counter hitCounter;
+
+    private final Counter missCounter;
+
+    // @formatter:off
+    public CustomImageContentService(ICustomImageRepository customImageRepository, MeterRegistry meterRegistry,
+            @Value("${sirius.web.images.cache.maxSize:33554432}") long maxSize) {
         this.customImageRepository = Objects.requireNonNull(customImageRepository);
+        this.maxSize = maxSize;
+
+        this.hitCounter = Counter.builder(COUNTER_NAME).tag(RESULT, "hit").register(meterRegistry); //$NON-NLS-1$
+        this.missCounter = Counter.builder(COUNTER_NAME).tag(RESULT, "miss").register(meterRegistry); //$NON-NLS-1$
+        Gauge.builder(GAUGE_NAME, this, CustomImageContentService::getSize).baseUnit("bytes").register(meterRegistry); //$NON-NLS-1$
+    }
+    // @formatter:on
+
+    @Override
+    public Optional<CustomImageContent> getImageContent(String editingContextId, UUID imageId) {
+        synchronized (this.images) {
+            CustomImageContent cachedImage = this.images.get(imageId);
+            if (cachedImage != null) {
+                this.hitCounter.increment();
+                return Optional.of(cachedImage);
+            }
+        }
+
+        this.missCounter.increment();
+        Optional<CustomImageContent> optionalImage = this.customImageRepository.findById(imageId).map(this::toDTO);
+        optionalImage.ifPresent(this::put);
+        return optionalImage;
+    }
+
+    @Override
+    public boolean exists(String editingContextId, UUID imageId) {
+        synchronized (this.images) {
+            if (this.images.containsKey(imageId)) {
+                return true;
+            }
+        }
+        return this.customImageRepository.existsById(imageId);
     }
 
     @Override
     public Optional<byte[]> getImageContentById(String editingContextId, UUID imageId) {
-        return this.customImageRepository.findById(imageId).map(CustomImageEntity::getContent);
+        return this.getImageContent(editingContextId, imageId).map(CustomImageContent::getContent);
     }
 
     @Override
     public Optional<String> getImageContentTypeById(String editingContextId, UUID imageId) {
-        return this.customImageRepository.findById(imageId).map(CustomImageEntity::getContentType);
+        return this.getImageContent(editingContextId, imageId).map(CustomImageContent::getContentType);
+    }
+
+    private CustomImageContent toDTO(CustomImageEntity customImageEntity) {
+        return new CustomImageContent(customImageEntity.getId(), customImageEntity.getContentType(), customImageEntity.getContent());
+    }
+
+    private void put(CustomImageContent image) {
+        if (image.getContent().length > this.maxSize) {
+            return;
+        }
+
+        synchronized (this.images) {
+            CustomImageContent previousImage = this.images.put(image.getId(), image);
+            if (previousImage != null) {
+                this.size -= previousImage.getContent().length;
+            }
+            this.size += image.getContent().length;
+
+            Iterator<CustomImageContent> iterator = this.images.values().iterator();
+            while (this.size > this.maxSize && iterator.hasNext()) {
+                CustomImageContent evictedImage = iterator.next();
+                iterator.remove();
+                this.size -= evictedImage.getContent().length;
+            }
+        }
+    }
+
+    private double getSize() {
+        synchronized (this.images) {
+            return this.size;
+        }
     }
 }
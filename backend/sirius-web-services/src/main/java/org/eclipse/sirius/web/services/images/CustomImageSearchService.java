@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Obeo.
+ * Copyright (c) 2021, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -18,30 +18,103 @@ import java.util.stream.Collectors;
 
 import org.eclipse.sirius.components.view.emf.CustomImage;
 import org.eclipse.sirius.components.view.emf.ICustomImageSearchService;
-import org.eclipse.sirius.web.persistence.entities.CustomImageEntity;
+import org.eclipse.sirius.web.persistence.projections.CustomImageMetadataProjection;
 import org.eclipse.sirius.web.persistence.repositories.ICustomImageRepository;
+import org.eclipse.sirius.web.services.api.events.CustomImagesAddedEvent;
+import org.eclipse.sirius.web.services.api.images.CustomImageMetadata;
+import org.eclipse.sirius.web.services.api.images.CustomImageMetadataPage;
+import org.eclipse.sirius.web.services.api.images.ICustomImageMetadataService;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 /**
  * Implementation of the service used to find existing custom images.
  *
+ * <p>
+ * The content of the images is never loaded. The list of all the available images is computed once and kept until new
+ * images are added.
+ * </p>
+ *
  * @author pcdavid
  */
 @Service
-public class CustomImageSearchService implements ICustomImageSearchService {
+public class CustomImageSearchService implements ICustomImageSearchService, ICustomImageMetadataService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final String LIKE_ESCAPE = "\\"; //$NON-NLS-1$
+
     private final ICustomImageRepository customImageRepository;
 
+    private final Object lock = new Object();
+
+    private volatile List<CustomImage> availableImages;
+
+    /**
+     * Incremented each time new images are added, to prevent a list computed concurrently from being cached.
+     */
+    private long generation;
+
     public CustomImageSearchService(ICustomImageRepository customImageRepository) {
         this.customImageRepository = Objects.requireNonNull(customImageRepository);
     }
 
     @Override
     public List<CustomImage> getAvailableImages(String editingContextId) {
-        return this.customImageRepository.findAll().stream().map(this::toDTO).collect(Collectors.toList());
+        List<CustomImage> images = this.availableImages;
+        if (images == null) {
+            long currentGeneration;
+            synchronized (this.lock) {
+                currentGeneration = this.generation;
+            }
+            images = this.customImageRepository.findAllMetadata().stream().map(this::toDTO).collect(Collectors.toUnmodifiableList());
+            synchronized (this.lock) {
+                if (currentGeneration == this.generation) {
+                    this.availableImages = images;
+                }
+            }
+        }
+        return images;
+    }
+
+    @Override
+    public CustomImageMetadataPage findImages(String editingContextId, String label, int page, int size) {
+        int pageIndex = Math.max(page, 0);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        String filter = this.escapeLikeWildcards(Objects.requireNonNullElse(label, "")); //$NON-NLS-1$
+
+        Page<CustomImageMetadataProjection> result = this.customImageRepository.findAllMetadataByLabel(filter, PageRequest.of(pageIndex, pageSize));
+        List<CustomImageMetadata> images = result.getContent().stream().map(this::toMetadata).collect(Collectors.toList());
+        return new CustomImageMetadataPage(images, pageIndex, result.hasNext(), result.getTotalElements());
+    }
+
+    /**
+     * Escapes the LIKE wildcards of the given text, in order to search it literally in the labels of the images.
+     */
+    private String escapeLikeWildcards(String text) {
+        // @formatter:off
+        return text.replace(LIKE_ESCAPE, LIKE_ESCAPE + LIKE_ESCAPE)
+                .replace("%", LIKE_ESCAPE + "%") //$NON-NLS-1$ //$NON-NLS-2$
+                .replace("_", LIKE_ESCAPE + "_"); //$NON-NLS-1$ //$NON-NLS-2$
+        // @formatter:on
+    }
+
+    @EventListener
+    public void onCustomImagesAdded(CustomImagesAddedEvent event) {
+        synchronized (this.lock) {
+            this.generation++;
+            this.availableImages = null;
+        }
+    }
+
+    private CustomImage toDTO(CustomImageMetadataProjection projection) {
+        return new CustomImage(projection.getId(), projection.getLabel(), projection.getContentType());
     }
 
-    private CustomImage toDTO(CustomImageEntity customImageEntity) {
-        return new CustomImage(customImageEntity.getId(), customImageEntity.getLabel(), customImageEntity.getContentType());
+    private CustomImageMetadata toMetadata(CustomImageMetadataProjection projection) {
+        return new CustomImageMetadata(projection.getId(), projection.getLabel(), projection.getContentType());
     }
 
 }
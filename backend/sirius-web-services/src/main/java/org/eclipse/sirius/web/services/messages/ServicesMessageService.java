@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Obeo.
+ * Copyright (c) 2021, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -62,4 +62,19 @@ public class ServicesMessageService implements IServicesMessageService {
     public String stereotypeDescriptionNotFound(UUID stereotypeDescriptionId) {
         return this.messageSourceAccessor.getMessage("STEREOTYPE_DESCRIPTION_NOT_FOUND", new Object[] { stereotypeDescriptionId }); //$NON-NLS-1$
     }
+
+    @Override
+    public String invalidProjectArchive() {
+        return this.messageSourceAccessor.getMessage("INVALID_PROJECT_ARCHIVE"); //$NON-NLS-1$
+    }
+
+    @Override
+    public String tooManyProjectImports() {
+        return this.messageSourceAccessor.getMessage("TOO_MANY_PROJECT_IMPORTS"); //$NON-NLS-1$
+    }
+
+    @Override
+    public String projectImportNotFound() {
+        return this.messageSourceAccessor.getMessage("PROJECT_IMPORT_NOT_FOUND"); //$NON-NLS-1$
+    }
 }
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.projects;
+
+/**
+ * Used to follow the import of a project and to stop it when it has been cancelled.
+ *
+ * @author sbegaudeau
+ */
+public interface IProjectImportMonitor {
+
+    /**
+     * Indicates if the import should stop as soon as possible.
+     *
+     * @return <code>true</code> if the import has been cancelled, <code>false</code> otherwise
+     */
+    boolean isCancelled();
+
+    void documentsImported(int count);
+
+    void representationsImported(int count);
+
+    /**
+     * Implementation which does nothing, used for imports which cannot be followed nor cancelled.
+     *
+     * @author sbegaudeau
+     */
+    class NoOp implements IProjectImportMonitor {
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public void documentsImported(int count) {
+            // Do nothing
+        }
+
+        @Override
+        public void representationsImported(int count) {
+            // Do nothing
+        }
+
+    }
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.projects;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.MessageFormat;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Input stream used to read an entry of the archive of a project while enforcing the limits of the import.
+ *
+ * <p>
+ * The entry is only opened when it is read for the first time and it is released as soon as it has been fully read, so
+ * that the entries can be processed one at a time. The number of bytes actually inflated is counted, regardless of the
+ * sizes declared in the archive, to check both the compression ratio of the entry and the total uncompressed size of
+ * the archive.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class ProjectArchiveEntryInputStream extends InputStream {
+
+    private final ZipFile zipFile;
+
+    private final ZipEntry zipEntry;
+
+    private final ProjectArchiveLimits limits;
+
+    private final AtomicLong totalUncompressedSize;
+
+    private InputStream inputStream;
+
+    private long uncompressedSize;
+
+    private boolean isClosed;
+
+    public ProjectArchiveEntryInputStream(ZipFile zipFile, ZipEntry zipEntry, ProjectArchiveLimits limits, AtomicLong totalUncompressedSize) {
+        this.zipFile = Objects.requireNonNull(zipFile);
+        this.zipEntry = Objects.requireNonNull(zipEntry);
+        this.limits = Objects.requireNonNull(limits);
+        this.totalUncompressedSize = Objects.requireNonNull(totalUncompressedSize);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] bytes = new byte[1];
+        int count = this.read(bytes, 0, 1);
+        if (count == 1) {
+            return bytes[0] & 0xFF;
+        }
+        return -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (this.isClosed) {
+            return -1;
+        }
+        if (this.inputStream == null) {
+            this.inputStream = this.zipFile.getInputStream(this.zipEntry);
+        }
+
+        int count = this.inputStream.read(bytes, offset, length);
+        if (count > 0) {
+            this.uncompressedSize += count;
+            this.checkLimits(this.totalUncompressedSize.addAndGet(count));
+        } else if (count < 0) {
+            this.close();
+        }
+        return count;
+    }
+
+    private void checkLimits(long total) throws IOException {
+        if (total > this.limits.getMaxUncompressedSize()) {
+            this.close();
+            String message = MessageFormat.format("The uncompressed size of the archive exceeds {0} bytes", this.limits.getMaxUncompressedSize()); //$NON-NLS-1$
+            throw new IOException(message);
+        }
+
+        long compressedSize = Math.max(this.zipEntry.getCompressedSize(), 1);
+        if (this.uncompressedSize > ProjectArchiveLimits.COMPRESSION_RATIO_THRESHOLD && this.uncompressedSize > compressedSize * this.limits.getMaxCompressionRatio()) {
+            this.close();
+            String message = MessageFormat.format("The compression ratio of the entry {0} exceeds {1}", this.zipEntry.getName(), this.limits.getMaxCompressionRatio()); //$NON-NLS-1$
+            throw new IOException(message);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.isClosed = true;
+        if (this.inputStream != null) {
+            this.inputStream.close();
+            this.inputStream = null;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.projects;
+
+/**
+ * The limits enforced while reading the archive of a project to import, in order to reject zip bombs.
+ *
+ * @author sbegaudeau
+ */
+public class ProjectArchiveLimits {
+
+    /**
+     * The uncompressed size under which the compression ratio of an entry is not checked, since small files can be
+     * legitimately very compressed.
+     */
+    public static final long COMPRESSION_RATIO_THRESHOLD = 1024 * 1024;
+
+    private final int maxEntries;
+
+    private final long maxUncompressedSize;
+
+    private final int maxCompressionRatio;
+
+    public ProjectArchiveLimits(int maxEntries, long maxUncompressedSize, int maxCompressionRatio) {
+        this.maxEntries = maxEntries;
+        this.maxUncompressedSize = maxUncompressedSize;
+        this.maxCompressionRatio = maxCompressionRatio;
+    }
+
+    public int getMaxEntries() {
+        return this.maxEntries;
+    }
+
+    public long getMaxUncompressedSize() {
+        return this.maxUncompressedSize;
+    }
+
+    public int getMaxCompressionRatio() {
+        return this.maxCompressionRatio;
+    }
+
+}
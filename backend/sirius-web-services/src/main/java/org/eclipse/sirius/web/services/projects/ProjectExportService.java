@@ -12,48 +12,61 @@
  *******************************************************************************/
 package org.eclipse.sirius.web.services.projects;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 import org.eclipse.emf.common.util.URI;
-import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
-import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.sirius.components.emf.services.IEditingContextEPackageService;
 import org.eclipse.sirius.components.emf.services.SiriusWebJSONResourceFactoryImpl;
-import org.eclipse.sirius.components.representations.IRepresentation;
 import org.eclipse.sirius.emfjson.resource.JsonResource;
 import org.eclipse.sirius.emfjson.resource.JsonResourceFactoryImpl;
 import org.eclipse.sirius.web.persistence.entities.IdMappingEntity;
+import org.eclipse.sirius.web.persistence.projections.DocumentMetadataProjection;
+import org.eclipse.sirius.web.persistence.projections.RepresentationMetadataProjection;
+import org.eclipse.sirius.web.persistence.repositories.IDocumentRepository;
 import org.eclipse.sirius.web.persistence.repositories.IIdMappingRepository;
-import org.eclipse.sirius.web.services.api.document.Document;
-import org.eclipse.sirius.web.services.api.document.IDocumentService;
+import org.eclipse.sirius.web.persistence.repositories.IRepresentationRepository;
 import org.eclipse.sirius.web.services.api.projects.IProjectExportService;
 import org.eclipse.sirius.web.services.api.projects.IProjectService;
 import org.eclipse.sirius.web.services.api.projects.Project;
 import org.eclipse.sirius.web.services.api.projects.ProjectManifest;
 import org.eclipse.sirius.web.services.api.projects.RepresentationManifest;
-import org.eclipse.sirius.web.services.api.representations.IRepresentationService;
-import org.eclipse.sirius.web.services.api.representations.RepresentationDescriptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.info.BuildProperties;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
 /**
@@ -72,13 +85,22 @@ import org.springframework.stereotype.Service;
  * </ul>
  * </p>
  *
+ * <p>
+ * The zip is written directly in the given output stream. The documents and the representations are retrieved and
+ * serialized in parallel by a pool of threads while a single writer adds them to the zip in order. Only a few entries
+ * are prepared ahead of the writer and their content is never kept in the persistence context in order to export
+ * projects larger than the memory available.
+ * </p>
+ *
  * @author gcoutable
  */
 @Service
-public class ProjectExportService implements IProjectExportService {
+public class ProjectExportService implements IProjectExportService, DisposableBean {
 
     private static final String CURRENT_MANIFEST_VERSION = "1.0"; //$NON-NLS-1$
 
+    private static final String THREAD_NAME_PREFIX = "project-export-"; //$NON-NLS-1$
+
     private final Logger logger = LoggerFactory.getLogger(ProjectExportService.class);
 
     private final ObjectMapper objectMapper;
@@ -87,53 +109,81 @@ public class ProjectExportService implements IProjectExportService {
 
     private final IProjectService projectService;
 
-    private final IDocumentService documentService;
+    private final IDocumentRepository documentRepository;
 
-    private final IRepresentationService representationService;
+    private final IRepresentationRepository representationRepository;
 
     private final IIdMappingRepository idMappingRepository;
 
     private final IEditingContextEPackageService editingContextEPackageService;
 
-    public ProjectExportService(IProjectService projectService, IDocumentService documentService, IRepresentationService representationService,
-            IEditingContextEPackageService editingContextEPackageService, IIdMappingRepository idMappingRepository, ObjectMapper objectMapper, BuildProperties buildProperties) {
+    private final ExecutorService executorService;
+
+    private final int pendingEntriesLimit;
+
+    private final int documentsCompressionLevel;
+
+    private final int representationsCompressionLevel;
+
+    // @formatter:off
+    public ProjectExportService(IProjectService projectService, IDocumentRepository documentRepository, IRepresentationRepository representationRepository,
+            IEditingContextEPackageService editingContextEPackageService, IIdMappingRepository idMappingRepository, ObjectMapper objectMapper, BuildProperties buildProperties,
+            @Value("${sirius.web.export.threads:4}") int threads,
+            @Value("${sirius.web.export.compression.documents:-1}") int documentsCompressionLevel,
+            @Value("${sirius.web.export.compression.representations:-1}") int representationsCompressionLevel) {
         this.projectService = Objects.requireNonNull(projectService);
-        this.documentService = Objects.requireNonNull(documentService);
-        this.representationService = Objects.requireNonNull(representationService);
+        this.documentRepository = Objects.requireNonNull(documentRepository);
+        this.representationRepository = Objects.requireNonNull(representationRepository);
         this.editingContextEPackageService = Objects.requireNonNull(editingContextEPackageService);
         this.idMappingRepository = Objects.requireNonNull(idMappingRepository);
         this.objectMapper = Objects.requireNonNull(objectMapper);
         this.buildProperties = Objects.requireNonNull(buildProperties);
+        this.documentsCompressionLevel = documentsCompressionLevel;
+        this.representationsCompressionLevel = representationsCompressionLevel;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+        threadFactory.setDaemon(true);
+        int poolSize = Math.max(threads, 1);
+        this.executorService = Executors.newFixedThreadPool(poolSize, threadFactory);
+        this.pendingEntriesLimit = 2 * poolSize;
     }
+    // @formatter:on
 
     @Override
     public byte[] exportProjectAsZip(UUID projectId) {
-        return this.projectService.getProject(projectId).map(this::toZip).orElse(new byte[0]);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            this.exportProject(projectId, outputStream);
+        } catch (IOException exception) {
+            this.logger.warn(exception.getMessage(), exception);
+            outputStream.reset();
+        }
+        return outputStream.toByteArray();
+    }
+
+    @Override
+    public void exportProject(UUID projectId, OutputStream outputStream) throws IOException {
+        Optional<Project> optionalProject = this.projectService.getProject(projectId);
+        if (optionalProject.isPresent()) {
+            this.toZip(optionalProject.get(), outputStream);
+        }
     }
 
-    private byte[] toZip(Project project) {
-        byte[] zip = new byte[0];
-        String projectId = project.getId().toString();
+    private void toZip(Project project, OutputStream outputStream) throws IOException {
         String projectName = project.getName();
+        List<EPackage> ePackages = this.editingContextEPackageService.getEPackages(project.getId().toString());
+        List<RepresentationMetadataProjection> representationsMetadata = this.representationRepository.findAllMetadataByProjectId(project.getId());
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         try (var zippedOut = new ZipOutputStream(outputStream)) {
+            Set<String> targetObjectIds = representationsMetadata.stream().map(RepresentationMetadataProjection::getTargetObjectId).collect(Collectors.toSet());
+            Map<String, String> targetObjectId2URI = new ConcurrentHashMap<>();
 
-            Map<String, String> id2DocumentName = this.addDocuments(projectId, projectName, zippedOut);
-
-            Map<String, RepresentationManifest> representationsManifests = this.addRepresentation(projectId, projectName, zippedOut);
+            Map<String, String> id2DocumentName = this.addDocuments(project.getId(), projectName, ePackages, targetObjectIds, targetObjectId2URI, zippedOut);
 
-            this.addManifest(projectId, projectName, id2DocumentName, representationsManifests, zippedOut);
-        } catch (IOException exception) {
-            this.logger.warn(exception.getMessage(), exception);
-            outputStream.reset();
-        }
+            Map<String, RepresentationManifest> representationsManifests = this.addRepresentations(project.getId(), projectName, representationsMetadata, targetObjectId2URI, zippedOut);
 
-        if (outputStream.size() > 0) {
-            zip = outputStream.toByteArray();
+            this.addManifest(projectName, ePackages, id2DocumentName, representationsManifests, zippedOut);
         }
-
-        return zip;
     }
 
     /**
@@ -145,6 +195,11 @@ public class ProjectExportService implements IProjectExportService {
      * </p>
      *
      * <p>
+     * Each document is loaded once. While some target objects of the representations have not been found, the document
+     * is also parsed and traversed once to index the URI of the target objects that it contains.
+     * </p>
+     *
+     * <p>
      * Returns a map of documentId to document name. This map will be used to store the mapping between documentId and
      * document name in the manifest file.
      * </p>
@@ -153,32 +208,70 @@ public class ProjectExportService implements IProjectExportService {
      *            The id of the project we want to export
      * @param projectName
      *            The name of the project we want to export
+     * @param ePackages
+     *            The EPackages used by the documents of the project
+     * @param targetObjectIds
+     *            The ids of the target objects of the representations
+     * @param targetObjectId2URI
+     *            The index of target object id to URI which will be completed with the target objects found
      * @param zippedOut
      *            The {@link ZipOutputStream} used to build the zip
      * @return the mapping between document id and document name
      * @throws IOException
      *             if an I/O error occurred
      */
-    private Map<String, String> addDocuments(String projectId, String projectName, ZipOutputStream zippedOut) throws IOException {
-        List<Document> documents = this.documentService.getDocuments(projectId);
-        Map<String, String> id2DocumentName = new HashMap<>();
-        for (Document document : documents) {
-            Optional<byte[]> optionalBytes = this.documentService.getBytes(document, IDocumentService.RESOURCE_KIND_JSON);
-            if (optionalBytes.isPresent()) {
-                byte[] bytes = optionalBytes.get();
-                id2DocumentName.put(document.getId().toString(), document.getName());
-                String name = projectName + "/documents/" + document.getId() + "." + JsonResourceFactoryImpl.EXTENSION; //$NON-NLS-1$ //$NON-NLS-2$
-                ZipEntry zipEntry = this.createZipEntry(name, bytes.length);
-                zippedOut.putNextEntry(zipEntry);
-                zippedOut.write(bytes);
-                zippedOut.closeEntry();
+    private Map<String, String> addDocuments(UUID projectId, String projectName, List<EPackage> ePackages, Set<String> targetObjectIds, Map<String, String> targetObjectId2URI,
+            ZipOutputStream zippedOut) throws IOException {
+        EPackageRegistryImpl ePackageRegistry = new EPackageRegistryImpl();
+        ePackages.forEach(ePackage -> ePackageRegistry.put(ePackage.getNsURI(), ePackage));
+
+        Function<DocumentMetadataProjection, Optional<byte[]>> serializer = documentMetadata -> {
+            Optional<String> optionalContent = this.documentRepository.findContentById(documentMetadata.getId());
+            // @formatter:off
+            optionalContent.filter(content -> targetObjectId2URI.size() < targetObjectIds.size())
+                    .ifPresent(content -> this.indexTargetObjects(documentMetadata.getId(), content, ePackageRegistry, targetObjectIds, targetObjectId2URI));
+            // @formatter:on
+            return optionalContent.map(content -> content.getBytes(StandardCharsets.UTF_8));
+        };
+
+        Map<String, String> id2DocumentName = new LinkedHashMap<>();
+        Function<DocumentMetadataProjection, String> nameProvider = documentMetadata -> projectName + "/documents/" + documentMetadata.getId() + "." + JsonResourceFactoryImpl.EXTENSION; //$NON-NLS-1$ //$NON-NLS-2$
+        BiConsumer<DocumentMetadataProjection, Boolean> callback = (documentMetadata, isAdded) -> {
+            if (isAdded.booleanValue()) {
+                id2DocumentName.put(documentMetadata.getId().toString(), documentMetadata.getName());
             } else {
-                this.logger.warn("The serialization of the document {} has failed.", document.getName()); //$NON-NLS-1$
+                this.logger.warn("The serialization of the document {} has failed.", documentMetadata.getName()); //$NON-NLS-1$
             }
-        }
+        };
+
+        List<DocumentMetadataProjection> documentsMetadata = this.documentRepository.findAllMetadataByProjectId(projectId);
+        this.addEntries(documentsMetadata, nameProvider, serializer, callback, this.documentsCompressionLevel, zippedOut);
         return id2DocumentName;
     }
 
+    /**
+     * Loads the given document in its own {@link ResourceSet} and traverses its content once in order to index the URI
+     * of the target objects of the representations that it contains. The resource is discarded afterwards.
+     */
+    private void indexTargetObjects(UUID documentId, String content, EPackage.Registry ePackageRegistry, Set<String> targetObjectIds, Map<String, String> targetObjectId2URI) {
+        ResourceSet resourceSet = new ResourceSetImpl();
+        resourceSet.setPackageRegistry(ePackageRegistry);
+        JsonResource resource = new SiriusWebJSONResourceFactoryImpl().createResource(URI.createURI(documentId.toString()));
+        resourceSet.getResources().add(resource);
+        try (var inputStream = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))) {
+            resource.load(inputStream, null);
+        } catch (IOException exception) {
+            this.logger.warn(exception.getMessage(), exception);
+        }
+
+        resource.getAllContents().forEachRemaining(eObject -> {
+            String id = resource.getURIFragment(eObject);
+            if (targetObjectIds.contains(id)) {
+                targetObjectId2URI.put(id, EcoreUtil.getURI(eObject).toString());
+            }
+        });
+    }
+
     /**
      * Adds a {@link ZipEntry} for every representations in the project, in the given {@link ZipOutputStream}.
      *
@@ -188,6 +281,11 @@ public class ProjectExportService implements IProjectExportService {
      * </p>
      *
      * <p>
+     * The content of the representations is copied as is in the representation descriptors, it is never deserialized
+     * during the export.
+     * </p>
+     *
+     * <p>
      * Returns a map of representation IDs to {@link RepresentationManifest}. This map will be stored in the manifest
      * file.
      * </p>
@@ -196,45 +294,117 @@ public class ProjectExportService implements IProjectExportService {
      *            The id of the project we want to export
      * @param projectName
      *            The name of the project we want to export
+     * @param representationsMetadata
+     *            The metadata of the representations of the project
+     * @param targetObjectId2URI
+     *            The index of target object id to URI
      * @param zippedOut
      *            The {@link ZipOutputStream} used to build the zip
      * @return the mapping between representation IDs and their {@link RepresentationManifest}
      * @throws IOException
      *             if an I/O error occurred
      */
-    private Map<String, RepresentationManifest> addRepresentation(String projectId, String projectName, ZipOutputStream zippedout) throws IOException {
-        List<RepresentationDescriptor> representationsDescriptor = this.representationService.getRepresentationDescriptorsForProjectId(projectId);
-        Map<String, RepresentationManifest> representationManifests = new HashMap<>();
-        ResourceSet resourceSet = this.loadAllDocuments(projectId);
-
-        for (RepresentationDescriptor representationDescriptor : representationsDescriptor) {
-            RepresentationManifest representationManifest = this.createRepresentationManifest(representationDescriptor, resourceSet);
-            UUID representationId = representationDescriptor.getId();
-            representationManifests.put(representationId.toString(), representationManifest);
-
-            byte[] bytes = new ObjectMapper().writeValueAsBytes(representationDescriptor);
-            String name = projectName + "/representations/" + representationId + "." + JsonResourceFactoryImpl.EXTENSION; //$NON-NLS-1$ //$NON-NLS-2$
-            ZipEntry zipEntry = this.createZipEntry(name, bytes.length);
-            zippedout.putNextEntry(zipEntry);
-            zippedout.write(bytes);
-            zippedout.closeEntry();
-        }
+    private Map<String, RepresentationManifest> addRepresentations(UUID projectId, String projectName, List<RepresentationMetadataProjection> representationsMetadata,
+            Map<String, String> targetObjectId2URI, ZipOutputStream zippedOut) throws IOException {
+        Function<RepresentationMetadataProjection, Optional<byte[]>> serializer = representationMetadata -> {
+            // @formatter:off
+            return this.representationRepository.findContentById(representationMetadata.getId())
+                    .flatMap(content -> this.serializeRepresentationDescriptor(projectId, representationMetadata, content));
+            // @formatter:on
+        };
+
+        Map<String, RepresentationManifest> representationManifests = new LinkedHashMap<>();
+        Function<RepresentationMetadataProjection, String> nameProvider = representationMetadata -> projectName + "/representations/" + representationMetadata.getId() + "." //$NON-NLS-1$ //$NON-NLS-2$
+                + JsonResourceFactoryImpl.EXTENSION;
+        BiConsumer<RepresentationMetadataProjection, Boolean> callback = (representationMetadata, isAdded) -> {
+            if (isAdded.booleanValue()) {
+                RepresentationManifest representationManifest = this.createRepresentationManifest(representationMetadata, targetObjectId2URI);
+                representationManifests.put(representationMetadata.getId().toString(), representationManifest);
+            }
+        };
 
+        this.addEntries(representationsMetadata, nameProvider, serializer, callback, this.representationsCompressionLevel, zippedOut);
         return representationManifests;
     }
 
     /**
-     * Creates a {@link RepresentationManifest} for the given {@link RepresentationDescriptor}.
+     * Serializes the representation descriptor with the same structure as a
+     * {@link org.eclipse.sirius.web.services.api.representations.RepresentationDescriptor} while the content of the
+     * representation is copied without being parsed.
+     */
+    private Optional<byte[]> serializeRepresentationDescriptor(UUID projectId, RepresentationMetadataProjection representationMetadata, String content) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(content.length() + 512);
+        try (JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartObject();
+            generator.writeStringField("id", representationMetadata.getId().toString()); //$NON-NLS-1$
+            generator.writeStringField("projectId", projectId.toString()); //$NON-NLS-1$
+            generator.writeStringField("descriptionId", representationMetadata.getDescriptionId()); //$NON-NLS-1$
+            generator.writeStringField("targetObjectId", representationMetadata.getTargetObjectId()); //$NON-NLS-1$
+            generator.writeStringField("label", representationMetadata.getLabel()); //$NON-NLS-1$
+            generator.writeStringField("kind", representationMetadata.getKind()); //$NON-NLS-1$
+            generator.writeFieldName("representation"); //$NON-NLS-1$
+            generator.writeRawValue(content);
+            generator.writeEndObject();
+        } catch (IOException exception) {
+            this.logger.warn(exception.getMessage(), exception);
+            return Optional.empty();
+        }
+        return Optional.of(outputStream.toByteArray());
+    }
+
+    /**
+     * Adds the given elements in the zip in order while their content is retrieved and serialized in parallel.
      *
-     * @param representationDescriptor
-     *            The {@link RepresentationDescriptor}
-     * @param resourceSet
-     *            The {@link ResourceSet} containing all loaded documents
-     * @return the {@link RepresentationManifest} for the given {@link RepresentationDescriptor}
+     * <p>
+     * The serialization of an element starts as soon as one of the threads of the export is available but at most a
+     * few elements are serialized ahead of the one being written, which bounds the memory used by the export. The
+     * callback is invoked by the writer, in order, with true if the element has been added or false if its
+     * serialization has failed.
+     * </p>
      */
-    private RepresentationManifest createRepresentationManifest(RepresentationDescriptor representationDescriptor, ResourceSet resourceSet) {
-        IRepresentation representation = representationDescriptor.getRepresentation();
-        String descriptionId = representationDescriptor.getDescriptionId();
+    private <T> void addEntries(List<T> elements, Function<T, String> nameProvider, Function<T, Optional<byte[]>> serializer, BiConsumer<T, Boolean> callback, int compressionLevel,
+            ZipOutputStream zippedOut) throws IOException {
+        zippedOut.setLevel(compressionLevel);
+
+        Deque<Map.Entry<T, CompletableFuture<Optional<byte[]>>>> pendingEntries = new ArrayDeque<>();
+        try {
+            for (T element : elements) {
+                pendingEntries.add(Map.entry(element, CompletableFuture.supplyAsync(() -> serializer.apply(element), this.executorService)));
+                if (pendingEntries.size() >= this.pendingEntriesLimit) {
+                    this.addEntry(pendingEntries.poll(), nameProvider, callback, zippedOut);
+                }
+            }
+            while (!pendingEntries.isEmpty()) {
+                this.addEntry(pendingEntries.poll(), nameProvider, callback, zippedOut);
+            }
+        } finally {
+            pendingEntries.forEach(pendingEntry -> pendingEntry.getValue().cancel(false));
+        }
+    }
+
+    private <T> void addEntry(Map.Entry<T, CompletableFuture<Optional<byte[]>>> pendingEntry, Function<T, String> nameProvider, BiConsumer<T, Boolean> callback, ZipOutputStream zippedOut)
+            throws IOException {
+        T element = pendingEntry.getKey();
+        Optional<byte[]> optionalBytes = pendingEntry.getValue().join();
+        if (optionalBytes.isPresent()) {
+            zippedOut.putNextEntry(this.createZipEntry(nameProvider.apply(element)));
+            zippedOut.write(optionalBytes.get());
+            zippedOut.closeEntry();
+        }
+        callback.accept(element, optionalBytes.isPresent());
+    }
+
+    /**
+     * Creates a {@link RepresentationManifest} for the given representation.
+     *
+     * @param representationMetadata
+     *            The metadata of the representation
+     * @param targetObjectId2URI
+     *            The map of target object id to URI
+     * @return the {@link RepresentationManifest} for the given representation
+     */
+    private RepresentationManifest createRepresentationManifest(RepresentationMetadataProjection representationMetadata, Map<String, String> targetObjectId2URI) {
+        String descriptionId = representationMetadata.getDescriptionId();
 
         /*
          * If the given descriptionId does not match with an existing IdMappingEntity, the current representation is
@@ -243,61 +413,22 @@ public class ProjectExportService implements IProjectExportService {
         // @formatter:off
         String descriptionURI = this.idMappingRepository.findById(descriptionId)
             .map(IdMappingEntity::getExternalId)
-            .orElse(descriptionId.toString());
+            .orElse(descriptionId);
         // @formatter:on
 
-        String uriFragment = ""; //$NON-NLS-1$
-        String targetObjectId = representationDescriptor.getTargetObjectId();
-        for (Resource resource : resourceSet.getResources()) {
-            EObject eObject = resource.getEObject(targetObjectId);
-            if (eObject != null) {
-                uriFragment = EcoreUtil.getURI(eObject).toString();
-                break;
-            }
-        }
+        String uriFragment = targetObjectId2URI.getOrDefault(representationMetadata.getTargetObjectId(), ""); //$NON-NLS-1$
         if (uriFragment.isEmpty()) {
             this.logger.warn("The serialization of the representationManifest won't be complete."); //$NON-NLS-1$
         }
         // @formatter:off
         return RepresentationManifest.newRepresentationManifest()
-            .type(representation.getKind())
+            .type(representationMetadata.getKind())
             .descriptionURI(descriptionURI)
             .targetObjectURI(uriFragment)
             .build();
         // @formatter:on
     }
 
-    /**
-     * Load all documents of the given project in a {@link ResourceSet}.
-     *
-     * @param projectId
-     *            the ID of the project to export.
-     * @return a {@link ResourceSet} containing all project documents.
-     */
-    private ResourceSet loadAllDocuments(String projectId) {
-        List<Document> documents = this.documentService.getDocuments(projectId);
-        EPackageRegistryImpl ePackageRegistry = new EPackageRegistryImpl();
-        this.editingContextEPackageService.getEPackages(projectId).forEach(ePackage -> ePackageRegistry.put(ePackage.getNsURI(), ePackage));
-        ResourceSet resourceSet = new ResourceSetImpl();
-        for (Document document : documents) {
-            ResourceSet loadingResourceSet = new ResourceSetImpl();
-            loadingResourceSet.setPackageRegistry(ePackageRegistry);
-            URI uri = URI.createURI(document.getId().toString());
-            JsonResource resource = new SiriusWebJSONResourceFactoryImpl().createResource(uri);
-            loadingResourceSet.getResources().add(resource);
-            Optional<byte[]> optionalBytes = this.documentService.getBytes(document, IDocumentService.RESOURCE_KIND_JSON);
-            if (optionalBytes.isPresent()) {
-                try (var inputStream = new ByteArrayInputStream(optionalBytes.get())) {
-                    resource.load(inputStream, null);
-                    resourceSet.getResources().add(resource);
-                } catch (IOException exception) {
-                    this.logger.warn(exception.getMessage(), exception);
-                }
-            }
-        }
-        return resourceSet;
-    }
-
     /**
      * Adds a {@link ZipEntry} for the manifest file in the given {@link ZipOutputStream}.
      *
@@ -305,24 +436,23 @@ public class ProjectExportService implements IProjectExportService {
      * The name of the {@link ZipEntry} is [projectName]/manifest.json, where '/' are used as path separator in the zip.
      * </p>
      *
-     * @param projectId
-     *            The id of the project we want to export
      * @param projectName
      *            The name of the project we want to export
+     * @param ePackages
+     *            The EPackages used by the documents of the project
      * @param id2DocumentName
      *            The map of document id to document name
      * @param representationsManifests
      *            The map of representation id to {@link RepresentationManifest}
      * @param zippedOut
      *            The {@link ZipOutputStream} used to build the zip
-     * @return the mapping between document id and document name
      * @throws IOException
      *             if an I/O error occurred
      */
-    private void addManifest(String projectId, String projectName, Map<String, String> id2DocumentName, Map<String, RepresentationManifest> representationsManifests, ZipOutputStream zippedout)
-            throws IOException {
+    private void addManifest(String projectName, List<EPackage> ePackages, Map<String, String> id2DocumentName, Map<String, RepresentationManifest> representationsManifests,
+            ZipOutputStream zippedOut) throws IOException {
         // @formatter:off
-        List<String> metamodels = this.editingContextEPackageService.getEPackages(projectId).stream()
+        List<String> metamodels = ePackages.stream()
                 .map(EPackage::getNsURI)
                 .collect(Collectors.toList());
 
@@ -334,18 +464,22 @@ public class ProjectExportService implements IProjectExportService {
         // @formatter:on
 
         byte[] manifestContent = this.objectMapper.writeValueAsBytes(projectManifest);
-        ZipEntry zipEntry = new ZipEntry(projectName + "/manifest.json"); //$NON-NLS-1$
-        zippedout.putNextEntry(zipEntry);
-        zippedout.write(manifestContent);
-        zippedout.closeEntry();
+        zippedOut.setLevel(Deflater.DEFAULT_COMPRESSION);
+        zippedOut.putNextEntry(this.createZipEntry(projectName + "/manifest.json")); //$NON-NLS-1$
+        zippedOut.write(manifestContent);
+        zippedOut.closeEntry();
     }
 
-    private ZipEntry createZipEntry(String name, int length) {
+    private ZipEntry createZipEntry(String name) {
         ZipEntry zipEntry = new ZipEntry(name);
-        zipEntry.setSize(length);
         zipEntry.setTime(System.currentTimeMillis());
         // Add here other zip entry options
         return zipEntry;
     }
 
+    @Override
+    public void destroy() {
+        this.executorService.shutdownNow();
+    }
+
 }
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.projects;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+import org.eclipse.sirius.web.services.api.projects.ProjectImportProgress;
+import org.eclipse.sirius.web.services.api.projects.ProjectImportStatus;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.publisher.Sinks.Many;
+
+/**
+ * The import of a project running in the background.
+ *
+ * <p>
+ * A new {@link ProjectImportProgress} is published each time the import progresses. The last one is replayed to new
+ * subscribers and the progress is completed once the import is over. The job can be cancelled while it is waiting to
+ * be started, it is then never started, or while it is running, it will then stop at the next step of the import.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class ProjectImportJob implements IProjectImportMonitor {
+
+    private final UUID id;
+
+    private final UUID inputId;
+
+    private final LongSupplier bytesRead;
+
+    private final Many<ProjectImportProgress> sink = Sinks.many().replay().latest();
+
+    private final List<String> errors = new ArrayList<>();
+
+    private volatile boolean cancelled;
+
+    private ProjectImportStatus status = ProjectImportStatus.PENDING;
+
+    private int documentCount;
+
+    private int processedDocumentCount;
+
+    private int representationCount;
+
+    private int processedRepresentationCount;
+
+    private UUID projectId;
+
+    public ProjectImportJob(UUID id, UUID inputId, LongSupplier bytesRead) {
+        this.id = Objects.requireNonNull(id);
+        this.inputId = Objects.requireNonNull(inputId);
+        this.bytesRead = Objects.requireNonNull(bytesRead);
+        this.emit();
+    }
+
+    public UUID getId() {
+        return this.id;
+    }
+
+    public UUID getInputId() {
+        return this.inputId;
+    }
+
+    public Flux<ProjectImportProgress> getProgress() {
+        return this.sink.asFlux();
+    }
+
+    /**
+     * Starts the job.
+     *
+     * @return <code>true</code> if the job has been started, <code>false</code> if it has been cancelled before
+     */
+    public synchronized boolean start() {
+        if (this.status != ProjectImportStatus.PENDING) {
+            return false;
+        }
+        this.status = ProjectImportStatus.RUNNING;
+        this.emit();
+        return true;
+    }
+
+    public synchronized void unzipped(int documentCount, int representationCount) {
+        this.documentCount = documentCount;
+        this.representationCount = representationCount;
+        this.emit();
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    @Override
+    public synchronized void documentsImported(int count) {
+        this.processedDocumentCount += count;
+        this.emit();
+    }
+
+    @Override
+    public synchronized void representationsImported(int count) {
+        this.processedRepresentationCount += count;
+        this.emit();
+    }
+
+    /**
+     * Requests the cancellation of the job.
+     *
+     * @return <code>true</code> if the job will be cancelled, <code>false</code> if it is already over
+     */
+    public synchronized boolean cancel() {
+        if (this.status.isTerminal()) {
+            return false;
+        }
+        this.cancelled = true;
+        if (this.status == ProjectImportStatus.PENDING) {
+            this.finish(ProjectImportStatus.CANCELLED);
+        }
+        return true;
+    }
+
+    public synchronized void succeeded(UUID importedProjectId) {
+        this.projectId = Objects.requireNonNull(importedProjectId);
+        this.finish(ProjectImportStatus.SUCCEEDED);
+    }
+
+    public synchronized void failed(String error) {
+        this.errors.add(error);
+        this.finish(ProjectImportStatus.FAILED);
+    }
+
+    public synchronized void cancelled() {
+        this.finish(ProjectImportStatus.CANCELLED);
+    }
+
+    public synchronized boolean isOver() {
+        return this.status.isTerminal();
+    }
+
+    private void finish(ProjectImportStatus terminalStatus) {
+        if (!this.status.isTerminal()) {
+            this.status = terminalStatus;
+            this.emit();
+            this.sink.tryEmitComplete();
+        }
+    }
+
+    private void emit() {
+        // @formatter:off
+        var builder = ProjectImportProgress.newProjectImportProgress(this.id)
+                .status(this.status)
+                .bytesRead(this.bytesRead.getAsLong())
+                .documentCount(this.documentCount)
+                .processedDocumentCount(this.processedDocumentCount)
+                .representationCount(this.representationCount)
+                .processedRepresentationCount(this.processedRepresentationCount)
+                .errors(this.errors);
+        // @formatter:on
+        if (this.projectId != null) {
+            builder.projectId(this.projectId);
+        }
+        this.sink.tryEmitNext(builder.build());
+    }
+}
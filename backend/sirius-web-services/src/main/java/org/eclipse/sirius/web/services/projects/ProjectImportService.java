@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -14,11 +14,19 @@ package org.eclipse.sirius.web.services.projects;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.sirius.components.collaborative.api.IEditingContextEventProcessor;
 import org.eclipse.sirius.components.collaborative.api.IEditingContextEventProcessorRegistry;
@@ -26,26 +34,57 @@ import org.eclipse.sirius.components.core.api.ErrorPayload;
 import org.eclipse.sirius.components.core.api.IPayload;
 import org.eclipse.sirius.components.graphql.api.UploadFile;
 import org.eclipse.sirius.web.persistence.repositories.IIdMappingRepository;
+import org.eclipse.sirius.web.persistence.repositories.IProjectRepository;
+import org.eclipse.sirius.web.persistence.repositories.IRepresentationRepository;
+import org.eclipse.sirius.web.services.api.projects.CancelProjectImportSuccessPayload;
 import org.eclipse.sirius.web.services.api.projects.CreateProjectInput;
 import org.eclipse.sirius.web.services.api.projects.CreateProjectSuccessPayload;
 import org.eclipse.sirius.web.services.api.projects.IProjectImportService;
 import org.eclipse.sirius.web.services.api.projects.IProjectService;
+import org.eclipse.sirius.web.services.api.projects.ImportProjectSuccessPayload;
 import org.eclipse.sirius.web.services.api.projects.Project;
+import org.eclipse.sirius.web.services.api.projects.ProjectImportProgress;
 import org.eclipse.sirius.web.services.api.projects.ProjectManifest;
 import org.eclipse.sirius.web.services.api.projects.UnzippedProject;
-import org.eclipse.sirius.web.services.api.projects.UploadProjectSuccessPayload;
 import org.eclipse.sirius.web.services.api.projects.Visibility;
-import org.eclipse.sirius.web.services.api.representations.RepresentationDescriptor;
 import org.eclipse.sirius.web.services.messages.IServicesMessageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import reactor.core.publisher.Flux;
+
 /**
  * Service used to import a project.
  *
+ * <p>
+ * The projects are imported in the background by a pool of <code>sirius.web.import.concurrency</code> threads. At most
+ * <code>sirius.web.import.queueCapacity</code> imports can wait for one of those threads, the other ones are rejected.
+ * The progress of the imports which are over is kept for the last {@link #RETAINED_JOBS} of them in order to let
+ * clients subscribe to it after the end of a short import. The imports run with the security context of the user who
+ * has uploaded the project since it will be the owner of the project created. Only this user can follow or cancel
+ * the import.
+ * </p>
+ *
  * @author gcoutable
  */
 @Service
-public class ProjectImportService implements IProjectImportService {
+public class ProjectImportService implements IProjectImportService, DisposableBean {
+
+    /**
+     * The number of imports over whose progress is kept.
+     */
+    public static final int RETAINED_JOBS = 100;
+
+    private static final String THREAD_NAME_PREFIX = "project-import-"; //$NON-NLS-1$
+
+    private final Logger logger = LoggerFactory.getLogger(ProjectImportService.class);
 
     private final IProjectService projectService;
 
@@ -57,42 +96,155 @@ public class ProjectImportService implements IProjectImportService {
 
     private final IIdMappingRepository idMappingRepository;
 
+    private final IProjectRepository projectRepository;
+
+    private final IRepresentationRepository representationRepository;
+
+    private final ProjectArchiveLimits limits;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Map<UUID, ProjectImportJob> jobs = new ConcurrentHashMap<>();
+
+    private final Map<UUID, String> jobOwners = new ConcurrentHashMap<>();
+
+    private final Queue<UUID> finishedJobIds = new ConcurrentLinkedQueue<>();
+
+    // @formatter:off
     public ProjectImportService(IProjectService projectService, IEditingContextEventProcessorRegistry editingContextEventProcessorRegistry, ObjectMapper objectMapper,
-            IServicesMessageService messageService, IIdMappingRepository repository) {
+            IServicesMessageService messageService, IIdMappingRepository repository, IProjectRepository projectRepository, IRepresentationRepository representationRepository,
+            @Value("${sirius.web.import.maxEntries:" + ProjectUnzipper.DEFAULT_MAX_ENTRIES + "}") int maxEntries,
+            @Value("${sirius.web.import.maxUncompressedSize:" + ProjectUnzipper.DEFAULT_MAX_UNCOMPRESSED_SIZE + "}") long maxUncompressedSize,
+            @Value("${sirius.web.import.maxCompressionRatio:" + ProjectUnzipper.DEFAULT_MAX_COMPRESSION_RATIO + "}") int maxCompressionRatio,
+            @Value("${sirius.web.import.concurrency:2}") int concurrency,
+            @Value("${sirius.web.import.queueCapacity:20}") int queueCapacity) {
         this.idMappingRepository = Objects.requireNonNull(repository);
         this.projectService = Objects.requireNonNull(projectService);
         this.editingContextEventProcessorRegistry = Objects.requireNonNull(editingContextEventProcessorRegistry);
         this.objectMapper = Objects.requireNonNull(objectMapper);
         this.messageService = Objects.requireNonNull(messageService);
+        this.projectRepository = Objects.requireNonNull(projectRepository);
+        this.representationRepository = Objects.requireNonNull(representationRepository);
+        this.limits = new ProjectArchiveLimits(maxEntries, maxUncompressedSize, maxCompressionRatio);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+        threadFactory.setDaemon(true);
+        int poolSize = Math.max(concurrency, 1);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)), threadFactory);
     }
+    // @formatter:on
 
     /**
-     * Returns {@link UploadProjectSuccessPayload} if the project import has been successful, {@link ErrorPayload}
+     * Returns {@link ImportProjectSuccessPayload} if the project import has been scheduled, {@link ErrorPayload}
      * otherwise.
      *
      * <p>
-     * Unzip the given {@link UploadFile}, then creates a project with the name of the root directory in the zip file,
-     * then use {@link ProjectImporter} to create documents and representations. If the project has not been imported,
-     * it disposes the {@link IEditingContextEventProcessor} used to create documents and representations then delete
-     * the created project in order to keep the server in the same state before the project upload attempt.
+     * The archive is copied on the calling thread, then the import is performed in the background: it unzips the
+     * archive, then creates a project with the name of the root directory in the zip file, then use
+     * {@link ProjectImporter} to create documents and representations. If the project has not been imported, it
+     * disposes the {@link IEditingContextEventProcessor} used to create documents and representations then delete the
+     * created project in order to keep the server in the same state before the project upload attempt.
+     * </p>
+     *
+     * <p>
+     * The archive is rejected if it exceeds the limits configured with the properties
+     * <code>sirius.web.import.maxEntries</code>, <code>sirius.web.import.maxUncompressedSize</code> and
+     * <code>sirius.web.import.maxCompressionRatio</code>.
      * </p>
      *
      * @param inputId
      *            The identifier of the input which has triggered the upload
      * @param file
      *            the file to upload
-     * @return {@link UploadProjectSuccessPayload} whether the project import has been successful, {@link ErrorPayload}
+     * @return {@link ImportProjectSuccessPayload} whether the project import has been scheduled, {@link ErrorPayload}
      *         otherwise
      */
     @Override
     public IPayload importProject(UUID inputId, UploadFile file) {
-        IPayload payload = new ErrorPayload(inputId, this.messageService.unexpectedError());
-        ProjectUnzipper unzipper = new ProjectUnzipper(file.getInputStream(), this.objectMapper);
-        Optional<UnzippedProject> optionalUnzippedProject = unzipper.unzipProject();
-        if (optionalUnzippedProject.isEmpty()) {
-            return new ErrorPayload(inputId, this.messageService.unexpectedError());
+        ProjectUnzipper unzipper = new ProjectUnzipper(file.getInputStream(), this.objectMapper, this.limits);
+        try {
+            unzipper.spool();
+        } catch (IOException exception) {
+            this.logger.warn(exception.getMessage(), exception);
+            unzipper.close();
+            return new ErrorPayload(inputId, this.messageService.invalidProjectArchive());
+        }
+
+        ProjectImportJob job = new ProjectImportJob(UUID.randomUUID(), inputId, unzipper::getBytesRead);
+        this.jobOwners.put(job.getId(), this.getCurrentUsername());
+        this.jobs.put(job.getId(), job);
+        try {
+            this.executor.execute(new DelegatingSecurityContextRunnable(() -> this.run(job, unzipper)));
+        } catch (RejectedExecutionException exception) {
+            this.jobs.remove(job.getId());
+            this.jobOwners.remove(job.getId());
+            unzipper.close();
+            return new ErrorPayload(inputId, this.messageService.tooManyProjectImports());
+        }
+        return new ImportProjectSuccessPayload(inputId, job.getId());
+    }
+
+    @Override
+    public Optional<Flux<ProjectImportProgress>> getProgress(UUID jobId) {
+        return this.getJob(jobId).map(ProjectImportJob::getProgress);
+    }
+
+    @Override
+    public IPayload cancelImport(UUID inputId, UUID jobId) {
+        var optionalJob = this.getJob(jobId);
+        if (optionalJob.isPresent() && optionalJob.get().cancel()) {
+            return new CancelProjectImportSuccessPayload(inputId, jobId);
         }
-        UnzippedProject unzippedProject = optionalUnzippedProject.get();
+        return new ErrorPayload(inputId, this.messageService.projectImportNotFound());
+    }
+
+    /**
+     * Returns the given job only if it has been started by the current user, the jobs of the other users are considered
+     * as unknown.
+     */
+    private Optional<ProjectImportJob> getJob(UUID jobId) {
+        String currentUsername = this.getCurrentUsername();
+        return Optional.ofNullable(this.jobs.get(jobId)).filter(job -> currentUsername.equals(this.jobOwners.get(job.getId())));
+    }
+
+    private String getCurrentUsername() {
+        // @formatter:off
+        return Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication())
+                .map(Authentication::getName)
+                .orElse(""); //$NON-NLS-1$
+        // @formatter:on
+    }
+
+    private void run(ProjectImportJob job, ProjectUnzipper unzipper) {
+        try (unzipper) {
+            if (job.start()) {
+                Optional<UnzippedProject> optionalUnzippedProject = unzipper.unzipProject();
+                if (optionalUnzippedProject.isEmpty()) {
+                    job.failed(this.messageService.invalidProjectArchive());
+                } else {
+                    UnzippedProject unzippedProject = optionalUnzippedProject.get();
+                    job.unzipped(unzippedProject.getDocumentIdToUploadFile().size(), unzippedProject.getRepresentationDescriptorFiles().size());
+
+                    Optional<Project> optionalProject = this.importProject(job.getInputId(), unzippedProject, job);
+                    if (optionalProject.isPresent()) {
+                        job.succeeded(optionalProject.get().getId());
+                    } else if (job.isCancelled()) {
+                        job.cancelled();
+                    } else {
+                        job.failed(this.messageService.unexpectedError());
+                    }
+                }
+            }
+        } catch (RuntimeException exception) {
+            this.logger.warn(exception.getMessage(), exception);
+            job.failed(this.messageService.unexpectedError());
+        } finally {
+            this.finished(job);
+        }
+    }
+
+    private Optional<Project> importProject(UUID inputId, UnzippedProject unzippedProject, IProjectImportMonitor monitor) {
+        Optional<Project> optionalImportedProject = Optional.empty();
         ProjectManifest manifest = unzippedProject.getProjectManifest();
         String projectName = unzippedProject.getProjectName();
 
@@ -100,24 +252,46 @@ public class ProjectImportService implements IProjectImportService {
         IPayload createProjectPayload = this.projectService.createProject(createProjectInput);
         if (createProjectPayload instanceof CreateProjectSuccessPayload) {
             Project project = ((CreateProjectSuccessPayload) createProjectPayload).getProject();
-            Optional<IEditingContextEventProcessor> optionalEditingContextEventProcessor = this.editingContextEventProcessorRegistry
-                    .getOrCreateEditingContextEventProcessor(project.getId().toString());
-            if (optionalEditingContextEventProcessor.isPresent()) {
-                IEditingContextEventProcessor editingContextEventProcessor = optionalEditingContextEventProcessor.get();
-                Map<String, UploadFile> documents = unzippedProject.getDocumentIdToUploadFile();
-                List<RepresentationDescriptor> representations = unzippedProject.getRepresentationDescriptors();
-
-                ProjectImporter projectImporter = new ProjectImporter(project.getId().toString(), editingContextEventProcessor, documents, representations, manifest, this.idMappingRepository);
-                boolean hasBeenImported = projectImporter.importProject(inputId);
-
-                if (!hasBeenImported) {
-                    this.editingContextEventProcessorRegistry.disposeEditingContextEventProcessor(project.getId().toString());
-                    this.projectService.delete(project.getId());
-                } else {
-                    payload = new UploadProjectSuccessPayload(inputId, project);
+
+            boolean hasBeenImported = false;
+            if (!monitor.isCancelled()) {
+                Optional<IEditingContextEventProcessor> optionalEditingContextEventProcessor = this.editingContextEventProcessorRegistry
+                        .getOrCreateEditingContextEventProcessor(project.getId().toString());
+                if (optionalEditingContextEventProcessor.isPresent()) {
+                    IEditingContextEventProcessor editingContextEventProcessor = optionalEditingContextEventProcessor.get();
+                    Map<String, UploadFile> documents = unzippedProject.getDocumentIdToUploadFile();
+                    List<UploadFile> representationDescriptorFiles = unzippedProject.getRepresentationDescriptorFiles();
+
+                    var representationImporter = new RepresentationImporter(this.representationRepository, this.projectRepository, this.idMappingRepository, this.objectMapper);
+                    ProjectImporter projectImporter = new ProjectImporter(project.getId().toString(), editingContextEventProcessor, documents, representationDescriptorFiles, manifest,
+                            representationImporter, monitor);
+                    hasBeenImported = projectImporter.importProject(inputId);
                 }
             }
+
+            if (hasBeenImported) {
+                optionalImportedProject = Optional.of(project);
+            } else {
+                this.editingContextEventProcessorRegistry.disposeEditingContextEventProcessor(project.getId().toString());
+                this.projectService.delete(project.getId());
+            }
         }
-        return payload;
+        return optionalImportedProject;
+    }
+
+    private void finished(ProjectImportJob job) {
+        this.finishedJobIds.add(job.getId());
+        while (this.finishedJobIds.size() > RETAINED_JOBS) {
+            UUID jobId = this.finishedJobIds.poll();
+            if (jobId != null) {
+                this.jobs.remove(jobId);
+                this.jobOwners.remove(jobId);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        this.executor.shutdownNow();
     }
 }
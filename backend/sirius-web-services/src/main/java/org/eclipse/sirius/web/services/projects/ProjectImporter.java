@@ -12,32 +12,22 @@
  *******************************************************************************/
 package org.eclipse.sirius.web.services.projects;
 
-import java.net.URI;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.eclipse.sirius.components.collaborative.api.IEditingContextEventProcessor;
-import org.eclipse.sirius.components.collaborative.dto.CreateRepresentationInput;
-import org.eclipse.sirius.components.collaborative.dto.CreateRepresentationSuccessPayload;
 import org.eclipse.sirius.components.graphql.api.UploadFile;
-import org.eclipse.sirius.web.persistence.entities.IdMappingEntity;
-import org.eclipse.sirius.web.persistence.repositories.IIdMappingRepository;
-import org.eclipse.sirius.web.services.api.document.Document;
-import org.eclipse.sirius.web.services.api.document.UploadDocumentInput;
-import org.eclipse.sirius.web.services.api.document.UploadDocumentSuccessPayload;
+import org.eclipse.sirius.web.services.api.document.BulkUploadDocumentsInput;
+import org.eclipse.sirius.web.services.api.document.BulkUploadDocumentsSuccessPayload;
 import org.eclipse.sirius.web.services.api.projects.ProjectManifest;
-import org.eclipse.sirius.web.services.api.projects.RepresentationManifest;
-import org.eclipse.sirius.web.services.api.representations.RepresentationDescriptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import reactor.core.publisher.Mono;
-
 /**
  * Class used to import a project.
  *
@@ -53,119 +43,95 @@ public class ProjectImporter {
 
     private final Map<String, UploadFile> documents;
 
-    private final List<RepresentationDescriptor> representations;
+    private final List<UploadFile> representationDescriptorFiles;
 
     private final ProjectManifest projectManifest;
 
-    private final Map<String, Document> oldDocumentIdToNewDocument = new HashMap<>();
+    private final RepresentationImporter representationImporter;
+
+    private final IProjectImportMonitor monitor;
 
-    private final IIdMappingRepository idMappingRepository;
+    private final Map<String, String> objectIdMapping = new HashMap<>();
 
-    public ProjectImporter(String projectId, IEditingContextEventProcessor editingContextEventProcessor, Map<String, UploadFile> documents, List<RepresentationDescriptor> representations,
-            ProjectManifest projectManifest, IIdMappingRepository idMappingRepository) {
+    public ProjectImporter(String projectId, IEditingContextEventProcessor editingContextEventProcessor, Map<String, UploadFile> documents, List<UploadFile> representationDescriptorFiles,
+            ProjectManifest projectManifest, RepresentationImporter representationImporter, IProjectImportMonitor monitor) {
         this.projectId = Objects.requireNonNull(projectId);
         this.editingContextEventProcessor = Objects.requireNonNull(editingContextEventProcessor);
         this.documents = Objects.requireNonNull(documents);
-        this.representations = Objects.requireNonNull(representations);
+        this.representationDescriptorFiles = Objects.requireNonNull(representationDescriptorFiles);
         this.projectManifest = Objects.requireNonNull(projectManifest);
-        this.idMappingRepository = Objects.requireNonNull(idMappingRepository);
+        this.representationImporter = Objects.requireNonNull(representationImporter);
+        this.monitor = Objects.requireNonNull(monitor);
     }
 
     public boolean importProject(UUID inputId) {
         boolean errorOccurred = !this.createDocuments(inputId);
 
-        if (!errorOccurred) {
-            errorOccurred = !this.createRepresentations(inputId);
+        if (!errorOccurred && !this.monitor.isCancelled()) {
+            errorOccurred = !this.createRepresentations();
+        }
+
+        if (this.monitor.isCancelled()) {
+            errorOccurred = true;
         }
 
         return !errorOccurred;
     }
 
     /**
-     * Creates all representations in the project thanks to the {@link IEditingContextEventProcessor} and the create
-     * representation input. If at least one representation has not been created it will return <code>false</code>.
-     *
-     * @param inputId
-     *            The identifier of the input which has triggered this import
+     * Creates all representations in the project directly from their serialized content thanks to the
+     * {@link RepresentationImporter}, without rendering them. If at least one representation has not been created it
+     * will return <code>false</code>.
      *
      * @return <code>true</code> whether all representations has been created, <code>false</code> otherwise
      */
-    private boolean createRepresentations(UUID inputId) {
-        boolean allRepresentationCreated = true;
-        for (RepresentationDescriptor representationDescriptor : this.representations) {
-            RepresentationManifest representationManifest = this.projectManifest.getRepresentations().get(representationDescriptor.getId().toString());
-
-            String targetObjectURI = representationManifest.getTargetObjectURI();
-            String oldDocumentId = URI.create(targetObjectURI).getPath();
-            Document newDocument = this.oldDocumentIdToNewDocument.get(oldDocumentId);
-            final String objectId;
-            if (newDocument != null) {
-                objectId = targetObjectURI.replace(oldDocumentId, newDocument.getId().toString());
-            } else {
-                objectId = targetObjectURI;
-            }
-            boolean representationCreated = false;
-            String descriptionURI = representationManifest.getDescriptionURI();
-
-            // @formatter:off
-            var inputHandle = this.idMappingRepository.findByExternalId(descriptionURI)
-                .map(IdMappingEntity::getId)
-                /*
-                 * If the given descriptionURI does not match with an existing IdMappingEntity, the current representation is
-                 * based on a custom description. We use the descriptionURI as representationDescriptionId.
-                 */
-                .or(() -> Optional.of(descriptionURI))
-                .map(representationDescriptionId -> new CreateRepresentationInput(inputId, this.projectId.toString(), representationDescriptionId.toString(), objectId, representationDescriptor.getLabel()))
-                .map(this.editingContextEventProcessor::handle)
-                .orElseGet(Mono::empty);
-
-            representationCreated = inputHandle.filter(CreateRepresentationSuccessPayload.class::isInstance)
-                    .map(CreateRepresentationSuccessPayload.class::cast)
-                    .map(CreateRepresentationSuccessPayload::getRepresentation)
-                    .blockOptional()
-                    .isPresent();
-            // @formatter:on
-
-            if (!representationCreated) {
-                this.logger.warn("The representation {} has not been created", representationDescriptor.getLabel()); //$NON-NLS-1$
-            }
-
-            allRepresentationCreated = allRepresentationCreated && representationCreated;
-        }
-
-        return allRepresentationCreated;
+    private boolean createRepresentations() {
+        return this.representationImporter.importRepresentations(UUID.fromString(this.projectId), this.representationDescriptorFiles, this.projectManifest, this.objectIdMapping, this.monitor);
     }
 
     /**
-     * Creates all documents in the project thanks to the {@link IEditingContextEventProcessor} and the
-     * {@link CreateDocumentFromUploadEvent}. If at least one document has not been created it will return
-     * <code>false</code>.
+     * Creates all documents in the project at once thanks to the {@link IEditingContextEventProcessor} and the
+     * {@link BulkUploadDocumentsInput}. If at least one document has not been created, none of them is created and it
+     * will return <code>false</code>.
+     *
+     * <p>
+     * The new identifiers of the semantic elements of the documents are recorded in order to update the content of the
+     * representations.
+     * </p>
      *
      * @param inputId
+     *            The identifier of the input which has triggered this import
      *
      * @return <code>true</code> whether all documents has been created, <code>false</code> otherwise
      */
     private boolean createDocuments(UUID inputId) {
-        for (Entry<String, UploadFile> entry : this.documents.entrySet()) {
-            String oldDocumentId = entry.getKey();
-            UploadFile uploadFile = entry.getValue();
-            UploadDocumentInput input = new UploadDocumentInput(inputId, this.projectId, uploadFile);
-
-            // @formatter:off
-            Document document = this.editingContextEventProcessor.handle(input)
-                    .filter(UploadDocumentSuccessPayload.class::isInstance)
-                    .map(UploadDocumentSuccessPayload.class::cast)
-                    .map(UploadDocumentSuccessPayload::getDocument)
-                    .blockOptional()
-                    .orElse(null);
-            // @formatter:on
-            if (document == null) {
-                this.logger.warn("The document {} has not been created", this.projectManifest.getDocumentIdsToName().get(oldDocumentId)); //$NON-NLS-1$
-            }
-            this.oldDocumentIdToNewDocument.put(oldDocumentId, document);
+        if (this.documents.isEmpty()) {
+            return true;
+        }
+
+        List<String> oldDocumentIds = new ArrayList<>(this.documents.keySet());
+        List<UploadFile> uploadFiles = oldDocumentIds.stream().map(this.documents::get).collect(Collectors.toList());
+        BulkUploadDocumentsInput input = new BulkUploadDocumentsInput(inputId, this.projectId, uploadFiles, true);
+
+        // @formatter:off
+        var optionalPayload = this.editingContextEventProcessor.handle(input)
+                .filter(BulkUploadDocumentsSuccessPayload.class::isInstance)
+                .map(BulkUploadDocumentsSuccessPayload.class::cast)
+                .blockOptional();
+        // @formatter:on
+
+        if (optionalPayload.isEmpty() || optionalPayload.get().getDocuments().size() != oldDocumentIds.size()) {
+            this.logger.warn("The documents of the project {} have not been created", this.projectId); //$NON-NLS-1$
+            return false;
         }
 
-        return this.oldDocumentIdToNewDocument.values().stream().allMatch(Objects::nonNull);
+        BulkUploadDocumentsSuccessPayload payload = optionalPayload.get();
+        this.objectIdMapping.putAll(payload.getObjectIdMapping());
+        for (int i = 0; i < oldDocumentIds.size(); i++) {
+            this.objectIdMapping.put(oldDocumentIds.get(i), payload.getDocuments().get(i).getId().toString());
+        }
+        this.monitor.documentsImported(oldDocumentIds.size());
+        return true;
     }
 
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -26,12 +26,15 @@ import org.eclipse.sirius.web.persistence.entities.ProjectEntity;
 import org.eclipse.sirius.web.persistence.entities.VisibilityEntity;
 import org.eclipse.sirius.web.persistence.repositories.IAccountRepository;
 import org.eclipse.sirius.web.persistence.repositories.IProjectRepository;
+import org.eclipse.sirius.web.services.api.events.ProjectDeletedEvent;
+import org.eclipse.sirius.web.services.api.events.ProjectRenamedEvent;
 import org.eclipse.sirius.web.services.api.projects.CreateProjectInput;
 import org.eclipse.sirius.web.services.api.projects.CreateProjectSuccessPayload;
 import org.eclipse.sirius.web.services.api.projects.IProjectService;
 import org.eclipse.sirius.web.services.api.projects.Project;
 import org.eclipse.sirius.web.services.api.projects.Visibility;
 import org.eclipse.sirius.web.services.messages.IServicesMessageService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -51,12 +54,16 @@ public class ProjectService implements IProjectService {
 
     private final IAccountRepository accountRepository;
 
+    private final ApplicationEventPublisher applicationEventPublisher;
+
     private final ProjectMapper projectMapper;
 
-    public ProjectService(IServicesMessageService messageService, IProjectRepository projectRepository, IAccountRepository accountRepository) {
+    public ProjectService(IServicesMessageService messageService, IProjectRepository projectRepository, IAccountRepository accountRepository,
+            ApplicationEventPublisher applicationEventPublisher) {
         this.messageService = Objects.requireNonNull(messageService);
         this.projectRepository = Objects.requireNonNull(projectRepository);
         this.accountRepository = Objects.requireNonNull(accountRepository);
+        this.applicationEventPublisher = Objects.requireNonNull(applicationEventPublisher);
         this.projectMapper = new ProjectMapper();
     }
 
@@ -120,6 +127,7 @@ public class ProjectService implements IProjectService {
     public void delete(UUID projectId) {
         if (this.projectRepository.existsByIdAndIsVisibleBy(projectId, this.getCurrentUserName())) {
             this.projectRepository.deleteById(projectId);
+            this.applicationEventPublisher.publishEvent(new ProjectDeletedEvent(projectId));
         }
     }
 
@@ -129,7 +137,9 @@ public class ProjectService implements IProjectService {
         if (optionalProjectEntity.isPresent()) {
             ProjectEntity projectEntity = optionalProjectEntity.get();
             projectEntity.setName(newName);
-            return Optional.of(this.projectRepository.save(projectEntity)).map(this.projectMapper::toDTO);
+            Optional<Project> optionalProject = Optional.of(this.projectRepository.save(projectEntity)).map(this.projectMapper::toDTO);
+            this.applicationEventPublisher.publishEvent(new ProjectRenamedEvent(projectId, newName));
+            return optionalProject;
         }
         return Optional.empty();
     }
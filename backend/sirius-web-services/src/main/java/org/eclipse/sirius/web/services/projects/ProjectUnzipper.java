@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -14,35 +14,58 @@ package org.eclipse.sirius.web.services.projects;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.function.Function;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.zip.ZipFile;
 
 import org.eclipse.sirius.components.graphql.api.UploadFile;
 import org.eclipse.sirius.web.services.api.projects.ProjectManifest;
 import org.eclipse.sirius.web.services.api.projects.UnzippedProject;
-import org.eclipse.sirius.web.services.api.representations.RepresentationDescriptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Class used to unzip a project and ease access to models, representations and manifest.json.
  *
+ * <p>
+ * The archive is spooled to a temporary file in order to read the manifest first and to read the documents one at a
+ * time, only when they are imported, instead of keeping the whole archive in memory. The unzipper must thus be closed
+ * once the project has been imported in order to delete this temporary file.
+ * </p>
+ *
  * @author gcoutable
  */
-public class ProjectUnzipper {
+public class ProjectUnzipper implements AutoCloseable {
+
+    /**
+     * The default maximum number of entries in the archive.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    /**
+     * The default maximum uncompressed size of the archive (1GB).
+     */
+    public static final long DEFAULT_MAX_UNCOMPRESSED_SIZE = 1024L * 1024L * 1024L;
+
+    /**
+     * The default maximum compression ratio of an entry of the archive.
+     */
+    public static final int DEFAULT_MAX_COMPRESSION_RATIO = 100;
+
+    private static final int BUFFER_SIZE = 8192;
 
     private static final String ZIP_FOLDER_SEPARATOR = "/"; //$NON-NLS-1$
 
@@ -58,9 +81,22 @@ public class ProjectUnzipper {
 
     private final ObjectMapper objectMapper;
 
+    private final ProjectArchiveLimits limits;
+
+    private final AtomicLong totalUncompressedSize = new AtomicLong();
+
+    private Path archivePath;
+
+    private ZipFile zipFile;
+
     public ProjectUnzipper(InputStream inputStream, ObjectMapper objectMapper) {
-        this.inputStream = inputStream;
-        this.objectMapper = objectMapper;
+        this(inputStream, objectMapper, new ProjectArchiveLimits(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_UNCOMPRESSED_SIZE, DEFAULT_MAX_COMPRESSION_RATIO));
+    }
+
+    public ProjectUnzipper(InputStream inputStream, ObjectMapper objectMapper, ProjectArchiveLimits limits) {
+        this.inputStream = Objects.requireNonNull(inputStream);
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+        this.limits = Objects.requireNonNull(limits);
     }
 
     /**
@@ -75,172 +111,207 @@ public class ProjectUnzipper {
      * </ul>
      * </p>
      *
-     * @return <code>true</code> whether the unzip went well, <code>false</code> otherwise.
+     * <p>
+     * The content of the documents and of the representations is not read here, the input streams of the
+     * {@link UploadFile} returned will read their entry in the archive while enforcing the limits of the import and
+     * they will fail with an {@link IOException} if one of those limits is exceeded.
+     * </p>
+     *
+     * @return The unzipped project if the archive is valid and within the limits of the import,
+     *         {@link Optional#empty()} otherwise.
      */
     public Optional<UnzippedProject> unzipProject() {
         Optional<UnzippedProject> optionalUnzippedProject = Optional.empty();
-        Map<String, ByteArrayOutputStream> zipEntryNameToContent = this.readZipFile();
+        try {
+            List<ZipEntry> zipEntries = this.openZipFile();
 
-        Optional<String> optionalProjectName = this.handleProjectName(zipEntryNameToContent);
-        if (optionalProjectName.isPresent()) {
-            String projectName = optionalProjectName.get();
+            Optional<String> optionalProjectName = this.handleProjectName(zipEntries);
+            if (optionalProjectName.isPresent()) {
+                String projectName = optionalProjectName.get();
 
-            String documentsFolderInZip = projectName + ZIP_FOLDER_SEPARATOR + DOCUMENTS_FOLDER + ZIP_FOLDER_SEPARATOR;
-            String representationsFolderInZip = projectName + ZIP_FOLDER_SEPARATOR + REPRESENTATIONS_FOLDER + ZIP_FOLDER_SEPARATOR;
-            String manifestPathInZip = projectName + ZIP_FOLDER_SEPARATOR + MANIFEST_JSON_FILE;
+                String documentsFolderInZip = projectName + ZIP_FOLDER_SEPARATOR + DOCUMENTS_FOLDER + ZIP_FOLDER_SEPARATOR;
+                String representationsFolderInZip = projectName + ZIP_FOLDER_SEPARATOR + REPRESENTATIONS_FOLDER + ZIP_FOLDER_SEPARATOR;
+                String manifestPathInZip = projectName + ZIP_FOLDER_SEPARATOR + MANIFEST_JSON_FILE;
 
-            Optional<ProjectManifest> optionalManifest = this.getProjectManifest(zipEntryNameToContent, manifestPathInZip);
-            Map<String, ByteArrayOutputStream> documentIdToDocumentContent = this.selectAndTransformIntoDocumentIdToDocumentContent(zipEntryNameToContent, documentsFolderInZip);
-            List<ByteArrayOutputStream> representationDescritorsContent = this.selectAndTransformIntoRepresentationDescriptorsContent(zipEntryNameToContent, representationsFolderInZip);
+                Optional<ProjectManifest> optionalManifest = this.getProjectManifest(zipEntries, manifestPathInZip);
+                Map<String, ZipEntry> documentIdToZipEntry = this.selectAndTransformIntoDocumentIdToZipEntry(zipEntries, documentsFolderInZip);
 
-            if (!optionalManifest.isEmpty() && this.validateDocuments(documentIdToDocumentContent, optionalManifest.get())) {
-                ProjectManifest manifest = optionalManifest.get();
+                if (optionalManifest.isPresent() && this.validateDocuments(documentIdToZipEntry, optionalManifest.get())) {
+                    ProjectManifest manifest = optionalManifest.get();
 
-                Map<String, UploadFile> documentIdToUploadFile = this.getUploadFiles(documentIdToDocumentContent, manifest);
+                    Map<String, UploadFile> documentIdToUploadFile = this.getUploadFiles(documentIdToZipEntry, manifest);
+                    List<UploadFile> representationDescriptorFiles = this.getRepresentationDescriptorFiles(zipEntries, representationsFolderInZip);
 
-                List<RepresentationDescriptor> representationDescriptors;
-                try {
-                    representationDescriptors = this.getRepresentationDescriptors(representationDescritorsContent);
                     // @formatter:off
                     UnzippedProject unzippedProject = UnzippedProject.newUnzippedProject(projectName)
                             .projectManifest(manifest)
                             .documentIdToUploadFile(documentIdToUploadFile)
-                            .representationDescriptors(representationDescriptors)
+                            .representationDescriptorFiles(representationDescriptorFiles)
                             .build();
                     // @formatter:on
 
                     optionalUnzippedProject = Optional.of(unzippedProject);
-                } catch (IOException exception) {
-                    this.logger.warn(exception.getMessage(), exception);
                 }
             }
+        } catch (IOException exception) {
+            this.logger.warn(exception.getMessage(), exception);
         }
 
         return optionalUnzippedProject;
     }
 
     /**
-     * Selects and transforms the given map of zip entry name to {@link RepresentationDescriptor} content.
+     * Copies the archive in a temporary file, if it has not been done yet.
      *
      * <p>
-     * Select entries in the given map where the key represented by the zip entry name are in the representation folder
-     * (start with representationsFolderInZip). For each remaining entries collect the values into a list.
+     * It can be called before {@link #unzipProject()} in order to read the archive while it is still available, for
+     * example before the end of the request which has uploaded it when the project is imported in the background. The
+     * copy stops as soon as the archive exceeds the maximum uncompressed size of the import, since the archive of a
+     * valid project cannot be larger than its content.
      * </p>
      *
-     * @param zipEntryNameToContent
-     *            The map of all zip entries to their content
-     * @param representationsFolderInZip
-     *            The path of representations folder in zip
-     * @return The list of {@link RepresentationDescriptor}
+     * @throws IOException
+     *             If the archive cannot be copied or if it is too large
      */
-    private List<ByteArrayOutputStream> selectAndTransformIntoRepresentationDescriptorsContent(Map<String, ByteArrayOutputStream> zipEntryNameToContent, String representationsFolderInZip) {
-        // @formatter:off
-        List<ByteArrayOutputStream> outputStreamOfRepresentationDescritors = zipEntryNameToContent.entrySet().stream()
-                .filter(entry -> entry.getKey().startsWith(representationsFolderInZip))
-                .map(Entry::getValue)
-                .collect(Collectors.toList());
-        // @formatter:on
-        return outputStreamOfRepresentationDescritors;
+    public void spool() throws IOException {
+        if (this.archivePath == null) {
+            Path temporaryFilePath = Files.createTempFile("sirius-web-import-", ".zip"); //$NON-NLS-1$ //$NON-NLS-2$
+            try (OutputStream outputStream = Files.newOutputStream(temporaryFilePath)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                long size = 0;
+                int read = this.inputStream.read(buffer);
+                while (read >= 0) {
+                    size = size + read;
+                    if (size > this.limits.getMaxUncompressedSize()) {
+                        String message = MessageFormat.format("The archive exceeds {0} bytes", this.limits.getMaxUncompressedSize()); //$NON-NLS-1$
+                        throw new IOException(message);
+                    }
+                    outputStream.write(buffer, 0, read);
+                    read = this.inputStream.read(buffer);
+                }
+            } catch (IOException exception) {
+                Files.deleteIfExists(temporaryFilePath);
+                throw exception;
+            }
+            this.archivePath = temporaryFilePath;
+        }
     }
 
     /**
-     * Selects and transforms the given map of zip entry name to zip entry content into a map of document id to document
-     * content.
+     * Returns the number of uncompressed bytes read from the archive so far.
+     *
+     * @return The number of bytes read
+     */
+    public long getBytesRead() {
+        return this.totalUncompressedSize.get();
+    }
+
+    /**
+     * Opens the copy of the archive in order to get random access to its entries.
      *
      * <p>
-     * Select entries in the given map where the key represented by the zip entry name are in the document folder (start
-     * with documentsFolderInZip). For each remaining entries extract the document id by removing documentsFolderInZip
-     * from the zip entry name.
+     * The number of entries and the uncompressed sizes declared in the central directory of the archive are checked
+     * before reading anything. Those declared sizes can be forged, the actual number of bytes read is thus also checked
+     * by {@link ProjectArchiveEntryInputStream}.
      * </p>
      *
-     * @param zipEntryNameToContent
-     *            The map of all zip entries to their content
-     * @param documentsFolderInZip
-     *            The path of documents folder in zip
-     * @return The map of document id to document content
+     * @return The files of the archive
+     * @throws IOException
+     *             If the archive cannot be read or if it exceeds the limits of the import
      */
-    private Map<String, ByteArrayOutputStream> selectAndTransformIntoDocumentIdToDocumentContent(Map<String, ByteArrayOutputStream> zipEntryNameToContent, String documentsFolderInZip) {
-        Function<Entry<String, ByteArrayOutputStream>, String> mapZipEntryNameToDocumentId = e -> {
-            String fullPath = e.getKey();
-            String fileName = fullPath.substring(documentsFolderInZip.length());
-            int extensionIndex = fileName.lastIndexOf('.');
-            if (extensionIndex >= 0) {
-                return fileName.substring(0, extensionIndex);
-            } else {
-                return fileName;
+    private List<ZipEntry> openZipFile() throws IOException {
+        this.spool();
+        this.zipFile = new ZipFile(this.archivePath.toFile());
+
+        if (this.zipFile.size() > this.limits.getMaxEntries()) {
+            String message = MessageFormat.format("The archive contains more than {0} entries", this.limits.getMaxEntries()); //$NON-NLS-1$
+            throw new IOException(message);
+        }
+
+        List<ZipEntry> zipEntries = new ArrayList<>();
+        long declaredUncompressedSize = 0;
+        var entries = this.zipFile.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry zipEntry = entries.nextElement();
+            if (!zipEntry.isDirectory()) {
+                zipEntries.add(zipEntry);
+                declaredUncompressedSize += Math.max(zipEntry.getSize(), 0);
             }
-        };
+        }
 
-        // @formatter:off
-        Map<String, ByteArrayOutputStream> documentIdToDocumentContent = zipEntryNameToContent.entrySet().stream()
-                .filter(entry -> entry.getKey().startsWith(documentsFolderInZip))
-                .collect(Collectors.toMap(mapZipEntryNameToDocumentId::apply, Entry::getValue));
-        // @formatter:on
-        return documentIdToDocumentContent;
+        if (declaredUncompressedSize > this.limits.getMaxUncompressedSize()) {
+            String message = MessageFormat.format("The uncompressed size of the archive exceeds {0} bytes", this.limits.getMaxUncompressedSize()); //$NON-NLS-1$
+            throw new IOException(message);
+        }
+        return zipEntries;
     }
 
-    /**
-     * Validates all document id of the given map have a document name associated in the {@link ProjectManifest}.
-     *
-     * @param documentIdToDocumentContent
-     *            The map of document id to their content
-     * @param projectManifest
-     *            The {@link ProjectManifest} holding a map of document id to document name
-     * @return <code>true</code> whether all document id are associated with a document name thanks to the
-     *         {@link ProjectManifest}, <code>false</code> otherwise
-     */
-    private boolean validateDocuments(Map<String, ByteArrayOutputStream> documentIdToDocumentContent, ProjectManifest projectManifest) {
-        // @formatter:off
-        return documentIdToDocumentContent.entrySet().stream()
-                .map(Entry::getKey)
-                .allMatch(projectManifest.getDocumentIdsToName()::containsKey);
-        // @formatter:on
+    private InputStream getInputStream(ZipEntry zipEntry) {
+        return new ProjectArchiveEntryInputStream(this.zipFile, zipEntry, this.limits, this.totalUncompressedSize);
     }
 
     /**
-     * Reads the zip file and returns the a map of zip entry name to zip entry content.
+     * Selects and transforms the given zip entries into a map of document id to zip entry.
      *
-     * @return The zip entry names mapped to its zip entry contents
+     * <p>
+     * Select entries where the zip entry name are in the document folder (start with documentsFolderInZip). For each
+     * remaining entries extract the document id by removing documentsFolderInZip from the zip entry name.
+     * </p>
+     *
+     * @param zipEntries
+     *            The zip entries
+     * @param documentsFolderInZip
+     *            The path of documents folder in zip
+     * @return The map of document id to zip entry
      */
-    private Map<String, ByteArrayOutputStream> readZipFile() {
-        Map<String, ByteArrayOutputStream> entryToHandle = new HashMap<>();
-        try (var zipperProjectInputStream = new ZipInputStream(this.inputStream)) {
-            ZipEntry zipEntry = zipperProjectInputStream.getNextEntry();
-            while (zipEntry != null) {
-                if (!zipEntry.isDirectory()) {
-                    String name = zipEntry.getName();
-                    ByteArrayOutputStream entryBaos = new ByteArrayOutputStream();
-                    zipperProjectInputStream.transferTo(entryBaos);
-                    entryToHandle.put(name, entryBaos);
+    private Map<String, ZipEntry> selectAndTransformIntoDocumentIdToZipEntry(List<ZipEntry> zipEntries, String documentsFolderInZip) {
+        Map<String, ZipEntry> documentIdToZipEntry = new LinkedHashMap<>();
+        for (ZipEntry zipEntry : zipEntries) {
+            String fullPath = zipEntry.getName();
+            if (fullPath.startsWith(documentsFolderInZip)) {
+                String fileName = fullPath.substring(documentsFolderInZip.length());
+                int extensionIndex = fileName.lastIndexOf('.');
+                if (extensionIndex >= 0) {
+                    documentIdToZipEntry.put(fileName.substring(0, extensionIndex), zipEntry);
+                } else {
+                    documentIdToZipEntry.put(fileName, zipEntry);
                 }
-                zipEntry = zipperProjectInputStream.getNextEntry();
             }
-        } catch (IOException exception) {
-            this.logger.warn(exception.getMessage(), exception);
         }
+        return documentIdToZipEntry;
+    }
 
-        return entryToHandle;
+    /**
+     * Validates all document id of the given map have a document name associated in the {@link ProjectManifest}.
+     *
+     * @param documentIdToZipEntry
+     *            The map of document id to their zip entry
+     * @param projectManifest
+     *            The {@link ProjectManifest} holding a map of document id to document name
+     * @return <code>true</code> whether all document id are associated with a document name thanks to the
+     *         {@link ProjectManifest}, <code>false</code> otherwise
+     */
+    private boolean validateDocuments(Map<String, ZipEntry> documentIdToZipEntry, ProjectManifest projectManifest) {
+        return documentIdToZipEntry.keySet().stream().allMatch(projectManifest.getDocumentIdsToName()::containsKey);
     }
 
     /**
-     * Returns the project name if all zip entries represented by couple (zipEntry name -> OutputStream) in the given
-     * {@link Map}, have their zip entry name starting by the project name, which should be the first segment of the
-     * path of each zip entries.
+     * Returns the project name if all the given zip entries have their name starting by the project name, which should
+     * be the first segment of the path of each zip entries.
      *
-     * @param zipEntryToOutputStreams
-     *            The map of zip entry name to the zip entry content
+     * @param zipEntries
+     *            The zip entries
      * @return The name of the project
      */
-    private Optional<String> handleProjectName(Map<String, ByteArrayOutputStream> zipEntryToOutputStreams) {
-        Iterator<String> iterator = zipEntryToOutputStreams.keySet().iterator();
-        if (!iterator.hasNext()) {
+    private Optional<String> handleProjectName(List<ZipEntry> zipEntries) {
+        if (zipEntries.isEmpty()) {
             // zip was empty
             return Optional.empty();
         }
 
         Optional<String> optionalProjectName = Optional.empty();
-        String possibleProjectName = iterator.next().split(ZIP_FOLDER_SEPARATOR)[0];
-        if (!possibleProjectName.isBlank() && zipEntryToOutputStreams.keySet().stream().allMatch(key -> key.split(ZIP_FOLDER_SEPARATOR)[0].equals(possibleProjectName))) {
+        String possibleProjectName = zipEntries.get(0).getName().split(ZIP_FOLDER_SEPARATOR)[0];
+        if (!possibleProjectName.isBlank() && zipEntries.stream().allMatch(zipEntry -> zipEntry.getName().split(ZIP_FOLDER_SEPARATOR)[0].equals(possibleProjectName))) {
             optionalProjectName = Optional.of(possibleProjectName);
         }
 
@@ -248,73 +319,75 @@ public class ProjectUnzipper {
     }
 
     /**
-     * Transforms the map of documentId to document content, to a map of document id to {@link UploadFile}.
+     * Transforms the map of documentId to zip entry, to a map of document id to {@link UploadFile}.
+     *
+     * <p>
+     * The input stream of each {@link UploadFile} only reads its entry when it is consumed.
+     * </p>
      *
-     * @param documentIdToDocumentContent
-     *            The map of document id to their content
+     * @param documentIdToZipEntry
+     *            The map of document id to their zip entry
      * @param projectManifest
      *            The project manifest holding the map of document id to document name
-     * @return the transformed map of zip entry to document content, to the map of document id to {@link UploadFile}
+     * @return the map of document id to {@link UploadFile}
      */
-    private Map<String, UploadFile> getUploadFiles(Map<String, ByteArrayOutputStream> documentIdToDocumentContent, ProjectManifest projectManifest) {
-        Map<String, UploadFile> documentIdToUploadFile = new HashMap<>();
-        for (Entry<String, ByteArrayOutputStream> entry : documentIdToDocumentContent.entrySet()) {
+    private Map<String, UploadFile> getUploadFiles(Map<String, ZipEntry> documentIdToZipEntry, ProjectManifest projectManifest) {
+        Map<String, UploadFile> documentIdToUploadFile = new LinkedHashMap<>();
+        for (var entry : documentIdToZipEntry.entrySet()) {
             String documentId = entry.getKey();
-            ByteArrayOutputStream outputStream = entry.getValue();
             String documentName = projectManifest.getDocumentIdsToName().get(documentId);
-            UploadFile uploadFile = new UploadFile(documentName, new ByteArrayInputStream(outputStream.toByteArray()));
+            UploadFile uploadFile = new UploadFile(documentName, this.getInputStream(entry.getValue()));
             documentIdToUploadFile.put(documentId, uploadFile);
         }
         return documentIdToUploadFile;
     }
 
     /**
-     * Transforms the list of output stream that have been filtered previously to contains only output streams that can
-     * be deserialized to {@link RepresentationDescriptor}.
+     * Returns the files of the representation descriptors in the representations folder.
      *
-     * @param outputStreamToTransformToRepresentationDescriptor
-     *            The list of output stream that can be deserialized into RepresentationDescriptors
-     * @return The list of {@link RepresentationDescriptor}
-     * @throws IOException
-     *             If the deserialization has failed
+     * <p>
+     * As for the documents, the input stream of each {@link UploadFile} only reads its entry when it is consumed.
+     * </p>
+     *
+     * @param zipEntries
+     *            The zip entries
+     * @param representationsFolderInZip
+     *            The path of representations folder in zip
+     * @return The files of the representation descriptors
      */
-    private List<RepresentationDescriptor> getRepresentationDescriptors(List<ByteArrayOutputStream> outputStreamToTransformToRepresentationDescriptor) throws IOException {
-        List<RepresentationDescriptor> representations = new ArrayList<>();
-        for (ByteArrayOutputStream outputStream : outputStreamToTransformToRepresentationDescriptor) {
-            byte[] representationDescriptorBytes = outputStream.toByteArray();
-            RepresentationDescriptor representationDescriptor = this.objectMapper.readValue(representationDescriptorBytes, RepresentationDescriptor.class);
-            representations.add(representationDescriptor);
-        }
-        return representations;
+    private List<UploadFile> getRepresentationDescriptorFiles(List<ZipEntry> zipEntries, String representationsFolderInZip) {
+        // @formatter:off
+        return zipEntries.stream()
+                .filter(zipEntry -> zipEntry.getName().startsWith(representationsFolderInZip))
+                .map(zipEntry -> new UploadFile(zipEntry.getName(), this.getInputStream(zipEntry)))
+                .collect(Collectors.toList());
+        // @formatter:on
     }
 
     /**
-     * Selects and deserializes the {@link ProjectManifest} from the given map thanks to the given manifest path in zip.
+     * Selects and deserializes the {@link ProjectManifest} thanks to the given manifest path in zip.
      *
-     * @param zipEntryNameToContent
-     *            The map of zipEntry name to their content
+     * @param zipEntries
+     *            The zip entries
      * @param manifestPathInZip
      *            The path of the manifest file in zip
-     * @return The {@link ProjectManifest} whether it is present in the given map and it has been deserialized
+     * @return The {@link ProjectManifest} whether it is present in the archive and it has been deserialized
      *         successfully, {@link Optional#empty()} otherwise
      */
-    private Optional<ProjectManifest> getProjectManifest(Map<String, ByteArrayOutputStream> zipEntryNameToContent, String manifestPathInZip) {
+    private Optional<ProjectManifest> getProjectManifest(List<ZipEntry> zipEntries, String manifestPathInZip) {
         Optional<ProjectManifest> optionalProjectManifest = Optional.empty();
 
         // @formatter:off
-        byte[] manifestBytes = zipEntryNameToContent.entrySet().stream()
-                .filter(e -> e.getKey().equals(manifestPathInZip))
-                .map(Entry::getValue)
-                .map(ByteArrayOutputStream::toByteArray)
-                .findFirst()
-                .orElse(new byte[0]);
+        Optional<ZipEntry> optionalManifestZipEntry = zipEntries.stream()
+                .filter(zipEntry -> zipEntry.getName().equals(manifestPathInZip))
+                .findFirst();
         // @formatter:on
-        if (manifestBytes.length <= 0) {
+        if (optionalManifestZipEntry.isEmpty()) {
             return Optional.empty();
         }
 
-        try {
-            ProjectManifest projectManifest = this.objectMapper.readValue(manifestBytes, ProjectManifest.class);
+        try (InputStream manifestInputStream = this.getInputStream(optionalManifestZipEntry.get())) {
+            ProjectManifest projectManifest = this.objectMapper.readValue(manifestInputStream, ProjectManifest.class);
             optionalProjectManifest = Optional.of(projectManifest);
         } catch (IOException exception) {
             this.logger.warn(exception.getMessage(), exception);
@@ -322,4 +395,30 @@ public class ProjectUnzipper {
 
         return optionalProjectManifest;
     }
+
+    /**
+     * Closes the archive and deletes its temporary copy.
+     */
+    @Override
+    public void close() {
+        try {
+            if (this.zipFile != null) {
+                this.zipFile.close();
+            }
+        } catch (IOException exception) {
+            this.logger.warn(exception.getMessage(), exception);
+        } finally {
+            this.deleteArchive();
+        }
+    }
+
+    private void deleteArchive() {
+        try {
+            if (this.archivePath != null) {
+                Files.deleteIfExists(this.archivePath);
+            }
+        } catch (IOException exception) {
+            this.logger.warn(exception.getMessage(), exception);
+        }
+    }
 }
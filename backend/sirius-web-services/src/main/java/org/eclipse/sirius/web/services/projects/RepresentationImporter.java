@@ -0,0 +1,264 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.projects;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+import org.eclipse.sirius.components.graphql.api.UploadFile;
+import org.eclipse.sirius.web.persistence.entities.IdMappingEntity;
+import org.eclipse.sirius.web.persistence.entities.ProjectEntity;
+import org.eclipse.sirius.web.persistence.entities.RepresentationEntity;
+import org.eclipse.sirius.web.persistence.repositories.IIdMappingRepository;
+import org.eclipse.sirius.web.persistence.repositories.IProjectRepository;
+import org.eclipse.sirius.web.persistence.repositories.IRepresentationRepository;
+import org.eclipse.sirius.web.services.api.projects.ProjectManifest;
+import org.eclipse.sirius.web.services.api.projects.RepresentationManifest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Imports the representations of a project directly in the database from their serialized form.
+ *
+ * <p>
+ * The representations are not rendered during the import, their content is copied from the archive after having
+ * rewritten the identifiers which have changed during the import: the identifier of the representation, the identifier
+ * of its description and the identifiers of the semantic elements of the uploaded documents. The representations will
+ * thus only be rendered again when they are opened. They are saved by batches of {@link #BATCH_SIZE} representations
+ * and only one representation descriptor is kept in memory at a time while reading them.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class RepresentationImporter {
+
+    /**
+     * The number of representations saved at once.
+     */
+    public static final int BATCH_SIZE = 100;
+
+    private static final String ID = "id"; //$NON-NLS-1$
+
+    private static final String TARGET_OBJECT_ID = "targetObjectId"; //$NON-NLS-1$
+
+    private static final String DESCRIPTION_ID = "descriptionId"; //$NON-NLS-1$
+
+    private static final String LABEL = "label"; //$NON-NLS-1$
+
+    private static final String KIND = "kind"; //$NON-NLS-1$
+
+    private static final String REPRESENTATION = "representation"; //$NON-NLS-1$
+
+    /**
+     * The fields of the representations holding the identifiers of representations, descriptions or semantic elements.
+     */
+    private static final Set<String> ID_FIELDS = Set.of(ID, TARGET_OBJECT_ID, DESCRIPTION_ID, "sourceId", "targetId", "semanticElementIds", "representationId"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+    private final Logger logger = LoggerFactory.getLogger(RepresentationImporter.class);
+
+    private final IRepresentationRepository representationRepository;
+
+    private final IProjectRepository projectRepository;
+
+    private final IIdMappingRepository idMappingRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, String> descriptionURIToDescriptionId = new HashMap<>();
+
+    public RepresentationImporter(IRepresentationRepository representationRepository, IProjectRepository projectRepository, IIdMappingRepository idMappingRepository, ObjectMapper objectMapper) {
+        this.representationRepository = Objects.requireNonNull(representationRepository);
+        this.projectRepository = Objects.requireNonNull(projectRepository);
+        this.idMappingRepository = Objects.requireNonNull(idMappingRepository);
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+    }
+
+    /**
+     * Imports the given representation descriptors in the given project.
+     *
+     * @param projectId
+     *            The identifier of the project in which the representations are imported
+     * @param representationDescriptorFiles
+     *            The serialized representation descriptors
+     * @param projectManifest
+     *            The manifest of the imported project
+     * @param objectIdMapping
+     *            The identifiers of the semantic elements in the archive mapped to their new identifiers
+     * @param monitor
+     *            Notified after each batch of representations saved and used to stop the import once it has been
+     *            cancelled
+     * @return <code>true</code> if all the representations have been imported, <code>false</code> otherwise
+     */
+    public boolean importRepresentations(UUID projectId, List<UploadFile> representationDescriptorFiles, ProjectManifest projectManifest, Map<String, String> objectIdMapping,
+            IProjectImportMonitor monitor) {
+        if (representationDescriptorFiles.isEmpty()) {
+            return true;
+        }
+
+        Optional<ProjectEntity> optionalProjectEntity = this.projectRepository.findById(projectId);
+        if (optionalProjectEntity.isEmpty()) {
+            return false;
+        }
+        ProjectEntity projectEntity = optionalProjectEntity.get();
+
+        List<RepresentationEntity> batch = new ArrayList<>(BATCH_SIZE);
+        for (UploadFile representationDescriptorFile : representationDescriptorFiles) {
+            if (monitor.isCancelled()) {
+                return false;
+            }
+
+            Optional<RepresentationEntity> optionalRepresentationEntity = this.createRepresentationEntity(projectEntity, representationDescriptorFile, projectManifest, objectIdMapping);
+            if (optionalRepresentationEntity.isEmpty()) {
+                this.logger.warn("The representation {} has not been imported", representationDescriptorFile.getName()); //$NON-NLS-1$
+                return false;
+            }
+
+            batch.add(optionalRepresentationEntity.get());
+            if (batch.size() == BATCH_SIZE) {
+                this.representationRepository.saveAll(batch);
+                monitor.representationsImported(batch.size());
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            this.representationRepository.saveAll(batch);
+            monitor.representationsImported(batch.size());
+        }
+        return true;
+    }
+
+    private Optional<RepresentationEntity> createRepresentationEntity(ProjectEntity projectEntity, UploadFile representationDescriptorFile, ProjectManifest projectManifest,
+            Map<String, String> objectIdMapping) {
+        JsonNode representationDescriptor;
+        try (InputStream inputStream = representationDescriptorFile.getInputStream()) {
+            representationDescriptor = this.objectMapper.readTree(inputStream);
+        } catch (IOException exception) {
+            this.logger.warn(exception.getMessage(), exception);
+            return Optional.empty();
+        }
+
+        String previousRepresentationId = representationDescriptor.path(ID).asText();
+        RepresentationManifest representationManifest = projectManifest.getRepresentations().get(previousRepresentationId);
+        JsonNode representation = representationDescriptor.get(REPRESENTATION);
+        if (representationManifest == null || representation == null || !representation.isObject()) {
+            return Optional.empty();
+        }
+
+        String representationId = UUID.randomUUID().toString();
+        String previousDescriptionId = representationDescriptor.path(DESCRIPTION_ID).asText();
+        String descriptionId = this.getDescriptionId(representationManifest.getDescriptionURI());
+
+        UnaryOperator<String> idRewriter = value -> {
+            if (value.equals(previousRepresentationId)) {
+                return representationId;
+            } else if (value.equals(previousDescriptionId)) {
+                return descriptionId;
+            }
+            return objectIdMapping.getOrDefault(value, value);
+        };
+        this.rewrite(representation, idRewriter);
+
+        RepresentationEntity representationEntity = new RepresentationEntity();
+        representationEntity.setId(UUID.fromString(representationId));
+        representationEntity.setProject(projectEntity);
+        representationEntity.setDescriptionId(descriptionId);
+        representationEntity.setTargetObjectId(idRewriter.apply(representationDescriptor.path(TARGET_OBJECT_ID).asText()));
+        representationEntity.setLabel(representationDescriptor.path(LABEL).asText());
+        representationEntity.setKind(representationDescriptor.path(KIND).asText());
+        try {
+            representationEntity.setContent(this.objectMapper.writeValueAsString(representation));
+        } catch (IOException exception) {
+            this.logger.warn(exception.getMessage(), exception);
+            return Optional.empty();
+        }
+        return Optional.of(representationEntity);
+    }
+
+    /**
+     * Returns the identifier of the description of the representation on this server.
+     *
+     * <p>
+     * If the given descriptionURI does not match with an existing IdMappingEntity, the current representation is based
+     * on a custom description. We use the descriptionURI as representationDescriptionId.
+     * </p>
+     *
+     * @param descriptionURI
+     *            The URI of the description in the manifest
+     * @return The identifier of the description
+     */
+    private String getDescriptionId(String descriptionURI) {
+        // @formatter:off
+        return this.descriptionURIToDescriptionId.computeIfAbsent(descriptionURI, uri -> this.idMappingRepository.findByExternalId(uri)
+                .map(IdMappingEntity::getId)
+                .orElse(uri));
+        // @formatter:on
+    }
+
+    /**
+     * Rewrites, in place, the identifiers of the given JSON node which have changed.
+     *
+     * <p>
+     * Only the values of the fields holding identifiers are rewritten, other textual values such as labels are kept even
+     * if they are equal to an identifier.
+     * </p>
+     *
+     * @param jsonNode
+     *            The JSON node
+     * @param idRewriter
+     *            Returns the new value of an identifier
+     */
+    private void rewrite(JsonNode jsonNode, UnaryOperator<String> idRewriter) {
+        if (jsonNode instanceof ObjectNode) {
+            var fields = jsonNode.fields();
+            while (fields.hasNext()) {
+                var field = fields.next();
+                JsonNode value = field.getValue();
+                if (ID_FIELDS.contains(field.getKey()) && value.isTextual()) {
+                    field.setValue(TextNode.valueOf(idRewriter.apply(value.asText())));
+                } else if (ID_FIELDS.contains(field.getKey()) && value instanceof ArrayNode) {
+                    this.rewriteIds((ArrayNode) value, idRewriter);
+                } else {
+                    this.rewrite(value, idRewriter);
+                }
+            }
+        } else if (jsonNode instanceof ArrayNode) {
+            for (JsonNode value : jsonNode) {
+                this.rewrite(value, idRewriter);
+            }
+        }
+    }
+
+    private void rewriteIds(ArrayNode arrayNode, UnaryOperator<String> idRewriter) {
+        for (int i = 0; i < arrayNode.size(); i++) {
+            JsonNode value = arrayNode.get(i);
+            if (value.isTextual()) {
+                arrayNode.set(i, TextNode.valueOf(idRewriter.apply(value.asText())));
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.representations;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.sirius.components.collaborative.api.IEditingContextEventProcessorRegistry;
+import org.eclipse.sirius.web.services.api.events.RepresentationConflictEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Closes the representation event processor of a representation whose save has been rejected because it has been
+ * modified concurrently.
+ *
+ * <p>
+ * The stale representation would otherwise stay in memory and all its following saves would be rejected. Only this
+ * representation is closed, the editing context and its other representations are kept. The next subscription to the
+ * representation reloads it from the database, along with its version, like a document is reloaded after a conflict
+ * by the editing context persistence service. The representation event processor is closed in the background since
+ * the conflict is detected while the editing context is refreshing the representation.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@Service
+public class RepresentationConflictHandler implements DisposableBean {
+
+    private static final String THREAD_NAME_PREFIX = "representation-conflicts-"; //$NON-NLS-1$
+
+    private final Logger logger = LoggerFactory.getLogger(RepresentationConflictHandler.class);
+
+    private final IEditingContextEventProcessorRegistry editingContextEventProcessorRegistry;
+
+    private final ExecutorService executorService;
+
+    public RepresentationConflictHandler(IEditingContextEventProcessorRegistry editingContextEventProcessorRegistry) {
+        this.editingContextEventProcessorRegistry = Objects.requireNonNull(editingContextEventProcessorRegistry);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+        threadFactory.setDaemon(true);
+        this.executorService = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    @EventListener
+    public void onRepresentationConflict(RepresentationConflictEvent representationConflictEvent) {
+        String editingContextId = representationConflictEvent.getProjectId().toString();
+        String representationId = representationConflictEvent.getRepresentationId().toString();
+        this.executorService.execute(() -> {
+            // @formatter:off
+            this.editingContextEventProcessorRegistry.getEditingContextEventProcessors().stream()
+                    .filter(editingContextEventProcessor -> editingContextId.equals(editingContextEventProcessor.getEditingContextId()))
+                    .flatMap(editingContextEventProcessor -> editingContextEventProcessor.getRepresentationEventProcessors().stream())
+                    .filter(representationEventProcessor -> representationId.equals(representationEventProcessor.getRepresentation().getId()))
+                    .forEach(representationEventProcessor -> {
+                        this.logger.debug("Closing the stale representation {} of the editing context {}", representationId, editingContextId); //$NON-NLS-1$
+                        representationEventProcessor.dispose();
+                    });
+            // @formatter:on
+        });
+    }
+
+    @Override
+    public void destroy() {
+        this.executorService.shutdownNow();
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Obeo.
+ * Copyright (c) 2021, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -20,6 +20,7 @@ import java.util.Optional;
 import org.eclipse.sirius.components.collaborative.api.IRepresentationSearchService;
 import org.eclipse.sirius.components.core.api.IEditingContext;
 import org.eclipse.sirius.components.representations.IRepresentation;
+import org.eclipse.sirius.web.persistence.entities.RepresentationEntity;
 import org.eclipse.sirius.web.persistence.repositories.IRepresentationRepository;
 import org.eclipse.sirius.web.services.api.id.IDParser;
 import org.eclipse.sirius.web.services.api.representations.RepresentationDescriptor;
@@ -46,10 +47,20 @@ public class RepresentationSearchService implements IRepresentationSearchService
         // @formatter:off
         return new IDParser().parse(representationId)
                 .flatMap(this.representationRepository::findById)
+                .map(representationEntity -> this.recordVersion(editingContext, representationEntity))
                 .map(new RepresentationMapper(this.objectMapper)::toDTO)
                 .map(RepresentationDescriptor::getRepresentation)
                 .filter(representationClass::isInstance)
                 .map(representationClass::cast);
         // @formatter:on
     }
+
+    /**
+     * Remembers the version of the representation loaded in the editing context in order to detect concurrent
+     * modifications when it will be saved.
+     */
+    private RepresentationEntity recordVersion(IEditingContext editingContext, RepresentationEntity representationEntity) {
+        new RepresentationVersionsAdapterProvider().getAdapter(editingContext).ifPresent(adapter -> adapter.setVersion(representationEntity.getId(), representationEntity.getVersion()));
+        return representationEntity;
+    }
 }
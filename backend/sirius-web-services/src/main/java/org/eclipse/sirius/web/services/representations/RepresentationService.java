@@ -33,11 +33,15 @@ import org.eclipse.sirius.web.persistence.entities.ProjectEntity;
 import org.eclipse.sirius.web.persistence.entities.RepresentationEntity;
 import org.eclipse.sirius.web.persistence.repositories.IProjectRepository;
 import org.eclipse.sirius.web.persistence.repositories.IRepresentationRepository;
+import org.eclipse.sirius.web.services.api.events.RepresentationConflictEvent;
+import org.eclipse.sirius.web.services.api.events.RepresentationsModifiedEvent;
 import org.eclipse.sirius.web.services.api.id.IDParser;
+import org.eclipse.sirius.web.services.api.projects.IProjectOwnershipService;
 import org.eclipse.sirius.web.services.api.representations.IRepresentationService;
 import org.eclipse.sirius.web.services.api.representations.RepresentationDescriptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import io.micrometer.core.instrument.MeterRegistry;
@@ -61,16 +65,22 @@ public class RepresentationService implements IRepresentationService, IRepresent
 
     private final ObjectMapper objectMapper;
 
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final IProjectOwnershipService projectOwnershipService;
+
     private final Timer timer;
 
     private final Logger logger = LoggerFactory.getLogger(RepresentationService.class);
 
     public RepresentationService(IObjectService objectService, IProjectRepository projectRepository, IRepresentationRepository representationRepository, ObjectMapper objectMapper,
-            MeterRegistry meterRegistry) {
+            ApplicationEventPublisher applicationEventPublisher, IProjectOwnershipService projectOwnershipService, MeterRegistry meterRegistry) {
         this.objectService = Objects.requireNonNull(objectService);
         this.projectRepository = Objects.requireNonNull(projectRepository);
         this.representationRepository = Objects.requireNonNull(representationRepository);
         this.objectMapper = Objects.requireNonNull(objectMapper);
+        this.applicationEventPublisher = Objects.requireNonNull(applicationEventPublisher);
+        this.projectOwnershipService = Objects.requireNonNull(projectOwnershipService);
 
         this.timer = Timer.builder(TIMER_NAME).register(meterRegistry);
     }
@@ -115,12 +125,14 @@ public class RepresentationService implements IRepresentationService, IRepresent
             UUID editingContextUUID = editingContextId.get();
             UUID representationUUID = representationId.get();
 
-            var optionalProjectEntity = this.projectRepository.findById(editingContextUUID);
+            var optionalProjectEntity = this.projectRepository.findById(editingContextUUID).filter(projectEntity -> this.projectOwnershipService.isOwner(projectEntity.getId()));
             if (optionalProjectEntity.isPresent()) {
                 ProjectEntity projectEntity = optionalProjectEntity.get();
 
                 RepresentationEntity representationEntity = this.toEntity(projectEntity, representationUUID, representation);
-                this.representationRepository.save(representationEntity);
+                if (this.save(editingContext, representationEntity)) {
+                    this.applicationEventPublisher.publishEvent(new RepresentationsModifiedEvent(editingContextUUID, List.of(representationUUID)));
+                }
             }
         }
 
@@ -128,6 +140,41 @@ public class RepresentationService implements IRepresentationService, IRepresent
         this.timer.record(end - start, TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * Saves the given representation only if it has not been modified concurrently since it has been loaded or saved
+     * by this editing context. In case of conflict, the save is rejected and the version in the database is kept. The
+     * editing context keeps the version it has loaded, so that all the following saves of its stale representation are
+     * rejected too, until the {@link RepresentationConflictHandler} closes it and it is reloaded from the database.
+     * An existing representation whose version has not been recorded when it has been loaded is considered stale too,
+     * since the version it has been read from is unknown.
+     */
+    boolean save(IEditingContext editingContext, RepresentationEntity representationEntity) {
+        boolean saved = false;
+
+        UUID representationId = representationEntity.getId();
+        var optionalAdapter = new RepresentationVersionsAdapterProvider().getAdapter(editingContext);
+        var optionalExpectedVersion = optionalAdapter.flatMap(adapter -> adapter.getVersion(representationId));
+
+        if (optionalExpectedVersion.isPresent()) {
+            int expectedVersion = optionalExpectedVersion.get();
+            if (this.representationRepository.updateContent(representationId, representationEntity.getLabel(), representationEntity.getContent(), expectedVersion) > 0) {
+                optionalAdapter.ifPresent(adapter -> adapter.setVersion(representationId, expectedVersion + 1));
+                saved = true;
+            } else {
+                this.logger.warn("The representation {} has been modified concurrently, the most recent version will be kept", representationId); //$NON-NLS-1$
+                this.applicationEventPublisher.publishEvent(new RepresentationConflictEvent(representationEntity.getProject().getId(), representationId));
+            }
+        } else if (this.representationRepository.existsById(representationId)) {
+            this.logger.warn("The version of the representation {} loaded by this editing context is unknown, the version in the database will be kept", representationId); //$NON-NLS-1$
+            this.applicationEventPublisher.publishEvent(new RepresentationConflictEvent(representationEntity.getProject().getId(), representationId));
+        } else {
+            this.representationRepository.save(representationEntity);
+            optionalAdapter.ifPresent(adapter -> adapter.setVersion(representationId, 0));
+            saved = true;
+        }
+        return saved;
+    }
+
     private RepresentationEntity toEntity(ProjectEntity projectEntity, UUID representationId, ISemanticRepresentation representation) {
         RepresentationEntity representationEntity = new RepresentationEntity();
 
@@ -162,7 +209,9 @@ public class RepresentationService implements IRepresentationService, IRepresent
 
     @Override
     public void delete(UUID representationId) {
+        Optional<UUID> optionalProjectId = this.representationRepository.findProjectIdById(representationId);
         this.representationRepository.deleteById(representationId);
+        optionalProjectId.ifPresent(projectId -> this.applicationEventPublisher.publishEvent(new RepresentationsModifiedEvent(projectId, List.of(representationId))));
     }
 
     @Override
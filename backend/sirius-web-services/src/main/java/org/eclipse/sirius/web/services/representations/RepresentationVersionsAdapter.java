@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.representations;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+
+/**
+ * An EMF adapter installed on the resource set of an editing context to remember the version in the database of the
+ * representations which have been loaded or saved in this editing context.
+ *
+ * @author sbegaudeau
+ */
+public class RepresentationVersionsAdapter implements Adapter {
+
+    private final Map<UUID, Integer> versions = new ConcurrentHashMap<>();
+
+    private Notifier notifier;
+
+    public Optional<Integer> getVersion(UUID representationId) {
+        return Optional.ofNullable(this.versions.get(representationId));
+    }
+
+    public void setVersion(UUID representationId, int version) {
+        this.versions.put(representationId, version);
+    }
+
+    @Override
+    public void notifyChanged(Notification notification) {
+        // do nothing
+    }
+
+    @Override
+    public Notifier getTarget() {
+        return this.notifier;
+    }
+
+    @Override
+    public void setTarget(Notifier newTarget) {
+        this.notifier = newTarget;
+    }
+
+    @Override
+    public boolean isAdapterForType(Object type) {
+        return false;
+    }
+
+}
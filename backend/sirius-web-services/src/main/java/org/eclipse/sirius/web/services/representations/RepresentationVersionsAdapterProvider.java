@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.representations;
+
+import java.util.Optional;
+
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.sirius.components.core.api.IEditingContext;
+import org.eclipse.sirius.components.emf.services.EditingContext;
+
+/**
+ * Used to retrieve, or install if necessary, the adapter holding the versions of the representations of an editing
+ * context.
+ *
+ * @author sbegaudeau
+ */
+public class RepresentationVersionsAdapterProvider {
+
+    public Optional<RepresentationVersionsAdapter> getAdapter(IEditingContext editingContext) {
+        Optional<RepresentationVersionsAdapter> result = Optional.empty();
+        if (editingContext instanceof EditingContext) {
+            ResourceSet resourceSet = ((EditingContext) editingContext).getDomain().getResourceSet();
+            synchronized (resourceSet) {
+                // @formatter:off
+                RepresentationVersionsAdapter adapter = resourceSet.eAdapters().stream()
+                        .filter(RepresentationVersionsAdapter.class::isInstance)
+                        .map(RepresentationVersionsAdapter.class::cast)
+                        .findFirst()
+                        .orElseGet(() -> {
+                            RepresentationVersionsAdapter representationVersionsAdapter = new RepresentationVersionsAdapter();
+                            resourceSet.eAdapters().add(representationVersionsAdapter);
+                            return representationVersionsAdapter;
+                        });
+                // @formatter:on
+                result = Optional.of(adapter);
+            }
+        }
+        return result;
+    }
+}
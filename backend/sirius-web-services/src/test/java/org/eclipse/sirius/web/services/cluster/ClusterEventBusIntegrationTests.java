@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.eclipse.sirius.web.services.api.events.ClusterEvent;
+import org.eclipse.sirius.web.services.api.events.ClusterEventKind;
+import org.eclipse.sirius.web.services.api.events.ProjectRenamedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Integration tests of the cluster event bus with two nodes sharing the same database.
+ *
+ * @author sbegaudeau
+ */
+@Testcontainers
+public class ClusterEventBusIntegrationTests {
+
+    private static final String POSTGRESQL_IMAGE = "postgres:latest"; //$NON-NLS-1$
+
+    private static final String PROPAGATION_TIMER = "siriusweb_cluster_event_propagation"; //$NON-NLS-1$
+
+    private static final long TIMEOUT = 10;
+
+    private static final long COALESCING_DELAY = 200;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRESQL_CONTAINER = new PostgreSQLContainer<>(POSTGRESQL_IMAGE);
+
+    private final BlockingQueue<Object> firstNodeEvents = new LinkedBlockingQueue<>();
+
+    private final BlockingQueue<Object> secondNodeEvents = new LinkedBlockingQueue<>();
+
+    private final SimpleMeterRegistry secondNodeMeterRegistry = new SimpleMeterRegistry();
+
+    private ClusterEventBus firstNode;
+
+    private ClusterEventBus secondNode;
+
+    @BeforeEach
+    public void startNodes() {
+        this.firstNode = new ClusterEventBus(this.createDataSource(), this.firstNodeEvents::add, new SimpleMeterRegistry(), true, "first", COALESCING_DELAY); //$NON-NLS-1$
+        this.secondNode = new ClusterEventBus(this.createDataSource(), this.secondNodeEvents::add, this.secondNodeMeterRegistry, true, "second", COALESCING_DELAY); //$NON-NLS-1$
+        this.firstNode.start();
+        this.secondNode.start();
+    }
+
+    @AfterEach
+    public void stopNodes() throws InterruptedException {
+        this.firstNode.destroy();
+        this.secondNode.destroy();
+    }
+
+    private DataSource createDataSource() {
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(POSTGRESQL_CONTAINER.getJdbcUrl());
+        dataSource.setUser(POSTGRESQL_CONTAINER.getUsername());
+        dataSource.setPassword(POSTGRESQL_CONTAINER.getPassword());
+        return dataSource;
+    }
+
+    @Test
+    public void testEventPropagatedToTheOtherNodeOnly() throws InterruptedException {
+        UUID projectId = UUID.randomUUID();
+        String documentId = UUID.randomUUID().toString();
+
+        this.firstNode.publish(ClusterEventKind.DOCUMENTS_MODIFIED, projectId, List.of(documentId));
+
+        Object event = this.secondNodeEvents.poll(TIMEOUT, TimeUnit.SECONDS);
+        assertThat(event).isInstanceOf(ClusterEvent.class);
+        ClusterEvent clusterEvent = (ClusterEvent) event;
+        assertThat(clusterEvent.getNodeId()).isEqualTo(this.firstNode.getNodeId());
+        assertThat(clusterEvent.getKind()).isEqualTo(ClusterEventKind.DOCUMENTS_MODIFIED);
+        assertThat(clusterEvent.getProjectId()).isEqualTo(projectId);
+        assertThat(clusterEvent.getObjectIds()).containsExactly(documentId);
+
+        assertThat(this.firstNodeEvents.poll(1, TimeUnit.SECONDS)).isNull();
+
+        Timer propagationTimer = this.secondNodeMeterRegistry.find(PROPAGATION_TIMER).timer();
+        assertThat(propagationTimer).isNotNull();
+        assertThat(propagationTimer.count()).isEqualTo(1);
+        assertThat(propagationTimer.max(TimeUnit.SECONDS)).isLessThan(TIMEOUT);
+    }
+
+    @Test
+    public void testLocalEventPropagated() throws InterruptedException {
+        UUID projectId = UUID.randomUUID();
+
+        this.secondNode.onProjectRenamed(new ProjectRenamedEvent(projectId, "New name")); //$NON-NLS-1$
+
+        Object event = this.firstNodeEvents.poll(TIMEOUT, TimeUnit.SECONDS);
+        assertThat(event).isInstanceOf(ClusterEvent.class);
+        assertThat(((ClusterEvent) event).getKind()).isEqualTo(ClusterEventKind.PROJECT_RENAMED);
+        assertThat(((ClusterEvent) event).getProjectId()).isEqualTo(projectId);
+    }
+
+    @Test
+    public void testTooManyObjectIdsNotPropagated() throws InterruptedException {
+        UUID projectId = UUID.randomUUID();
+        List<String> objectIds = IntStream.range(0, 1000).mapToObj(index -> UUID.randomUUID().toString()).collect(Collectors.toList());
+
+        this.firstNode.publish(ClusterEventKind.REPRESENTATIONS_MODIFIED, projectId, objectIds);
+
+        Object event = this.secondNodeEvents.poll(TIMEOUT, TimeUnit.SECONDS);
+        assertThat(event).isInstanceOf(ClusterEvent.class);
+        assertThat(((ClusterEvent) event).getObjectIds()).isEmpty();
+    }
+
+    @Test
+    public void testEventsOfTheSameProjectCoalesced() throws InterruptedException {
+        UUID projectId = UUID.randomUUID();
+        List<String> representationIds = IntStream.range(0, 10).mapToObj(index -> UUID.randomUUID().toString()).collect(Collectors.toList());
+
+        representationIds.forEach(representationId -> this.firstNode.publish(ClusterEventKind.REPRESENTATIONS_MODIFIED, projectId, List.of(representationId)));
+
+        Object event = this.secondNodeEvents.poll(TIMEOUT, TimeUnit.SECONDS);
+        assertThat(event).isInstanceOf(ClusterEvent.class);
+        assertThat(((ClusterEvent) event).getObjectIds()).containsExactlyElementsOf(representationIds);
+        assertThat(this.secondNodeEvents.poll(1, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    public void testPendingEventsSentOnShutdown() throws InterruptedException {
+        UUID projectId = UUID.randomUUID();
+
+        this.firstNode.publish(ClusterEventKind.PROJECT_DELETED, projectId, List.of());
+        this.firstNode.destroy();
+
+        Object event = this.secondNodeEvents.poll(TIMEOUT, TimeUnit.SECONDS);
+        assertThat(event).isInstanceOf(ClusterEvent.class);
+        assertThat(((ClusterEvent) event).getKind()).isEqualTo(ClusterEventKind.PROJECT_DELETED);
+    }
+}
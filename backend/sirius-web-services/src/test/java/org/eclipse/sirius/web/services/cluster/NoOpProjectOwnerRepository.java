@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.cluster;
+
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.eclipse.sirius.web.persistence.entities.ProjectOwnerEntity;
+import org.eclipse.sirius.web.persistence.repositories.IProjectOwnerRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Implementation of the project owner repository which does nothing.
+ *
+ * @author sbegaudeau
+ */
+public class NoOpProjectOwnerRepository implements IProjectOwnerRepository {
+
+    @Override
+    public Iterable<ProjectOwnerEntity> findAll(Sort sort) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public Page<ProjectOwnerEntity> findAll(Pageable pageable) {
+        return Page.empty();
+    }
+
+    @Override
+    public <S extends ProjectOwnerEntity> S save(S entity) {
+        return entity;
+    }
+
+    @Override
+    public <S extends ProjectOwnerEntity> Iterable<S> saveAll(Iterable<S> entities) {
+        return entities;
+    }
+
+    @Override
+    public Optional<ProjectOwnerEntity> findById(UUID id) {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return false;
+    }
+
+    @Override
+    public Iterable<ProjectOwnerEntity> findAll() {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public Iterable<ProjectOwnerEntity> findAllById(Iterable<UUID> ids) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public long count() {
+        return 0;
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+    }
+
+    @Override
+    public void delete(ProjectOwnerEntity entity) {
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends UUID> ids) {
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends ProjectOwnerEntity> entities) {
+    }
+
+    @Override
+    public void deleteAll() {
+    }
+
+    @Override
+    public int acquireLease(UUID projectId, String nodeId, String nodeURL, long leaseDurationInSeconds) {
+        return 0;
+    }
+
+    @Override
+    public int renewLease(UUID projectId, String nodeId, long fencingToken, long leaseDurationInSeconds) {
+        return 0;
+    }
+
+    @Override
+    public int releaseLease(UUID projectId, String nodeId, long fencingToken) {
+        return 0;
+    }
+
+    @Override
+    public int releaseLeases(String nodeId) {
+        return 0;
+    }
+
+    @Override
+    public Optional<ProjectOwnerEntity> findValidLease(UUID projectId) {
+        return Optional.empty();
+    }
+
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.eclipse.sirius.components.collaborative.api.IEditingContextEventProcessorRegistry;
+import org.eclipse.sirius.web.persistence.entities.ProjectOwnerEntity;
+import org.eclipse.sirius.web.persistence.repositories.IProjectOwnerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+/**
+ * Unit tests of the project ownership service.
+ *
+ * @author sbegaudeau
+ */
+public class ProjectOwnershipServiceTests {
+
+    private static final String NODE_ID = "first"; //$NON-NLS-1$
+
+    private static final String NODE_URL = "http://first:8080"; //$NON-NLS-1$
+
+    private static final long FENCING_TOKEN = 42;
+
+    private static final long LEASE_DURATION = 30;
+
+    private ProjectOwnershipService createService(IProjectOwnerRepository projectOwnerRepository) {
+        var editingContextEventProcessorRegistryProvider = new StaticListableBeanFactory().getBeanProvider(IEditingContextEventProcessorRegistry.class);
+        return new ProjectOwnershipService(projectOwnerRepository, editingContextEventProcessorRegistryProvider, true, NODE_ID, NODE_URL, LEASE_DURATION);
+    }
+
+    private ProjectOwnerEntity createLease(UUID projectId) {
+        ProjectOwnerEntity projectOwnerEntity = new ProjectOwnerEntity();
+        projectOwnerEntity.setProjectId(projectId);
+        projectOwnerEntity.setNodeId(NODE_ID);
+        projectOwnerEntity.setNodeURL(NODE_URL);
+        projectOwnerEntity.setFencingToken(FENCING_TOKEN);
+        return projectOwnerEntity;
+    }
+
+    @Test
+    public void testOwnershipNotAcquiredWhenTheDatabaseCannotBeReached() {
+        UUID projectId = UUID.randomUUID();
+        IProjectOwnerRepository projectOwnerRepository = new NoOpProjectOwnerRepository() {
+            @Override
+            public int acquireLease(UUID projectId, String nodeId, String nodeURL, long leaseDurationInSeconds) {
+                throw new IllegalStateException("The database cannot be reached"); //$NON-NLS-1$
+            }
+        };
+
+        ProjectOwnershipService projectOwnershipService = this.createService(projectOwnerRepository);
+        try {
+            assertThat(projectOwnershipService.acquireOwnership(projectId)).isFalse();
+            assertThat(projectOwnershipService.isOwner(projectId)).isFalse();
+        } finally {
+            projectOwnershipService.destroy();
+        }
+    }
+
+    @Test
+    public void testLeaseRenewedWhileLoadedAndReleasedOnceDisposed() {
+        UUID projectId = UUID.randomUUID();
+        List<Long> renewedFencingTokens = new ArrayList<>();
+        List<Long> releasedFencingTokens = new ArrayList<>();
+        IProjectOwnerRepository projectOwnerRepository = new NoOpProjectOwnerRepository() {
+            @Override
+            public int acquireLease(UUID id, String nodeId, String nodeURL, long leaseDurationInSeconds) {
+                return 1;
+            }
+
+            @Override
+            public Optional<ProjectOwnerEntity> findValidLease(UUID id) {
+                return Optional.of(ProjectOwnershipServiceTests.this.createLease(id));
+            }
+
+            @Override
+            public int renewLease(UUID id, String nodeId, long fencingToken, long leaseDurationInSeconds) {
+                renewedFencingTokens.add(fencingToken);
+                return 1;
+            }
+
+            @Override
+            public int releaseLease(UUID id, String nodeId, long fencingToken) {
+                releasedFencingTokens.add(fencingToken);
+                return 1;
+            }
+        };
+
+        ProjectOwnershipService projectOwnershipService = this.createService(projectOwnerRepository);
+        try {
+            assertThat(projectOwnershipService.acquireOwnership(projectId)).isTrue();
+            assertThat(projectOwnershipService.isOwner(projectId)).isTrue();
+
+            // A project which has just been acquired is kept even if its editing context is not registered yet
+            assertThat(projectOwnershipService.renewLeases(Set.of())).isEmpty();
+            assertThat(releasedFencingTokens).isEmpty();
+
+            assertThat(projectOwnershipService.renewLeases(Set.of(projectId))).isEmpty();
+            assertThat(renewedFencingTokens).containsExactly(FENCING_TOKEN);
+
+            assertThat(projectOwnershipService.renewLeases(Set.of())).isEmpty();
+            assertThat(releasedFencingTokens).containsExactly(FENCING_TOKEN);
+            assertThat(projectOwnershipService.isOwner(projectId)).isFalse();
+        } finally {
+            projectOwnershipService.destroy();
+        }
+    }
+
+    @Test
+    public void testLeaseTakenOverByAnotherNode() {
+        UUID projectId = UUID.randomUUID();
+        IProjectOwnerRepository projectOwnerRepository = new NoOpProjectOwnerRepository() {
+            @Override
+            public int acquireLease(UUID id, String nodeId, String nodeURL, long leaseDurationInSeconds) {
+                return 1;
+            }
+
+            @Override
+            public Optional<ProjectOwnerEntity> findValidLease(UUID id) {
+                return Optional.of(ProjectOwnershipServiceTests.this.createLease(id));
+            }
+        };
+
+        ProjectOwnershipService projectOwnershipService = this.createService(projectOwnerRepository);
+        try {
+            assertThat(projectOwnershipService.acquireOwnership(projectId)).isTrue();
+
+            assertThat(projectOwnershipService.renewLeases(Set.of(projectId))).containsExactly(projectId);
+            assertThat(projectOwnershipService.isOwner(projectId)).isFalse();
+        } finally {
+            projectOwnershipService.destroy();
+        }
+    }
+
+    @Test
+    public void testProjectOwnedByAnotherNode() {
+        UUID projectId = UUID.randomUUID();
+        IProjectOwnerRepository projectOwnerRepository = new NoOpProjectOwnerRepository() {
+            @Override
+            public Optional<ProjectOwnerEntity> findValidLease(UUID id) {
+                ProjectOwnerEntity projectOwnerEntity = ProjectOwnershipServiceTests.this.createLease(id);
+                projectOwnerEntity.setNodeId("second"); //$NON-NLS-1$
+                projectOwnerEntity.setNodeURL("http://second:8080"); //$NON-NLS-1$
+                return Optional.of(projectOwnerEntity);
+            }
+        };
+
+        ProjectOwnershipService projectOwnershipService = this.createService(projectOwnerRepository);
+        try {
+            assertThat(projectOwnershipService.acquireOwnership(projectId)).isFalse();
+            assertThat(projectOwnershipService.isOwner(projectId)).isFalse();
+            assertThat(projectOwnershipService.getRemoteOwnerURL(projectId)).contains("http://second:8080"); //$NON-NLS-1$
+        } finally {
+            projectOwnershipService.destroy();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.documents;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.edit.domain.AdapterFactoryEditingDomain;
+import org.eclipse.sirius.components.collaborative.api.ChangeDescription;
+import org.eclipse.sirius.components.collaborative.api.ChangeKind;
+import org.eclipse.sirius.components.core.api.ErrorPayload;
+import org.eclipse.sirius.components.core.api.IEditingContext;
+import org.eclipse.sirius.components.core.api.IPayload;
+import org.eclipse.sirius.components.emf.services.EditingContext;
+import org.eclipse.sirius.components.graphql.api.UploadFile;
+import org.eclipse.sirius.web.services.api.accounts.Profile;
+import org.eclipse.sirius.web.services.api.document.BulkUploadDocumentsInput;
+import org.eclipse.sirius.web.services.api.document.BulkUploadDocumentsSuccessPayload;
+import org.eclipse.sirius.web.services.api.document.Document;
+import org.eclipse.sirius.web.services.api.document.DocumentContent;
+import org.eclipse.sirius.web.services.api.document.IDocumentService;
+import org.eclipse.sirius.web.services.api.projects.Project;
+import org.eclipse.sirius.web.services.api.projects.Visibility;
+import org.eclipse.sirius.web.services.projects.NoOpServicesMessageService;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Sinks;
+import reactor.core.publisher.Sinks.Many;
+import reactor.core.publisher.Sinks.One;
+
+/**
+ * Unit tests of the bulk upload documents event handler.
+ *
+ * @author sbegaudeau
+ */
+public class BulkUploadDocumentsEventHandlerTests {
+
+    private static final String XMI_CONTENT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + System.lineSeparator() //$NON-NLS-1$
+            + "<ecore:EPackage xmi:version=\"2.0\" xmlns:xmi=\"http://www.omg.org/XMI\" xmlns:ecore=\"http://www.eclipse.org/emf/2002/Ecore\" name=\"sample\"/>"; //$NON-NLS-1$
+
+    private static final String PREVIOUS_OBJECT_ID = "5c6b3a1d-2f4e-4d8a-9b7c-1e2f3a4b5c6d"; //$NON-NLS-1$
+
+    private static final String JSON_CONTENT = "{\"json\":{\"version\":\"1.0\",\"encoding\":\"utf-8\"},\"ns\":{\"ecore\":\"http://www.eclipse.org/emf/2002/Ecore\"}," //$NON-NLS-1$
+            + "\"content\":[{\"id\":\"" + PREVIOUS_OBJECT_ID + "\",\"eClass\":\"ecore:EPackage\",\"data\":{\"name\":\"sample\"}}]}"; //$NON-NLS-1$ //$NON-NLS-2$
+
+    @Test
+    public void testBulkUploadDocuments() {
+        List<List<DocumentContent>> createDocumentsCalls = new ArrayList<>();
+        IDocumentService documentService = this.getDocumentService(createDocumentsCalls);
+        BulkUploadDocumentsEventHandler handler = new BulkUploadDocumentsEventHandler(documentService, new NoOpServicesMessageService(), new SimpleMeterRegistry(), UploadedDocumentLoader.DEFAULT_MAX_SIZE);
+
+        List<UploadFile> files = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            files.add(new UploadFile("Document " + i, new ByteArrayInputStream(XMI_CONTENT.getBytes(StandardCharsets.UTF_8)))); //$NON-NLS-1$
+        }
+        var input = new BulkUploadDocumentsInput(UUID.randomUUID(), UUID.randomUUID().toString(), files);
+
+        AdapterFactoryEditingDomain editingDomain = new EditingDomainFactory().create();
+        IEditingContext editingContext = new EditingContext(UUID.randomUUID().toString(), editingDomain);
+
+        Many<ChangeDescription> changeDescriptionSink = Sinks.many().unicast().onBackpressureBuffer();
+        One<IPayload> payloadSink = Sinks.one();
+
+        assertThat(handler.canHandle(editingContext, input)).isTrue();
+        handler.handle(payloadSink, changeDescriptionSink, editingContext, input);
+
+        changeDescriptionSink.tryEmitComplete();
+        List<ChangeDescription> changeDescriptions = changeDescriptionSink.asFlux().collectList().block();
+        assertThat(changeDescriptions).hasSize(1);
+        assertThat(changeDescriptions.get(0).getKind()).isEqualTo(ChangeKind.SEMANTIC_CHANGE);
+
+        IPayload payload = payloadSink.asMono().block();
+        assertThat(payload).isInstanceOf(BulkUploadDocumentsSuccessPayload.class);
+        List<Document> documents = ((BulkUploadDocumentsSuccessPayload) payload).getDocuments();
+        assertThat(documents).extracting(Document::getName).containsExactly("Document 0", "Document 1", "Document 2"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+        assertThat(createDocumentsCalls).hasSize(1);
+        assertThat(editingDomain.getResourceSet().getResources()).hasSize(3);
+        assertThat(editingDomain.getResourceSet().getResources()).allMatch(resource -> resource.getContents().size() == 1);
+        List<String> resourceURIs = editingDomain.getResourceSet().getResources().stream().map(Resource::getURI).map(Object::toString).collect(Collectors.toList());
+        assertThat(resourceURIs).containsExactlyElementsOf(documents.stream().map(Document::getId).map(UUID::toString).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testBulkUploadWithUnreadableDocument() {
+        List<List<DocumentContent>> createDocumentsCalls = new ArrayList<>();
+        IDocumentService documentService = this.getDocumentService(createDocumentsCalls);
+        BulkUploadDocumentsEventHandler handler = new BulkUploadDocumentsEventHandler(documentService, new NoOpServicesMessageService(), new SimpleMeterRegistry(), UploadedDocumentLoader.DEFAULT_MAX_SIZE);
+
+        InputStream unreadableInputStream = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("The archive exceeds the limits of the import"); //$NON-NLS-1$
+            }
+        };
+        UploadFile validFile = new UploadFile("Valid", new ByteArrayInputStream(XMI_CONTENT.getBytes(StandardCharsets.UTF_8))); //$NON-NLS-1$
+        UploadFile unreadableFile = new UploadFile("Unreadable", unreadableInputStream); //$NON-NLS-1$
+        var input = new BulkUploadDocumentsInput(UUID.randomUUID(), UUID.randomUUID().toString(), List.of(validFile, unreadableFile));
+
+        AdapterFactoryEditingDomain editingDomain = new EditingDomainFactory().create();
+        IEditingContext editingContext = new EditingContext(UUID.randomUUID().toString(), editingDomain);
+
+        Many<ChangeDescription> changeDescriptionSink = Sinks.many().unicast().onBackpressureBuffer();
+        One<IPayload> payloadSink = Sinks.one();
+
+        handler.handle(payloadSink, changeDescriptionSink, editingContext, input);
+
+        ChangeDescription changeDescription = changeDescriptionSink.asFlux().blockFirst();
+        assertThat(changeDescription.getKind()).isEqualTo(ChangeKind.NOTHING);
+        assertThat(payloadSink.asMono().block()).isInstanceOf(ErrorPayload.class);
+
+        assertThat(createDocumentsCalls).isEmpty();
+        assertThat(editingDomain.getResourceSet().getResources()).isEmpty();
+    }
+
+    @Test
+    public void testBulkUploadDocumentsWithObjectIdMapping() {
+        List<List<DocumentContent>> createDocumentsCalls = new ArrayList<>();
+        IDocumentService documentService = this.getDocumentService(createDocumentsCalls);
+        BulkUploadDocumentsEventHandler handler = new BulkUploadDocumentsEventHandler(documentService, new NoOpServicesMessageService(), new SimpleMeterRegistry(), UploadedDocumentLoader.DEFAULT_MAX_SIZE);
+
+        UploadFile file = new UploadFile("Document", new ByteArrayInputStream(JSON_CONTENT.getBytes(StandardCharsets.UTF_8))); //$NON-NLS-1$
+        var input = new BulkUploadDocumentsInput(UUID.randomUUID(), UUID.randomUUID().toString(), List.of(file), true);
+
+        AdapterFactoryEditingDomain editingDomain = new EditingDomainFactory().create();
+        IEditingContext editingContext = new EditingContext(UUID.randomUUID().toString(), editingDomain);
+
+        Many<ChangeDescription> changeDescriptionSink = Sinks.many().unicast().onBackpressureBuffer();
+        One<IPayload> payloadSink = Sinks.one();
+
+        handler.handle(payloadSink, changeDescriptionSink, editingContext, input);
+
+        IPayload payload = payloadSink.asMono().block();
+        assertThat(payload).isInstanceOf(BulkUploadDocumentsSuccessPayload.class);
+        Map<String, String> objectIdMapping = ((BulkUploadDocumentsSuccessPayload) payload).getObjectIdMapping();
+        assertThat(objectIdMapping).containsOnlyKeys(PREVIOUS_OBJECT_ID);
+
+        String newObjectId = objectIdMapping.get(PREVIOUS_OBJECT_ID);
+        assertThat(newObjectId).isNotEqualTo(PREVIOUS_OBJECT_ID);
+        assertThat(createDocumentsCalls).hasSize(1);
+        assertThat(createDocumentsCalls.get(0).get(0).getContent()).contains(newObjectId).doesNotContain(PREVIOUS_OBJECT_ID);
+    }
+
+    private IDocumentService getDocumentService(List<List<DocumentContent>> createDocumentsCalls) {
+        return new IDocumentService.NoOp() {
+            @Override
+            public List<Document> createDocuments(String projectId, List<DocumentContent> documentContents) {
+                createDocumentsCalls.add(documentContents);
+                Project project = new Project(UUID.fromString(projectId), "", new Profile(UUID.randomUUID(), "username"), Visibility.PUBLIC); //$NON-NLS-1$ //$NON-NLS-2$
+
+                // @formatter:off
+                return documentContents.stream()
+                        .map(documentContent -> new Document(UUID.randomUUID(), project, documentContent.getName(), documentContent.getContent()))
+                        .collect(Collectors.toList());
+                // @formatter:on
+            }
+        };
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -14,10 +14,13 @@ package org.eclipse.sirius.web.services.documents;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.assertj.core.api.Condition;
+import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.edit.domain.AdapterFactoryEditingDomain;
 import org.eclipse.sirius.components.collaborative.api.ChangeDescription;
 import org.eclipse.sirius.components.collaborative.api.ChangeKind;
@@ -163,4 +166,44 @@ public class CreateDocumentEventHandlerTests {
         IPayload secondPayload = firstPayloadSink.asMono().block();
         assertThat(secondPayload).isInstanceOf(CreateDocumentSuccessPayload.class);
     }
+
+    @Test
+    public void testCreateDocumentsFromTheSameStereotype() {
+        List<String> contents = new ArrayList<>();
+        IDocumentService documentService = new IDocumentService.NoOp() {
+            @Override
+            public Optional<Document> createDocument(String projectId, String name, String content) {
+                contents.add(content);
+                return Optional.of(new Document(UUID.randomUUID(), new Project(UUID.fromString(projectId), "", new Profile(UUID.randomUUID(), "username"), Visibility.PUBLIC), name, content)); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        };
+        IStereotypeDescriptionService stereotypeDescriptionService = new IStereotypeDescriptionService.NoOp() {
+            @Override
+            public Optional<StereotypeDescription> getStereotypeDescriptionById(String editingContextId, UUID stereotypeId) {
+                StereotypeDescription stereotypeDescription = new StereotypeDescription(stereotypeId, "label", () -> CONTENT); //$NON-NLS-1$
+                return Optional.of(stereotypeDescription);
+            }
+        };
+        AdapterFactoryEditingDomain editingDomain = new EditingDomainFactory().create();
+        EditingContext editingContext = new EditingContext(UUID.randomUUID().toString(), editingDomain);
+
+        CreateDocumentEventHandler handler = new CreateDocumentEventHandler(documentService, stereotypeDescriptionService, new NoOpServicesMessageService(), new SimpleMeterRegistry());
+        for (int i = 0; i < 2; i++) {
+            var input = new CreateDocumentInput(UUID.randomUUID(), editingContext.getId(), DOCUMENT_NAME, STEREOTYPE_DESCRIPTION_ID);
+            Many<ChangeDescription> changeDescriptionSink = Sinks.many().unicast().onBackpressureBuffer();
+            One<IPayload> payloadSink = Sinks.one();
+            handler.handle(payloadSink, changeDescriptionSink, editingContext, input);
+            assertThat(payloadSink.asMono().block()).isInstanceOf(CreateDocumentSuccessPayload.class);
+        }
+
+        List<Resource> resources = editingDomain.getResourceSet().getResources();
+        assertThat(resources).hasSize(2);
+        assertThat(resources.get(0).getContents()).hasSize(1);
+        assertThat(resources.get(1).getContents()).hasSize(1);
+        assertThat(resources.get(0).getContents().get(0)).isNotSameAs(resources.get(1).getContents().get(0));
+
+        assertThat(contents).hasSize(2);
+        assertThat(contents).allMatch(content -> content.contains("AClass")); //$NON-NLS-1$
+        assertThat(contents.get(0)).isNotEqualTo(contents.get(1));
+    }
 }
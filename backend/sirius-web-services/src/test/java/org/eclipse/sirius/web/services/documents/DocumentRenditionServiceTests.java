@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.documents;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.sirius.web.services.api.accounts.Profile;
+import org.eclipse.sirius.web.services.api.document.Document;
+import org.eclipse.sirius.web.services.api.document.DocumentRendition;
+import org.eclipse.sirius.web.services.api.document.IDocumentService;
+import org.eclipse.sirius.web.services.api.projects.Project;
+import org.eclipse.sirius.web.services.api.projects.Visibility;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests of the document rendition service.
+ *
+ * @author sbegaudeau
+ */
+public class DocumentRenditionServiceTests {
+
+    private static final String NAME = "Document"; //$NON-NLS-1$
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testRenditionReused() throws IOException {
+        AtomicInteger writeCount = new AtomicInteger();
+        DocumentRenditionService documentRenditionService = new DocumentRenditionService(this.getDocumentService(writeCount), this.directory.toString(), 1024);
+
+        Document document = this.createDocument(UUID.randomUUID(), "content"); //$NON-NLS-1$
+        String eTag = documentRenditionService.getETag(document, IDocumentService.RESOURCE_KIND_XMI);
+
+        assertThat(this.read(documentRenditionService.getRendition(document, IDocumentService.RESOURCE_KIND_XMI), eTag)).isEqualTo("content"); //$NON-NLS-1$
+        assertThat(this.read(documentRenditionService.getRendition(document, IDocumentService.RESOURCE_KIND_XMI), eTag)).isEqualTo("content"); //$NON-NLS-1$
+        assertThat(writeCount.get()).isEqualTo(1);
+        assertThat(this.listFiles()).hasSize(1);
+
+        DocumentRenditionService restartedDocumentRenditionService = new DocumentRenditionService(this.getDocumentService(writeCount), this.directory.toString(), 1024);
+        assertThat(this.read(restartedDocumentRenditionService.getRendition(document, IDocumentService.RESOURCE_KIND_XMI), eTag)).isEqualTo("content"); //$NON-NLS-1$
+        assertThat(writeCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testModifiedDocumentConvertedAgain() throws IOException {
+        AtomicInteger writeCount = new AtomicInteger();
+        DocumentRenditionService documentRenditionService = new DocumentRenditionService(this.getDocumentService(writeCount), this.directory.toString(), 1024);
+
+        UUID documentId = UUID.randomUUID();
+        Document document = this.createDocument(documentId, "content"); //$NON-NLS-1$
+        Document modifiedDocument = this.createDocument(documentId, "modified content"); //$NON-NLS-1$
+        String eTag = documentRenditionService.getETag(document, IDocumentService.RESOURCE_KIND_XMI);
+        String modifiedETag = documentRenditionService.getETag(modifiedDocument, IDocumentService.RESOURCE_KIND_XMI);
+        assertThat(modifiedETag).isNotEqualTo(eTag);
+
+        assertThat(this.read(documentRenditionService.getRendition(document, IDocumentService.RESOURCE_KIND_XMI), eTag)).isEqualTo("content"); //$NON-NLS-1$
+        assertThat(this.read(documentRenditionService.getRendition(modifiedDocument, IDocumentService.RESOURCE_KIND_XMI), modifiedETag)).isEqualTo("modified content"); //$NON-NLS-1$
+        assertThat(writeCount.get()).isEqualTo(2);
+        assertThat(this.listFiles()).hasSize(1).allMatch(fileName -> fileName.contains(modifiedETag));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedRenditionEvicted() throws IOException {
+        AtomicInteger writeCount = new AtomicInteger();
+        DocumentRenditionService documentRenditionService = new DocumentRenditionService(this.getDocumentService(writeCount), this.directory.toString(), 20);
+
+        Document firstDocument = this.createDocument(UUID.randomUUID(), "first rendition"); //$NON-NLS-1$
+        Document secondDocument = this.createDocument(UUID.randomUUID(), "second rendition"); //$NON-NLS-1$
+
+        assertThat(documentRenditionService.getRendition(firstDocument, IDocumentService.RESOURCE_KIND_XMI)).isPresent();
+        assertThat(documentRenditionService.getRendition(secondDocument, IDocumentService.RESOURCE_KIND_XMI)).isPresent();
+        assertThat(this.listFiles()).hasSize(1).allMatch(fileName -> fileName.startsWith(secondDocument.getId().toString()));
+
+        assertThat(documentRenditionService.getRendition(firstDocument, IDocumentService.RESOURCE_KIND_XMI)).isPresent();
+        assertThat(writeCount.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testUnsupportedResourceKind() throws IOException {
+        DocumentRenditionService documentRenditionService = new DocumentRenditionService(new IDocumentService.NoOp(), this.directory.toString(), 1024);
+
+        Document document = this.createDocument(UUID.randomUUID(), "content"); //$NON-NLS-1$
+        assertThat(documentRenditionService.getRendition(document, "unknown")).isEmpty(); //$NON-NLS-1$
+        assertThat(this.listFiles()).isEmpty();
+    }
+
+    private IDocumentService getDocumentService(AtomicInteger writeCount) {
+        return new IDocumentService.NoOp() {
+            @Override
+            public boolean write(Document document, String resourceKind, OutputStream outputStream) throws IOException {
+                writeCount.incrementAndGet();
+                outputStream.write(document.getContent().getBytes(StandardCharsets.UTF_8));
+                return true;
+            }
+        };
+    }
+
+    private Document createDocument(UUID documentId, String content) {
+        Project project = new Project(UUID.randomUUID(), "", new Profile(UUID.randomUUID(), "username"), Visibility.PUBLIC); //$NON-NLS-1$ //$NON-NLS-2$
+        return new Document(documentId, project, NAME, content);
+    }
+
+    private String read(Optional<DocumentRendition> optionalRendition, String eTag) throws IOException {
+        assertThat(optionalRendition).isPresent();
+        DocumentRendition rendition = optionalRendition.get();
+        assertThat(rendition.getETag()).isEqualTo(eTag);
+        try (InputStream inputStream = rendition.getInputStream()) {
+            byte[] bytes = inputStream.readAllBytes();
+            assertThat((long) bytes.length).isEqualTo(rendition.getSize());
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private List<String> listFiles() throws IOException {
+        try (Stream<Path> paths = Files.list(this.directory)) {
+            return paths.map(Path::getFileName).map(Path::toString).collect(Collectors.toList());
+        }
+    }
+}
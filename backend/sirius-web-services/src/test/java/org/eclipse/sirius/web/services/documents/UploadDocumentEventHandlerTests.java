@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -25,8 +25,10 @@ import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -39,6 +41,7 @@ import org.eclipse.emf.edit.domain.AdapterFactoryEditingDomain;
 import org.eclipse.emf.edit.domain.EditingDomain;
 import org.eclipse.sirius.components.collaborative.api.ChangeDescription;
 import org.eclipse.sirius.components.collaborative.api.ChangeKind;
+import org.eclipse.sirius.components.core.api.ErrorPayload;
 import org.eclipse.sirius.components.core.api.IEditingContext;
 import org.eclipse.sirius.components.core.api.IPayload;
 import org.eclipse.sirius.components.emf.services.EObjectIDManager;
@@ -148,6 +151,64 @@ public class UploadDocumentEventHandlerTests {
         assertThat(res.getContents()).hasSize(0);
     }
 
+    @Test
+    public void testUploadedObjectsIdentifiersPersisted() {
+        List<String> contents = new ArrayList<>();
+        IDocumentService documentService = new IDocumentService.NoOp() {
+            @Override
+            public Optional<Document> createDocument(String projectId, String name, String content) {
+                contents.add(content);
+                return Optional.of(new Document(UUID.randomUUID(), new Project(UUID.fromString(projectId), "", new Profile(UUID.randomUUID(), "username"), Visibility.PUBLIC), name, content)); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        };
+        UploadDocumentEventHandler handler = new UploadDocumentEventHandler(documentService, new NoOpServicesMessageService(), new SimpleMeterRegistry(), UploadedDocumentLoader.DEFAULT_MAX_SIZE);
+
+        UploadFile file = new UploadFile(FILE_NAME, new ByteArrayInputStream(XMI_CONTENT.getBytes()));
+        var input = new UploadDocumentInput(UUID.randomUUID(), UUID.randomUUID().toString(), file);
+
+        AdapterFactoryEditingDomain editingDomain = new EditingDomainFactory().create();
+        IEditingContext editingContext = new EditingContext(UUID.randomUUID().toString(), editingDomain);
+
+        Many<ChangeDescription> changeDescriptionSink = Sinks.many().unicast().onBackpressureBuffer();
+        One<IPayload> payloadSink = Sinks.one();
+        handler.handle(payloadSink, changeDescriptionSink, editingContext, input);
+        assertThat(payloadSink.asMono().block()).isInstanceOf(UploadDocumentSuccessPayload.class);
+
+        assertThat(contents).hasSize(1);
+        Resource resource = editingDomain.getResourceSet().getResources().get(0);
+        EObjectIDManager idManager = new EObjectIDManager();
+        resource.getAllContents().forEachRemaining(eObject -> {
+            Optional<String> optionalId = idManager.findId(eObject);
+            assertThat(optionalId).isPresent();
+            assertThat(contents.get(0)).contains(optionalId.get());
+        });
+    }
+
+    @Test
+    public void testUploadDocumentTooLarge() {
+        IDocumentService documentService = new IDocumentService.NoOp() {
+            @Override
+            public Optional<Document> createDocument(String projectId, String name, String content) {
+                return Optional.of(new Document(UUID.randomUUID(), new Project(UUID.fromString(projectId), "", new Profile(UUID.randomUUID(), "username"), Visibility.PUBLIC), name, content)); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        };
+        UploadDocumentEventHandler handler = new UploadDocumentEventHandler(documentService, new NoOpServicesMessageService(), new SimpleMeterRegistry(), XMI_CONTENT.length() / 2);
+
+        UploadFile file = new UploadFile(FILE_NAME, new ByteArrayInputStream(XMI_CONTENT.getBytes()));
+        var input = new UploadDocumentInput(UUID.randomUUID(), UUID.randomUUID().toString(), file);
+
+        AdapterFactoryEditingDomain editingDomain = new EditingDomainFactory().create();
+        IEditingContext editingContext = new EditingContext(UUID.randomUUID().toString(), editingDomain);
+
+        Many<ChangeDescription> changeDescriptionSink = Sinks.many().unicast().onBackpressureBuffer();
+        One<IPayload> payloadSink = Sinks.one();
+        handler.handle(payloadSink, changeDescriptionSink, editingContext, input);
+
+        assertThat(changeDescriptionSink.asFlux().blockFirst().getKind()).isEqualTo(ChangeKind.NOTHING);
+        assertThat(payloadSink.asMono().block()).isInstanceOf(ErrorPayload.class);
+        assertThat(editingDomain.getResourceSet().getResources()).isEmpty();
+    }
+
     private EditingDomain uploadDocument(byte[] contents) {
         return this.uploadDocument(new ByteArrayInputStream(contents));
     }
@@ -170,7 +231,7 @@ public class UploadDocumentEventHandlerTests {
         };
         IServicesMessageService messageService = new NoOpServicesMessageService();
 
-        UploadDocumentEventHandler handler = new UploadDocumentEventHandler(documentService, messageService, new SimpleMeterRegistry());
+        UploadDocumentEventHandler handler = new UploadDocumentEventHandler(documentService, messageService, new SimpleMeterRegistry(), UploadedDocumentLoader.DEFAULT_MAX_SIZE);
 
         UploadFile file = new UploadFile(FILE_NAME, inputstream);
         var input = new UploadDocumentInput(UUID.randomUUID(), UUID.randomUUID().toString(), file);
@@ -214,7 +275,7 @@ public class UploadDocumentEventHandlerTests {
             resource.save(outputStream, Collections.singletonMap(JsonResource.OPTION_ID_MANAGER, new EObjectIDManager() {
                 @Override
                 public String getOrCreateId(EObject eObject) {
-                    // Should get the Id produced by the EObjectRandomIDSupplier during upload
+                    // Should get the Id given to the object during upload
                     String id = super.getOrCreateId(eObject);
                     String uriFragment = resource.getURIFragment(eObject);
                     // Use the map to get and check if, the id generate from the first load and the id generated during
@@ -249,7 +310,7 @@ public class UploadDocumentEventHandlerTests {
             }
         };
         IServicesMessageService messageService = new NoOpServicesMessageService();
-        UploadDocumentEventHandler handler = new UploadDocumentEventHandler(documentService, messageService, new SimpleMeterRegistry());
+        UploadDocumentEventHandler handler = new UploadDocumentEventHandler(documentService, messageService, new SimpleMeterRegistry(), UploadedDocumentLoader.DEFAULT_MAX_SIZE);
         UploadFile file = new UploadFile(FILE_NAME, new ByteArrayInputStream(resourceBytes));
 
         var input = new UploadDocumentInput(UUID.randomUUID(), UUID.randomUUID().toString(), file);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -32,6 +32,8 @@ import org.eclipse.sirius.web.persistence.entities.AccountEntity;
 import org.eclipse.sirius.web.persistence.entities.DocumentEntity;
 import org.eclipse.sirius.web.persistence.entities.ProjectEntity;
 import org.eclipse.sirius.web.persistence.repositories.IDocumentRepository;
+import org.eclipse.sirius.web.services.api.events.DocumentConflictEvent;
+import org.eclipse.sirius.web.services.api.projects.IProjectOwnershipService;
 import org.eclipse.sirius.web.services.documents.DocumentMetadataAdapter;
 import org.eclipse.sirius.web.services.documents.EditingDomainFactory;
 import org.junit.jupiter.api.Test;
@@ -44,6 +46,8 @@ import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
  * @author sbegaudeau
  */
 public class EditingContextPersistenceServiceTests {
+    private static final String CONTENT = "{\"json\":{\"version\":\"1.0\",\"encoding\":\"utf-8\"},\"content\":[]}"; //$NON-NLS-1$
+
     @Test
     public void testDocumentPersistence() {
         UUID projectId = UUID.randomUUID();
@@ -74,12 +78,12 @@ public class EditingContextPersistenceServiceTests {
         existingEntity.setName(name);
         existingEntity.setContent(""); //$NON-NLS-1$
 
-        List<DocumentEntity> entities = new ArrayList<>();
+        List<String> contents = new ArrayList<>();
         IDocumentRepository documentRepository = new NoOpDocumentRepository() {
             @Override
-            public <S extends DocumentEntity> S save(S entity) {
-                entities.add(entity);
-                return entity;
+            public int updateContent(UUID documentId, String content, int expectedVersion) {
+                contents.add(content);
+                return 1;
             }
 
             @Override
@@ -87,17 +91,85 @@ public class EditingContextPersistenceServiceTests {
                 return Optional.of(existingEntity);
             }
         };
-        IEditingContextPersistenceService editingContextPersistenceService = new EditingContextPersistenceService(documentRepository, new NoOpApplicationEventPublisher(), new SimpleMeterRegistry());
-        assertThat(entities).hasSize(0);
+        IEditingContextPersistenceService editingContextPersistenceService = new EditingContextPersistenceService(documentRepository, new NoOpApplicationEventPublisher(), new IProjectOwnershipService.NoOp(), new SimpleMeterRegistry());
+        assertThat(contents).hasSize(0);
+
+        IEditingContext editingContext = new EditingContext(UUID.randomUUID().toString(), editingDomain);
+
+        editingContextPersistenceService.persist(editingContext);
+        assertThat(contents).hasSize(1);
+        assertThat(contents.get(0)).contains("Concept"); //$NON-NLS-1$
+        assertThat(existingEntity.getVersion()).isEqualTo(1);
+        assertThat(resource.eAdapters()).filteredOn(DocumentMetadataAdapter.class::isInstance).extracting(adapter -> ((DocumentMetadataAdapter) adapter).getVersion()).containsExactly(1);
+    }
+
+    @Test
+    public void testConcurrentlyModifiedDocumentReloaded() {
+        String name = "New Document"; //$NON-NLS-1$
+        UUID id = UUID.randomUUID();
+        JsonResource resource = new SiriusWebJSONResourceFactoryImpl().createResource(URI.createURI(id.toString()));
+        resource.eAdapters().add(new DocumentMetadataAdapter(name, 1));
+
+        EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+        eClass.setName("Concept"); //$NON-NLS-1$
+        resource.getContents().add(eClass);
+
+        AdapterFactoryEditingDomain editingDomain = new EditingDomainFactory().create();
+        editingDomain.getResourceSet().getResources().add(resource);
+
+        DocumentEntity mostRecentEntity = new DocumentEntity();
+        mostRecentEntity.setId(id);
+        mostRecentEntity.setName(name);
+        mostRecentEntity.setContent(CONTENT);
+        mostRecentEntity.setVersion(2);
+
+        IDocumentRepository documentRepository = new NoOpDocumentRepository() {
+            @Override
+            public Optional<DocumentEntity> findById(UUID documentId) {
+                return Optional.of(mostRecentEntity);
+            }
+        };
 
+        List<Object> events = new ArrayList<>();
+        IEditingContextPersistenceService editingContextPersistenceService = new EditingContextPersistenceService(documentRepository, events::add, new IProjectOwnershipService.NoOp(), new SimpleMeterRegistry());
         IEditingContext editingContext = new EditingContext(UUID.randomUUID().toString(), editingDomain);
 
         editingContextPersistenceService.persist(editingContext);
-        assertThat(entities).hasSize(1);
 
-        DocumentEntity documentEntity = entities.get(0);
-        assertThat(documentEntity.getId()).isEqualTo(id);
-        assertThat(documentEntity.getName()).isEqualTo(name);
-        assertThat(documentEntity.getProject().getId()).isEqualTo(projectId);
+        assertThat(events).filteredOn(DocumentConflictEvent.class::isInstance).hasSize(1);
+        assertThat(editingDomain.getResourceSet().getResources()).containsExactly(resource);
+        assertThat(resource.getContents()).isEmpty();
+        assertThat(resource.eAdapters()).filteredOn(DocumentMetadataAdapter.class::isInstance).extracting(adapter -> ((DocumentMetadataAdapter) adapter).getVersion()).containsExactly(2);
+    }
+
+    @Test
+    public void testDocumentNotPersistedOnceTheProjectIsOwnedByAnotherNode() {
+        UUID id = UUID.randomUUID();
+        JsonResource resource = new SiriusWebJSONResourceFactoryImpl().createResource(URI.createURI(id.toString()));
+        resource.eAdapters().add(new DocumentMetadataAdapter("New Document")); //$NON-NLS-1$
+
+        AdapterFactoryEditingDomain editingDomain = new EditingDomainFactory().create();
+        editingDomain.getResourceSet().getResources().add(resource);
+
+        List<String> contents = new ArrayList<>();
+        IDocumentRepository documentRepository = new NoOpDocumentRepository() {
+            @Override
+            public int updateContent(UUID documentId, String content, int expectedVersion) {
+                contents.add(content);
+                return 1;
+            }
+        };
+        IProjectOwnershipService projectOwnershipService = new IProjectOwnershipService.NoOp() {
+            @Override
+            public boolean isOwner(UUID projectId) {
+                return false;
+            }
+        };
+
+        IEditingContextPersistenceService editingContextPersistenceService = new EditingContextPersistenceService(documentRepository, new NoOpApplicationEventPublisher(), projectOwnershipService, new SimpleMeterRegistry());
+        IEditingContext editingContext = new EditingContext(UUID.randomUUID().toString(), editingDomain);
+
+        editingContextPersistenceService.persist(editingContext);
+        assertThat(contents).isEmpty();
     }
 }
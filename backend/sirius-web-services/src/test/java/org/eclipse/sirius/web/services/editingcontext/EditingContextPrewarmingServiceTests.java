@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.editingcontext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
+import org.eclipse.emf.edit.provider.ComposedAdapterFactory;
+import org.eclipse.sirius.components.emf.services.IEditingContextEPackageService;
+import org.eclipse.sirius.web.persistence.entities.ProjectAccessEntity;
+import org.eclipse.sirius.web.persistence.repositories.IProjectAccessRepository;
+import org.eclipse.sirius.web.services.api.projects.IProjectOwnershipService;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests of the editing context prewarming service.
+ *
+ * @author sbegaudeau
+ */
+public class EditingContextPrewarmingServiceTests {
+
+    private static final long TIMEOUT = 10_000;
+
+    private final List<UUID> mostRecentlyAccessedProjectIds = new ArrayList<>();
+
+    private final IProjectAccessRepository projectAccessRepository = new NoOpProjectAccessRepository() {
+        @Override
+        public List<ProjectAccessEntity> findMostRecentlyAccessed(int limit) {
+            List<ProjectAccessEntity> projectAccessEntities = new ArrayList<>();
+            for (UUID projectId : EditingContextPrewarmingServiceTests.this.mostRecentlyAccessedProjectIds) {
+                ProjectAccessEntity projectAccessEntity = new ProjectAccessEntity();
+                projectAccessEntity.setProjectId(projectId);
+                projectAccessEntities.add(projectAccessEntity);
+            }
+            return projectAccessEntities;
+        }
+    };
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EditingContextPrewarmingService createService(IEditingContextEPackageService editingContextEPackageService, int size, long timeToLiveInSeconds) {
+        EPackage.Registry globalEPackageRegistry = new EPackageRegistryImpl();
+        // @formatter:off
+        return new EditingContextPrewarmingService(this.projectAccessRepository, new NoOpDocumentRepository(), editingContextEPackageService, new ComposedAdapterFactory(), globalEPackageRegistry,
+                new IProjectOwnershipService.NoOp(), this.meterRegistry, true, size, 1, timeToLiveInSeconds);
+        // @formatter:on
+    }
+
+    private void prewarmMostRecentlyAccessed(EditingContextPrewarmingService prewarmingService, UUID projectId) {
+        this.mostRecentlyAccessedProjectIds.clear();
+        this.mostRecentlyAccessedProjectIds.add(projectId);
+        prewarmingService.prewarmMostRecentlyAccessed();
+    }
+
+    private double getLoadCount() {
+        return this.meterRegistry.get("siriusweb_editingcontext_prewarming").tag("result", "load").counter().count(); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    private boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        boolean isSatisfied = condition.getAsBoolean();
+        while (!isSatisfied && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            isSatisfied = condition.getAsBoolean();
+        }
+        return isSatisfied;
+    }
+
+    @Test
+    public void testLoadDroppedByFullQueueDoesNotStopPrewarming() throws InterruptedException {
+        UUID blockedProjectId = UUID.randomUUID();
+        UUID droppedProjectId = UUID.randomUUID();
+
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch loadReleased = new CountDownLatch(1);
+        IEditingContextEPackageService editingContextEPackageService = editingContextId -> {
+            if (blockedProjectId.toString().equals(editingContextId)) {
+                loadStarted.countDown();
+                try {
+                    loadReleased.await(TIMEOUT, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return List.of();
+        };
+        EditingContextPrewarmingService prewarmingService = this.createService(editingContextEPackageService, 2, 600);
+
+        try {
+            this.prewarmMostRecentlyAccessed(prewarmingService, blockedProjectId);
+            assertThat(loadStarted.await(TIMEOUT, TimeUnit.MILLISECONDS)).isTrue();
+
+            // Fill the queue of the single worker with lookups so that the next load is dropped
+            prewarmingService.prewarm(List.of(UUID.randomUUID()));
+            prewarmingService.prewarm(List.of(UUID.randomUUID()));
+            this.prewarmMostRecentlyAccessed(prewarmingService, droppedProjectId);
+
+            loadReleased.countDown();
+            assertThat(this.await(() -> prewarmingService.takePrewarmedEditingContext(blockedProjectId.toString()).isPresent())).isTrue();
+
+            this.prewarmMostRecentlyAccessed(prewarmingService, droppedProjectId);
+            assertThat(this.await(() -> prewarmingService.takePrewarmedEditingContext(droppedProjectId.toString()).isPresent())).isTrue();
+        } finally {
+            loadReleased.countDown();
+            prewarmingService.destroy();
+        }
+    }
+
+    @Test
+    public void testExpiredEditingContextsAreEvicted() throws InterruptedException {
+        UUID firstProjectId = UUID.randomUUID();
+        UUID secondProjectId = UUID.randomUUID();
+
+        EditingContextPrewarmingService prewarmingService = this.createService(editingContextId -> List.of(), 1, 0);
+        try {
+            this.prewarmMostRecentlyAccessed(prewarmingService, firstProjectId);
+            assertThat(this.await(() -> this.getLoadCount() == 1)).isTrue();
+            Thread.sleep(10);
+
+            // The expired editing context is evicted and does not prevent another one to be prewarmed
+            this.prewarmMostRecentlyAccessed(prewarmingService, secondProjectId);
+            assertThat(this.await(() -> this.getLoadCount() == 2)).isTrue();
+
+            assertThat(prewarmingService.takePrewarmedEditingContext(firstProjectId.toString())).isEmpty();
+        } finally {
+            prewarmingService.destroy();
+        }
+    }
+
+    @Test
+    public void testPrewarmedEditingContextIsTakenOnlyOnce() throws InterruptedException {
+        UUID projectId = UUID.randomUUID();
+
+        EditingContextPrewarmingService prewarmingService = this.createService(editingContextId -> List.of(), 1, 600);
+        try {
+            this.prewarmMostRecentlyAccessed(prewarmingService, projectId);
+            assertThat(this.await(() -> this.getLoadCount() == 1)).isTrue();
+
+            assertThat(prewarmingService.takePrewarmedEditingContext(projectId.toString())).isPresent();
+            assertThat(prewarmingService.takePrewarmedEditingContext(projectId.toString())).isEmpty();
+        } finally {
+            prewarmingService.destroy();
+        }
+    }
+
+    @Test
+    public void testEditingContextTakenDuringItsLoadIsNotKept() throws InterruptedException {
+        UUID projectId = UUID.randomUUID();
+        UUID otherProjectId = UUID.randomUUID();
+
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch loadReleased = new CountDownLatch(1);
+        IEditingContextEPackageService editingContextEPackageService = editingContextId -> {
+            loadStarted.countDown();
+            try {
+                loadReleased.await(TIMEOUT, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of();
+        };
+        EditingContextPrewarmingService prewarmingService = this.createService(editingContextEPackageService, 1, 600);
+
+        try {
+            this.prewarmMostRecentlyAccessed(prewarmingService, projectId);
+            assertThat(loadStarted.await(TIMEOUT, TimeUnit.MILLISECONDS)).isTrue();
+
+            // The user loads its own editing context while the prewarmed one is still being loaded
+            assertThat(prewarmingService.takePrewarmedEditingContext(projectId.toString())).isEmpty();
+            loadReleased.countDown();
+
+            // The single worker only loads the other editing context once the first load is over
+            this.prewarmMostRecentlyAccessed(prewarmingService, otherProjectId);
+            assertThat(this.await(() -> this.getLoadCount() == 1)).isTrue();
+
+            // The editing context of the first load, already stale, must not be handed out
+            assertThat(prewarmingService.takePrewarmedEditingContext(projectId.toString())).isEmpty();
+            assertThat(prewarmingService.takePrewarmedEditingContext(otherProjectId.toString())).isPresent();
+        } finally {
+            loadReleased.countDown();
+            prewarmingService.destroy();
+        }
+    }
+}
@@ -15,6 +15,7 @@ package org.eclipse.sirius.web.services.editingcontext;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.eclipse.emf.common.util.URI;
@@ -33,7 +34,9 @@ import org.eclipse.sirius.web.persistence.entities.DocumentEntity;
 import org.eclipse.sirius.web.persistence.entities.ProjectEntity;
 import org.eclipse.sirius.web.persistence.repositories.IDocumentRepository;
 import org.eclipse.sirius.web.persistence.repositories.IProjectRepository;
+import org.eclipse.sirius.web.services.api.projects.IProjectOwnershipService;
 import org.eclipse.sirius.web.services.documents.DocumentMetadataAdapter;
+import org.eclipse.sirius.web.services.editingcontext.api.IPrewarmedEditingContextProvider;
 import org.junit.jupiter.api.Test;
 
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
@@ -86,7 +89,8 @@ public class EditingContextSearchServiceTests {
 
         IEditingContextEPackageService editingContextEPackageService = editingContextId -> List.of();
         IEditingContextSearchService editingContextSearchService = new EditingContextSearchService(projectRepository, documentRepository, editingContextEPackageService, composedAdapterFactory,
-                ePackageRegistry, new SimpleMeterRegistry());
+                ePackageRegistry, new IPrewarmedEditingContextProvider.NoOp(), new IProjectOwnershipService.NoOp(),
+                new SimpleMeterRegistry());
         IEditingContext editingContext = editingContextSearchService.findById(projectId).get();
 
         assertThat(editingContext).isInstanceOf(EditingContext.class);
@@ -128,7 +132,8 @@ public class EditingContextSearchServiceTests {
 
         IEditingContextEPackageService editingContextEPackageService = editingContextId -> List.of();
         IEditingContextSearchService editingContextSearchService = new EditingContextSearchService(projectRepository, documentRepository, editingContextEPackageService, composedAdapterFactory,
-                ePackageRegistry, new SimpleMeterRegistry());
+                ePackageRegistry, new IPrewarmedEditingContextProvider.NoOp(), new IProjectOwnershipService.NoOp(),
+                new SimpleMeterRegistry());
         IEditingContext editingContext = editingContextSearchService.findById(projectId.toString()).get();
 
         assertThat(editingContext).isInstanceOf(EditingContext.class);
@@ -142,6 +147,48 @@ public class EditingContextSearchServiceTests {
         this.assertProperResourceLoading(secondResource, secondDocumentEntity);
     }
 
+    @Test
+    public void testPrewarmedEditingContextIsReused() {
+        String projectId = UUID.randomUUID().toString();
+
+        IDocumentRepository documentRepository = new NoOpDocumentRepository() {
+            @Override
+            public List<DocumentEntity> findAllByProjectId(UUID projectId) {
+                throw new IllegalStateException();
+            }
+        };
+
+        IEditingContext prewarmedEditingContext = new EditingContextLoader(new NoOpDocumentRepository(), editingContextId -> List.of(), new ComposedAdapterFactory(), new EPackageRegistryImpl())
+                .load(projectId);
+        IPrewarmedEditingContextProvider prewarmedEditingContextProvider = new IPrewarmedEditingContextProvider.NoOp() {
+            @Override
+            public Optional<IEditingContext> takePrewarmedEditingContext(String editingContextId) {
+                return Optional.of(prewarmedEditingContext).filter(editingContext -> editingContext.getId().equals(editingContextId));
+            }
+        };
+
+        IEditingContextSearchService editingContextSearchService = new EditingContextSearchService(new NoOpProjectRepository(), documentRepository, editingContextId -> List.of(),
+                new ComposedAdapterFactory(), new EPackageRegistryImpl(), prewarmedEditingContextProvider, new IProjectOwnershipService.NoOp(), new SimpleMeterRegistry());
+        IEditingContext editingContext = editingContextSearchService.findById(projectId).get();
+
+        assertThat(editingContext).isSameAs(prewarmedEditingContext);
+    }
+
+    @Test
+    public void testEditingContextOwnedByAnotherNode() {
+        IProjectOwnershipService projectOwnershipService = new IProjectOwnershipService.NoOp() {
+            @Override
+            public boolean acquireOwnership(UUID projectId) {
+                return false;
+            }
+        };
+
+        IEditingContextSearchService editingContextSearchService = new EditingContextSearchService(new NoOpProjectRepository(), new NoOpDocumentRepository(), editingContextId -> List.of(),
+                new ComposedAdapterFactory(), new EPackageRegistryImpl(), new IPrewarmedEditingContextProvider.NoOp(), projectOwnershipService, new SimpleMeterRegistry());
+
+        assertThat(editingContextSearchService.findById(UUID.randomUUID().toString())).isEmpty();
+    }
+
     private void assertProperResourceLoading(Resource resource, DocumentEntity documentEntity) {
         assertThat(resource).isNotNull();
         assertThat(resource.eAdapters()).hasSize(2);
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.editingcontext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.eclipse.sirius.web.persistence.entities.ProjectAccessEntity;
+import org.eclipse.sirius.web.persistence.repositories.IProjectAccessRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Implementation of the project access repository which does nothing.
+ *
+ * @author sbegaudeau
+ */
+public class NoOpProjectAccessRepository implements IProjectAccessRepository {
+
+    @Override
+    public Iterable<ProjectAccessEntity> findAll(Sort sort) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public Page<ProjectAccessEntity> findAll(Pageable pageable) {
+        return Page.empty();
+    }
+
+    @Override
+    public <S extends ProjectAccessEntity> S save(S entity) {
+        return entity;
+    }
+
+    @Override
+    public <S extends ProjectAccessEntity> Iterable<S> saveAll(Iterable<S> entities) {
+        return entities;
+    }
+
+    @Override
+    public Optional<ProjectAccessEntity> findById(UUID projectId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return false;
+    }
+
+    @Override
+    public Iterable<ProjectAccessEntity> findAll() {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public Iterable<ProjectAccessEntity> findAllById(Iterable<UUID> ids) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public long count() {
+        return 0;
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+    }
+
+    @Override
+    public void delete(ProjectAccessEntity entity) {
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends UUID> ids) {
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends ProjectAccessEntity> entities) {
+    }
+
+    @Override
+    public void deleteAll() {
+    }
+
+    @Override
+    public int recordAccess(UUID projectId) {
+        return 0;
+    }
+
+    @Override
+    public List<ProjectAccessEntity> findMostRecentlyAccessed(int limit) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<ProjectAccessEntity> findMostFrequentlyAccessed(List<UUID> projectIds, int limit) {
+        return new ArrayList<>();
+    }
+
+}
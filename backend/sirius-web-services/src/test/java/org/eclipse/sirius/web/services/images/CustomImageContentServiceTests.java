@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.images;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.sirius.web.persistence.entities.CustomImageEntity;
+import org.eclipse.sirius.web.persistence.repositories.ICustomImageRepository;
+import org.eclipse.sirius.web.services.api.images.CustomImageContent;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests of the custom image content service.
+ *
+ * @author sbegaudeau
+ */
+public class CustomImageContentServiceTests {
+
+    private static final String CONTENT_TYPE = "image/png"; //$NON-NLS-1$
+
+    private static final String COUNTER_NAME = "siriusweb_images_cache"; //$NON-NLS-1$
+
+    private static final String RESULT = "result"; //$NON-NLS-1$
+
+    @Test
+    public void testImageLoadedOnce() {
+        CustomImageEntity customImageEntity = this.createCustomImageEntity(new byte[] { 1, 2, 3 });
+
+        AtomicInteger queryCount = new AtomicInteger();
+        ICustomImageRepository customImageRepository = this.getCustomImageRepository(Map.of(customImageEntity.getId(), customImageEntity), queryCount);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CustomImageContentService customImageContentService = new CustomImageContentService(customImageRepository, meterRegistry, 1024);
+
+        String editingContextId = UUID.randomUUID().toString();
+        Optional<CustomImageContent> optionalImage = customImageContentService.getImageContent(editingContextId, customImageEntity.getId());
+        assertThat(optionalImage).isPresent();
+        assertThat(optionalImage.get().getContentType()).isEqualTo(CONTENT_TYPE);
+        assertThat(optionalImage.get().getContent()).containsExactly(1, 2, 3);
+
+        assertThat(customImageContentService.getImageContentTypeById(editingContextId, customImageEntity.getId())).contains(CONTENT_TYPE);
+        assertThat(customImageContentService.getImageContentById(editingContextId, customImageEntity.getId())).isPresent();
+        assertThat(queryCount.get()).isEqualTo(1);
+
+        assertThat(meterRegistry.get(COUNTER_NAME).tag(RESULT, "hit").counter().count()).isEqualTo(2.0); //$NON-NLS-1$
+        assertThat(meterRegistry.get(COUNTER_NAME).tag(RESULT, "miss").counter().count()).isEqualTo(1.0); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testLeastRecentlyUsedImageEvicted() {
+        CustomImageEntity firstImageEntity = this.createCustomImageEntity(new byte[] { 1, 2, 3, 4, 5, 6 });
+        CustomImageEntity secondImageEntity = this.createCustomImageEntity(new byte[] { 7, 8, 9, 10, 11, 12 });
+
+        AtomicInteger queryCount = new AtomicInteger();
+        var entities = Map.of(firstImageEntity.getId(), firstImageEntity, secondImageEntity.getId(), secondImageEntity);
+        CustomImageContentService customImageContentService = new CustomImageContentService(this.getCustomImageRepository(entities, queryCount), new SimpleMeterRegistry(), 10);
+
+        String editingContextId = UUID.randomUUID().toString();
+        customImageContentService.getImageContent(editingContextId, firstImageEntity.getId());
+        customImageContentService.getImageContent(editingContextId, secondImageEntity.getId());
+        customImageContentService.getImageContent(editingContextId, secondImageEntity.getId());
+        assertThat(queryCount.get()).isEqualTo(2);
+
+        customImageContentService.getImageContent(editingContextId, firstImageEntity.getId());
+        assertThat(queryCount.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testUnknownImage() {
+        AtomicInteger queryCount = new AtomicInteger();
+        CustomImageContentService customImageContentService = new CustomImageContentService(this.getCustomImageRepository(Map.of(), queryCount), new SimpleMeterRegistry(), 1024);
+
+        assertThat(customImageContentService.getImageContent(UUID.randomUUID().toString(), UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    public void testExists() {
+        CustomImageEntity entity = this.createCustomImageEntity(new byte[] { 1, 2, 3 });
+        AtomicInteger queryCount = new AtomicInteger();
+        CustomImageContentService customImageContentService = new CustomImageContentService(this.getCustomImageRepository(Map.of(entity.getId(), entity), queryCount), new SimpleMeterRegistry(), 1024);
+        String editingContextId = UUID.randomUUID().toString();
+
+        assertThat(customImageContentService.exists(editingContextId, entity.getId())).isTrue();
+        assertThat(customImageContentService.exists(editingContextId, UUID.randomUUID())).isFalse();
+        assertThat(queryCount.get()).isEqualTo(2);
+
+        customImageContentService.getImageContent(editingContextId, entity.getId());
+        assertThat(customImageContentService.exists(editingContextId, entity.getId())).isTrue();
+        assertThat(queryCount.get()).isEqualTo(3);
+    }
+
+    private CustomImageEntity createCustomImageEntity(byte[] content) {
+        CustomImageEntity customImageEntity = new CustomImageEntity();
+        customImageEntity.setId(UUID.nameUUIDFromBytes(content));
+        customImageEntity.setLabel("image"); //$NON-NLS-1$
+        customImageEntity.setContentType(CONTENT_TYPE);
+        customImageEntity.setContent(content);
+        return customImageEntity;
+    }
+
+    private ICustomImageRepository getCustomImageRepository(Map<UUID, CustomImageEntity> entities, AtomicInteger queryCount) {
+        return new NoOpCustomImageRepository() {
+            @Override
+            public Optional<CustomImageEntity> findById(UUID id) {
+                queryCount.incrementAndGet();
+                return Optional.ofNullable(entities.get(id));
+            }
+
+            @Override
+            public boolean existsById(UUID id) {
+                queryCount.incrementAndGet();
+                return entities.containsKey(id);
+            }
+        };
+    }
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.images;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.sirius.components.view.emf.CustomImage;
+import org.eclipse.sirius.web.persistence.projections.CustomImageMetadataProjection;
+import org.eclipse.sirius.web.services.api.events.CustomImagesAddedEvent;
+import org.eclipse.sirius.web.services.api.images.CustomImageMetadataPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Unit tests of the custom image search service.
+ *
+ * @author sbegaudeau
+ */
+public class CustomImageSearchServiceTests {
+
+    private static final String CONTENT_TYPE = "image/png"; //$NON-NLS-1$
+
+    @Test
+    public void testAvailableImagesCachedUntilImagesAdded() {
+        List<CustomImageMetadataProjection> projections = new ArrayList<>();
+        projections.add(this.createProjection("First")); //$NON-NLS-1$
+
+        AtomicInteger queryCount = new AtomicInteger();
+        CustomImageSearchService customImageSearchService = new CustomImageSearchService(new NoOpCustomImageRepository() {
+            @Override
+            public List<CustomImageMetadataProjection> findAllMetadata() {
+                queryCount.incrementAndGet();
+                return List.copyOf(projections);
+            }
+        });
+
+        String editingContextId = UUID.randomUUID().toString();
+        assertThat(customImageSearchService.getAvailableImages(editingContextId)).extracting(CustomImage::getLabel).containsExactly("First"); //$NON-NLS-1$
+        assertThat(customImageSearchService.getAvailableImages(editingContextId)).hasSize(1);
+        assertThat(queryCount.get()).isEqualTo(1);
+
+        CustomImageMetadataProjection secondProjection = this.createProjection("Second"); //$NON-NLS-1$
+        projections.add(secondProjection);
+        customImageSearchService.onCustomImagesAdded(new CustomImagesAddedEvent(List.of(secondProjection.getId())));
+
+        assertThat(customImageSearchService.getAvailableImages(editingContextId)).extracting(CustomImage::getLabel).containsExactly("First", "Second"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertThat(queryCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFindImages() {
+        List<Pageable> pageables = new ArrayList<>();
+        List<String> labels = new ArrayList<>();
+        CustomImageSearchService customImageSearchService = new CustomImageSearchService(new NoOpCustomImageRepository() {
+            @Override
+            public Page<CustomImageMetadataProjection> findAllMetadataByLabel(String label, Pageable pageable) {
+                labels.add(label);
+                pageables.add(pageable);
+                return new PageImpl<>(List.of(CustomImageSearchServiceTests.this.createProjection("Star")), pageable, 250); //$NON-NLS-1$
+            }
+        });
+
+        CustomImageMetadataPage page = customImageSearchService.findImages(UUID.randomUUID().toString(), null, 1, 1000);
+        assertThat(labels).containsExactly(""); //$NON-NLS-1$
+        assertThat(pageables).extracting(Pageable::getPageNumber, Pageable::getPageSize).containsExactly(tuple(1, 100));
+        assertThat(page.getPage()).isEqualTo(1);
+        assertThat(page.getCount()).isEqualTo(250);
+        assertThat(page.hasNextPage()).isTrue();
+        assertThat(page.getImages()).hasSize(1);
+    }
+
+    @Test
+    public void testFindImagesEscapesLikeWildcards() {
+        List<String> labels = new ArrayList<>();
+        CustomImageSearchService customImageSearchService = new CustomImageSearchService(new NoOpCustomImageRepository() {
+            @Override
+            public Page<CustomImageMetadataProjection> findAllMetadataByLabel(String label, Pageable pageable) {
+                labels.add(label);
+                return new PageImpl<>(List.of(), pageable, 0);
+            }
+        });
+
+        customImageSearchService.findImages(UUID.randomUUID().toString(), "100%_off\\", 0, 10); //$NON-NLS-1$
+        assertThat(labels).containsExactly("100\\%\\_off\\\\"); //$NON-NLS-1$
+    }
+
+    private CustomImageMetadataProjection createProjection(String label) {
+        UUID id = UUID.randomUUID();
+        return new CustomImageMetadataProjection() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getLabel() {
+                return label;
+            }
+
+            @Override
+            public String getContentType() {
+                return CONTENT_TYPE;
+            }
+        };
+    }
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.images;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.eclipse.sirius.web.persistence.entities.CustomImageEntity;
+import org.eclipse.sirius.web.persistence.projections.CustomImageMetadataProjection;
+import org.eclipse.sirius.web.persistence.repositories.ICustomImageRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Implementation of the custom image repository which does nothing.
+ *
+ * @author sbegaudeau
+ */
+public class NoOpCustomImageRepository implements ICustomImageRepository {
+
+    @Override
+    public Iterable<CustomImageEntity> findAll(Sort sort) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public Page<CustomImageEntity> findAll(Pageable pageable) {
+        return Page.empty();
+    }
+
+    @Override
+    public <S extends CustomImageEntity> S save(S entity) {
+        return entity;
+    }
+
+    @Override
+    public <S extends CustomImageEntity> Iterable<S> saveAll(Iterable<S> entities) {
+        return entities;
+    }
+
+    @Override
+    public Optional<CustomImageEntity> findById(UUID id) {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return false;
+    }
+
+    @Override
+    public List<CustomImageEntity> findAll() {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public Iterable<CustomImageEntity> findAllById(Iterable<UUID> ids) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public long count() {
+        return 0;
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+    }
+
+    @Override
+    public void delete(CustomImageEntity entity) {
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends CustomImageEntity> entities) {
+    }
+
+    @Override
+    public void deleteAll() {
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends UUID> ids) {
+    }
+
+    @Override
+    public List<UUID> findAllIds() {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<UUID> findExistingIds(Collection<UUID> ids) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<CustomImageMetadataProjection> findAllMetadata() {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public Page<CustomImageMetadataProjection> findAllMetadataByLabel(String label, Pageable pageable) {
+        return Page.empty(pageable);
+    }
+
+}
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.projects;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.sirius.components.collaborative.api.IEditingContextEventProcessor;
+import org.eclipse.sirius.components.collaborative.api.IEditingContextEventProcessorRegistry;
+import org.eclipse.sirius.components.core.api.IInput;
+import org.eclipse.sirius.components.core.api.IPayload;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of the editing context event processor registry which does nothing.
+ *
+ * @author sbegaudeau
+ */
+public class NoOpEditingContextEventProcessorRegistry implements IEditingContextEventProcessorRegistry {
+
+    @Override
+    public List<IEditingContextEventProcessor> getEditingContextEventProcessors() {
+        return List.of();
+    }
+
+    @Override
+    public Mono<IPayload> dispatchEvent(String editingContextId, IInput input) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Optional<IEditingContextEventProcessor> getOrCreateEditingContextEventProcessor(String editingContextId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void disposeEditingContextEventProcessor(String editingContextId) {
+    }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Obeo.
+ * Copyright (c) 2021, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -53,4 +53,19 @@ public class NoOpServicesMessageService implements IServicesMessageService {
         return ""; //$NON-NLS-1$
     }
 
+    @Override
+    public String invalidProjectArchive() {
+        return ""; //$NON-NLS-1$
+    }
+
+    @Override
+    public String tooManyProjectImports() {
+        return ""; //$NON-NLS-1$
+    }
+
+    @Override
+    public String projectImportNotFound() {
+        return ""; //$NON-NLS-1$
+    }
+
 }
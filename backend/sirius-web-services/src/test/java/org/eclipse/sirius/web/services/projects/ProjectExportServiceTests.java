@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.projects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.sirius.web.persistence.projections.DocumentMetadataProjection;
+import org.eclipse.sirius.web.persistence.projections.RepresentationMetadataProjection;
+import org.eclipse.sirius.web.persistence.repositories.IDocumentRepository;
+import org.eclipse.sirius.web.persistence.repositories.IRepresentationRepository;
+import org.eclipse.sirius.web.services.api.accounts.Profile;
+import org.eclipse.sirius.web.services.api.projects.IProjectService;
+import org.eclipse.sirius.web.services.api.projects.Project;
+import org.eclipse.sirius.web.services.api.projects.Visibility;
+import org.eclipse.sirius.web.services.editingcontext.NoOpDocumentRepository;
+import org.eclipse.sirius.web.services.representations.NoOpRepresentationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.info.BuildProperties;
+
+/**
+ * Unit tests of the project export service.
+ *
+ * @author sbegaudeau
+ */
+public class ProjectExportServiceTests {
+
+    private static final String PROJECT_NAME = "Project"; //$NON-NLS-1$
+
+    private static final String TARGET_OBJECT_ID = "1d4d1a4a-1cf2-4c8b-a8e9-ab9a4a8e5c3c"; //$NON-NLS-1$
+
+    // @formatter:off
+    private static final String DOCUMENT_CONTENT = "{" //$NON-NLS-1$
+            + "\"json\":{\"version\":\"1.0\",\"encoding\":\"utf-8\"}," //$NON-NLS-1$
+            + "\"ns\":{\"ecore\":\"http://www.eclipse.org/emf/2002/Ecore\"}," //$NON-NLS-1$
+            + "\"content\":[{\"id\":\"" + TARGET_OBJECT_ID + "\",\"eClass\":\"ecore:EPackage\",\"data\":{\"name\":\"sample\"}}]" //$NON-NLS-1$ //$NON-NLS-2$
+            + "}"; //$NON-NLS-1$
+    // @formatter:on
+
+    private static final String EMPTY_DOCUMENT_CONTENT = "{\"json\":{\"version\":\"1.0\",\"encoding\":\"utf-8\"},\"content\":[]}"; //$NON-NLS-1$
+
+    private static final String REPRESENTATION_CONTENT = "{\"id\":\"representation\",\"kind\":\"Diagram\",\"nodes\":[]}"; //$NON-NLS-1$
+
+    @Test
+    public void testExportProject() throws IOException {
+        Project project = new Project(UUID.randomUUID(), PROJECT_NAME, new Profile(UUID.randomUUID(), "jdoe"), Visibility.PUBLIC); //$NON-NLS-1$
+        UUID firstDocumentId = UUID.randomUUID();
+        UUID documentId = UUID.randomUUID();
+        UUID lastDocumentId = UUID.randomUUID();
+        UUID representationId = UUID.randomUUID();
+
+        IDocumentRepository documentRepository = new NoOpDocumentRepository() {
+            @Override
+            public List<DocumentMetadataProjection> findAllMetadataByProjectId(UUID projectId) {
+                return List.of(new DocumentMetadata(firstDocumentId, "First"), new DocumentMetadata(documentId, "Document"), new DocumentMetadata(lastDocumentId, "Last")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            }
+
+            @Override
+            public Optional<String> findContentById(UUID id) {
+                if (documentId.equals(id)) {
+                    return Optional.of(DOCUMENT_CONTENT);
+                }
+                return Optional.of(EMPTY_DOCUMENT_CONTENT);
+            }
+        };
+        IRepresentationRepository representationRepository = new NoOpRepresentationRepository() {
+            @Override
+            public List<RepresentationMetadataProjection> findAllMetadataByProjectId(UUID projectId) {
+                return List.of(new RepresentationMetadata(representationId, TARGET_OBJECT_ID));
+            }
+
+            @Override
+            public Optional<String> findContentById(UUID id) {
+                return Optional.of(REPRESENTATION_CONTENT);
+            }
+        };
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        var projectExportService = new ProjectExportService(this.getProjectService(project), documentRepository, representationRepository, editingContextId -> List.of(EcorePackage.eINSTANCE),
+                new NoOpIdMappingRepository(), objectMapper, this.getBuildProperties(), 2, Deflater.DEFAULT_COMPRESSION, Deflater.BEST_SPEED);
+        byte[] zip = projectExportService.exportProjectAsZip(project.getId());
+        projectExportService.destroy();
+
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (var zipInputStream = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry zipEntry = zipInputStream.getNextEntry();
+            while (zipEntry != null) {
+                entries.put(zipEntry.getName(), zipInputStream.readAllBytes());
+                zipEntry = zipInputStream.getNextEntry();
+            }
+        }
+
+        String firstDocumentEntryName = PROJECT_NAME + "/documents/" + firstDocumentId + ".json"; //$NON-NLS-1$ //$NON-NLS-2$
+        String documentEntryName = PROJECT_NAME + "/documents/" + documentId + ".json"; //$NON-NLS-1$ //$NON-NLS-2$
+        String lastDocumentEntryName = PROJECT_NAME + "/documents/" + lastDocumentId + ".json"; //$NON-NLS-1$ //$NON-NLS-2$
+        String representationEntryName = PROJECT_NAME + "/representations/" + representationId + ".json"; //$NON-NLS-1$ //$NON-NLS-2$
+        String manifestEntryName = PROJECT_NAME + "/manifest.json"; //$NON-NLS-1$
+        assertThat(entries.keySet()).containsExactly(firstDocumentEntryName, documentEntryName, lastDocumentEntryName, representationEntryName, manifestEntryName);
+        assertThat(new String(entries.get(documentEntryName), StandardCharsets.UTF_8)).isEqualTo(DOCUMENT_CONTENT);
+
+        JsonNode representationDescriptor = objectMapper.readTree(entries.get(representationEntryName));
+        assertThat(representationDescriptor.path("id").asText()).isEqualTo(representationId.toString()); //$NON-NLS-1$
+        assertThat(representationDescriptor.path("projectId").asText()).isEqualTo(project.getId().toString()); //$NON-NLS-1$
+        assertThat(representationDescriptor.path("representation")).isEqualTo(objectMapper.readTree(REPRESENTATION_CONTENT)); //$NON-NLS-1$
+
+        JsonNode manifest = objectMapper.readTree(entries.get(manifestEntryName));
+        assertThat(manifest.path("documentIdsToName").path(documentId.toString()).asText()).isEqualTo("Document"); //$NON-NLS-1$ //$NON-NLS-2$
+        JsonNode representationManifest = manifest.path("representations").path(representationId.toString()); //$NON-NLS-1$
+        assertThat(representationManifest.path("targetObjectURI").asText()).isEqualTo(documentId + "#" + TARGET_OBJECT_ID); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * The heap of the tests is limited by the configuration of surefire, the export of a project whose content is larger
+     * than the heap can only succeed if its documents are never kept in memory at the same time.
+     */
+    @Test
+    public void testExportProjectLargerThanHeap() throws IOException {
+        Project project = new Project(UUID.randomUUID(), PROJECT_NAME, new Profile(UUID.randomUUID(), "jdoe"), Visibility.PUBLIC); //$NON-NLS-1$
+
+        int documentSize = 16 * 1024 * 1024;
+        int documentCount = (int) (Runtime.getRuntime().maxMemory() / documentSize) + 2;
+        List<DocumentMetadataProjection> documentsMetadata = new ArrayList<>();
+        for (int i = 0; i < documentCount; i++) {
+            documentsMetadata.add(new DocumentMetadata(UUID.randomUUID(), "Document" + i)); //$NON-NLS-1$
+        }
+
+        AtomicInteger loadedDocumentCount = new AtomicInteger();
+        IDocumentRepository documentRepository = new NoOpDocumentRepository() {
+            @Override
+            public List<DocumentMetadataProjection> findAllMetadataByProjectId(UUID projectId) {
+                return documentsMetadata;
+            }
+
+            @Override
+            public Optional<String> findContentById(UUID id) {
+                // Each document has its own content, as it would be the case with documents coming from the database
+                loadedDocumentCount.incrementAndGet();
+                return Optional.of(String.valueOf(id.toString().charAt(0)).repeat(documentSize));
+            }
+        };
+
+        var projectExportService = new ProjectExportService(this.getProjectService(project), documentRepository, new NoOpRepresentationRepository(), editingContextId -> List.of(),
+                new NoOpIdMappingRepository(), new ObjectMapper(), this.getBuildProperties(), 2, Deflater.BEST_SPEED, Deflater.BEST_SPEED);
+
+        CountingOutputStream outputStream = new CountingOutputStream();
+        projectExportService.exportProject(project.getId(), outputStream);
+        projectExportService.destroy();
+
+        assertThat(loadedDocumentCount.get()).isEqualTo(documentCount);
+        assertThat((long) documentCount * documentSize).isGreaterThan(Runtime.getRuntime().maxMemory());
+        assertThat(outputStream.getCount()).isPositive();
+    }
+
+    private IProjectService getProjectService(Project project) {
+        return new IProjectService.NoOp() {
+            @Override
+            public Optional<Project> getProject(UUID projectId) {
+                return Optional.of(project).filter(candidate -> candidate.getId().equals(projectId));
+            }
+        };
+    }
+
+    private BuildProperties getBuildProperties() {
+        Properties properties = new Properties();
+        properties.put("version", "test"); //$NON-NLS-1$ //$NON-NLS-2$
+        return new BuildProperties(properties);
+    }
+
+    /**
+     * Metadata of a document.
+     *
+     * @author sbegaudeau
+     */
+    private static final class DocumentMetadata implements DocumentMetadataProjection {
+
+        private final UUID id;
+
+        private final String name;
+
+        DocumentMetadata(UUID id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        @Override
+        public UUID getId() {
+            return this.id;
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+    }
+
+    /**
+     * Metadata of a representation.
+     *
+     * @author sbegaudeau
+     */
+    private static final class RepresentationMetadata implements RepresentationMetadataProjection {
+
+        private final UUID id;
+
+        private final String targetObjectId;
+
+        RepresentationMetadata(UUID id, String targetObjectId) {
+            this.id = id;
+            this.targetObjectId = targetObjectId;
+        }
+
+        @Override
+        public UUID getId() {
+            return this.id;
+        }
+
+        @Override
+        public String getDescriptionId() {
+            return "description"; //$NON-NLS-1$
+        }
+
+        @Override
+        public String getTargetObjectId() {
+            return this.targetObjectId;
+        }
+
+        @Override
+        public String getLabel() {
+            return "Representation"; //$NON-NLS-1$
+        }
+
+        @Override
+        public String getKind() {
+            return "siriusComponents://representation?type=Diagram"; //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Output stream discarding the bytes written while counting them.
+     *
+     * @author sbegaudeau
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            this.count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            this.count += length;
+        }
+
+        public long getCount() {
+            return this.count;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.projects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.sirius.web.services.api.projects.ProjectImportProgress;
+import org.eclipse.sirius.web.services.api.projects.ProjectImportStatus;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests of the project import job.
+ *
+ * @author sbegaudeau
+ */
+public class ProjectImportJobTests {
+
+    @Test
+    public void testSucceededJob() {
+        AtomicLong bytesRead = new AtomicLong();
+        ProjectImportJob job = new ProjectImportJob(UUID.randomUUID(), UUID.randomUUID(), bytesRead::get);
+
+        assertThat(job.start()).isTrue();
+        job.unzipped(3, 250);
+        bytesRead.set(1024);
+        job.documentsImported(3);
+        job.representationsImported(RepresentationImporter.BATCH_SIZE);
+
+        ProjectImportProgress progress = job.getProgress().blockFirst();
+        assertThat(progress.getStatus()).isEqualTo(ProjectImportStatus.RUNNING);
+        assertThat(progress.getBytesRead()).isEqualTo(1024);
+        assertThat(progress.getProcessedDocumentCount()).isEqualTo(progress.getDocumentCount()).isEqualTo(3);
+        assertThat(progress.getProcessedRepresentationCount()).isEqualTo(RepresentationImporter.BATCH_SIZE);
+        assertThat(progress.getRepresentationCount()).isEqualTo(250);
+
+        UUID projectId = UUID.randomUUID();
+        job.succeeded(projectId);
+        assertThat(job.isOver()).isTrue();
+        assertThat(job.cancel()).isFalse();
+
+        List<ProjectImportProgress> progresses = job.getProgress().collectList().block();
+        assertThat(progresses).hasSize(1);
+        assertThat(progresses.get(0).getStatus()).isEqualTo(ProjectImportStatus.SUCCEEDED);
+        assertThat(progresses.get(0).getProjectId()).contains(projectId);
+    }
+
+    @Test
+    public void testJobCancelledBeforeStart() {
+        ProjectImportJob job = new ProjectImportJob(UUID.randomUUID(), UUID.randomUUID(), () -> 0);
+
+        assertThat(job.cancel()).isTrue();
+        assertThat(job.isCancelled()).isTrue();
+        assertThat(job.start()).isFalse();
+
+        ProjectImportProgress progress = job.getProgress().blockLast();
+        assertThat(progress.getStatus()).isEqualTo(ProjectImportStatus.CANCELLED);
+        assertThat(progress.getProjectId()).isEmpty();
+    }
+
+    @Test
+    public void testRunningJobCancelled() {
+        ProjectImportJob job = new ProjectImportJob(UUID.randomUUID(), UUID.randomUUID(), () -> 0);
+        assertThat(job.start()).isTrue();
+
+        assertThat(job.cancel()).isTrue();
+        assertThat(job.isCancelled()).isTrue();
+        assertThat(job.isOver()).isFalse();
+
+        job.cancelled();
+        assertThat(job.isOver()).isTrue();
+        assertThat(job.getProgress().blockLast().getStatus()).isEqualTo(ProjectImportStatus.CANCELLED);
+    }
+
+    @Test
+    public void testFailedJob() {
+        ProjectImportJob job = new ProjectImportJob(UUID.randomUUID(), UUID.randomUUID(), () -> 0);
+        assertThat(job.start()).isTrue();
+
+        job.failed("The archive is not a valid project"); //$NON-NLS-1$
+        job.succeeded(UUID.randomUUID());
+
+        ProjectImportProgress progress = job.getProgress().blockLast();
+        assertThat(progress.getStatus()).isEqualTo(ProjectImportStatus.FAILED);
+        assertThat(progress.getErrors()).containsExactly("The archive is not a valid project"); //$NON-NLS-1$
+        assertThat(progress.getProjectId()).isEmpty();
+    }
+}
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.projects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.sirius.components.core.api.ErrorPayload;
+import org.eclipse.sirius.components.core.api.IPayload;
+import org.eclipse.sirius.components.graphql.api.UploadFile;
+import org.eclipse.sirius.web.services.api.accounts.Profile;
+import org.eclipse.sirius.web.services.api.projects.CancelProjectImportSuccessPayload;
+import org.eclipse.sirius.web.services.api.projects.CreateProjectInput;
+import org.eclipse.sirius.web.services.api.projects.CreateProjectSuccessPayload;
+import org.eclipse.sirius.web.services.api.projects.IProjectService;
+import org.eclipse.sirius.web.services.api.projects.ImportProjectSuccessPayload;
+import org.eclipse.sirius.web.services.api.projects.Project;
+import org.eclipse.sirius.web.services.api.projects.ProjectImportProgress;
+import org.eclipse.sirius.web.services.api.projects.ProjectImportStatus;
+import org.eclipse.sirius.web.services.api.projects.ProjectManifest;
+import org.eclipse.sirius.web.services.api.projects.Visibility;
+import org.eclipse.sirius.web.services.representations.NoOpRepresentationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+/**
+ * Unit tests of the project import service.
+ *
+ * @author sbegaudeau
+ */
+public class ProjectImportServiceTests {
+
+    private static final String PROJECT_NAME = "Project"; //$NON-NLS-1$
+
+    private static final String TOO_MANY_PROJECT_IMPORTS = "tooManyProjectImports"; //$NON-NLS-1$
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @AfterEach
+    public void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private ProjectImportService createService(IProjectService projectService, int concurrency, int queueCapacity) {
+        NoOpServicesMessageService messageService = new NoOpServicesMessageService() {
+            @Override
+            public String tooManyProjectImports() {
+                return TOO_MANY_PROJECT_IMPORTS;
+            }
+        };
+        // @formatter:off
+        return new ProjectImportService(projectService, new NoOpEditingContextEventProcessorRegistry(), this.objectMapper, messageService, new NoOpIdMappingRepository(),
+                new NoOpProjectRepository(), new NoOpRepresentationRepository(), ProjectUnzipper.DEFAULT_MAX_ENTRIES, ProjectUnzipper.DEFAULT_MAX_UNCOMPRESSED_SIZE,
+                ProjectUnzipper.DEFAULT_MAX_COMPRESSION_RATIO, concurrency, queueCapacity);
+        // @formatter:on
+    }
+
+    private UploadFile createArchive() throws IOException {
+        // @formatter:off
+        ProjectManifest projectManifest = ProjectManifest.newProjectManifest("1.0", "0.0.1") //$NON-NLS-1$ //$NON-NLS-2$
+                .metamodels(List.of())
+                .documentIdsToName(Map.of())
+                .representations(Map.of())
+                .build();
+        // @formatter:on
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (var zipOutputStream = new ZipOutputStream(outputStream)) {
+            zipOutputStream.putNextEntry(new ZipEntry(PROJECT_NAME + "/manifest.json")); //$NON-NLS-1$
+            zipOutputStream.write(this.objectMapper.writeValueAsBytes(projectManifest));
+            zipOutputStream.closeEntry();
+        }
+        return new UploadFile(PROJECT_NAME + ".zip", new ByteArrayInputStream(outputStream.toByteArray())); //$NON-NLS-1$
+    }
+
+    private UUID importProject(ProjectImportService projectImportService) throws IOException {
+        IPayload payload = projectImportService.importProject(UUID.randomUUID(), this.createArchive());
+        assertThat(payload).isInstanceOf(ImportProjectSuccessPayload.class);
+        return ((ImportProjectSuccessPayload) payload).getJobId();
+    }
+
+    private ProjectImportProgress awaitEnd(ProjectImportService projectImportService, UUID jobId) {
+        return projectImportService.getProgress(jobId).orElseThrow().blockLast(TIMEOUT);
+    }
+
+    @Test
+    public void testImportRejectedWhenTheQueueIsFull() throws Exception {
+        CountDownLatch startedLatch = new CountDownLatch(1);
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        IProjectService projectService = new IProjectService.NoOp() {
+            @Override
+            public IPayload createProject(CreateProjectInput input) {
+                startedLatch.countDown();
+                try {
+                    releaseLatch.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+                return new ErrorPayload(input.getId(), ""); //$NON-NLS-1$
+            }
+        };
+
+        ProjectImportService projectImportService = this.createService(projectService, 1, 1);
+        try {
+            UUID runningJobId = this.importProject(projectImportService);
+            assertThat(startedLatch.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).isTrue();
+            UUID pendingJobId = this.importProject(projectImportService);
+
+            IPayload payload = projectImportService.importProject(UUID.randomUUID(), this.createArchive());
+            assertThat(payload).isInstanceOf(ErrorPayload.class);
+            assertThat(((ErrorPayload) payload).getMessage()).isEqualTo(TOO_MANY_PROJECT_IMPORTS);
+
+            releaseLatch.countDown();
+            assertThat(this.awaitEnd(projectImportService, runningJobId).getStatus()).isEqualTo(ProjectImportStatus.FAILED);
+            assertThat(this.awaitEnd(projectImportService, pendingJobId).getStatus()).isEqualTo(ProjectImportStatus.FAILED);
+        } finally {
+            releaseLatch.countDown();
+            projectImportService.destroy();
+        }
+    }
+
+    @Test
+    public void testCancelledImportDeletesTheProject() throws Exception {
+        UUID projectId = UUID.randomUUID();
+        List<UUID> deletedProjectIds = new ArrayList<>();
+        CountDownLatch startedLatch = new CountDownLatch(1);
+        CountDownLatch cancelledLatch = new CountDownLatch(1);
+        IProjectService projectService = new IProjectService.NoOp() {
+            @Override
+            public IPayload createProject(CreateProjectInput input) {
+                startedLatch.countDown();
+                try {
+                    cancelledLatch.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+                Project project = new Project(projectId, input.getName(), new Profile(UUID.randomUUID(), "jdoe"), Visibility.PRIVATE); //$NON-NLS-1$
+                return new CreateProjectSuccessPayload(input.getId(), project);
+            }
+
+            @Override
+            public void delete(UUID id) {
+                deletedProjectIds.add(id);
+            }
+        };
+
+        ProjectImportService projectImportService = this.createService(projectService, 1, 1);
+        try {
+            UUID jobId = this.importProject(projectImportService);
+            assertThat(startedLatch.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).isTrue();
+
+            assertThat(projectImportService.cancelImport(UUID.randomUUID(), jobId)).isInstanceOf(CancelProjectImportSuccessPayload.class);
+            cancelledLatch.countDown();
+
+            assertThat(this.awaitEnd(projectImportService, jobId).getStatus()).isEqualTo(ProjectImportStatus.CANCELLED);
+            assertThat(deletedProjectIds).containsExactly(projectId);
+        } finally {
+            cancelledLatch.countDown();
+            projectImportService.destroy();
+        }
+    }
+
+    @Test
+    public void testOnlyTheLastJobsRetained() throws Exception {
+        IProjectService projectService = new IProjectService.NoOp() {
+            @Override
+            public IPayload createProject(CreateProjectInput input) {
+                return new ErrorPayload(input.getId(), ""); //$NON-NLS-1$
+            }
+        };
+
+        ProjectImportService projectImportService = this.createService(projectService, 1, 1);
+        try {
+            List<UUID> jobIds = new ArrayList<>();
+            // The imports run one after the other, the end of the last one ensures that the previous ones are all finished
+            for (int i = 0; i < ProjectImportService.RETAINED_JOBS + 2; i++) {
+                UUID jobId = this.importProject(projectImportService);
+                this.awaitEnd(projectImportService, jobId);
+                jobIds.add(jobId);
+            }
+
+            assertThat(projectImportService.getProgress(jobIds.get(0))).isEmpty();
+            assertThat(projectImportService.getProgress(jobIds.get(jobIds.size() - 1))).isPresent();
+        } finally {
+            projectImportService.destroy();
+        }
+    }
+
+    @Test
+    public void testImportRunsWithTheSecurityContextOfItsOwner() throws Exception {
+        AtomicReference<String> username = new AtomicReference<>();
+        IProjectService projectService = new IProjectService.NoOp() {
+            @Override
+            public IPayload createProject(CreateProjectInput input) {
+                username.set(SecurityContextHolder.getContext().getAuthentication().getName());
+                return new ErrorPayload(input.getId(), ""); //$NON-NLS-1$
+            }
+        };
+
+        ProjectImportService projectImportService = this.createService(projectService, 1, 1);
+        try {
+            SecurityContextHolder.setContext(new SecurityContextImpl(new UsernamePasswordAuthenticationToken("jdoe", "password"))); //$NON-NLS-1$ //$NON-NLS-2$
+            UUID jobId = this.importProject(projectImportService);
+            this.awaitEnd(projectImportService, jobId);
+            assertThat(username.get()).isEqualTo("jdoe"); //$NON-NLS-1$
+
+            SecurityContextHolder.setContext(new SecurityContextImpl(new UsernamePasswordAuthenticationToken("other", "password"))); //$NON-NLS-1$ //$NON-NLS-2$
+            assertThat(projectImportService.getProgress(jobId)).isEmpty();
+            assertThat(projectImportService.cancelImport(UUID.randomUUID(), jobId)).isInstanceOf(ErrorPayload.class);
+        } finally {
+            projectImportService.destroy();
+        }
+    }
+}
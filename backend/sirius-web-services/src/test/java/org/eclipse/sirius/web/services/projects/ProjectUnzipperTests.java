@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.projects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.sirius.components.graphql.api.UploadFile;
+import org.eclipse.sirius.web.services.api.projects.ProjectManifest;
+import org.eclipse.sirius.web.services.api.projects.UnzippedProject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests of the project unzipper.
+ *
+ * @author sbegaudeau
+ */
+public class ProjectUnzipperTests {
+
+    private static final String PROJECT_NAME = "Project"; //$NON-NLS-1$
+
+    private static final String DOCUMENT_CONTENT = "{\"json\":{\"version\":\"1.0\",\"encoding\":\"utf-8\"},\"content\":[]}"; //$NON-NLS-1$
+
+    private static final int LARGE_DOCUMENT_SIZE = 16 * 1024 * 1024;
+
+    private static final int CHUNK_SIZE = 1024 * 1024;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path temporaryFolder;
+
+    @Test
+    public void testUnzipProject() throws IOException {
+        Map<String, String> documentIdsToName = new LinkedHashMap<>();
+        documentIdsToName.put(UUID.randomUUID().toString(), "First Document"); //$NON-NLS-1$
+        documentIdsToName.put(UUID.randomUUID().toString(), "Second Document"); //$NON-NLS-1$
+
+        Path archivePath = this.temporaryFolder.resolve("project.zip"); //$NON-NLS-1$
+        try (var zipOutputStream = new ZipOutputStream(Files.newOutputStream(archivePath))) {
+            for (String documentId : documentIdsToName.keySet()) {
+                this.putEntry(zipOutputStream, PROJECT_NAME + "/documents/" + documentId + ".json", DOCUMENT_CONTENT.getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            // The manifest is written at the end of the archive but it is read first
+            this.putManifest(zipOutputStream, documentIdsToName);
+        }
+
+        try (var projectUnzipper = new ProjectUnzipper(Files.newInputStream(archivePath), this.objectMapper)) {
+            Optional<UnzippedProject> optionalUnzippedProject = projectUnzipper.unzipProject();
+            assertThat(optionalUnzippedProject).isPresent();
+
+            UnzippedProject unzippedProject = optionalUnzippedProject.get();
+            assertThat(unzippedProject.getProjectName()).isEqualTo(PROJECT_NAME);
+            assertThat(unzippedProject.getProjectManifest().getDocumentIdsToName()).isEqualTo(documentIdsToName);
+            assertThat(unzippedProject.getRepresentationDescriptorFiles()).isEmpty();
+
+            Map<String, UploadFile> documentIdToUploadFile = unzippedProject.getDocumentIdToUploadFile();
+            assertThat(documentIdToUploadFile).containsOnlyKeys(documentIdsToName.keySet());
+            for (var entry : documentIdToUploadFile.entrySet()) {
+                assertThat(entry.getValue().getName()).isEqualTo(documentIdsToName.get(entry.getKey()));
+                try (InputStream inputStream = entry.getValue().getInputStream()) {
+                    assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(DOCUMENT_CONTENT);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUnzipProjectLargerThanHeap() throws IOException {
+        long maxMemory = Runtime.getRuntime().maxMemory();
+        int documentCount = (int) (maxMemory / LARGE_DOCUMENT_SIZE) + 2;
+
+        Map<String, String> documentIdsToName = new LinkedHashMap<>();
+        for (int i = 0; i < documentCount; i++) {
+            documentIdsToName.put(UUID.randomUUID().toString(), "Document " + i); //$NON-NLS-1$
+        }
+
+        Path archivePath = this.temporaryFolder.resolve("large.zip"); //$NON-NLS-1$
+        byte[] chunk = new byte[CHUNK_SIZE];
+        Arrays.fill(chunk, (byte) ' ');
+        try (var zipOutputStream = new ZipOutputStream(Files.newOutputStream(archivePath))) {
+            zipOutputStream.setLevel(Deflater.BEST_SPEED);
+            this.putManifest(zipOutputStream, documentIdsToName);
+            for (String documentId : documentIdsToName.keySet()) {
+                zipOutputStream.putNextEntry(new ZipEntry(PROJECT_NAME + "/documents/" + documentId + ".json")); //$NON-NLS-1$ //$NON-NLS-2$
+                for (int written = 0; written < LARGE_DOCUMENT_SIZE; written += CHUNK_SIZE) {
+                    zipOutputStream.write(chunk);
+                }
+                zipOutputStream.closeEntry();
+            }
+        }
+
+        var limits = new ProjectArchiveLimits(ProjectUnzipper.DEFAULT_MAX_ENTRIES, Long.MAX_VALUE, Integer.MAX_VALUE);
+        try (var projectUnzipper = new ProjectUnzipper(Files.newInputStream(archivePath), this.objectMapper, limits)) {
+            Optional<UnzippedProject> optionalUnzippedProject = projectUnzipper.unzipProject();
+            assertThat(optionalUnzippedProject).isPresent();
+
+            long totalSize = 0;
+            for (UploadFile uploadFile : optionalUnzippedProject.get().getDocumentIdToUploadFile().values()) {
+                try (InputStream inputStream = uploadFile.getInputStream()) {
+                    totalSize += inputStream.transferTo(OutputStream.nullOutputStream());
+                }
+            }
+            assertThat(totalSize).isEqualTo((long) documentCount * LARGE_DOCUMENT_SIZE);
+            assertThat(totalSize).isGreaterThan(maxMemory);
+        }
+    }
+
+    @Test
+    public void testTooManyEntries() throws IOException {
+        Path archivePath = this.createArchive(3);
+
+        var limits = new ProjectArchiveLimits(2, ProjectUnzipper.DEFAULT_MAX_UNCOMPRESSED_SIZE, ProjectUnzipper.DEFAULT_MAX_COMPRESSION_RATIO);
+        try (var projectUnzipper = new ProjectUnzipper(Files.newInputStream(archivePath), this.objectMapper, limits)) {
+            assertThat(projectUnzipper.unzipProject()).isEmpty();
+        }
+    }
+
+    @Test
+    public void testDeclaredUncompressedSizeTooLarge() throws IOException {
+        Path archivePath = this.createArchive(100);
+
+        var limits = new ProjectArchiveLimits(ProjectUnzipper.DEFAULT_MAX_ENTRIES, 1024, ProjectUnzipper.DEFAULT_MAX_COMPRESSION_RATIO);
+        try (var projectUnzipper = new ProjectUnzipper(Files.newInputStream(archivePath), this.objectMapper, limits)) {
+            assertThat(projectUnzipper.unzipProject()).isEmpty();
+        }
+    }
+
+    @Test
+    public void testZipBomb() throws IOException {
+        String documentId = UUID.randomUUID().toString();
+        Path archivePath = this.temporaryFolder.resolve("bomb.zip"); //$NON-NLS-1$
+        try (var zipOutputStream = new ZipOutputStream(Files.newOutputStream(archivePath))) {
+            this.putManifest(zipOutputStream, Map.of(documentId, "Bomb")); //$NON-NLS-1$
+            zipOutputStream.setLevel(Deflater.BEST_COMPRESSION);
+            this.putEntry(zipOutputStream, PROJECT_NAME + "/documents/" + documentId + ".json", new byte[LARGE_DOCUMENT_SIZE]); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        try (var projectUnzipper = new ProjectUnzipper(Files.newInputStream(archivePath), this.objectMapper)) {
+            Optional<UnzippedProject> optionalUnzippedProject = projectUnzipper.unzipProject();
+            assertThat(optionalUnzippedProject).isPresent();
+
+            UploadFile uploadFile = optionalUnzippedProject.get().getDocumentIdToUploadFile().get(documentId);
+            try (InputStream inputStream = uploadFile.getInputStream()) {
+                assertThatThrownBy(() -> inputStream.transferTo(OutputStream.nullOutputStream())).isInstanceOf(IOException.class).hasMessageContaining("compression ratio"); //$NON-NLS-1$
+            }
+        }
+    }
+
+    @Test
+    public void testMissingManifest() throws IOException {
+        Path archivePath = this.temporaryFolder.resolve("nomanifest.zip"); //$NON-NLS-1$
+        try (var zipOutputStream = new ZipOutputStream(Files.newOutputStream(archivePath))) {
+            this.putEntry(zipOutputStream, PROJECT_NAME + "/documents/" + UUID.randomUUID() + ".json", DOCUMENT_CONTENT.getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        try (var projectUnzipper = new ProjectUnzipper(Files.newInputStream(archivePath), this.objectMapper)) {
+            assertThat(projectUnzipper.unzipProject()).isEmpty();
+        }
+    }
+
+    @Test
+    public void testArchiveTooLargeNotSpooled() {
+        long maxSize = 1024 * 1024;
+        AtomicLong bytesRead = new AtomicLong();
+        InputStream endlessInputStream = new InputStream() {
+            @Override
+            public int read() {
+                bytesRead.incrementAndGet();
+                return 0;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                bytesRead.addAndGet(length);
+                Arrays.fill(buffer, offset, offset + length, (byte) 0);
+                return length;
+            }
+        };
+
+        var limits = new ProjectArchiveLimits(ProjectUnzipper.DEFAULT_MAX_ENTRIES, maxSize, ProjectUnzipper.DEFAULT_MAX_COMPRESSION_RATIO);
+        try (var projectUnzipper = new ProjectUnzipper(endlessInputStream, this.objectMapper, limits)) {
+            assertThatThrownBy(projectUnzipper::spool).isInstanceOf(IOException.class);
+        }
+        assertThat(bytesRead.get()).isLessThan(2 * maxSize);
+    }
+
+    @Test
+    public void testInvalidArchive() {
+        var inputStream = new ByteArrayInputStream(DOCUMENT_CONTENT.getBytes(StandardCharsets.UTF_8));
+        try (var projectUnzipper = new ProjectUnzipper(inputStream, this.objectMapper)) {
+            assertThat(projectUnzipper.unzipProject()).isEmpty();
+        }
+    }
+
+    private Path createArchive(int documentCount) throws IOException {
+        Map<String, String> documentIdsToName = new LinkedHashMap<>();
+        for (int i = 0; i < documentCount; i++) {
+            documentIdsToName.put(UUID.randomUUID().toString(), "Document " + i); //$NON-NLS-1$
+        }
+
+        Path archivePath = this.temporaryFolder.resolve(UUID.randomUUID() + ".zip"); //$NON-NLS-1$
+        try (var zipOutputStream = new ZipOutputStream(Files.newOutputStream(archivePath))) {
+            this.putManifest(zipOutputStream, documentIdsToName);
+            for (String documentId : documentIdsToName.keySet()) {
+                this.putEntry(zipOutputStream, PROJECT_NAME + "/documents/" + documentId + ".json", DOCUMENT_CONTENT.getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        }
+        return archivePath;
+    }
+
+    private void putManifest(ZipOutputStream zipOutputStream, Map<String, String> documentIdsToName) throws IOException {
+        // @formatter:off
+        ProjectManifest projectManifest = ProjectManifest.newProjectManifest("1.0", "0.0.1") //$NON-NLS-1$ //$NON-NLS-2$
+                .metamodels(List.of())
+                .documentIdsToName(documentIdsToName)
+                .representations(Map.of())
+                .build();
+        // @formatter:on
+        this.putEntry(zipOutputStream, PROJECT_NAME + "/manifest.json", this.objectMapper.writeValueAsBytes(projectManifest)); //$NON-NLS-1$
+    }
+
+    private void putEntry(ZipOutputStream zipOutputStream, String name, byte[] content) throws IOException {
+        zipOutputStream.putNextEntry(new ZipEntry(name));
+        zipOutputStream.write(content);
+        zipOutputStream.closeEntry();
+    }
+}
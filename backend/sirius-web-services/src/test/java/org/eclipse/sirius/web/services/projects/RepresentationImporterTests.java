@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.projects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.eclipse.sirius.components.graphql.api.UploadFile;
+import org.eclipse.sirius.web.persistence.entities.IdMappingEntity;
+import org.eclipse.sirius.web.persistence.entities.ProjectEntity;
+import org.eclipse.sirius.web.persistence.entities.RepresentationEntity;
+import org.eclipse.sirius.web.persistence.repositories.IIdMappingRepository;
+import org.eclipse.sirius.web.persistence.repositories.IProjectRepository;
+import org.eclipse.sirius.web.persistence.repositories.IRepresentationRepository;
+import org.eclipse.sirius.web.services.api.projects.ProjectManifest;
+import org.eclipse.sirius.web.services.api.projects.RepresentationManifest;
+import org.eclipse.sirius.web.services.representations.NoOpRepresentationRepository;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests of the representation importer.
+ *
+ * @author sbegaudeau
+ */
+public class RepresentationImporterTests {
+
+    private static final String DESCRIPTION_URI = "siriusComponents://description?id=Topography"; //$NON-NLS-1$
+
+    private static final String PREVIOUS_DESCRIPTION_ID = "7e1c3f5a-8b8b-4d6a-9e36-4a2f3c1d7b9e"; //$NON-NLS-1$
+
+    private static final String DESCRIPTION_ID = "3b2f4c1e-5d6a-4b7c-8e9f-0a1b2c3d4e5f"; //$NON-NLS-1$
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testImportRepresentations() throws IOException {
+        UUID projectId = UUID.randomUUID();
+        String previousTargetObjectId = UUID.randomUUID().toString();
+        String previousChildObjectId = UUID.randomUUID().toString();
+        Map<String, String> objectIdMapping = Map.of(previousTargetObjectId, UUID.randomUUID().toString(), previousChildObjectId, UUID.randomUUID().toString());
+
+        int representationCount = RepresentationImporter.BATCH_SIZE * 2 + 1;
+        Map<String, RepresentationManifest> representationManifests = new HashMap<>();
+        List<UploadFile> representationDescriptorFiles = new ArrayList<>();
+        for (int i = 0; i < representationCount; i++) {
+            String previousRepresentationId = UUID.randomUUID().toString();
+            // @formatter:off
+            representationManifests.put(previousRepresentationId, RepresentationManifest.newRepresentationManifest()
+                    .type("siriusComponents://representation?type=Diagram") //$NON-NLS-1$
+                    .descriptionURI(DESCRIPTION_URI)
+                    .targetObjectURI("document#" + previousTargetObjectId) //$NON-NLS-1$
+                    .build());
+            // @formatter:on
+            String content = this.getRepresentationDescriptor(projectId, previousRepresentationId, previousTargetObjectId, previousChildObjectId, "Diagram " + i); //$NON-NLS-1$
+            representationDescriptorFiles.add(new UploadFile(previousRepresentationId, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))));
+        }
+
+        // @formatter:off
+        ProjectManifest projectManifest = ProjectManifest.newProjectManifest("1.0", "0.0.1") //$NON-NLS-1$ //$NON-NLS-2$
+                .metamodels(List.of())
+                .documentIdsToName(Map.of())
+                .representations(representationManifests)
+                .build();
+        // @formatter:on
+
+        List<List<RepresentationEntity>> batches = new ArrayList<>();
+        IRepresentationRepository representationRepository = new NoOpRepresentationRepository() {
+            @Override
+            public <S extends RepresentationEntity> Iterable<S> saveAll(Iterable<S> entities) {
+                List<RepresentationEntity> batch = new ArrayList<>();
+                entities.forEach(batch::add);
+                batches.add(batch);
+                return entities;
+            }
+        };
+        ProjectEntity projectEntity = new ProjectEntity();
+        projectEntity.setId(projectId);
+        IProjectRepository projectRepository = new NoOpProjectRepository() {
+            @Override
+            public Optional<ProjectEntity> findById(UUID id) {
+                return Optional.of(projectEntity);
+            }
+        };
+        List<String> externalIds = new ArrayList<>();
+        IIdMappingRepository idMappingRepository = new NoOpIdMappingRepository() {
+            @Override
+            public Optional<IdMappingEntity> findByExternalId(String externalId) {
+                externalIds.add(externalId);
+                IdMappingEntity idMappingEntity = new IdMappingEntity();
+                idMappingEntity.setId(DESCRIPTION_ID);
+                idMappingEntity.setExternalId(externalId);
+                return Optional.of(idMappingEntity);
+            }
+        };
+
+        var representationImporter = new RepresentationImporter(representationRepository, projectRepository, idMappingRepository, this.objectMapper);
+        boolean imported = representationImporter.importRepresentations(projectId, representationDescriptorFiles, projectManifest, objectIdMapping, new IProjectImportMonitor.NoOp());
+        assertThat(imported).isTrue();
+
+        assertThat(batches).extracting(List::size).containsExactly(RepresentationImporter.BATCH_SIZE, RepresentationImporter.BATCH_SIZE, 1);
+        assertThat(externalIds).containsExactly(DESCRIPTION_URI);
+
+        RepresentationEntity representationEntity = batches.get(0).get(0);
+        assertThat(representationManifests).doesNotContainKey(representationEntity.getId().toString());
+        assertThat(representationEntity.getProject()).isEqualTo(projectEntity);
+        assertThat(representationEntity.getDescriptionId()).isEqualTo(DESCRIPTION_ID);
+        assertThat(representationEntity.getTargetObjectId()).isEqualTo(objectIdMapping.get(previousTargetObjectId));
+        assertThat(representationEntity.getLabel()).isEqualTo("Diagram 0"); //$NON-NLS-1$
+
+        JsonNode content = this.objectMapper.readTree(representationEntity.getContent());
+        assertThat(content.get("id").asText()).isEqualTo(representationEntity.getId().toString()); //$NON-NLS-1$
+        assertThat(content.get("descriptionId").asText()).isEqualTo(DESCRIPTION_ID); //$NON-NLS-1$
+        assertThat(content.get("targetObjectId").asText()).isEqualTo(objectIdMapping.get(previousTargetObjectId)); //$NON-NLS-1$
+        assertThat(content.get("nodes").get(0).get("targetObjectId").asText()).isEqualTo(objectIdMapping.get(previousChildObjectId)); //$NON-NLS-1$ //$NON-NLS-2$
+        assertThat(content.get("nodes").get(0).get("label").asText()).isEqualTo("Child"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    @Test
+    public void testOnlyIdentifiersRewritten() throws IOException {
+        UUID projectId = UUID.randomUUID();
+        String previousRepresentationId = UUID.randomUUID().toString();
+        String previousTargetObjectId = UUID.randomUUID().toString();
+        String previousChildObjectId = UUID.randomUUID().toString();
+        Map<String, String> objectIdMapping = Map.of(previousTargetObjectId, UUID.randomUUID().toString(), previousChildObjectId, UUID.randomUUID().toString());
+
+        // The label of the representation is equal to the identifier of a semantic element
+        String content = this.getRepresentationDescriptor(projectId, previousRepresentationId, previousTargetObjectId, previousChildObjectId, previousChildObjectId);
+        UploadFile representationDescriptorFile = new UploadFile(previousRepresentationId, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+
+        // @formatter:off
+        ProjectManifest projectManifest = ProjectManifest.newProjectManifest("1.0", "0.0.1") //$NON-NLS-1$ //$NON-NLS-2$
+                .metamodels(List.of())
+                .documentIdsToName(Map.of())
+                .representations(Map.of(previousRepresentationId, RepresentationManifest.newRepresentationManifest()
+                        .type("siriusComponents://representation?type=Diagram") //$NON-NLS-1$
+                        .descriptionURI(DESCRIPTION_URI)
+                        .targetObjectURI("document#" + previousTargetObjectId) //$NON-NLS-1$
+                        .build()))
+                .build();
+        // @formatter:on
+
+        List<RepresentationEntity> representationEntities = new ArrayList<>();
+        IRepresentationRepository representationRepository = new NoOpRepresentationRepository() {
+            @Override
+            public <S extends RepresentationEntity> Iterable<S> saveAll(Iterable<S> entities) {
+                entities.forEach(representationEntities::add);
+                return entities;
+            }
+        };
+        IProjectRepository projectRepository = new NoOpProjectRepository() {
+            @Override
+            public Optional<ProjectEntity> findById(UUID id) {
+                return Optional.of(new ProjectEntity());
+            }
+        };
+
+        var representationImporter = new RepresentationImporter(representationRepository, projectRepository, new NoOpIdMappingRepository(), this.objectMapper);
+        assertThat(representationImporter.importRepresentations(projectId, List.of(representationDescriptorFile), projectManifest, objectIdMapping, new IProjectImportMonitor.NoOp())).isTrue();
+        assertThat(representationEntities).hasSize(1);
+
+        JsonNode representation = this.objectMapper.readTree(representationEntities.get(0).getContent());
+        assertThat(representation.get("label").asText()).isEqualTo(previousChildObjectId); //$NON-NLS-1$
+        assertThat(representation.get("nodes").get(0).get("targetObjectId").asText()).isEqualTo(objectIdMapping.get(previousChildObjectId)); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testImportRepresentationWithoutManifest() {
+        UUID projectId = UUID.randomUUID();
+        String content = this.getRepresentationDescriptor(projectId, UUID.randomUUID().toString(), UUID.randomUUID().toString(), UUID.randomUUID().toString(), "Diagram"); //$NON-NLS-1$
+        UploadFile representationDescriptorFile = new UploadFile("Diagram", new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))); //$NON-NLS-1$
+
+        // @formatter:off
+        ProjectManifest projectManifest = ProjectManifest.newProjectManifest("1.0", "0.0.1") //$NON-NLS-1$ //$NON-NLS-2$
+                .metamodels(List.of())
+                .documentIdsToName(Map.of())
+                .representations(Map.of())
+                .build();
+        // @formatter:on
+
+        IProjectRepository projectRepository = new NoOpProjectRepository() {
+            @Override
+            public Optional<ProjectEntity> findById(UUID id) {
+                return Optional.of(new ProjectEntity());
+            }
+        };
+        var representationImporter = new RepresentationImporter(new NoOpRepresentationRepository(), projectRepository, new NoOpIdMappingRepository(), this.objectMapper);
+        assertThat(representationImporter.importRepresentations(projectId, List.of(representationDescriptorFile), projectManifest, Map.of(), new IProjectImportMonitor.NoOp())).isFalse();
+    }
+
+    private String getRepresentationDescriptor(UUID projectId, String representationId, String targetObjectId, String childObjectId, String label) {
+        // @formatter:off
+        return "{" //$NON-NLS-1$
+                + "\"id\":\"" + representationId + "\"," //$NON-NLS-1$ //$NON-NLS-2$
+                + "\"projectId\":\"" + projectId + "\"," //$NON-NLS-1$ //$NON-NLS-2$
+                + "\"descriptionId\":\"" + PREVIOUS_DESCRIPTION_ID + "\"," //$NON-NLS-1$ //$NON-NLS-2$
+                + "\"targetObjectId\":\"" + targetObjectId + "\"," //$NON-NLS-1$ //$NON-NLS-2$
+                + "\"label\":\"" + label + "\"," //$NON-NLS-1$ //$NON-NLS-2$
+                + "\"kind\":\"siriusComponents://representation?type=Diagram\"," //$NON-NLS-1$
+                + "\"representation\":{" //$NON-NLS-1$
+                + "\"id\":\"" + representationId + "\"," //$NON-NLS-1$ //$NON-NLS-2$
+                + "\"kind\":\"siriusComponents://representation?type=Diagram\"," //$NON-NLS-1$
+                + "\"targetObjectId\":\"" + targetObjectId + "\"," //$NON-NLS-1$ //$NON-NLS-2$
+                + "\"descriptionId\":\"" + PREVIOUS_DESCRIPTION_ID + "\"," //$NON-NLS-1$ //$NON-NLS-2$
+                + "\"label\":\"" + label + "\"," //$NON-NLS-1$ //$NON-NLS-2$
+                + "\"nodes\":[{\"id\":\"node\",\"targetObjectId\":\"" + childObjectId + "\",\"label\":\"Child\"}]," //$NON-NLS-1$ //$NON-NLS-2$
+                + "\"edges\":[]" //$NON-NLS-1$
+                + "}}"; //$NON-NLS-1$
+        // @formatter:on
+    }
+}
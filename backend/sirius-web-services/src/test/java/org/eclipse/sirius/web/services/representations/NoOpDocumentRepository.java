@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Obeo.
+ * Copyright (c) 2021, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -18,6 +18,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.eclipse.sirius.web.persistence.entities.DocumentEntity;
+import org.eclipse.sirius.web.persistence.projections.DocumentMetadataProjection;
 import org.eclipse.sirius.web.persistence.repositories.IDocumentRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -111,4 +112,19 @@ public class NoOpDocumentRepository implements IDocumentRepository {
         return entity;
     }
 
+    @Override
+    public List<DocumentMetadataProjection> findAllMetadataByProjectId(UUID projectId) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public Optional<String> findContentById(UUID id) {
+        return Optional.empty();
+    }
+
+    @Override
+    public int updateContent(UUID id, String content, int expectedVersion) {
+        return 0;
+    }
+
 }
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.services.representations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.sirius.components.core.api.IEditingContext;
+import org.eclipse.sirius.components.core.api.IObjectService;
+import org.eclipse.sirius.components.emf.services.EditingContext;
+import org.eclipse.sirius.web.persistence.entities.ProjectEntity;
+import org.eclipse.sirius.web.persistence.entities.RepresentationEntity;
+import org.eclipse.sirius.web.services.api.events.RepresentationConflictEvent;
+import org.eclipse.sirius.web.services.api.projects.IProjectOwnershipService;
+import org.eclipse.sirius.web.services.documents.EditingDomainFactory;
+import org.eclipse.sirius.web.services.projects.NoOpProjectRepository;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests of the representation service.
+ *
+ * @author sbegaudeau
+ */
+public class RepresentationServiceTests {
+
+    private static final String INITIAL_CONTENT = "initial"; //$NON-NLS-1$
+
+    @Test
+    public void testStaleWriterCannotOverwriteConcurrentSave() throws Exception {
+        UUID projectId = UUID.randomUUID();
+        UUID representationId = UUID.randomUUID();
+        ProjectEntity projectEntity = new ProjectEntity();
+        projectEntity.setId(projectId);
+
+        VersionedRepresentationRepository representationRepository = new VersionedRepresentationRepository();
+        List<Object> events = Collections.synchronizedList(new ArrayList<>());
+        RepresentationService representationService = new RepresentationService(new IObjectService.NoOp(), new NoOpProjectRepository(), representationRepository, new ObjectMapper(), events::add,
+                new IProjectOwnershipService.NoOp(), new SimpleMeterRegistry());
+
+        // Both editing contexts have loaded the first version of the representation
+        List<IEditingContext> editingContexts = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            IEditingContext editingContext = new EditingContext(projectId.toString(), new EditingDomainFactory().create());
+            new RepresentationVersionsAdapterProvider().getAdapter(editingContext).ifPresent(adapter -> adapter.setVersion(representationId, 0));
+            editingContexts.add(editingContext);
+        }
+
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            IEditingContext editingContext = editingContexts.get(i);
+            RepresentationEntity representationEntity = this.createRepresentationEntity(projectEntity, representationId, "writer-" + i); //$NON-NLS-1$
+            results.add(executorService.submit(() -> {
+                startLatch.await();
+                return representationService.save(editingContext, representationEntity);
+            }));
+        }
+        startLatch.countDown();
+
+        List<Boolean> saved = new ArrayList<>();
+        for (Future<Boolean> result : results) {
+            saved.add(result.get(10, TimeUnit.SECONDS));
+        }
+        executorService.shutdown();
+
+        assertThat(saved).containsExactlyInAnyOrder(true, false);
+        int winner = saved.indexOf(true);
+        int loser = saved.indexOf(false);
+        assertThat(representationRepository.getContent()).isEqualTo("writer-" + winner); //$NON-NLS-1$
+        assertThat(representationRepository.getVersion()).isEqualTo(1);
+        assertThat(events).filteredOn(RepresentationConflictEvent.class::isInstance).hasSize(1);
+
+        // The stale writer keeps being rejected until its editing context is reloaded
+        RepresentationEntity staleRepresentationEntity = this.createRepresentationEntity(projectEntity, representationId, "stale"); //$NON-NLS-1$
+        assertThat(representationService.save(editingContexts.get(loser), staleRepresentationEntity)).isFalse();
+        assertThat(representationRepository.getContent()).isEqualTo("writer-" + winner); //$NON-NLS-1$
+        assertThat(representationRepository.getVersion()).isEqualTo(1);
+        assertThat(events).filteredOn(RepresentationConflictEvent.class::isInstance).hasSize(2);
+
+        // The winner can keep saving its representation
+        RepresentationEntity newRepresentationEntity = this.createRepresentationEntity(projectEntity, representationId, "new"); //$NON-NLS-1$
+        assertThat(representationService.save(editingContexts.get(winner), newRepresentationEntity)).isTrue();
+        assertThat(representationRepository.getContent()).isEqualTo("new"); //$NON-NLS-1$
+        assertThat(representationRepository.getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    public void testSaveOfExistingRepresentationWithoutLoadedVersionRejected() {
+        UUID projectId = UUID.randomUUID();
+        UUID representationId = UUID.randomUUID();
+        ProjectEntity projectEntity = new ProjectEntity();
+        projectEntity.setId(projectId);
+
+        VersionedRepresentationRepository representationRepository = new VersionedRepresentationRepository();
+        List<Object> events = new ArrayList<>();
+        RepresentationService representationService = new RepresentationService(new IObjectService.NoOp(), new NoOpProjectRepository(), representationRepository, new ObjectMapper(), events::add,
+                new IProjectOwnershipService.NoOp(), new SimpleMeterRegistry());
+
+        // The representation has been saved concurrently while this editing context did not record the version it has loaded
+        representationRepository.updateContent(representationId, "Representation", "concurrent", 0); //$NON-NLS-1$ //$NON-NLS-2$
+        IEditingContext editingContext = new EditingContext(projectId.toString(), new EditingDomainFactory().create());
+
+        RepresentationEntity staleRepresentationEntity = this.createRepresentationEntity(projectEntity, representationId, "stale"); //$NON-NLS-1$
+        assertThat(representationService.save(editingContext, staleRepresentationEntity)).isFalse();
+        assertThat(representationRepository.getContent()).isEqualTo("concurrent"); //$NON-NLS-1$
+        assertThat(representationRepository.getVersion()).isEqualTo(1);
+        assertThat(events).filteredOn(RepresentationConflictEvent.class::isInstance).hasSize(1);
+    }
+
+    private RepresentationEntity createRepresentationEntity(ProjectEntity projectEntity, UUID representationId, String content) {
+        RepresentationEntity representationEntity = new RepresentationEntity();
+        representationEntity.setId(representationId);
+        representationEntity.setProject(projectEntity);
+        representationEntity.setLabel("Representation"); //$NON-NLS-1$
+        representationEntity.setContent(content);
+        return representationEntity;
+    }
+
+    /**
+     * Keeps a single representation along with its version, updated only if the expected version matches, like the
+     * database.
+     *
+     * @author sbegaudeau
+     */
+    private static final class VersionedRepresentationRepository extends NoOpRepresentationRepository {
+
+        private String content = INITIAL_CONTENT;
+
+        private int version;
+
+        @Override
+        public synchronized int updateContent(UUID id, String label, String newContent, int expectedVersion) {
+            int updated = 0;
+            if (this.version == expectedVersion) {
+                this.content = newContent;
+                this.version = this.version + 1;
+                updated = 1;
+            }
+            return updated;
+        }
+
+        @Override
+        public synchronized Optional<RepresentationEntity> findById(UUID id) {
+            RepresentationEntity representationEntity = new RepresentationEntity();
+            representationEntity.setId(id);
+            representationEntity.setContent(this.content);
+            representationEntity.setVersion(this.version);
+            return Optional.of(representationEntity);
+        }
+
+        @Override
+        public boolean existsById(UUID id) {
+            return true;
+        }
+
+        public synchronized String getContent() {
+            return this.content;
+        }
+
+        public synchronized int getVersion() {
+            return this.version;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.spring.controllers;
+
+import java.text.MessageFormat;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.http.MediaType;
+
+/**
+ * An image of the classpath loaded in memory, along with its entity tag and its gzipped content if relevant.
+ *
+ * <p>
+ * The gzipped content is a distinct representation of the image, it has thus its own entity tag.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public final class ClassPathImage {
+
+    private static final String GZIPPED_ETAG_SUFFIX = "-gzip"; //$NON-NLS-1$
+
+    private final MediaType mediaType;
+
+    private final byte[] content;
+
+    private final byte[] gzippedContent;
+
+    private final String eTag;
+
+    public ClassPathImage(MediaType mediaType, byte[] content, byte[] gzippedContent, String eTag) {
+        this.mediaType = Objects.requireNonNull(mediaType);
+        this.content = Objects.requireNonNull(content);
+        this.gzippedContent = gzippedContent;
+        this.eTag = Objects.requireNonNull(eTag);
+    }
+
+    public MediaType getMediaType() {
+        return this.mediaType;
+    }
+
+    public byte[] getContent() {
+        return this.content;
+    }
+
+    public Optional<byte[]> getGzippedContent() {
+        return Optional.ofNullable(this.gzippedContent);
+    }
+
+    public String getETag() {
+        return this.eTag;
+    }
+
+    public String getGzippedETag() {
+        return this.eTag + GZIPPED_ETAG_SUFFIX;
+    }
+
+    @Override
+    public String toString() {
+        String pattern = "{0} '{'mediaType: {1}, size: {2}, eTag: {3}'}'"; //$NON-NLS-1$
+        return MessageFormat.format(pattern, this.getClass().getSimpleName(), this.mediaType, this.content.length, this.eTag);
+    }
+}
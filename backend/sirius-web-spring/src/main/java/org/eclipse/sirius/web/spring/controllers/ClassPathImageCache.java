@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.spring.controllers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Keeps in memory the images of the classpath which have already been requested.
+ *
+ * <p>
+ * The images of the classpath cannot change while the server is running, they are thus loaded only once along with
+ * their entity tag. SVG images are textual and compress well, a gzipped variant is thus computed once too. The images
+ * which do not exist are not cached since anybody could request any number of them.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class ClassPathImageCache {
+
+    private final Logger logger = LoggerFactory.getLogger(ClassPathImageCache.class);
+
+    private final Map<String, ClassPathImage> images = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the image of the classpath with the given path.
+     *
+     * @param imagePath
+     *            The path of the image in the classpath
+     * @param mediaType
+     *            The media type of the image, computed from its extension
+     * @return The image or {@link Optional#empty()} if it does not exist
+     */
+    public Optional<ClassPathImage> getImage(String imagePath, MediaType mediaType) {
+        String cleanedImagePath = StringUtils.cleanPath(imagePath);
+        return Optional.ofNullable(this.images.computeIfAbsent(cleanedImagePath, path -> this.load(path, mediaType)));
+    }
+
+    private ClassPathImage load(String imagePath, MediaType mediaType) {
+        ClassPathResource resource = new ClassPathResource(imagePath);
+        if (!resource.exists()) {
+            return null;
+        }
+
+        try (InputStream inputStream = resource.getInputStream()) {
+            byte[] content = inputStream.readAllBytes();
+            byte[] gzippedContent = null;
+            if (mediaType.getSubtype().startsWith("svg")) { //$NON-NLS-1$
+                gzippedContent = this.gzip(content);
+            }
+            return new ClassPathImage(mediaType, content, gzippedContent, DigestUtils.md5DigestAsHex(content));
+        } catch (IOException exception) {
+            this.logger.warn(exception.getMessage(), exception);
+        }
+        return null;
+    }
+
+    private byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(content.length);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(content);
+        }
+        byte[] gzippedContent = outputStream.toByteArray();
+        if (gzippedContent.length < content.length) {
+            return gzippedContent;
+        }
+        return null;
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,11 +12,12 @@
  *******************************************************************************/
 package org.eclipse.sirius.web.spring.controllers;
 
-import java.io.ByteArrayInputStream;
 import java.util.Objects;
 import java.util.Optional;
 
 import org.eclipse.sirius.web.services.api.document.Document;
+import org.eclipse.sirius.web.services.api.document.DocumentRendition;
+import org.eclipse.sirius.web.services.api.document.IDocumentRenditionService;
 import org.eclipse.sirius.web.services.api.document.IDocumentService;
 import org.eclipse.sirius.web.services.api.id.IDParser;
 import org.springframework.core.io.InputStreamResource;
@@ -29,6 +30,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 
@@ -52,7 +54,9 @@ import org.springframework.web.bind.annotation.ResponseBody;
  * </pre>
  *
  * <p>
- * Only documents of type xmi are supported.
+ * Only documents of type xmi are supported. The response carries an entity tag computed from the content of the
+ * document, a request with a matching <code>If-None-Match</code> header thus receives a 304 response without any
+ * conversion.
  * </p>
  *
  * @author smonnier
@@ -61,22 +65,34 @@ import org.springframework.web.bind.annotation.ResponseBody;
 @RequestMapping(URLConstants.DOCUMENT_BASE_PATH)
 public class DocumentController {
 
+    private final EntityTags entityTags = new EntityTags();
+
     private final IDocumentService documentService;
 
-    public DocumentController(IDocumentService documentService) {
+    private final IDocumentRenditionService documentRenditionService;
+
+    public DocumentController(IDocumentService documentService, IDocumentRenditionService documentRenditionService) {
         this.documentService = Objects.requireNonNull(documentService);
+        this.documentRenditionService = Objects.requireNonNull(documentRenditionService);
     }
 
     @GetMapping(path = "/{documentId}")
     @ResponseBody
-    public ResponseEntity<Resource> getDocument(@PathVariable String editingContextId, @PathVariable String documentId) {
+    public ResponseEntity<Resource> getDocument(@PathVariable String editingContextId, @PathVariable String documentId, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         Optional<Document> optionalDocument = new IDParser().parse(documentId).flatMap(documentUUID -> this.documentService.getDocument(editingContextId, documentUUID));
 
         if (optionalDocument.isPresent()) {
             Document document = optionalDocument.get();
-            Optional<byte[]> optionalBytes = this.documentService.getBytes(document, IDocumentService.RESOURCE_KIND_XMI);
-            if (optionalBytes.isPresent()) {
-                byte[] bytes = optionalBytes.get();
+            String eTag = this.entityTags.quote(this.documentRenditionService.getETag(document, IDocumentService.RESOURCE_KIND_XMI));
+            if (this.entityTags.matches(ifNoneMatch, eTag)) {
+                HttpHeaders headers = new HttpHeaders();
+                headers.setETag(eTag);
+                return new ResponseEntity<>(null, headers, HttpStatus.NOT_MODIFIED);
+            }
+
+            Optional<DocumentRendition> optionalRendition = this.documentRenditionService.getRendition(document, IDocumentService.RESOURCE_KIND_XMI);
+            if (optionalRendition.isPresent()) {
+                DocumentRendition rendition = optionalRendition.get();
 
                 // @formatter:off
                 ContentDisposition contentDisposition = ContentDisposition.builder("attachment")  //$NON-NLS-1$
@@ -87,8 +103,9 @@ public class DocumentController {
                 HttpHeaders headers = new HttpHeaders();
                 headers.setContentDisposition(contentDisposition);
                 headers.setContentType(MediaType.APPLICATION_XML);
-                headers.setContentLength(bytes.length);
-                InputStreamResource resource = new InputStreamResource(new ByteArrayInputStream(bytes));
+                headers.setContentLength(rendition.getSize());
+                headers.setETag(this.entityTags.quote(rendition.getETag()));
+                InputStreamResource resource = new InputStreamResource(rendition.getInputStream());
                 return new ResponseEntity<>(resource, headers, HttpStatus.OK);
             }
         }
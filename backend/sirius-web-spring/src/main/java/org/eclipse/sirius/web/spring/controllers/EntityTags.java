@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.spring.controllers;
+
+/**
+ * Creates the entity tags sent by the controllers and compares them with the <code>If-None-Match</code> header of the
+ * conditional requests.
+ *
+ * @author sbegaudeau
+ */
+final class EntityTags {
+
+    private static final String WEAK_ETAG_PREFIX = "W/"; //$NON-NLS-1$
+
+    private static final String ANY_ETAG = "*"; //$NON-NLS-1$
+
+    private static final String QUOTE = "\""; //$NON-NLS-1$
+
+    /**
+     * Returns the strong entity tag of the given opaque value.
+     */
+    String quote(String value) {
+        return QUOTE + value + QUOTE;
+    }
+
+    /**
+     * Indicates if one of the entity tags of the given If-None-Match header matches the given entity tag, using the
+     * weak comparison required for this header.
+     */
+    boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) { //$NON-NLS-1$
+            String opaqueTag = candidate.trim();
+            if (opaqueTag.startsWith(WEAK_ETAG_PREFIX)) {
+                opaqueTag = opaqueTag.substring(WEAK_ETAG_PREFIX.length());
+            }
+            if (ANY_ETAG.equals(opaqueTag) || eTag.equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
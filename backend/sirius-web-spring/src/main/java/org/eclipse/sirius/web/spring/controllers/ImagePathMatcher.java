@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.spring.controllers;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Indicates if an image path starts with one of the accessible prefixes, using a trie compiled once.
+ *
+ * <p>
+ * The cost of a lookup only depends on the length of the path and not on the number of accessible prefixes.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public final class ImagePathMatcher {
+
+    private final Node root = new Node();
+
+    public ImagePathMatcher(Collection<String> prefixes) {
+        for (String prefix : prefixes) {
+            Node node = this.root;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), character -> new Node());
+            }
+            node.isTerminal = true;
+        }
+    }
+
+    /**
+     * Indicates if the given path starts with one of the accessible prefixes.
+     *
+     * @param path
+     *            The path of an image
+     * @return <code>true</code> if the image is accessible, <code>false</code> otherwise
+     */
+    public boolean matches(String path) {
+        Node node = this.root;
+        if (node.isTerminal) {
+            return true;
+        }
+        for (int i = 0; i < path.length(); i++) {
+            node = node.children.get(path.charAt(i));
+            if (node == null) {
+                return false;
+            }
+            if (node.isTerminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A node of the trie.
+     *
+     * @author sbegaudeau
+     */
+    private static final class Node {
+
+        private final Map<Character, Node> children = new HashMap<>();
+
+        private boolean isTerminal;
+
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -18,6 +18,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -25,9 +26,9 @@ import javax.servlet.http.HttpServletRequest;
 
 import org.eclipse.sirius.components.core.api.IImagePathService;
 import org.eclipse.sirius.web.services.api.id.IDParser;
+import org.eclipse.sirius.web.services.api.images.CustomImageContent;
 import org.eclipse.sirius.web.services.api.images.ICustomImageContentService;
 import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -62,7 +63,14 @@ import io.micrometer.core.instrument.Timer;
  *
  * <p>
  * Only images of type GIF, PNG, JPEG and SVG are supported.</br>
- * Only images contained in folders declared with {@link IImagePathService} will be searched.
+ * Only images contained in folders declared with {@link IImagePathService} will be searched. The images of the
+ * classpath are kept in memory once requested, along with their entity tag and a gzipped variant for SVG images. The
+ * gzipped variant has its own entity tag and the responses vary on the <code>Accept-Encoding</code> header.
+ * </p>
+ *
+ * <p>
+ * The ids of the custom images are derived from their content, they are thus used as entity tags and the custom images
+ * can be cached by the browsers forever. A conditional request only receives a 304 response if the image exists.
  * </p>
  *
  * @author lfasani
@@ -87,14 +95,30 @@ public class ImagesController {
 
     private static final String TIMER = "siriusweb_images"; //$NON-NLS-1$
 
-    private final List<IImagePathService> pathResourcesServices;
+    private static final String CUSTOM_IMAGE_CACHE_CONTROL = "public, max-age=31536000, immutable"; //$NON-NLS-1$
+
+    private static final String CLASSPATH_IMAGE_CACHE_CONTROL = "public, max-age=86400, immutable"; //$NON-NLS-1$
+
+    private static final String GZIP = "gzip"; //$NON-NLS-1$
+
+    private final ImagePathMatcher imagePathMatcher;
+
+    private final ClassPathImageCache classPathImageCache = new ClassPathImageCache();
+
+    private final EntityTags entityTags = new EntityTags();
 
     private final ICustomImageContentService customImageContentService;
 
     private final Timer timer;
 
     public ImagesController(List<IImagePathService> pathResourcesServices, ICustomImageContentService customImageContentService, MeterRegistry meterRegistry) {
-        this.pathResourcesServices = Objects.requireNonNull(pathResourcesServices);
+        // @formatter:off
+        List<String> accessibleImagePaths = pathResourcesServices.stream()
+                .map(IImagePathService::getPaths)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toList());
+        // @formatter:on
+        this.imagePathMatcher = new ImagePathMatcher(accessibleImagePaths);
         this.customImageContentService = Objects.requireNonNull(customImageContentService);
 
         this.timer = Timer.builder(TIMER).register(meterRegistry);
@@ -112,26 +136,19 @@ public class ImagesController {
 
         MediaType mediatype = this.getContentType(imagePath);
         if (mediatype != null) {
-            if (this.isImagePathAccessible(imagePath)) {
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(mediatype);
-                Resource resource = new ClassPathResource(imagePath);
-                if (resource.exists()) {
-                    response = new ResponseEntity<>(resource, headers, HttpStatus.OK);
+            if (this.imagePathMatcher.matches(imagePath)) {
+                Optional<ClassPathImage> optionalImage = this.classPathImageCache.getImage(imagePath, mediatype);
+                if (optionalImage.isPresent()) {
+                    response = this.getClassPathImage(optionalImage.get(), request);
                 }
             }
         } else if (imagePath.startsWith(CUSTOM_IMAGE_PREFIX)) {
             String[] imageDescriptor = imagePath.substring(CUSTOM_IMAGE_PREFIX.length()).split("/"); //$NON-NLS-1$
             if (imageDescriptor.length == 2) {
                 String editingContextId = imageDescriptor[0];
-                var optionalImageId = new IDParser().parse(imageDescriptor[1]);
-                Optional<String> mediaType = optionalImageId.flatMap(imageId -> this.customImageContentService.getImageContentTypeById(editingContextId, imageId));
-                Optional<byte[]> contents = optionalImageId.flatMap(imageId -> this.customImageContentService.getImageContentById(editingContextId, imageId));
-                if (mediaType.isPresent() && contents.isPresent()) {
-                    HttpHeaders headers = new HttpHeaders();
-                    headers.setContentType(MediaType.valueOf(mediaType.get()));
-                    Resource resource = new ByteArrayResource(contents.get());
-                    response = new ResponseEntity<>(resource, headers, HttpStatus.OK);
+                Optional<UUID> optionalImageId = new IDParser().parse(imageDescriptor[1]);
+                if (optionalImageId.isPresent()) {
+                    response = this.getCustomImage(editingContextId, optionalImageId.get(), request.getHeader(HttpHeaders.IF_NONE_MATCH));
                 }
             }
         }
@@ -142,6 +159,72 @@ public class ImagesController {
         return response;
     }
 
+    private ResponseEntity<Resource> getClassPathImage(ClassPathImage image, HttpServletRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(CLASSPATH_IMAGE_CACHE_CONTROL);
+
+        boolean gzipped = false;
+        if (image.getGzippedContent().isPresent()) {
+            headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+            gzipped = this.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        }
+
+        String eTag = this.entityTags.quote(image.getETag());
+        byte[] content = image.getContent();
+        if (gzipped) {
+            eTag = this.entityTags.quote(image.getGzippedETag());
+            content = image.getGzippedContent().get();
+        }
+
+        headers.setETag(eTag);
+        if (this.entityTags.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            return new ResponseEntity<>(null, headers, HttpStatus.NOT_MODIFIED);
+        }
+
+        if (gzipped) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        headers.setContentType(image.getMediaType());
+        headers.setContentLength(content.length);
+        return new ResponseEntity<>(new ByteArrayResource(content), headers, HttpStatus.OK);
+    }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) { //$NON-NLS-1$
+            String[] parameters = coding.trim().split(";"); //$NON-NLS-1$
+            if (GZIP.equalsIgnoreCase(parameters[0].trim())) {
+                return parameters.length == 1 || !parameters[1].trim().matches("q=0(\\.0*)?"); //$NON-NLS-1$
+            }
+        }
+        return false;
+    }
+
+    private ResponseEntity<Resource> getCustomImage(String editingContextId, UUID imageId, String ifNoneMatch) {
+        String eTag = this.entityTags.quote(imageId.toString());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        headers.setCacheControl(CUSTOM_IMAGE_CACHE_CONTROL);
+        if (this.entityTags.matches(ifNoneMatch, eTag)) {
+            if (this.customImageContentService.exists(editingContextId, imageId)) {
+                return new ResponseEntity<>(null, headers, HttpStatus.NOT_MODIFIED);
+            }
+            return new ResponseEntity<>(null, new HttpHeaders(), HttpStatus.NOT_FOUND);
+        }
+
+        Optional<CustomImageContent> optionalImage = this.customImageContentService.getImageContent(editingContextId, imageId);
+        if (optionalImage.isPresent()) {
+            CustomImageContent image = optionalImage.get();
+            headers.setContentType(MediaType.valueOf(image.getContentType()));
+            headers.setContentLength(image.getContent().length);
+            return new ResponseEntity<>(new ByteArrayResource(image.getContent()), headers, HttpStatus.OK);
+        }
+        return new ResponseEntity<>(null, new HttpHeaders(), HttpStatus.NOT_FOUND);
+    }
+
     private MediaType getContentType(String imagePath) {
         MediaType mediaType = null;
         int extensionSeparatorIndex = imagePath.lastIndexOf(EXTENSION_SEPARATOR);
@@ -159,15 +242,4 @@ public class ImagesController {
         }
         return mediaType;
     }
-
-    private boolean isImagePathAccessible(String imagePath) {
-        // @formatter:off
-        List<String> accessibleImagePaths = this.pathResourcesServices.stream()
-                .map(IImagePathService::getPaths)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());
-        // @formatter:on
-
-        return accessibleImagePaths.stream().anyMatch(imagePath::startsWith);
-    }
 }
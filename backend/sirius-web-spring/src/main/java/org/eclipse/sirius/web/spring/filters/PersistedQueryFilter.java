@@ -0,0 +1,256 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.spring.filters;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.sirius.web.spring.controllers.URLConstants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Filter used to support the automatic persisted queries of the GraphQL requests sent over HTTP.
+ *
+ * <p>
+ * A request may identify its query with the SHA-256 hash of its text, in <code>extensions.persistedQuery</code>,
+ * instead of sending the whole text. The text of the queries received along with their hash is kept in a bounded LRU
+ * store, after having checked their hash. The requests which only send the hash of a known query are given the text of
+ * the query before reaching the GraphQL endpoint, whose cache of the parsed documents is keyed by this text. If the
+ * hash is unknown, for example on another node of the cluster, the request is answered with a
+ * <code>PersistedQueryNotFound</code> error and the front-end sends the query again with its text.
+ * </p>
+ *
+ * <p>
+ * The subscriptions, sent over WebSocket, always carry the text of their query.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@Component
+public class PersistedQueryFilter extends OncePerRequestFilter {
+
+    private static final String QUERY = "query"; //$NON-NLS-1$
+
+    private static final String EXTENSIONS = "extensions"; //$NON-NLS-1$
+
+    private static final String PERSISTED_QUERY = "persistedQuery"; //$NON-NLS-1$
+
+    private static final String SHA256_HASH = "sha256Hash"; //$NON-NLS-1$
+
+    private static final String SHA_256 = "SHA-256"; //$NON-NLS-1$
+
+    private static final String HASH_FORMAT = "%064x"; //$NON-NLS-1$
+
+    private static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound"; //$NON-NLS-1$
+
+    private static final String PERSISTED_QUERY_NOT_FOUND_CODE = "PERSISTED_QUERY_NOT_FOUND"; //$NON-NLS-1$
+
+    private static final String INVALID_HASH = "provided sha does not match query"; //$NON-NLS-1$
+
+    private static final String INVALID_HASH_CODE = "PERSISTED_QUERY_HASH_MISMATCH"; //$NON-NLS-1$
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, String> queries;
+
+    // @formatter:off
+    public PersistedQueryFilter(ObjectMapper objectMapper,
+            @Value("${sirius.web.graphql.persistedQueries.maxSize:1000}") int maxSize) {
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+        this.queries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return this.size() > maxSize;
+            }
+        };
+    }
+    // @formatter:on
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !HttpMethod.POST.matches(request.getMethod()) || !URLConstants.GRAPHQL_BASE_PATH.equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        byte[] body = request.getInputStream().readAllBytes();
+
+        ObjectNode payload = this.readPayload(body);
+        JsonNode persistedQuery = null;
+        if (payload != null) {
+            persistedQuery = payload.path(EXTENSIONS).path(PERSISTED_QUERY);
+        }
+
+        if (persistedQuery == null || !persistedQuery.path(SHA256_HASH).isTextual()) {
+            filterChain.doFilter(new CachedBodyRequest(request, body), response);
+            return;
+        }
+
+        String hash = persistedQuery.path(SHA256_HASH).asText();
+        JsonNode query = payload.path(QUERY);
+        if (query.isTextual() && !query.asText().isBlank()) {
+            if (!hash.equalsIgnoreCase(this.hash(query.asText()))) {
+                this.sendError(response, HttpStatus.BAD_REQUEST, INVALID_HASH, INVALID_HASH_CODE);
+                return;
+            }
+            this.put(hash, query.asText());
+        } else {
+            String knownQuery = this.get(hash);
+            if (knownQuery == null) {
+                this.sendError(response, HttpStatus.OK, PERSISTED_QUERY_NOT_FOUND, PERSISTED_QUERY_NOT_FOUND_CODE);
+                return;
+            }
+            payload.put(QUERY, knownQuery);
+        }
+
+        // The GraphQL endpoint only needs the text of the query
+        ObjectNode extensions = (ObjectNode) payload.get(EXTENSIONS);
+        extensions.remove(PERSISTED_QUERY);
+        if (extensions.isEmpty()) {
+            payload.remove(EXTENSIONS);
+        }
+        filterChain.doFilter(new CachedBodyRequest(request, this.objectMapper.writeValueAsBytes(payload)), response);
+    }
+
+    private ObjectNode readPayload(byte[] body) {
+        try {
+            JsonNode payload = this.objectMapper.readTree(body);
+            if (payload instanceof ObjectNode && payload.path(EXTENSIONS) instanceof ObjectNode) {
+                return (ObjectNode) payload;
+            }
+        } catch (IOException exception) {
+            // The GraphQL endpoint will reject the malformed request
+        }
+        return null;
+    }
+
+    private String hash(String query) {
+        try {
+            byte[] digest = MessageDigest.getInstance(SHA_256).digest(query.getBytes(StandardCharsets.UTF_8));
+            return String.format(HASH_FORMAT, new BigInteger(1, digest));
+        } catch (NoSuchAlgorithmException exception) {
+            // Every implementation of the Java platform is required to support SHA-256
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private void sendError(HttpServletResponse response, HttpStatus status, String message, String code) throws IOException {
+        Map<String, Object> error = Map.of("message", message, EXTENSIONS, Map.of("code", code)); //$NON-NLS-1$ //$NON-NLS-2$
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(this.objectMapper.writeValueAsBytes(Map.of("errors", List.of(error)))); //$NON-NLS-1$
+    }
+
+    private String get(String hash) {
+        synchronized (this.queries) {
+            return this.queries.get(hash);
+        }
+    }
+
+    private void put(String hash, String query) {
+        synchronized (this.queries) {
+            this.queries.put(hash, query);
+        }
+    }
+
+    /**
+     * Request whose body has already been read, or rewritten, and which can be read again.
+     *
+     * @author sbegaudeau
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = Objects.requireNonNull(body);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream inputStream = new ByteArrayInputStream(this.body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return inputStream.read();
+                }
+
+                @Override
+                public int read(byte[] bytes, int offset, int length) {
+                    return inputStream.read(bytes, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return inputStream.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(this.body), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return this.body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return this.body.length;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.spring.filters;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.sirius.web.services.api.id.IDParser;
+import org.eclipse.sirius.web.services.api.projects.IProjectOwnershipService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Filter used to redirect users to the node of the cluster which owns the project they want to open.
+ *
+ * <p>
+ * Since the front-end performs all its GraphQL requests and subscriptions on the server which has served the page of
+ * the project, redirecting the navigation to the project is enough to make sure that all the users of a project are
+ * working with the same node. The front-end also reloads the page from the owning node if one of its GraphQL requests
+ * or subscriptions is rejected because it has reached another node.
+ * </p>
+ *
+ * <p>
+ * The owner of each project is cached for <code>sirius.web.cluster.affinity.ownerCacheDuration</code> seconds in
+ * order not to look it up in the database for each request of the pages of the project.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@Component
+public class ProjectAffinityFilter extends OncePerRequestFilter {
+
+    private static final Pattern PROJECT_PATH_PATTERN = Pattern.compile("^(?:/api)?/projects/([0-9a-fA-F-]{36})(?:/.*)?$"); //$NON-NLS-1$
+
+    private static final String QUERY_SEPARATOR = "?"; //$NON-NLS-1$
+
+    private static final int MAX_CACHED_OWNERS = 10_000;
+
+    private final IProjectOwnershipService projectOwnershipService;
+
+    private final long ownerCacheDuration;
+
+    private final Map<UUID, CachedOwner> cachedOwners = new ConcurrentHashMap<>();
+
+    // @formatter:off
+    public ProjectAffinityFilter(IProjectOwnershipService projectOwnershipService,
+            @Value("${sirius.web.cluster.affinity.ownerCacheDuration:5}") long ownerCacheDurationInSeconds) {
+        this.projectOwnershipService = Objects.requireNonNull(projectOwnershipService);
+        this.ownerCacheDuration = TimeUnit.SECONDS.toMillis(ownerCacheDurationInSeconds);
+    }
+    // @formatter:on
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        Optional<String> optionalOwnerURL = Optional.empty();
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Matcher matcher = PROJECT_PATH_PATTERN.matcher(path);
+        if (matcher.matches()) {
+            optionalOwnerURL = new IDParser().parse(matcher.group(1)).flatMap(this::getRemoteOwnerURL);
+        }
+
+        if (optionalOwnerURL.isPresent()) {
+            String location = this.removeTrailingSlash(optionalOwnerURL.get()) + request.getRequestURI();
+            if (request.getQueryString() != null) {
+                location = location + QUERY_SEPARATOR + request.getQueryString();
+            }
+            response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+            response.setHeader(HttpHeaders.LOCATION, location);
+        } else {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private Optional<String> getRemoteOwnerURL(UUID projectId) {
+        long now = System.currentTimeMillis();
+        CachedOwner cachedOwner = this.cachedOwners.get(projectId);
+        if (cachedOwner == null || cachedOwner.getExpiresOn() <= now) {
+            cachedOwner = new CachedOwner(this.projectOwnershipService.getRemoteOwnerURL(projectId), now + this.ownerCacheDuration);
+            if (this.cachedOwners.size() >= MAX_CACHED_OWNERS) {
+                this.cachedOwners.values().removeIf(owner -> owner.getExpiresOn() <= now);
+            }
+            if (this.cachedOwners.size() < MAX_CACHED_OWNERS) {
+                this.cachedOwners.put(projectId, cachedOwner);
+            }
+        }
+        return cachedOwner.getRemoteOwnerURL();
+    }
+
+    private String removeTrailingSlash(String url) {
+        if (url.endsWith("/")) { //$NON-NLS-1$
+            return url.substring(0, url.length() - 1);
+        }
+        return url;
+    }
+
+    /**
+     * The URL of the node owning a project, if it is not the current node, along with the date until which it can be
+     * used.
+     *
+     * @author sbegaudeau
+     */
+    private static final class CachedOwner {
+        private final Optional<String> remoteOwnerURL;
+
+        private final long expiresOn;
+
+        CachedOwner(Optional<String> remoteOwnerURL, long expiresOn) {
+            this.remoteOwnerURL = Objects.requireNonNull(remoteOwnerURL);
+            this.expiresOn = expiresOn;
+        }
+
+        public Optional<String> getRemoteOwnerURL() {
+            return this.remoteOwnerURL;
+        }
+
+        public long getExpiresOn() {
+            return this.expiresOn;
+        }
+    }
+}
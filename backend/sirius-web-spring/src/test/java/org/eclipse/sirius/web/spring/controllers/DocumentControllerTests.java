@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -14,11 +14,15 @@ package org.eclipse.sirius.web.spring.controllers;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayInputStream;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.sirius.web.services.api.accounts.Profile;
 import org.eclipse.sirius.web.services.api.document.Document;
+import org.eclipse.sirius.web.services.api.document.DocumentRendition;
+import org.eclipse.sirius.web.services.api.document.IDocumentRenditionService;
 import org.eclipse.sirius.web.services.api.document.IDocumentService;
 import org.eclipse.sirius.web.services.api.projects.Project;
 import org.eclipse.sirius.web.services.api.projects.Visibility;
@@ -36,42 +40,78 @@ import org.springframework.http.ResponseEntity;
  */
 public class DocumentControllerTests {
 
+    private static final String NAME = "Document"; //$NON-NLS-1$
+
+    private static final String ETAG = "0123456789abcdef"; //$NON-NLS-1$
+
     @Test
     public void testDocumentDoesNotExist() {
         IDocumentService noOpDocumentService = new IDocumentService.NoOp();
-        DocumentController documentController = new DocumentController(noOpDocumentService);
+        DocumentController documentController = new DocumentController(noOpDocumentService, new IDocumentRenditionService.NoOp());
 
         UUID projectId = UUID.randomUUID();
         UUID documentId = UUID.randomUUID();
-        ResponseEntity<Resource> responseEntity = documentController.getDocument(projectId.toString(), documentId.toString());
+        ResponseEntity<Resource> responseEntity = documentController.getDocument(projectId.toString(), documentId.toString(), null);
         assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
 
     @Test
     public void testDocumentExist() {
-        String name = "Document"; //$NON-NLS-1$
-
-        IDocumentService documentService = new IDocumentService.NoOp() {
-            @Override
-            public Optional<Document> getDocument(String projectId, UUID documentId) {
-                return Optional.of(new Document(documentId, new Project(UUID.fromString(projectId), "", new Profile(UUID.randomUUID(), "username"), Visibility.PUBLIC), name, null)); //$NON-NLS-1$ //$NON-NLS-2$
-            }
-
-            @Override
-            public Optional<byte[]> getBytes(Document document, String resourceKind) {
-                return Optional.of(new byte[] {});
-            }
-        };
-        DocumentController documentController = new DocumentController(documentService);
+        AtomicInteger renditionCount = new AtomicInteger();
+        DocumentController documentController = new DocumentController(this.getDocumentService(), this.getDocumentRenditionService(renditionCount));
 
         UUID projectId = UUID.randomUUID();
         UUID documentId = UUID.randomUUID();
-        ResponseEntity<Resource> responseEntity = documentController.getDocument(projectId.toString(), documentId.toString());
+        ResponseEntity<Resource> responseEntity = documentController.getDocument(projectId.toString(), documentId.toString(), null);
         assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
 
         HttpHeaders headers = responseEntity.getHeaders();
         assertThat(headers.getContentType()).isEqualTo(MediaType.APPLICATION_XML);
         assertThat(headers.getContentLength()).isZero();
-        assertThat(headers.getContentDisposition().getFilename()).isEqualTo(name);
+        assertThat(headers.getContentDisposition().getFilename()).isEqualTo(NAME);
+        assertThat(headers.getETag()).isEqualTo("\"" + ETAG + "\""); //$NON-NLS-1$ //$NON-NLS-2$
+        assertThat(renditionCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDocumentNotModified() {
+        AtomicInteger renditionCount = new AtomicInteger();
+        DocumentController documentController = new DocumentController(this.getDocumentService(), this.getDocumentRenditionService(renditionCount));
+
+        UUID projectId = UUID.randomUUID();
+        UUID documentId = UUID.randomUUID();
+        String ifNoneMatch = "\"other\", W/\"" + ETAG + "\""; //$NON-NLS-1$ //$NON-NLS-2$
+        ResponseEntity<Resource> responseEntity = documentController.getDocument(projectId.toString(), documentId.toString(), ifNoneMatch);
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(responseEntity.getHeaders().getETag()).isEqualTo("\"" + ETAG + "\""); //$NON-NLS-1$ //$NON-NLS-2$
+        assertThat(renditionCount.get()).isZero();
+
+        responseEntity = documentController.getDocument(projectId.toString(), documentId.toString(), "\"other\""); //$NON-NLS-1$
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(renditionCount.get()).isEqualTo(1);
+    }
+
+    private IDocumentService getDocumentService() {
+        return new IDocumentService.NoOp() {
+            @Override
+            public Optional<Document> getDocument(String projectId, UUID documentId) {
+                return Optional.of(new Document(documentId, new Project(UUID.fromString(projectId), "", new Profile(UUID.randomUUID(), "username"), Visibility.PUBLIC), NAME, null)); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        };
+    }
+
+    private IDocumentRenditionService getDocumentRenditionService(AtomicInteger renditionCount) {
+        return new IDocumentRenditionService.NoOp() {
+            @Override
+            public String getETag(Document document, String resourceKind) {
+                return ETAG;
+            }
+
+            @Override
+            public Optional<DocumentRendition> getRendition(Document document, String resourceKind) {
+                renditionCount.incrementAndGet();
+                return Optional.of(new DocumentRendition(ETAG, 0, new ByteArrayInputStream(new byte[] {})));
+            }
+        };
     }
 }
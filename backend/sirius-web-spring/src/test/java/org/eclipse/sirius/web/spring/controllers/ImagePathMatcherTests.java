@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.spring.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests of the image path matcher.
+ *
+ * @author sbegaudeau
+ */
+public class ImagePathMatcherTests {
+
+    @Test
+    public void testMatches() {
+        ImagePathMatcher imagePathMatcher = new ImagePathMatcher(List.of("/img", "/images", "/icons", "/icons2")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+        assertThat(imagePathMatcher.matches("/icons/full/obj16/EClass.gif")).isTrue(); //$NON-NLS-1$
+        assertThat(imagePathMatcher.matches("/icons2/Node.svg")).isTrue(); //$NON-NLS-1$
+        assertThat(imagePathMatcher.matches("/images/Node.svg")).isTrue(); //$NON-NLS-1$
+        assertThat(imagePathMatcher.matches("/imgs/Node.svg")).isTrue(); //$NON-NLS-1$
+        assertThat(imagePathMatcher.matches("/ic/Node.svg")).isFalse(); //$NON-NLS-1$
+        assertThat(imagePathMatcher.matches("/other/Node.svg")).isFalse(); //$NON-NLS-1$
+        assertThat(imagePathMatcher.matches("/im")).isFalse(); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testNoPrefix() {
+        assertThat(new ImagePathMatcher(List.of()).matches("/icons/Node.svg")).isFalse(); //$NON-NLS-1$
+        assertThat(new ImagePathMatcher(List.of("")).matches("/icons/Node.svg")).isTrue(); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -15,17 +15,28 @@ package org.eclipse.sirius.web.spring.controllers;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
 
 import javax.servlet.http.HttpServletRequest;
 
 import org.eclipse.sirius.components.core.api.IImagePathService;
+import org.eclipse.sirius.web.services.api.images.CustomImageContent;
 import org.eclipse.sirius.web.services.api.images.ICustomImageContentService;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -43,6 +54,10 @@ import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
  * @author sbegaudeau
  */
 public class ImagesControllerTests {
+
+    @TempDir
+    Path directory;
+
     @Test
     public void testInvalidFolder() {
         ImagesController imagesController = new ImagesController(new ArrayList<>(), new ICustomImageContentService.NoOp(), new SimpleMeterRegistry());
@@ -66,22 +81,96 @@ public class ImagesControllerTests {
     }
 
     @Test
-    public void testValidImage() {
-        IImagePathService imagePathService = new IImagePathService() {
+    public void testValidImage() throws IOException {
+        ImagesController imagesController = new ImagesController(List.of(this.getImagePathService()), new ICustomImageContentService.NoOp(), new SimpleMeterRegistry());
+        HttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(), "/api/images/icons/full/obj16/EClass.gif"); //$NON-NLS-1$
+
+        Path image = Files.write(this.directory.resolve("EClass.gif"), new byte[] { 1, 2, 3 }); //$NON-NLS-1$
+        ResponseEntity<Resource> responseEntity = this.getImage(imagesController, request, image);
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        HttpHeaders headers = responseEntity.getHeaders();
+        assertThat(headers.getContentType()).isEqualTo(MediaType.IMAGE_GIF);
+        assertThat(headers.getContentLength()).isEqualTo(3);
+        assertThat(headers.getETag()).isNotBlank();
+        assertThat(headers.getCacheControl()).contains("immutable"); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testValidImageNotModified() throws IOException {
+        ImagesController imagesController = new ImagesController(List.of(this.getImagePathService()), new ICustomImageContentService.NoOp(), new SimpleMeterRegistry());
+        Path image = Files.write(this.directory.resolve("EClass.gif"), new byte[] { 1, 2, 3 }); //$NON-NLS-1$
+
+        HttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(), "/api/images/icons/full/obj16/EClass.gif"); //$NON-NLS-1$
+        String eTag = this.getImage(imagesController, request, image).getHeaders().getETag();
+
+        MockHttpServletRequest conditionalRequest = new MockHttpServletRequest(HttpMethod.GET.name(), "/api/images/icons/full/obj16/EClass.gif"); //$NON-NLS-1$
+        conditionalRequest.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+        ResponseEntity<Resource> responseEntity = imagesController.getImage(conditionalRequest);
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(responseEntity.getHeaders().getETag()).isEqualTo(eTag);
+    }
+
+    @Test
+    public void testGzippedSvgImage() throws IOException {
+        ImagesController imagesController = new ImagesController(List.of(this.getImagePathService()), new ICustomImageContentService.NoOp(), new SimpleMeterRegistry());
+        String svg = "<svg xmlns=\"http://www.w3.org/2000/svg\">" + "<rect width=\"16\" height=\"16\"/>".repeat(20) + "</svg>"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        Path image = Files.writeString(this.directory.resolve("Node.svg"), svg); //$NON-NLS-1$
+
+        MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(), "/api/images/icons/Node.svg"); //$NON-NLS-1$
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"); //$NON-NLS-1$
+        ResponseEntity<Resource> responseEntity = this.getImage(imagesController, request, image);
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        HttpHeaders headers = responseEntity.getHeaders();
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip"); //$NON-NLS-1$
+        assertThat(headers.getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+        try (InputStream inputStream = new GZIPInputStream(responseEntity.getBody().getInputStream())) {
+            assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(svg);
+        }
+
+        MockHttpServletRequest uncompressedRequest = new MockHttpServletRequest(HttpMethod.GET.name(), "/api/images/icons/Node.svg"); //$NON-NLS-1$
+        responseEntity = imagesController.getImage(uncompressedRequest);
+        assertThat(responseEntity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(responseEntity.getHeaders().getContentLength()).isEqualTo(svg.length());
+        assertThat(responseEntity.getHeaders().getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+
+        String gzippedETag = headers.getETag();
+        String eTag = responseEntity.getHeaders().getETag();
+        assertThat(gzippedETag).isNotEqualTo(eTag);
+
+        MockHttpServletRequest conditionalRequest = new MockHttpServletRequest(HttpMethod.GET.name(), "/api/images/icons/Node.svg"); //$NON-NLS-1$
+        conditionalRequest.addHeader(HttpHeaders.IF_NONE_MATCH, gzippedETag);
+        responseEntity = imagesController.getImage(conditionalRequest);
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(responseEntity.getHeaders().getETag()).isEqualTo(eTag);
+
+        MockHttpServletRequest conditionalGzipRequest = new MockHttpServletRequest(HttpMethod.GET.name(), "/api/images/icons/Node.svg"); //$NON-NLS-1$
+        conditionalGzipRequest.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip"); //$NON-NLS-1$
+        conditionalGzipRequest.addHeader(HttpHeaders.IF_NONE_MATCH, gzippedETag);
+        responseEntity = imagesController.getImage(conditionalGzipRequest);
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(responseEntity.getHeaders().getETag()).isEqualTo(gzippedETag);
+    }
+
+    private IImagePathService getImagePathService() {
+        return new IImagePathService() {
             @Override
             public List<String> getPaths() {
                 return List.of("/icons"); //$NON-NLS-1$
             }
         };
-        ImagesController imagesController = new ImagesController(List.of(imagePathService), new ICustomImageContentService.NoOp(), new SimpleMeterRegistry());
-        HttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(), "/api/images/icons/full/obj16/EClass.gif"); //$NON-NLS-1$
+    }
 
+    private ResponseEntity<Resource> getImage(ImagesController imagesController, HttpServletRequest request, Path image) {
         // We need to replace the current class loader to trick Spring into thinking that the resource exists
         ClassLoader testClassLoader = new URLClassLoader(new URL[] {}) {
             @Override
             public URL getResource(String name) {
                 try {
-                    return new URL("jar:file:somejar!/icons/full/obj16/EClass.gif"); //$NON-NLS-1$
+                    return image.toUri().toURL();
                 } catch (MalformedURLException exception) {
                     fail(exception.getMessage(), exception);
                 }
@@ -89,12 +178,85 @@ public class ImagesControllerTests {
             }
         };
         ClassLoader threadContextClassLoader = ClassUtils.overrideThreadContextClassLoader(testClassLoader);
+        try {
+            return imagesController.getImage(request);
+        } finally {
+            ClassUtils.overrideThreadContextClassLoader(threadContextClassLoader);
+        }
+    }
+
+    @Test
+    public void testCustomImage() {
+        UUID imageId = UUID.randomUUID();
+        AtomicInteger queryCount = new AtomicInteger();
+        ImagesController imagesController = new ImagesController(List.of(), this.getCustomImageContentService(imageId, queryCount), new SimpleMeterRegistry());
+        HttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(), "/api/images/custom/" + UUID.randomUUID() + "/" + imageId); //$NON-NLS-1$ //$NON-NLS-2$
         ResponseEntity<Resource> responseEntity = imagesController.getImage(request);
-        ClassUtils.overrideThreadContextClassLoader(threadContextClassLoader);
 
         assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(queryCount.get()).isEqualTo(1);
 
         HttpHeaders headers = responseEntity.getHeaders();
-        assertThat(headers.getContentType()).isEqualTo(MediaType.IMAGE_GIF);
+        assertThat(headers.getContentType()).isEqualTo(MediaType.IMAGE_PNG);
+        assertThat(headers.getContentLength()).isEqualTo(3);
+        assertThat(headers.getETag()).isEqualTo("\"" + imageId + "\""); //$NON-NLS-1$ //$NON-NLS-2$
+        assertThat(headers.getCacheControl()).contains("max-age", "immutable"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testCustomImageNotModified() {
+        UUID imageId = UUID.randomUUID();
+        AtomicInteger queryCount = new AtomicInteger();
+        ImagesController imagesController = new ImagesController(List.of(), this.getCustomImageContentService(imageId, queryCount), new SimpleMeterRegistry());
+        MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(), "/api/images/custom/" + UUID.randomUUID() + "/" + imageId); //$NON-NLS-1$ //$NON-NLS-2$
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + imageId + "\""); //$NON-NLS-1$ //$NON-NLS-2$
+        ResponseEntity<Resource> responseEntity = imagesController.getImage(request);
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(responseEntity.getHeaders().getETag()).isEqualTo("\"" + imageId + "\""); //$NON-NLS-1$ //$NON-NLS-2$
+        assertThat(queryCount.get()).isZero();
+    }
+
+    @Test
+    public void testUnknownCustomImageNeverNotModified() {
+        UUID imageId = UUID.randomUUID();
+        AtomicInteger queryCount = new AtomicInteger();
+        ImagesController imagesController = new ImagesController(List.of(), this.getCustomImageContentService(imageId, queryCount), new SimpleMeterRegistry());
+
+        UUID unknownImageId = UUID.randomUUID();
+        MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(), "/api/images/custom/" + UUID.randomUUID() + "/" + unknownImageId); //$NON-NLS-1$ //$NON-NLS-2$
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + unknownImageId + "\""); //$NON-NLS-1$ //$NON-NLS-2$
+        assertThat(imagesController.getImage(request).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+        MockHttpServletRequest anyRequest = new MockHttpServletRequest(HttpMethod.GET.name(), "/api/images/custom/" + UUID.randomUUID() + "/" + unknownImageId); //$NON-NLS-1$ //$NON-NLS-2$
+        anyRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "*"); //$NON-NLS-1$
+        assertThat(imagesController.getImage(anyRequest).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    public void testUnknownClassPathImageNeverNotModified() {
+        ImagesController imagesController = new ImagesController(List.of(this.getImagePathService()), new ICustomImageContentService.NoOp(), new SimpleMeterRegistry());
+
+        MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(), "/api/images/icons/full/obj16/Unknown.gif"); //$NON-NLS-1$
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "*"); //$NON-NLS-1$
+        assertThat(imagesController.getImage(request).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private ICustomImageContentService getCustomImageContentService(UUID imageId, AtomicInteger queryCount) {
+        return new ICustomImageContentService.NoOp() {
+            @Override
+            public Optional<CustomImageContent> getImageContent(String editingContextId, UUID id) {
+                queryCount.incrementAndGet();
+                if (imageId.equals(id)) {
+                    return Optional.of(new CustomImageContent(id, MediaType.IMAGE_PNG_VALUE, new byte[] { 1, 2, 3 }));
+                }
+                return Optional.empty();
+            }
+
+            @Override
+            public boolean exists(String editingContextId, UUID id) {
+                return imageId.equals(id);
+            }
+        };
     }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Obeo.
+ * Copyright (c) 2019, 2022 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -14,6 +14,9 @@ package org.eclipse.sirius.web.spring.controllers;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,11 +26,11 @@ import org.eclipse.sirius.web.services.api.projects.IProjectService;
 import org.eclipse.sirius.web.services.api.projects.Project;
 import org.eclipse.sirius.web.services.api.projects.Visibility;
 import org.junit.jupiter.api.Test;
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Tests of the project controller.
@@ -43,12 +46,12 @@ public class ProjectControllerTests {
 
         ProjectController projectController = new ProjectController(projectService, projectExportService);
         String projectId = "631fcb2d-3463-4084-b5da-fd8022ebae53"; //$NON-NLS-1$
-        ResponseEntity<Resource> responseEntity = projectController.getProject(UUID.fromString(projectId));
+        ResponseEntity<StreamingResponseBody> responseEntity = projectController.getProject(UUID.fromString(projectId));
         assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
 
     @Test
-    public void testProjectExists() {
+    public void testProjectExists() throws IOException {
         String projectFoundId = "631fcb2d-3463-4084-b5da-fd8022ebae53"; //$NON-NLS-1$
 
         IProjectService projectService = new IProjectService.NoOp() {
@@ -57,16 +60,26 @@ public class ProjectControllerTests {
                 return Optional.of(new Project(UUID.fromString(projectFoundId), projectFoundId, new Profile(UUID.randomUUID(), "username"), Visibility.PUBLIC)); //$NON-NLS-1$
             }
         };
-        IProjectExportService projectExportService = new IProjectExportService.NoOp();
+        byte[] zip = new byte[] { 1, 2, 3 };
+        IProjectExportService projectExportService = new IProjectExportService.NoOp() {
+            @Override
+            public void exportProject(UUID projectId, OutputStream outputStream) throws IOException {
+                outputStream.write(zip);
+            }
+        };
 
         ProjectController projectController = new ProjectController(projectService, projectExportService);
-        ResponseEntity<Resource> responseEntity = projectController.getProject(UUID.fromString(projectFoundId));
+        ResponseEntity<StreamingResponseBody> responseEntity = projectController.getProject(UUID.fromString(projectFoundId));
         assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
 
         HttpHeaders headers = responseEntity.getHeaders();
         assertThat(headers.getContentType()).isEqualTo(MediaType.parseMediaType("application/zip")); //$NON-NLS-1$
-        assertThat(headers.getContentLength()).isEqualTo(0);
+        assertThat(headers.getContentLength()).isEqualTo(-1);
         assertThat(headers.getContentDisposition().getFilename()).isEqualTo(projectFoundId + ".zip"); //$NON-NLS-1$
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        responseEntity.getBody().writeTo(outputStream);
+        assertThat(outputStream.toByteArray()).isEqualTo(zip);
     }
 
 }
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.spring.filters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Tests of the persisted query filter.
+ *
+ * @author sbegaudeau
+ */
+public class PersistedQueryFilterTests {
+
+    private static final String POST = "POST"; //$NON-NLS-1$
+
+    private static final String GRAPHQL_PATH = "/api/graphql"; //$NON-NLS-1$
+
+    private static final String QUERY = "query getViewer { viewer { id } }"; //$NON-NLS-1$
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testQueryWithoutPersistedQueryForwarded() throws Exception {
+        PersistedQueryFilter filter = new PersistedQueryFilter(this.objectMapper, 10);
+        MockFilterChain filterChain = new MockFilterChain();
+
+        this.doFilter(filter, Map.of("query", QUERY), filterChain); //$NON-NLS-1$
+
+        JsonNode payload = this.readPayload(filterChain.getRequest());
+        assertThat(payload.path("query").asText()).isEqualTo(QUERY); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testKnownHashGivenItsQuery() throws Exception {
+        PersistedQueryFilter filter = new PersistedQueryFilter(this.objectMapper, 10);
+        String hash = this.hash(QUERY);
+
+        MockFilterChain registrationFilterChain = new MockFilterChain();
+        this.doFilter(filter, Map.of("query", QUERY, "extensions", this.persistedQuery(hash)), registrationFilterChain); //$NON-NLS-1$ //$NON-NLS-2$
+        assertThat(this.readPayload(registrationFilterChain.getRequest()).has("extensions")).isFalse(); //$NON-NLS-1$
+
+        MockFilterChain filterChain = new MockFilterChain();
+        MockHttpServletResponse response = this.doFilter(filter, Map.of("extensions", this.persistedQuery(hash), "variables", Map.of()), filterChain); //$NON-NLS-1$ //$NON-NLS-2$
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        JsonNode payload = this.readPayload(filterChain.getRequest());
+        assertThat(payload.path("query").asText()).isEqualTo(QUERY); //$NON-NLS-1$
+        assertThat(payload.has("variables")).isTrue(); //$NON-NLS-1$
+        assertThat(payload.has("extensions")).isFalse(); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testUnknownHashNotFound() throws Exception {
+        PersistedQueryFilter filter = new PersistedQueryFilter(this.objectMapper, 10);
+        MockFilterChain filterChain = new MockFilterChain();
+
+        MockHttpServletResponse response = this.doFilter(filter, Map.of("extensions", this.persistedQuery(this.hash(QUERY))), filterChain); //$NON-NLS-1$
+
+        assertThat(filterChain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        JsonNode error = this.objectMapper.readTree(response.getContentAsByteArray()).path("errors").path(0); //$NON-NLS-1$
+        assertThat(error.path("message").asText()).isEqualTo("PersistedQueryNotFound"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testInvalidHashRejected() throws Exception {
+        PersistedQueryFilter filter = new PersistedQueryFilter(this.objectMapper, 10);
+        MockFilterChain filterChain = new MockFilterChain();
+
+        MockHttpServletResponse response = this.doFilter(filter, Map.of("query", QUERY, "extensions", this.persistedQuery(this.hash("query other { viewer { id } }"))), filterChain); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+        assertThat(filterChain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+
+        MockFilterChain lookupFilterChain = new MockFilterChain();
+        this.doFilter(filter, Map.of("extensions", this.persistedQuery(this.hash("query other { viewer { id } }"))), lookupFilterChain); //$NON-NLS-1$ //$NON-NLS-2$
+        assertThat(lookupFilterChain.getRequest()).isNull();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedQueryEvicted() throws Exception {
+        PersistedQueryFilter filter = new PersistedQueryFilter(this.objectMapper, 1);
+        String otherQuery = "query other { viewer { id } }"; //$NON-NLS-1$
+
+        this.doFilter(filter, Map.of("query", QUERY, "extensions", this.persistedQuery(this.hash(QUERY))), new MockFilterChain()); //$NON-NLS-1$ //$NON-NLS-2$
+        this.doFilter(filter, Map.of("query", otherQuery, "extensions", this.persistedQuery(this.hash(otherQuery))), new MockFilterChain()); //$NON-NLS-1$ //$NON-NLS-2$
+
+        MockFilterChain evictedFilterChain = new MockFilterChain();
+        this.doFilter(filter, Map.of("extensions", this.persistedQuery(this.hash(QUERY))), evictedFilterChain); //$NON-NLS-1$
+        assertThat(evictedFilterChain.getRequest()).isNull();
+
+        MockFilterChain keptFilterChain = new MockFilterChain();
+        this.doFilter(filter, Map.of("extensions", this.persistedQuery(this.hash(otherQuery))), keptFilterChain); //$NON-NLS-1$
+        assertThat(keptFilterChain.getRequest()).isNotNull();
+    }
+
+    private MockHttpServletResponse doFilter(PersistedQueryFilter filter, Map<String, Object> payload, MockFilterChain filterChain) throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest(POST, GRAPHQL_PATH);
+        request.setContent(this.objectMapper.writeValueAsBytes(payload));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, filterChain);
+        return response;
+    }
+
+    private JsonNode readPayload(ServletRequest request) throws IOException {
+        return this.objectMapper.readTree(request.getInputStream().readAllBytes());
+    }
+
+    private Map<String, Object> persistedQuery(String hash) {
+        return Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    private String hash(String query) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+        return String.format("%064x", new BigInteger(1, digest)); //$NON-NLS-1$
+    }
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.spring.filters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.ServletException;
+
+import org.eclipse.sirius.web.services.api.projects.IProjectOwnershipService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Tests of the project affinity filter.
+ *
+ * @author sbegaudeau
+ */
+public class ProjectAffinityFilterTests {
+
+    private static final String OWNER_URL = "http://second:8080/"; //$NON-NLS-1$
+
+    private static final String GET = "GET"; //$NON-NLS-1$
+
+    private final UUID remoteProjectId = UUID.randomUUID();
+
+    private final AtomicInteger lookupCount = new AtomicInteger();
+
+    private final IProjectOwnershipService projectOwnershipService = new IProjectOwnershipService.NoOp() {
+        @Override
+        public Optional<String> getRemoteOwnerURL(UUID projectId) {
+            ProjectAffinityFilterTests.this.lookupCount.incrementAndGet();
+            return Optional.of(OWNER_URL).filter(url -> projectId.equals(ProjectAffinityFilterTests.this.remoteProjectId));
+        }
+    };
+
+    @Test
+    public void testProjectOwnedByAnotherNode() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest(GET, "/projects/" + this.remoteProjectId + "/edit"); //$NON-NLS-1$ //$NON-NLS-2$
+        request.setQueryString("selection=foo"); //$NON-NLS-1$
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        new ProjectAffinityFilter(this.projectOwnershipService, 5).doFilter(request, response, filterChain);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.TEMPORARY_REDIRECT.value());
+        assertThat(response.getHeader(HttpHeaders.LOCATION)).isEqualTo("http://second:8080/projects/" + this.remoteProjectId + "/edit?selection=foo"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertThat(filterChain.getRequest()).isNull();
+    }
+
+    @Test
+    public void testProjectOwnedLocally() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest(GET, "/api/projects/" + UUID.randomUUID()); //$NON-NLS-1$
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        new ProjectAffinityFilter(this.projectOwnershipService, 5).doFilter(request, response, filterChain);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(filterChain.getRequest()).isSameAs(request);
+    }
+
+    @Test
+    public void testOtherRequestsNotRedirected() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/projects/" + this.remoteProjectId); //$NON-NLS-1$ //$NON-NLS-2$
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        new ProjectAffinityFilter(this.projectOwnershipService, 5).doFilter(request, response, filterChain);
+
+        assertThat(filterChain.getRequest()).isSameAs(request);
+    }
+
+    @Test
+    public void testOwnerLookupCached() throws ServletException, IOException {
+        ProjectAffinityFilter projectAffinityFilter = new ProjectAffinityFilter(this.projectOwnershipService, 5);
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            projectAffinityFilter.doFilter(new MockHttpServletRequest(GET, "/projects/" + this.remoteProjectId), response, new MockFilterChain()); //$NON-NLS-1$
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.TEMPORARY_REDIRECT.value());
+        }
+        assertThat(this.lookupCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testExpiredOwnerLookedUpAgain() throws ServletException, IOException {
+        ProjectAffinityFilter projectAffinityFilter = new ProjectAffinityFilter(this.projectOwnershipService, 0);
+        for (int i = 0; i < 3; i++) {
+            projectAffinityFilter.doFilter(new MockHttpServletRequest(GET, "/projects/" + this.remoteProjectId), new MockHttpServletResponse(), new MockFilterChain()); //$NON-NLS-1$
+        }
+        assertThat(this.lookupCount.get()).isEqualTo(3);
+    }
+}
@@ -10,14 +10,33 @@
  * Contributors:
  *     Obeo - initial API and implementation
  *******************************************************************************/
-import { ApolloClient, DefaultOptions, HttpLink, InMemoryCache, split } from '@apollo/client';
+import { ApolloClient, ApolloLink, DefaultOptions, from, HttpLink, InMemoryCache, split } from '@apollo/client';
+import { onError } from '@apollo/client/link/error';
+import { createPersistedQueryLink } from '@apollo/client/link/persisted-queries';
 import { WebSocketLink } from '@apollo/client/link/ws';
 import { getMainDefinition } from '@apollo/client/utilities';
 import { httpOrigin, wsOrigin } from 'core/URL';
 
-const httpLink = new HttpLink({
-  uri: `${httpOrigin}/api/graphql`,
-});
+const sha256 = (query: string): Promise<string> =>
+  window.crypto.subtle.digest('SHA-256', new TextEncoder().encode(query)).then((digest) =>
+    Array.from(new Uint8Array(digest))
+      .map((byte) => byte.toString(16).padStart(2, '0'))
+      .join('')
+  );
+
+/**
+ * Sends the hash of the queries instead of their text once the server knows them. The hash can only be computed in a
+ * secure context, the queries are sent with their text otherwise.
+ */
+const persistedQueryLink: ApolloLink = window.crypto?.subtle
+  ? createPersistedQueryLink({ sha256 })
+  : ApolloLink.empty();
+
+const httpLink = persistedQueryLink.concat(
+  new HttpLink({
+    uri: `${httpOrigin}/api/graphql`,
+  })
+);
 
 const wsLink = new WebSocketLink({
   uri: `${wsOrigin}/subscriptions`,
@@ -36,6 +55,26 @@ const splitLink = split(
   httpLink
 );
 
+const PROJECT_OWNED_BY_ANOTHER_NODE = 'PROJECT_OWNED_BY_ANOTHER_NODE';
+
+/**
+ * Reloads the current page from the node of the cluster owning the project when the server which has been reached
+ * rejects a request or a subscription because this project is owned by another node. The errors of the subscriptions
+ * are received as the network error of the WebSocket link.
+ */
+const projectAffinityLink = onError(({ graphQLErrors, networkError }) => {
+  const errors = [...(graphQLErrors ?? []), ...(Array.isArray(networkError) ? networkError : [])];
+  const error = errors.find((candidate) => candidate?.extensions?.code === PROJECT_OWNED_BY_ANOTHER_NODE);
+  const nodeURL = error?.extensions?.nodeURL;
+  if (typeof nodeURL === 'string' && nodeURL.length > 0) {
+    // Like the redirection of the page of the project by the server, the path is appended to the URL of the node
+    const ownerURL = nodeURL.replace(/\/$/, '');
+    if (new URL(ownerURL, window.location.href).origin !== window.location.origin) {
+      window.location.assign(`${ownerURL}${window.location.pathname}${window.location.search}`);
+    }
+  }
+});
+
 const defaultOptions: DefaultOptions = {
   watchQuery: {
     fetchPolicy: 'no-cache',
@@ -49,7 +88,7 @@ const defaultOptions: DefaultOptions = {
 };
 
 export const ApolloGraphQLClient = new ApolloClient({
-  link: splitLink,
+  link: from([projectAffinityLink, splitLink]),
   cache: new InMemoryCache(),
   connectToDevTools: true,
   defaultOptions,